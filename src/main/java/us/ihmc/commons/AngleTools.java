@@ -186,6 +186,214 @@ public class AngleTools
       return ret;
    }
 
+   /**
+    * Trims each angle of {@code angles} to be in [-<i>pi</i>, <i>pi</i>) and stores the result in
+    * {@code trimmedAnglesToPack}, see {@link #trimAngleMinusPiToPi(double)}. Does not allocate.
+    *
+    * @param angles              the angles to trim. Not modified.
+    * @param trimmedAnglesToPack the array in which the trimmed angles are stored, can be
+    *                            {@code angles}. Modified.
+    */
+   public static void trimAngleMinusPiToPi(double[] angles, double[] trimmedAnglesToPack)
+   {
+      trimAngleMinusPiToPi(angles, 0, angles.length, trimmedAnglesToPack);
+   }
+
+   /**
+    * Trims the angles in the range [{@code offset}, {@code offset + length}) of {@code angles} to be
+    * in [-<i>pi</i>, <i>pi</i>) and stores the result at the same indices of
+    * {@code trimmedAnglesToPack}, see {@link #trimAngleMinusPiToPi(double)}. Does not allocate.
+    *
+    * @param angles              the angles to trim. Not modified.
+    * @param offset              index of the first angle.
+    * @param length              number of angles.
+    * @param trimmedAnglesToPack the array in which the trimmed angles are stored, can be
+    *                            {@code angles}. Modified.
+    */
+   public static void trimAngleMinusPiToPi(double[] angles, int offset, int length, double[] trimmedAnglesToPack)
+   {
+      shiftAngleToStartOfRange(angles, offset, length, -PI, trimmedAnglesToPack);
+   }
+
+   /**
+    * Computes (angleA - angleB) for each pair of angles, with results in [-<i>pi</i>, <i>pi</i>),
+    * and stores them in {@code differencesToPack}, see
+    * {@link #computeAngleDifferenceMinusPiToPi(double, double)}. Does not allocate.
+    * <p>
+    * The result is identical to the scalar method when |angleA - angleB| &lt; 2<i>pi</i>, and equal to
+    * within rounding error otherwise.
+    * </p>
+    *
+    * @param anglesA           the first angles. Not modified.
+    * @param anglesB           the second angles. Not modified.
+    * @param differencesToPack the array in which the differences are stored, can be
+    *                          {@code anglesA} or {@code anglesB}. Modified.
+    */
+   public static void computeAngleDifferenceMinusPiToPi(double[] anglesA, double[] anglesB, double[] differencesToPack)
+   {
+      computeAngleDifferenceMinusPiToPi(anglesA, anglesB, 0, anglesA.length, differencesToPack);
+   }
+
+   /**
+    * Computes (angleA - angleB) for each pair of angles in the range [{@code offset},
+    * {@code offset + length}), with results in [-<i>pi</i>, <i>pi</i>), and stores them at the same
+    * indices of {@code differencesToPack}, see
+    * {@link #computeAngleDifferenceMinusPiToPi(double[], double[], double[])}. Does not allocate.
+    *
+    * @param anglesA           the first angles. Not modified.
+    * @param anglesB           the second angles. Not modified.
+    * @param offset            index of the first pair of angles.
+    * @param length            number of pairs of angles.
+    * @param differencesToPack the array in which the differences are stored, can be
+    *                          {@code anglesA} or {@code anglesB}. Modified.
+    */
+   public static void computeAngleDifferenceMinusPiToPi(double[] anglesA, double[] anglesB, int offset, int length, double[] differencesToPack)
+   {
+      checkRange(anglesA.length, offset, length);
+      checkRange(anglesB.length, offset, length);
+      checkRange(differencesToPack.length, offset, length);
+
+      double start = -PI - EPSILON;
+
+      for (int i = offset; i < offset + length; i++)
+      {
+         differencesToPack[i] = shiftAngleToStartOfRangeBranchless(anglesA[i] - anglesB[i], start);
+      }
+   }
+
+   /**
+    * Shifts each angle of {@code anglesToShift} to be in the range [<i>startOfAngleRange</i>,
+    * (<i>startOfAngleRange + 2*pi</i>) and stores the result in {@code shiftedAnglesToPack}, see
+    * {@link #shiftAngleToStartOfRange(double, double)}. Does not allocate.
+    *
+    * @param anglesToShift       the angles to shift. Not modified.
+    * @param startOfAngleRange   start of the range.
+    * @param shiftedAnglesToPack the array in which the shifted angles are stored, can be
+    *                            {@code anglesToShift}. Modified.
+    */
+   public static void shiftAngleToStartOfRange(double[] anglesToShift, double startOfAngleRange, double[] shiftedAnglesToPack)
+   {
+      shiftAngleToStartOfRange(anglesToShift, 0, anglesToShift.length, startOfAngleRange, shiftedAnglesToPack);
+   }
+
+   /**
+    * Shifts the angles in the range [{@code offset}, {@code offset + length}) of
+    * {@code anglesToShift} to be in the range [<i>startOfAngleRange</i>,
+    * (<i>startOfAngleRange + 2*pi</i>) and stores the result at the same indices of
+    * {@code shiftedAnglesToPack}, see {@link #shiftAngleToStartOfRange(double, double)}. Does not
+    * allocate.
+    *
+    * @param anglesToShift       the angles to shift. Not modified.
+    * @param offset              index of the first angle.
+    * @param length              number of angles.
+    * @param startOfAngleRange   start of the range.
+    * @param shiftedAnglesToPack the array in which the shifted angles are stored, can be
+    *                            {@code anglesToShift}. Modified.
+    */
+   public static void shiftAngleToStartOfRange(double[] anglesToShift, int offset, int length, double startOfAngleRange, double[] shiftedAnglesToPack)
+   {
+      checkRange(anglesToShift.length, offset, length);
+      checkRange(shiftedAnglesToPack.length, offset, length);
+
+      double start = startOfAngleRange - EPSILON;
+
+      for (int i = offset; i < offset + length; i++)
+      {
+         shiftedAnglesToPack[i] = shiftAngleToStartOfRangeBranchless(anglesToShift[i], start);
+      }
+   }
+
+   /**
+    * Computes the average of each pair of angles and stores it in {@code averagesToPack}, see
+    * {@link #computeAngleAverage(double, double)}. Does not allocate.
+    * <p>
+    * The result is identical to the scalar method when |angleA - angleB| &lt; 2<i>pi</i>, and equal to
+    * within rounding error otherwise.
+    * </p>
+    *
+    * @param anglesA        the first angles. Not modified.
+    * @param anglesB        the second angles. Not modified.
+    * @param averagesToPack the array in which the averages are stored, can be {@code anglesA} or
+    *                       {@code anglesB}. Modified.
+    */
+   public static void computeAngleAverage(double[] anglesA, double[] anglesB, double[] averagesToPack)
+   {
+      computeAngleAverage(anglesA, anglesB, 0, anglesA.length, averagesToPack);
+   }
+
+   /**
+    * Computes the average of each pair of angles in the range [{@code offset},
+    * {@code offset + length}) and stores it at the same indices of {@code averagesToPack}, see
+    * {@link #computeAngleAverage(double[], double[], double[])}. Does not allocate.
+    *
+    * @param anglesA        the first angles. Not modified.
+    * @param anglesB        the second angles. Not modified.
+    * @param offset         index of the first pair of angles.
+    * @param length         number of pairs of angles.
+    * @param averagesToPack the array in which the averages are stored, can be {@code anglesA} or
+    *                       {@code anglesB}. Modified.
+    */
+   public static void computeAngleAverage(double[] anglesA, double[] anglesB, int offset, int length, double[] averagesToPack)
+   {
+      checkRange(anglesA.length, offset, length);
+      checkRange(anglesB.length, offset, length);
+      checkRange(averagesToPack.length, offset, length);
+
+      double start = -PI - EPSILON;
+
+      for (int i = offset; i < offset + length; i++)
+      {
+         double angleA = anglesA[i];
+         double difference = shiftAngleToStartOfRangeBranchless(anglesB[i] - angleA, start);
+         averagesToPack[i] = shiftAngleToStartOfRangeBranchless(angleA + 0.5 * difference, start);
+      }
+   }
+
+   /**
+    * Computes the mean of the angles in the range [{@code offset}, {@code offset + length}), see
+    * {@link #computeAngleAverage(double[])}.
+    *
+    * @param angles the angles to average. Not modified.
+    * @param offset index of the first angle.
+    * @param length number of angles.
+    * @return the average angle.
+    */
+   public static double computeAngleAverage(double[] angles, int offset, int length)
+   {
+      checkRange(angles.length, offset, length);
+
+      double sumOfSin = 0.0;
+      double sumOfCos = 0.0;
+
+      for (int i = offset; i < offset + length; i++)
+      {
+         sumOfSin += Math.sin(angles[i]);
+         sumOfCos += Math.cos(angles[i]);
+      }
+
+      // The common 1/n factor does not change the direction of the mean vector.
+      return Math.atan2(sumOfSin, sumOfCos);
+   }
+
+   /**
+    * Equivalent to {@link #shiftAngleToStartOfRange(double, double)} with the start of the range
+    * already offset by {@link #EPSILON}. Both branches of the scalar method reduce to the same
+    * expression as {@code ceil(x) == -floor(-x)}. The range test of the scalar method is kept as an
+    * integer mask, which the JIT compiles to a conditional move, so the result is bit-identical.
+    */
+   private static double shiftAngleToStartOfRangeBranchless(double angleToShift, double startMinusEpsilon)
+   {
+      double numberOfRevolutions = Math.floor((angleToShift - startMinusEpsilon) / TwoPI);
+      int outside = angleToShift < startMinusEpsilon | angleToShift >= startMinusEpsilon + TwoPI ? 1 : 0;
+      return angleToShift - (outside * numberOfRevolutions) * TwoPI;
+   }
+
+   private static void checkRange(int arrayLength, int offset, int length)
+   {
+      if (offset < 0 || length < 0 || offset > arrayLength - length)
+         throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + arrayLength);
+   }
+
    /**
     * Returns an evenly distributed random number between -2PI and 2PI
     *
@@ -207,57 +415,86 @@ public class AngleTools
     * @return
     */
    public static double[] generateArrayOfTestAngles(int numberOfAngles, double stayThisFarAwayFromPlusMinus2PI, boolean includeZero, boolean includePlusMinusPI)
+   {
+      double[] ret = new double[computeNumberOfTestAngles(numberOfAngles, includeZero, includePlusMinusPI)];
+      generateArrayOfTestAngles(numberOfAngles, stayThisFarAwayFromPlusMinus2PI, includeZero, includePlusMinusPI, ret, 0);
+      return ret;
+   }
+
+   /**
+    * Computes the number of angles generated by
+    * {@link #generateArrayOfTestAngles(int, double, boolean, boolean)}.
+    * 
+    * @param numberOfAngles
+    * @param includeZero
+    * @param includePlusMinusPI
+    * @return the size of the array of test angles.
+    */
+   public static int computeNumberOfTestAngles(int numberOfAngles, boolean includeZero, boolean includePlusMinusPI)
    {
       int arraySize = numberOfAngles;
-      double epsilon = stayThisFarAwayFromPlusMinus2PI;
 
-      if (includeZero && !includePlusMinusPI)
-      {
+      if (includeZero)
          arraySize += 1;
-      }
-      else if (includePlusMinusPI && !includeZero)
-      {
+      if (includePlusMinusPI)
          arraySize += 2;
-      }
-      else if (includeZero && includePlusMinusPI)
-      {
-         arraySize += 3;
-      }
+
+      return arraySize;
+   }
+
+   /**
+    * Packs angles increasing from -2PI to 2PI into {@code anglesToPack} starting at {@code offset},
+    * see {@link #generateArrayOfTestAngles(int, double, boolean, boolean)}. Does not allocate.
+    * 
+    * @param numberOfAngles
+    * @param stayThisFarAwayFromPlusMinus2PI
+    * @param includeZero
+    * @param includePlusMinusPI
+    * @param anglesToPack the array in which the angles are stored. Must have room for
+    *                     {@link #computeNumberOfTestAngles(int, boolean, boolean)} angles after
+    *                     {@code offset}.
+    * @param offset       index in {@code anglesToPack} of the first angle.
+    * @return the number of angles packed.
+    */
+   public static int generateArrayOfTestAngles(int numberOfAngles, double stayThisFarAwayFromPlusMinus2PI, boolean includeZero, boolean includePlusMinusPI,
+                                               double[] anglesToPack, int offset)
+   {
+      int arraySize = computeNumberOfTestAngles(numberOfAngles, includeZero, includePlusMinusPI);
+      double epsilon = stayThisFarAwayFromPlusMinus2PI;
+
+      if (offset < 0 || offset > anglesToPack.length - arraySize)
+         throw new IndexOutOfBoundsException("Cannot pack " + arraySize + " angles at offset " + offset + " in an array of length " + anglesToPack.length);
 
       double thetaMin = -2.0 * Math.PI + stayThisFarAwayFromPlusMinus2PI;
       double thetaMax = 2.0 * Math.PI - stayThisFarAwayFromPlusMinus2PI;
       double deltaTheta = Math.abs(thetaMax - thetaMin) / (numberOfAngles - 1);
 
-      double[] ret = new double[arraySize];
-
       for (int i = 0; i < numberOfAngles; i++)
       {
-         ret[i] = thetaMin + deltaTheta * i;
+         double angle = thetaMin + deltaTheta * i;
 
-         boolean epsilonEqualToZero = MathTools.epsilonEquals(Math.abs(ret[i]), 0.0, epsilon);
-         boolean epsilonEqualToPlusMinusPI = MathTools.epsilonEquals(Math.abs(ret[i]), Math.PI, epsilon);
+         boolean epsilonEqualToZero = MathTools.epsilonEquals(Math.abs(angle), 0.0, epsilon);
+         boolean epsilonEqualToPlusMinusPI = MathTools.epsilonEquals(Math.abs(angle), Math.PI, epsilon);
 
          if (epsilonEqualToZero && !includeZero || epsilonEqualToPlusMinusPI && !includePlusMinusPI)
-            ret[i] += Math.signum(ret[i]) * Math.max(1.0e-4, Math.abs(epsilon));
-      }
+            angle += Math.signum(angle) * Math.max(1.0e-4, Math.abs(epsilon));
 
-      if (includeZero && !includePlusMinusPI)
-      {
-         ret[numberOfAngles] = 0.0;
+         anglesToPack[offset + i] = angle;
       }
-      else if (includePlusMinusPI && !includeZero)
+
+      int index = offset + numberOfAngles;
+
+      if (includeZero)
       {
-         ret[numberOfAngles] = -Math.PI;
-         ret[numberOfAngles + 1] = Math.PI;
+         anglesToPack[index++] = 0.0;
       }
-      else if (includeZero && includePlusMinusPI)
+      if (includePlusMinusPI)
       {
-         ret[numberOfAngles] = 0.0;
-         ret[numberOfAngles + 1] = -Math.PI;
-         ret[numberOfAngles + 2] = Math.PI;
+         anglesToPack[index++] = -Math.PI;
+         anglesToPack[index++] = Math.PI;
       }
 
-      return ret;
+      return arraySize;
    }
 
    /**
@@ -0,0 +1,381 @@
+package us.ihmc.commons;
+
+/**
+ * Bulk kernels over ranges of primitive arrays, complementing the array methods of
+ * {@link MathTools} and {@link ArrayTools}.
+ * <p>
+ * Every kernel operates on a range ({@code offset}, {@code length}) of its input and, when it
+ * produces an array, writes into a caller-supplied array instead of allocating. Unless stated
+ * otherwise, the output may be the same array as the input.
+ * </p>
+ * <p>
+ * The element-wise kernels are plain counted loops that the JIT compiler unrolls and vectorizes with
+ * the SIMD width of the host. Floating-point sums are not vectorized by the JIT as it cannot reorder
+ * them, so {@link #sum(double[], int, int)} uses four independent accumulators instead. As a result,
+ * {@link #sum(double[], int, int)} and {@link #average(double[], int, int)} can differ from
+ * {@link MathTools#sum(double[])} in the last bits.
+ * </p>
+ */
+public class ArrayKernels
+{
+   /**
+    * Sums the doubles in an array.
+    *
+    * @param array array of doubles. Not modified.
+    * @return the sum of doubles.
+    */
+   public static double sum(double[] array)
+   {
+      return sum(array, 0, array.length);
+   }
+
+   /**
+    * Sums the doubles in the range [{@code offset}, {@code offset + length}) of an array.
+    *
+    * @param array  array of doubles. Not modified.
+    * @param offset index of the first element.
+    * @param length number of elements.
+    * @return the sum of doubles.
+    */
+   public static double sum(double[] array, int offset, int length)
+   {
+      checkRange(array.length, offset, length);
+
+      double sum0 = 0.0, sum1 = 0.0, sum2 = 0.0, sum3 = 0.0;
+      int end = offset + length;
+      int i = offset;
+
+      for (; i <= end - 4; i += 4)
+      {
+         sum0 += array[i];
+         sum1 += array[i + 1];
+         sum2 += array[i + 2];
+         sum3 += array[i + 3];
+      }
+
+      for (; i < end; i++)
+         sum0 += array[i];
+
+      return (sum0 + sum1) + (sum2 + sum3);
+   }
+
+   /**
+    * Sums the integers in the range [{@code offset}, {@code offset + length}) of an array.
+    *
+    * @param array  array of integers. Not modified.
+    * @param offset index of the first element.
+    * @param length number of elements.
+    * @return the sum of integers.
+    */
+   public static int sum(int[] array, int offset, int length)
+   {
+      checkRange(array.length, offset, length);
+
+      int sum = 0;
+      for (int i = offset, end = offset + length; i < end; i++)
+         sum += array[i];
+      return sum;
+   }
+
+   /**
+    * Average value in the range [{@code offset}, {@code offset + length}) of an array.
+    *
+    * @param array  array of doubles. Not modified.
+    * @param offset index of the first element.
+    * @param length number of elements.
+    * @return the average value.
+    */
+   public static double average(double[] array, int offset, int length)
+   {
+      return sum(array, offset, length) / length;
+   }
+
+   /**
+    * The minimum value in the range [{@code offset}, {@code offset + length}) of an array. Like
+    * {@link MathTools#min(double[])}, returns {@link Double#MAX_VALUE} for an empty range and NaN
+    * if any element is NaN.
+    *
+    * @param array  array of doubles. Not modified.
+    * @param offset index of the first element.
+    * @param length number of elements.
+    * @return the minimum value.
+    */
+   public static double min(double[] array, int offset, int length)
+   {
+      checkRange(array.length, offset, length);
+
+      double min = Double.MAX_VALUE;
+      for (int i = offset, end = offset + length; i < end; i++)
+         min = Math.min(min, array[i]);
+      return min;
+   }
+
+   /**
+    * The maximum value in the range [{@code offset}, {@code offset + length}) of an array. Like
+    * {@link MathTools#max(double[])}, returns {@code -Double.MAX_VALUE} for an empty range and NaN
+    * if any element is NaN.
+    *
+    * @param array  array of doubles. Not modified.
+    * @param offset index of the first element.
+    * @param length number of elements.
+    * @return the maximum value.
+    */
+   public static double max(double[] array, int offset, int length)
+   {
+      checkRange(array.length, offset, length);
+
+      double max = -Double.MAX_VALUE;
+      for (int i = offset, end = offset + length; i < end; i++)
+         max = Math.max(max, array[i]);
+      return max;
+   }
+
+   /**
+    * Computes the cumulative sum of {@code array} and stores it in {@code result}, see
+    * {@link MathTools#cumulativeSum(double[])}.
+    *
+    * @param array  input sequence. Not modified.
+    * @param result the array in which the cumulative sum is stored. Modified.
+    */
+   public static void cumulativeSum(double[] array, double[] result)
+   {
+      cumulativeSum(array, 0, array.length, result, 0);
+   }
+
+   /**
+    * Computes the cumulative sum of the range [{@code offset}, {@code offset + length}) of
+    * {@code array} and stores it in {@code result} starting at {@code resultOffset}. The output may
+    * only overlap the input if {@code resultOffset <= offset}.
+    *
+    * @param array        input sequence. Not modified.
+    * @param offset       index of the first element of the input.
+    * @param length       number of elements.
+    * @param result       the array in which the cumulative sum is stored. Modified.
+    * @param resultOffset index in {@code result} of the first element of the output.
+    */
+   public static void cumulativeSum(double[] array, int offset, int length, double[] result, int resultOffset)
+   {
+      checkRange(array.length, offset, length);
+      checkRange(result.length, resultOffset, length);
+      if (array == result && resultOffset > offset && resultOffset < offset + length)
+         throw new IllegalArgumentException("The output overlaps the input with resultOffset > offset");
+
+      double sum = 0.0;
+      for (int i = 0; i < length; i++)
+      {
+         sum += array[offset + i];
+         result[resultOffset + i] = sum;
+      }
+   }
+
+   /**
+    * Subtracts each element of {@code array} by the previous element and stores the
+    * {@code array.length - 1} differences in {@code result}, see {@link MathTools#diff(double[])}.
+    *
+    * @param array  input sequence. Not modified.
+    * @param result the array in which the differences are stored. Modified.
+    */
+   public static void diff(double[] array, double[] result)
+   {
+      diff(array, 0, array.length, result, 0);
+   }
+
+   /**
+    * Subtracts each element of the range [{@code offset}, {@code offset + length}) of
+    * {@code array} by its previous element and stores the {@code length - 1} differences in
+    * {@code result} starting at {@code resultOffset}.
+    *
+    * @param array        input sequence. Not modified.
+    * @param offset       index of the first element of the input.
+    * @param length       number of input elements, at least 1.
+    * @param result       the array in which the differences are stored. Modified.
+    * @param resultOffset index in {@code result} of the first difference.
+    */
+   public static void diff(double[] array, int offset, int length, double[] result, int resultOffset)
+   {
+      checkRange(array.length, offset, length);
+      if (length < 1)
+         throw new IllegalArgumentException("length must be at least 1, was: " + length);
+      checkRange(result.length, resultOffset, length - 1);
+
+      if (array == result && resultOffset > offset)
+      { // Iterate backward so the output does not overwrite inputs that have not been read yet.
+         for (int i = length - 1; i > 0; i--)
+            result[resultOffset + i - 1] = array[offset + i] - array[offset + i - 1];
+      }
+      else
+      {
+         for (int i = 1; i < length; i++)
+            result[resultOffset + i - 1] = array[offset + i] - array[offset + i - 1];
+      }
+   }
+
+   /**
+    * Adds {@code addToAllElements} to all elements of {@code array} and stores them in
+    * {@code result}, see {@link MathTools#dotPlus(double[], double)}.
+    *
+    * @param array            input array. Not modified.
+    * @param addToAllElements the value to add.
+    * @param result           the array in which the sums are stored. Modified.
+    */
+   public static void dotPlus(double[] array, double addToAllElements, double[] result)
+   {
+      dotPlus(array, 0, array.length, addToAllElements, result, 0);
+   }
+
+   /**
+    * Adds {@code addToAllElements} to all elements in the range [{@code offset},
+    * {@code offset + length}) of {@code array} and stores them in {@code result} starting at
+    * {@code resultOffset}.
+    *
+    * @param array            input array. Not modified.
+    * @param offset           index of the first element of the input.
+    * @param length           number of elements.
+    * @param addToAllElements the value to add.
+    * @param result           the array in which the sums are stored. Modified.
+    * @param resultOffset     index in {@code result} of the first element of the output.
+    */
+   public static void dotPlus(double[] array, int offset, int length, double addToAllElements, double[] result, int resultOffset)
+   {
+      checkRange(array.length, offset, length);
+      checkRange(result.length, resultOffset, length);
+
+      if (array == result && resultOffset > offset)
+      {
+         for (int i = length - 1; i >= 0; i--)
+            result[resultOffset + i] = array[offset + i] + addToAllElements;
+      }
+      else
+      {
+         for (int i = 0; i < length; i++)
+            result[resultOffset + i] = array[offset + i] + addToAllElements;
+      }
+   }
+
+   /**
+    * Adds {@code addToAllElements} to all elements of {@code array} and stores them in
+    * {@code result}, see {@link MathTools#dotPlus(int[], int)}.
+    *
+    * @param array            input array. Not modified.
+    * @param addToAllElements the value to add.
+    * @param result           the array in which the sums are stored. Modified.
+    */
+   public static void dotPlus(int[] array, int addToAllElements, int[] result)
+   {
+      dotPlus(array, 0, array.length, addToAllElements, result, 0);
+   }
+
+   /**
+    * Adds {@code addToAllElements} to all elements in the range [{@code offset},
+    * {@code offset + length}) of {@code array} and stores them in {@code result} starting at
+    * {@code resultOffset}.
+    *
+    * @param array            input array. Not modified.
+    * @param offset           index of the first element of the input.
+    * @param length           number of elements.
+    * @param addToAllElements the value to add.
+    * @param result           the array in which the sums are stored. Modified.
+    * @param resultOffset     index in {@code result} of the first element of the output.
+    */
+   public static void dotPlus(int[] array, int offset, int length, int addToAllElements, int[] result, int resultOffset)
+   {
+      checkRange(array.length, offset, length);
+      checkRange(result.length, resultOffset, length);
+
+      if (array == result && resultOffset > offset)
+      {
+         for (int i = length - 1; i >= 0; i--)
+            result[resultOffset + i] = array[offset + i] + addToAllElements;
+      }
+      else
+      {
+         for (int i = 0; i < length; i++)
+            result[resultOffset + i] = array[offset + i] + addToAllElements;
+      }
+   }
+
+   /**
+    * Tests whether two ranges of doubles are element-wise equal to within {@code delta}, see
+    * {@link ArrayTools#deltaEquals(double[], double[], double)}.
+    *
+    * @param a       the first array. Not modified.
+    * @param aOffset index in {@code a} of the first element to compare.
+    * @param b       the second array. Not modified.
+    * @param bOffset index in {@code b} of the first element to compare.
+    * @param length  number of elements to compare.
+    * @param delta   the tolerance.
+    * @return {@code true} if no pair of elements differs by more than {@code delta}.
+    */
+   public static boolean deltaEquals(double[] a, int aOffset, double[] b, int bOffset, int length, double delta)
+   {
+      if (a == null || b == null)
+         return false;
+
+      checkRange(a.length, aOffset, length);
+      checkRange(b.length, bOffset, length);
+
+      for (int i = 0; i < length; i++)
+      {
+         if (Math.abs(a[aOffset + i] - b[bOffset + i]) > delta)
+            return false;
+      }
+
+      return true;
+   }
+
+   /**
+    * Gets the maximum absolute change between consecutive elements in the range [{@code offset},
+    * {@code offset + length}) of {@code values}, see
+    * {@link ArrayTools#getMaximumAbsoluteChangeBetweenTicks(double[])}.
+    *
+    * @param values the sequence. Not modified.
+    * @param offset index of the first element.
+    * @param length number of elements, at least 1.
+    * @return the maximum absolute change between ticks.
+    */
+   public static double getMaximumAbsoluteChangeBetweenTicks(double[] values, int offset, int length)
+   {
+      checkRange(values.length, offset, length);
+      if (length < 1)
+         throw new IllegalArgumentException("length must be at least 1, was: " + length);
+
+      double maxChange = 0.0;
+
+      for (int i = offset + 1, end = offset + length; i < end; i++)
+      {
+         double change = Math.abs(values[i] - values[i - 1]);
+         // Not using Math.max to ignore NaNs like ArrayTools does.
+         if (change > maxChange)
+            maxChange = change;
+      }
+
+      return maxChange;
+   }
+
+   /**
+    * Tests whether the maximum absolute change between consecutive elements in the range
+    * [{@code offset}, {@code offset + length}) of {@code values} is less than
+    * {@code maxAllowedChange}, see {@link ArrayTools#isContinuous(double[], double)}.
+    *
+    * @param values           the sequence. Not modified.
+    * @param offset           index of the first element.
+    * @param length           number of elements, at least 1.
+    * @param maxAllowedChange the exclusive upper bound on the change between ticks.
+    * @return whether the range is continuous.
+    */
+   public static boolean isContinuous(double[] values, int offset, int length, double maxAllowedChange)
+   {
+      return getMaximumAbsoluteChangeBetweenTicks(values, offset, length) < maxAllowedChange;
+   }
+
+   private static void checkRange(int arrayLength, int offset, int length)
+   {
+      if (offset < 0 || length < 0 || offset > arrayLength - length)
+         throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + arrayLength);
+   }
+
+   private ArrayKernels()
+   {
+      // Disallow construction
+   }
+}
@@ -222,4 +222,224 @@ public class InterpolationTools
       double beta = 1.0 / (1.0 + Math.exp(-steepness * value));
       return linearInterpolate(a, b, beta);
    }
+
+   /**
+    * Performs a linear interpolation from {@code a} to {@code b} for each percentage of
+    * {@code alphas} and stores the results in {@code resultToPack}, see
+    * {@link #linearInterpolate(double, double, double)}. Does not allocate.
+    *
+    * @param a            the first value used in the interpolation.
+    * @param b            the second value used in the interpolation.
+    * @param alphas       the percentages to use for the interpolation. Not modified.
+    * @param resultToPack the array in which the interpolated values are stored, can be
+    *                     {@code alphas}. Modified.
+    */
+   public static void linearInterpolate(double a, double b, double[] alphas, double[] resultToPack)
+   {
+      linearInterpolate(a, b, alphas, 0, alphas.length, resultToPack);
+   }
+
+   /**
+    * Performs a linear interpolation from {@code a} to {@code b} for each percentage in the range
+    * [{@code offset}, {@code offset + length}) of {@code alphas} and stores the results at the same
+    * indices of {@code resultToPack}, see {@link #linearInterpolate(double, double, double)}. Does
+    * not allocate.
+    *
+    * @param a            the first value used in the interpolation.
+    * @param b            the second value used in the interpolation.
+    * @param alphas       the percentages to use for the interpolation. Not modified.
+    * @param offset       index of the first percentage.
+    * @param length       number of percentages.
+    * @param resultToPack the array in which the interpolated values are stored, can be
+    *                     {@code alphas}. Modified.
+    */
+   public static void linearInterpolate(double a, double b, double[] alphas, int offset, int length, double[] resultToPack)
+   {
+      checkRange(alphas.length, offset, length);
+      checkRange(resultToPack.length, offset, length);
+
+      for (int i = offset; i < offset + length; i++)
+      {
+         double alpha = alphas[i];
+         resultToPack[i] = (1.0 - alpha) * a + alpha * b;
+      }
+   }
+
+   /**
+    * Performs an interpolation from {@code a} to {@code b} using a cubic Hermite 0,1 spline for each
+    * percentage of {@code alphas} and stores the results in {@code resultToPack}, see
+    * {@link #hermite01Interpolate(double, double, double)}. Does not allocate.
+    *
+    * @param a            the first value used in the interpolation.
+    * @param b            the second value used in the interpolation.
+    * @param alphas       the percentages to use for the interpolation. Not modified.
+    * @param resultToPack the array in which the interpolated values are stored, can be
+    *                     {@code alphas}. Modified.
+    */
+   public static void hermite01Interpolate(double a, double b, double[] alphas, double[] resultToPack)
+   {
+      hermite01Interpolate(a, b, alphas, 0, alphas.length, resultToPack);
+   }
+
+   /**
+    * Performs an interpolation from {@code a} to {@code b} using a cubic Hermite 0,1 spline for each
+    * percentage in the range [{@code offset}, {@code offset + length}) of {@code alphas} and stores
+    * the results at the same indices of {@code resultToPack}, see
+    * {@link #hermite01Interpolate(double, double, double)}. Does not allocate.
+    * <p>
+    * The basis polynomial is evaluated with multiplications rather than {@link Math#pow(double, double)}
+    * such that the results are equal to the scalar method to within rounding error.
+    * </p>
+    *
+    * @param a            the first value used in the interpolation.
+    * @param b            the second value used in the interpolation.
+    * @param alphas       the percentages to use for the interpolation. Not modified.
+    * @param offset       index of the first percentage.
+    * @param length       number of percentages.
+    * @param resultToPack the array in which the interpolated values are stored, can be
+    *                     {@code alphas}. Modified.
+    */
+   public static void hermite01Interpolate(double a, double b, double[] alphas, int offset, int length, double[] resultToPack)
+   {
+      checkRange(alphas.length, offset, length);
+      checkRange(resultToPack.length, offset, length);
+
+      for (int i = offset; i < offset + length; i++)
+      {
+         double alpha = alphas[i];
+         double beta = alpha * alpha * (3.0 - 2.0 * alpha);
+         resultToPack[i] = (1.0 - beta) * a + beta * b;
+      }
+   }
+
+   /**
+    * Performs an interpolation from {@code a} to {@code b} using a cubic Hermite spline with zero
+    * tangents at the boundaries for each percentage of {@code alphas} and stores the results in
+    * {@code resultToPack}, see {@link #hermiteInterpolate(double, double, double)}. Does not
+    * allocate.
+    *
+    * @param a            the first value used in the interpolation.
+    * @param b            the second value used in the interpolation.
+    * @param alphas       the percentages to use for the interpolation. Not modified.
+    * @param resultToPack the array in which the interpolated values are stored, can be
+    *                     {@code alphas}. Modified.
+    */
+   public static void hermiteInterpolate(double a, double b, double[] alphas, double[] resultToPack)
+   {
+      hermiteInterpolate(a, 0.0, b, 0.0, alphas, 0, alphas.length, resultToPack);
+   }
+
+   /**
+    * Performs an interpolation from {@code a} to {@code b} using a cubic Hermite spline for each
+    * percentage of {@code alphas} and stores the results in {@code resultToPack}, see
+    * {@link #hermiteInterpolate(double, double, double, double, double)}. Does not allocate.
+    *
+    * @param a            the first value used in the interpolation.
+    * @param aTangent     the tangent at the first value in the interpolation.
+    * @param b            the second value used in the interpolation.
+    * @param bTangent     the tangent at the second value in the interpolation.
+    * @param alphas       the percentages to use for the interpolation. Not modified.
+    * @param resultToPack the array in which the interpolated values are stored, can be
+    *                     {@code alphas}. Modified.
+    */
+   public static void hermiteInterpolate(double a, double aTangent, double b, double bTangent, double[] alphas, double[] resultToPack)
+   {
+      hermiteInterpolate(a, aTangent, b, bTangent, alphas, 0, alphas.length, resultToPack);
+   }
+
+   /**
+    * Performs an interpolation from {@code a} to {@code b} using a cubic Hermite spline for each
+    * percentage in the range [{@code offset}, {@code offset + length}) of {@code alphas} and stores
+    * the results at the same indices of {@code resultToPack}, see
+    * {@link #hermiteInterpolate(double, double, double, double, double)}. Does not allocate.
+    * <p>
+    * The percentages are clamped to [0, 1] and the basis polynomials are evaluated with
+    * multiplications rather than {@link Math#pow(double, double)} such that the results are equal to
+    * the scalar method to within rounding error. When the same percentages are used repeatedly,
+    * {@link PrecomputedHermiteInterpolator} avoids evaluating the basis altogether.
+    * </p>
+    *
+    * @param a            the first value used in the interpolation.
+    * @param aTangent     the tangent at the first value in the interpolation.
+    * @param b            the second value used in the interpolation.
+    * @param bTangent     the tangent at the second value in the interpolation.
+    * @param alphas       the percentages to use for the interpolation. Not modified.
+    * @param offset       index of the first percentage.
+    * @param length       number of percentages.
+    * @param resultToPack the array in which the interpolated values are stored, can be
+    *                     {@code alphas}. Modified.
+    */
+   public static void hermiteInterpolate(double a, double aTangent, double b, double bTangent, double[] alphas, int offset, int length, double[] resultToPack)
+   {
+      checkRange(alphas.length, offset, length);
+      checkRange(resultToPack.length, offset, length);
+
+      for (int i = offset; i < offset + length; i++)
+      {
+         double alpha = Math.min(Math.max(alphas[i], 0.0), 1.0);
+         double alpha2 = alpha * alpha;
+         double alpha3 = alpha2 * alpha;
+
+         double h00 = 2.0 * alpha3 - 3.0 * alpha2 + 1.0;
+         double h10 = alpha3 - 2.0 * alpha2 + alpha;
+         double h01 = -2.0 * alpha3 + 3.0 * alpha2;
+         double h11 = alpha3 - alpha2;
+         resultToPack[i] = h00 * a + h10 * aTangent + h01 * b + h11 * bTangent;
+      }
+   }
+
+   /**
+    * Performs a logistic interpolation from {@code a} to {@code b} for each percentage of
+    * {@code alphas} and stores the results in {@code resultToPack}, see
+    * {@link #logisticInterpolate(double, double, double, double)}. Does not allocate.
+    *
+    * @param a            the first value used in the interpolation.
+    * @param b            the second value used in the interpolation.
+    * @param alphas       the percentages to use for the interpolation. Not modified.
+    * @param steepness    the steepness of the exponential function.
+    * @param resultToPack the array in which the interpolated values are stored, can be
+    *                     {@code alphas}. Modified.
+    */
+   public static void logisticInterpolate(double a, double b, double[] alphas, double steepness, double[] resultToPack)
+   {
+      logisticInterpolate(a, b, alphas, 0, alphas.length, steepness, resultToPack);
+   }
+
+   /**
+    * Performs a logistic interpolation from {@code a} to {@code b} for each percentage in the range
+    * [{@code offset}, {@code offset + length}) of {@code alphas} and stores the results at the same
+    * indices of {@code resultToPack}, see
+    * {@link #logisticInterpolate(double, double, double, double)}. Does not allocate.
+    * <p>
+    * This still calls {@link Math#exp(double)} for every percentage, use a
+    * {@link LogisticInterpolator} with a lookup table when a bounded error is acceptable.
+    * </p>
+    *
+    * @param a            the first value used in the interpolation.
+    * @param b            the second value used in the interpolation.
+    * @param alphas       the percentages to use for the interpolation. Not modified.
+    * @param offset       index of the first percentage.
+    * @param length       number of percentages.
+    * @param steepness    the steepness of the exponential function.
+    * @param resultToPack the array in which the interpolated values are stored, can be
+    *                     {@code alphas}. Modified.
+    */
+   public static void logisticInterpolate(double a, double b, double[] alphas, int offset, int length, double steepness, double[] resultToPack)
+   {
+      checkRange(alphas.length, offset, length);
+      checkRange(resultToPack.length, offset, length);
+
+      for (int i = offset; i < offset + length; i++)
+      {
+         double value = 12.0 * alphas[i] - 6.0;
+         double beta = 1.0 / (1.0 + Math.exp(-steepness * value));
+         resultToPack[i] = (1.0 - beta) * a + beta * b;
+      }
+   }
+
+   static void checkRange(int arrayLength, int offset, int length)
+   {
+      if (offset < 0 || length < 0 || offset > arrayLength - length)
+         throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + arrayLength);
+   }
 }
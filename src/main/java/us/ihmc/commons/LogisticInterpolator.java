@@ -0,0 +1,224 @@
+package us.ihmc.commons;
+
+/**
+ * Logistic interpolator for a fixed steepness, see
+ * {@link InterpolationTools#logisticInterpolate(double, double, double, double)}.
+ * <p>
+ * By default the logistic curve is evaluated exactly, with one call to {@link Math#exp(double)} per
+ * sample. When created with a maximum error, the curve is instead sampled once into a lookup table
+ * over [0, 1] and evaluated by linear interpolation in the table, which avoids the exponential
+ * altogether. Percentages outside of [0, 1] always fall back to the exact curve.
+ * </p>
+ */
+public class LogisticInterpolator
+{
+   /**
+    * Upper bound of |s''(x)| for the standard logistic function s(x) = 1 / (1 + e<sup>-x</sup>),
+    * reached at x = ln(2 &plusmn; &radic;3).
+    */
+   private static final double MAX_LOGISTIC_SECOND_DERIVATIVE = Math.sqrt(3.0) / 18.0;
+   /** Upper bound for the size of the lookup table, about 8MB. */
+   private static final int MAX_TABLE_SIZE = 1 << 20;
+
+   private final double steepness;
+   private final double maximumError;
+   private final double[] table;
+   private final int numberOfIntervals;
+
+   /**
+    * Creates an interpolator that evaluates the logistic curve exactly.
+    *
+    * @param steepness the steepness of the exponential function.
+    */
+   public LogisticInterpolator(double steepness)
+   {
+      this.steepness = steepness;
+      maximumError = 0.0;
+      table = null;
+      numberOfIntervals = 0;
+   }
+
+   /**
+    * Creates an interpolator that evaluates the logistic curve using a lookup table.
+    * <p>
+    * The table is sized such that the interpolation percentage, often noted beta, is within
+    * {@code maximumError} of the exact logistic curve for any alpha in [0, 1]. The interpolated value
+    * is therefore within {@code maximumError * |b - a|} of
+    * {@link InterpolationTools#logisticInterpolate(double, double, double, double)}, ignoring
+    * rounding errors.
+    * </p>
+    *
+    * @param steepness    the steepness of the exponential function.
+    * @param maximumError the maximum error on the interpolation percentage, must be strictly
+    *                     positive.
+    * @throws IllegalArgumentException if {@code maximumError} is not strictly positive or if the
+    *                                  table required to achieve it would be unreasonably large.
+    */
+   public LogisticInterpolator(double steepness, double maximumError)
+   {
+      if (!(maximumError > 0.0))
+         throw new IllegalArgumentException("The maximum error must be strictly positive: " + maximumError);
+
+      this.steepness = steepness;
+      this.maximumError = maximumError;
+      numberOfIntervals = computeNumberOfIntervals(steepness, maximumError);
+
+      if (numberOfIntervals > MAX_TABLE_SIZE)
+         throw new IllegalArgumentException("A lookup table for steepness " + steepness + " and error " + maximumError + " would need " + numberOfIntervals
+               + " entries, the maximum is " + MAX_TABLE_SIZE);
+
+      table = new double[numberOfIntervals + 1];
+      for (int i = 0; i <= numberOfIntervals; i++)
+         table[i] = computeExactBeta(steepness, (double) i / numberOfIntervals);
+   }
+
+   /**
+    * Computes the number of intervals of a lookup table over [0, 1] so that linear interpolation in
+    * the table approximates the logistic curve to within {@code maximumError}.
+    * <p>
+    * The linear interpolation error of a function f over an interval of width h is bounded by
+    * max|f''| h<sup>2</sup> / 8. Here f(alpha) = s(12 steepness alpha - 6 steepness) such that
+    * max|f''| = (12 steepness)<sup>2</sup> max|s''|.
+    * </p>
+    *
+    * @param steepness    the steepness of the exponential function.
+    * @param maximumError the maximum error on the interpolation percentage.
+    * @return the number of intervals, the table holds one more entry.
+    */
+   public static int computeNumberOfIntervals(double steepness, double maximumError)
+   {
+      double maxSecondDerivative = 144.0 * steepness * steepness * MAX_LOGISTIC_SECOND_DERIVATIVE;
+      double numberOfIntervals = Math.ceil(Math.sqrt(maxSecondDerivative / (8.0 * maximumError)));
+      return (int) Math.max(1.0, Math.min(numberOfIntervals, Integer.MAX_VALUE - 1));
+   }
+
+   private static double computeExactBeta(double steepness, double alpha)
+   {
+      double value = 12.0 * alpha - 6.0;
+      return 1.0 / (1.0 + Math.exp(-steepness * value));
+   }
+
+   /**
+    * Computes the interpolation percentage, often noted beta, such that the logistic interpolation
+    * from {@code a} to {@code b} is {@code (1 - beta) * a + beta * b}.
+    *
+    * @param alpha the percentage to use for the interpolation.
+    * @return the logistic interpolation percentage.
+    */
+   public double computeBeta(double alpha)
+   {
+      if (table == null || !(alpha >= 0.0 && alpha <= 1.0))
+         return computeExactBeta(steepness, alpha);
+
+      double scaledAlpha = alpha * numberOfIntervals;
+      int index = Math.min((int) scaledAlpha, numberOfIntervals - 1);
+      double remainder = scaledAlpha - index;
+      double start = table[index];
+      return start + remainder * (table[index + 1] - start);
+   }
+
+   /**
+    * Computes the interpolation percentage for each percentage of {@code alphas}. The result can be
+    * used with {@link InterpolationTools#linearInterpolate(double, double, double[], double[])} to
+    * interpolate many pairs of values for the same grid of percentages. Does not allocate.
+    *
+    * @param alphas      the percentages to use for the interpolation. Not modified.
+    * @param betasToPack the array in which the logistic interpolation percentages are stored, can be
+    *                    {@code alphas}. Modified.
+    */
+   public void computeBetas(double[] alphas, double[] betasToPack)
+   {
+      InterpolationTools.checkRange(betasToPack.length, 0, alphas.length);
+
+      for (int i = 0; i < alphas.length; i++)
+         betasToPack[i] = computeBeta(alphas[i]);
+   }
+
+   /**
+    * Performs a logistic interpolation from {@code a} to {@code b} given the percentage
+    * {@code alpha}.
+    *
+    * @param a     the first value used in the interpolation.
+    * @param b     the second value used in the interpolation.
+    * @param alpha the percentage to use for the interpolation.
+    * @return the interpolated value.
+    */
+   public double interpolate(double a, double b, double alpha)
+   {
+      double beta = computeBeta(alpha);
+      return (1.0 - beta) * a + beta * b;
+   }
+
+   /**
+    * Performs a logistic interpolation from {@code a} to {@code b} for each percentage of
+    * {@code alphas} and stores the results in {@code resultToPack}. Does not allocate.
+    *
+    * @param a            the first value used in the interpolation.
+    * @param b            the second value used in the interpolation.
+    * @param alphas       the percentages to use for the interpolation. Not modified.
+    * @param resultToPack the array in which the interpolated values are stored, can be
+    *                     {@code alphas}. Modified.
+    */
+   public void interpolate(double a, double b, double[] alphas, double[] resultToPack)
+   {
+      interpolate(a, b, alphas, 0, alphas.length, resultToPack);
+   }
+
+   /**
+    * Performs a logistic interpolation from {@code a} to {@code b} for each percentage in the range
+    * [{@code offset}, {@code offset + length}) of {@code alphas} and stores the results at the same
+    * indices of {@code resultToPack}. Does not allocate.
+    *
+    * @param a            the first value used in the interpolation.
+    * @param b            the second value used in the interpolation.
+    * @param alphas       the percentages to use for the interpolation. Not modified.
+    * @param offset       index of the first percentage.
+    * @param length       number of percentages.
+    * @param resultToPack the array in which the interpolated values are stored, can be
+    *                     {@code alphas}. Modified.
+    */
+   public void interpolate(double a, double b, double[] alphas, int offset, int length, double[] resultToPack)
+   {
+      InterpolationTools.checkRange(alphas.length, offset, length);
+      InterpolationTools.checkRange(resultToPack.length, offset, length);
+
+      for (int i = offset; i < offset + length; i++)
+      {
+         double beta = computeBeta(alphas[i]);
+         resultToPack[i] = (1.0 - beta) * a + beta * b;
+      }
+   }
+
+   /**
+    * @return the steepness of the exponential function.
+    */
+   public double getSteepness()
+   {
+      return steepness;
+   }
+
+   /**
+    * @return whether this interpolator uses a lookup table.
+    */
+   public boolean isUsingLookupTable()
+   {
+      return table != null;
+   }
+
+   /**
+    * @return the maximum error on the interpolation percentage, 0 when the curve is evaluated
+    *         exactly.
+    */
+   public double getMaximumError()
+   {
+      return maximumError;
+   }
+
+   /**
+    * @return the number of entries in the lookup table, 0 when the curve is evaluated exactly.
+    */
+   public int getTableSize()
+   {
+      return table == null ? 0 : table.length;
+   }
+}
@@ -299,16 +299,40 @@ public class MathTools
    public static double[] cumulativeSum(double[] array)
    {
       double[] ret = new double[array.length];
-      double sum = 0.0;
-      for (int i = 0; i < array.length; i++)
-      {
-         sum += array[i];
-         ret[i] = sum;
-      }
-
+      cumulativeSum(array, ret);
       return ret;
    }
 
+   /**
+    * Computes the cumulative sum array for a given array of doubles and stores it in
+    * {@code resultToPack}. Does not allocate.
+    *
+    * @param array input sequence
+    * @param resultToPack the array in which the cumulative sum sequence is stored, can be {@code array}
+    * @see #cumulativeSum(double[])
+    */
+   public static void cumulativeSum(double[] array, double[] resultToPack)
+   {
+      ArrayKernels.cumulativeSum(array, resultToPack);
+   }
+
+   /**
+    * Computes the cumulative sum array for the range [{@code offset}, {@code offset + length}) of
+    * an array of doubles and stores it in {@code resultToPack} starting at {@code resultOffset}.
+    * Does not allocate.
+    *
+    * @param array input sequence
+    * @param offset index of the first element of the input sequence
+    * @param length number of elements
+    * @param resultToPack the array in which the cumulative sum sequence is stored
+    * @param resultOffset index in {@code resultToPack} of the first element of the output
+    * @see #cumulativeSum(double[])
+    */
+   public static void cumulativeSum(double[] array, int offset, int length, double[] resultToPack, int resultOffset)
+   {
+      ArrayKernels.cumulativeSum(array, offset, length, resultToPack, resultOffset);
+   }
+
    /**
     * Subtracts each element of a double array by the previous element in
     * the array, returns the new array
@@ -319,14 +343,41 @@ public class MathTools
    public static double[] diff(double[] array)
    {
       double[] ret = new double[array.length - 1];
-      for (int i = 1; i < array.length; i++)
-      {
-         ret[i - 1] = array[i] - array[i - 1];
-      }
-
+      diff(array, ret);
       return ret;
    }
 
+   /**
+    * Subtracts each element of a double array by the previous element in
+    * the array and stores the {@code array.length - 1} differences in {@code resultToPack}.
+    * Does not allocate.
+    *
+    * @param array double[]
+    * @param resultToPack the array in which the differences are stored, can be {@code array}
+    * @see #diff(double[])
+    */
+   public static void diff(double[] array, double[] resultToPack)
+   {
+      ArrayKernels.diff(array, resultToPack);
+   }
+
+   /**
+    * Subtracts each element in the range [{@code offset}, {@code offset + length}) of a double
+    * array by the previous element and stores the {@code length - 1} differences in
+    * {@code resultToPack} starting at {@code resultOffset}. Does not allocate.
+    *
+    * @param array double[]
+    * @param offset index of the first element of the input
+    * @param length number of input elements
+    * @param resultToPack the array in which the differences are stored
+    * @param resultOffset index in {@code resultToPack} of the first difference
+    * @see #diff(double[])
+    */
+   public static void diff(double[] array, int offset, int length, double[] resultToPack, int resultOffset)
+   {
+      ArrayKernels.diff(array, offset, length, resultToPack, resultOffset);
+   }
+
    /**
     * Adds parameter 'addToAllElements' to all elements of the
     * double array and returns the new array
@@ -338,14 +389,42 @@ public class MathTools
    public static double[] dotPlus(double[] array, double addToAllElementsOfA)
    {
       double[] ret = new double[array.length];
-      for (int i = 0; i < array.length; i++)
-      {
-         ret[i] = array[i] + addToAllElementsOfA;
-      }
-
+      dotPlus(array, addToAllElementsOfA, ret);
       return ret;
    }
 
+   /**
+    * Adds parameter 'addToAllElements' to all elements of the
+    * double array and stores them in {@code resultToPack}. Does not allocate.
+    *
+    * @param array double[]
+    * @param addToAllElementsOfA double
+    * @param resultToPack the array in which the sums are stored, can be {@code array}
+    * @see #dotPlus(double[], double)
+    */
+   public static void dotPlus(double[] array, double addToAllElementsOfA, double[] resultToPack)
+   {
+      ArrayKernels.dotPlus(array, addToAllElementsOfA, resultToPack);
+   }
+
+   /**
+    * Adds parameter 'addToAllElements' to all elements in the range [{@code offset},
+    * {@code offset + length}) of the double array and stores them in {@code resultToPack}
+    * starting at {@code resultOffset}. Does not allocate.
+    *
+    * @param array double[]
+    * @param offset index of the first element of the input
+    * @param length number of elements
+    * @param addToAllElementsOfA double
+    * @param resultToPack the array in which the sums are stored
+    * @param resultOffset index in {@code resultToPack} of the first element of the output
+    * @see #dotPlus(double[], double)
+    */
+   public static void dotPlus(double[] array, int offset, int length, double addToAllElementsOfA, double[] resultToPack, int resultOffset)
+   {
+      ArrayKernels.dotPlus(array, offset, length, addToAllElementsOfA, resultToPack, resultOffset);
+   }
+
    /**
     * Adds parameter 'addToAllElements' to all elements of the
     * integer array and returns the new array
@@ -357,14 +436,42 @@ public class MathTools
    public static int[] dotPlus(int[] array, int addToAllElementsOfA)
    {
       int[] ret = new int[array.length];
-      for (int i = 0; i < array.length; i++)
-      {
-         ret[i] = array[i] + addToAllElementsOfA;
-      }
-
+      dotPlus(array, addToAllElementsOfA, ret);
       return ret;
    }
 
+   /**
+    * Adds parameter 'addToAllElements' to all elements of the
+    * integer array and stores them in {@code resultToPack}. Does not allocate.
+    *
+    * @param array int[]
+    * @param addToAllElementsOfA int
+    * @param resultToPack the array in which the sums are stored, can be {@code array}
+    * @see #dotPlus(int[], int)
+    */
+   public static void dotPlus(int[] array, int addToAllElementsOfA, int[] resultToPack)
+   {
+      ArrayKernels.dotPlus(array, addToAllElementsOfA, resultToPack);
+   }
+
+   /**
+    * Adds parameter 'addToAllElements' to all elements in the range [{@code offset},
+    * {@code offset + length}) of the integer array and stores them in {@code resultToPack}
+    * starting at {@code resultOffset}. Does not allocate.
+    *
+    * @param array int[]
+    * @param offset index of the first element of the input
+    * @param length number of elements
+    * @param addToAllElementsOfA int
+    * @param resultToPack the array in which the sums are stored
+    * @param resultOffset index in {@code resultToPack} of the first element of the output
+    * @see #dotPlus(int[], int)
+    */
+   public static void dotPlus(int[] array, int offset, int length, int addToAllElementsOfA, int[] resultToPack, int resultOffset)
+   {
+      ArrayKernels.dotPlus(array, offset, length, addToAllElementsOfA, resultToPack, resultOffset);
+   }
+
    /**
     * <p>Compare {@code a} and {@code b} with epsilon. NaNs compare to {@code true}.</p>
     *
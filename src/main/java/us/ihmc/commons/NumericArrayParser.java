@@ -0,0 +1,541 @@
+package us.ihmc.commons;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A reusable, streaming parser for text arrays of numbers, intended as a garbage free alternative to
+ * {@link ArrayTools#parseDoubleArray(String)}, {@link ArrayTools#parseDoubleArrayFromMATLAB(String)}
+ * and {@link ArrayTools#parseIntegerArray(String)}.
+ * <p>
+ * The text is scanned in place and the parsed values are appended to growable primitive buffers
+ * owned by this parser. The buffers only grow when more values are parsed than ever before, so a
+ * parser that is reused for inputs of similar length does not allocate once warmed up.
+ * </p>
+ * <p>
+ * Supported syntaxes include {@code {1.0, 2.0, 3.0}}, {@code [1.0, 2.0, 3.0]},
+ * {@code [1 2 3; 4 5 6]} and plain comma separated values. Braces, brackets, commas, semicolons
+ * and whitespace are all treated as separators.
+ * </p>
+ * <p>
+ * Doubles with at most 15 significant digits and a decimal exponent in [-22, 22] are converted
+ * exactly without allocation. Any other token falls back to {@link Double#parseDouble(String)}
+ * on that single token.
+ * </p>
+ */
+public class NumericArrayParser
+{
+   private static final int DEFAULT_INITIAL_CAPACITY = 16;
+   private static final int MAXIMUM_FAST_PATH_DIGITS = 15;
+   private static final double[] POWERS_OF_TEN = {1.0e0, 1.0e1, 1.0e2, 1.0e3, 1.0e4, 1.0e5, 1.0e6, 1.0e7, 1.0e8, 1.0e9, 1.0e10, 1.0e11, 1.0e12, 1.0e13,
+         1.0e14, 1.0e15, 1.0e16, 1.0e17, 1.0e18, 1.0e19, 1.0e20, 1.0e21, 1.0e22};
+
+   private double[] doubleValues;
+   private int numberOfDoubles = 0;
+
+   private int[] integerValues;
+   private int numberOfIntegers = 0;
+
+   private final AsciiByteBufferSequence asciiSequence = new AsciiByteBufferSequence();
+
+   /**
+    * Creates a new parser with a default initial capacity.
+    */
+   public NumericArrayParser()
+   {
+      this(DEFAULT_INITIAL_CAPACITY);
+   }
+
+   /**
+    * Creates a new parser.
+    *
+    * @param initialCapacity the number of doubles and integers that can be parsed before the
+    *                        buffers need to grow.
+    */
+   public NumericArrayParser(int initialCapacity)
+   {
+      if (initialCapacity < 0)
+         throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+
+      doubleValues = new double[initialCapacity];
+      integerValues = new int[initialCapacity];
+   }
+
+   /**
+    * Clears the double buffer and parses all the doubles in {@code text}.
+    *
+    * @param text the text to parse. Not modified.
+    * @return the number of doubles parsed.
+    * @throws NumberFormatException if a token is not a valid double.
+    */
+   public int parseDoubles(CharSequence text)
+   {
+      numberOfDoubles = 0;
+      return appendDoubles(text, 0, text.length());
+   }
+
+   /**
+    * Clears the double buffer and parses all the doubles in the remaining bytes of
+    * {@code asciiBuffer}, which can for instance be a memory-mapped file. The position of the buffer
+    * is not modified.
+    *
+    * @param asciiBuffer the ASCII encoded text to parse. Not modified.
+    * @return the number of doubles parsed.
+    * @throws NumberFormatException if a token is not a valid double.
+    */
+   public int parseDoubles(ByteBuffer asciiBuffer)
+   {
+      asciiSequence.setBuffer(asciiBuffer);
+      int result = parseDoubles(asciiSequence);
+      asciiSequence.setBuffer(null);
+      return result;
+   }
+
+   /**
+    * Parses the doubles in the region [{@code start}, {@code end}) of {@code text} and appends them
+    * to the double buffer.
+    *
+    * @param text  the text to parse. Not modified.
+    * @param start the index of the first character to parse, inclusive.
+    * @param end   the index of the last character to parse, exclusive.
+    * @return the number of doubles appended.
+    * @throws NumberFormatException if a token is not a valid double.
+    */
+   public int appendDoubles(CharSequence text, int start, int end)
+   {
+      int previousNumberOfDoubles = numberOfDoubles;
+      int index = start;
+
+      while (true)
+      {
+         index = skipSeparators(text, index, end);
+         if (index == end)
+            break;
+
+         int tokenEnd = findTokenEnd(text, index, end);
+         appendDouble(parseDouble(text, index, tokenEnd));
+         index = tokenEnd;
+      }
+
+      return numberOfDoubles - previousNumberOfDoubles;
+   }
+
+   /**
+    * Clears the integer buffer and parses all the integers in {@code text}.
+    *
+    * @param text the text to parse. Not modified.
+    * @return the number of integers parsed.
+    * @throws NumberFormatException if a token is not a valid integer.
+    */
+   public int parseIntegers(CharSequence text)
+   {
+      numberOfIntegers = 0;
+      return appendIntegers(text, 0, text.length());
+   }
+
+   /**
+    * Clears the integer buffer and parses all the integers in the remaining bytes of
+    * {@code asciiBuffer}, which can for instance be a memory-mapped file. The position of the buffer
+    * is not modified.
+    *
+    * @param asciiBuffer the ASCII encoded text to parse. Not modified.
+    * @return the number of integers parsed.
+    * @throws NumberFormatException if a token is not a valid integer.
+    */
+   public int parseIntegers(ByteBuffer asciiBuffer)
+   {
+      asciiSequence.setBuffer(asciiBuffer);
+      int result = parseIntegers(asciiSequence);
+      asciiSequence.setBuffer(null);
+      return result;
+   }
+
+   /**
+    * Parses the integers in the region [{@code start}, {@code end}) of {@code text} and appends
+    * them to the integer buffer.
+    *
+    * @param text  the text to parse. Not modified.
+    * @param start the index of the first character to parse, inclusive.
+    * @param end   the index of the last character to parse, exclusive.
+    * @return the number of integers appended.
+    * @throws NumberFormatException if a token is not a valid integer.
+    */
+   public int appendIntegers(CharSequence text, int start, int end)
+   {
+      int previousNumberOfIntegers = numberOfIntegers;
+      int index = start;
+
+      while (true)
+      {
+         index = skipSeparators(text, index, end);
+         if (index == end)
+            break;
+
+         int tokenEnd = findTokenEnd(text, index, end);
+         appendInteger(parseInteger(text, index, tokenEnd));
+         index = tokenEnd;
+      }
+
+      return numberOfIntegers - previousNumberOfIntegers;
+   }
+
+   /**
+    * Clears both buffers. Does not release memory.
+    */
+   public void clear()
+   {
+      numberOfDoubles = 0;
+      numberOfIntegers = 0;
+   }
+
+   /**
+    * @return the number of doubles currently held in the double buffer.
+    */
+   public int getNumberOfDoubles()
+   {
+      return numberOfDoubles;
+   }
+
+   /**
+    * @return the number of integers currently held in the integer buffer.
+    */
+   public int getNumberOfIntegers()
+   {
+      return numberOfIntegers;
+   }
+
+   /**
+    * @param index the index of the double to get.
+    * @return the parsed double at {@code index}.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #getNumberOfDoubles()}).
+    */
+   public double getDouble(int index)
+   {
+      if (index < 0 || index >= numberOfDoubles)
+         throw new IndexOutOfBoundsException("Index: " + index + ", size: " + numberOfDoubles);
+      return doubleValues[index];
+   }
+
+   /**
+    * @param index the index of the integer to get.
+    * @return the parsed integer at {@code index}.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #getNumberOfIntegers()}).
+    */
+   public int getInteger(int index)
+   {
+      if (index < 0 || index >= numberOfIntegers)
+         throw new IndexOutOfBoundsException("Index: " + index + ", size: " + numberOfIntegers);
+      return integerValues[index];
+   }
+
+   /**
+    * Gets the internal double buffer. Only the first {@link #getNumberOfDoubles()} elements are
+    * valid. The returned array is reallocated when the buffer grows.
+    *
+    * @return the internal double buffer.
+    */
+   public double[] getDoubleBuffer()
+   {
+      return doubleValues;
+   }
+
+   /**
+    * Gets the internal integer buffer. Only the first {@link #getNumberOfIntegers()} elements are
+    * valid. The returned array is reallocated when the buffer grows.
+    *
+    * @return the internal integer buffer.
+    */
+   public int[] getIntegerBuffer()
+   {
+      return integerValues;
+   }
+
+   /**
+    * Copies the parsed doubles into {@code destination}.
+    *
+    * @param destination the array to pack. Modified.
+    * @param offset      the index in {@code destination} of the first double.
+    * @return the number of doubles copied.
+    */
+   public int getDoubles(double[] destination, int offset)
+   {
+      System.arraycopy(doubleValues, 0, destination, offset, numberOfDoubles);
+      return numberOfDoubles;
+   }
+
+   /**
+    * Copies the parsed integers into {@code destination}.
+    *
+    * @param destination the array to pack. Modified.
+    * @param offset      the index in {@code destination} of the first integer.
+    * @return the number of integers copied.
+    */
+   public int getIntegers(int[] destination, int offset)
+   {
+      System.arraycopy(integerValues, 0, destination, offset, numberOfIntegers);
+      return numberOfIntegers;
+   }
+
+   /**
+    * Creates a new array containing the parsed doubles. This method allocates.
+    *
+    * @return the parsed doubles.
+    */
+   public double[] toDoubleArray()
+   {
+      return Arrays.copyOf(doubleValues, numberOfDoubles);
+   }
+
+   /**
+    * Creates a new array containing the parsed integers. This method allocates.
+    *
+    * @return the parsed integers.
+    */
+   public int[] toIntegerArray()
+   {
+      return Arrays.copyOf(integerValues, numberOfIntegers);
+   }
+
+   private void appendDouble(double value)
+   {
+      if (numberOfDoubles == doubleValues.length)
+         doubleValues = Arrays.copyOf(doubleValues, Math.max(DEFAULT_INITIAL_CAPACITY, 2 * doubleValues.length));
+      doubleValues[numberOfDoubles++] = value;
+   }
+
+   private void appendInteger(int value)
+   {
+      if (numberOfIntegers == integerValues.length)
+         integerValues = Arrays.copyOf(integerValues, Math.max(DEFAULT_INITIAL_CAPACITY, 2 * integerValues.length));
+      integerValues[numberOfIntegers++] = value;
+   }
+
+   private static boolean isSeparator(char c)
+   {
+      switch (c)
+      {
+      case ',':
+      case ';':
+      case '{':
+      case '}':
+      case '[':
+      case ']':
+      case ' ':
+      case '\t':
+      case '\n':
+      case '\r':
+         return true;
+      default:
+         return false;
+      }
+   }
+
+   private static int skipSeparators(CharSequence text, int index, int end)
+   {
+      while (index < end && isSeparator(text.charAt(index)))
+         index++;
+      return index;
+   }
+
+   private static int findTokenEnd(CharSequence text, int index, int end)
+   {
+      while (index < end && !isSeparator(text.charAt(index)))
+         index++;
+      return index;
+   }
+
+   /**
+    * Parses a double from the token [{@code start}, {@code end}) using an exact fast path when
+    * possible, falling back to {@link Double#parseDouble(String)} otherwise.
+    */
+   static double parseDouble(CharSequence text, int start, int end)
+   {
+      int index = start;
+      boolean negative = false;
+
+      char c = text.charAt(index);
+      if (c == '-' || c == '+')
+      {
+         negative = c == '-';
+         index++;
+      }
+
+      long mantissa = 0;
+      int significantDigits = 0;
+      int decimalExponent = 0;
+      boolean hasDigits = false;
+      boolean inFraction = false;
+
+      for (; index < end; index++)
+      {
+         c = text.charAt(index);
+
+         if (c >= '0' && c <= '9')
+         {
+            hasDigits = true;
+
+            if (mantissa == 0 && c == '0')
+            { // Leading zeros are not significant.
+               if (inFraction)
+                  decimalExponent--;
+               continue;
+            }
+
+            if (++significantDigits > MAXIMUM_FAST_PATH_DIGITS)
+               return parseDoubleSlowly(text, start, end);
+
+            mantissa = 10 * mantissa + (c - '0');
+            if (inFraction)
+               decimalExponent--;
+         }
+         else if (c == '.' && !inFraction)
+         {
+            inFraction = true;
+         }
+         else
+         {
+            break;
+         }
+      }
+
+      if (!hasDigits)
+         return parseDoubleSlowly(text, start, end);
+
+      if (index < end && (c == 'e' || c == 'E'))
+      {
+         index++;
+         boolean negativeExponent = false;
+
+         if (index < end && (text.charAt(index) == '-' || text.charAt(index) == '+'))
+         {
+            negativeExponent = text.charAt(index) == '-';
+            index++;
+         }
+
+         if (index == end)
+            return parseDoubleSlowly(text, start, end);
+
+         int exponent = 0;
+
+         for (; index < end; index++)
+         {
+            c = text.charAt(index);
+            if (c < '0' || c > '9' || exponent > 1000)
+               return parseDoubleSlowly(text, start, end);
+            exponent = 10 * exponent + (c - '0');
+         }
+
+         decimalExponent += negativeExponent ? -exponent : exponent;
+      }
+
+      if (index != end)
+         return parseDoubleSlowly(text, start, end);
+
+      double value;
+
+      if (mantissa == 0)
+         value = 0.0;
+      else if (decimalExponent >= 0 && decimalExponent < POWERS_OF_TEN.length)
+         value = mantissa * POWERS_OF_TEN[decimalExponent];
+      else if (decimalExponent < 0 && -decimalExponent < POWERS_OF_TEN.length)
+         value = mantissa / POWERS_OF_TEN[-decimalExponent];
+      else
+         return parseDoubleSlowly(text, start, end);
+
+      return negative ? -value : value;
+   }
+
+   private static double parseDoubleSlowly(CharSequence text, int start, int end)
+   {
+      return Double.parseDouble(text.subSequence(start, end).toString());
+   }
+
+   /**
+    * Parses an integer from the token [{@code start}, {@code end}) with the same semantic as
+    * {@link Integer#parseInt(String)}.
+    */
+   static int parseInteger(CharSequence text, int start, int end)
+   {
+      int index = start;
+      boolean negative = false;
+
+      char c = text.charAt(index);
+      if (c == '-' || c == '+')
+      {
+         negative = c == '-';
+         index++;
+      }
+
+      if (index == end)
+         throw newNumberFormatException(text, start, end);
+
+      // Accumulate negatively to be able to represent Integer.MIN_VALUE.
+      int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+      int multiplicationLimit = limit / 10;
+      int result = 0;
+
+      for (; index < end; index++)
+      {
+         c = text.charAt(index);
+         if (c < '0' || c > '9' || result < multiplicationLimit)
+            throw newNumberFormatException(text, start, end);
+
+         result *= 10;
+         int digit = c - '0';
+         if (result < limit + digit)
+            throw newNumberFormatException(text, start, end);
+         result -= digit;
+      }
+
+      return negative ? result : -result;
+   }
+
+   private static NumberFormatException newNumberFormatException(CharSequence text, int start, int end)
+   {
+      return new NumberFormatException("For input string: \"" + text.subSequence(start, end) + "\"");
+   }
+
+   /**
+    * Presents the remaining bytes of a {@link ByteBuffer} as ASCII characters without copying them.
+    */
+   private static class AsciiByteBufferSequence implements CharSequence
+   {
+      private ByteBuffer buffer;
+      private int offset;
+      private int length;
+
+      void setBuffer(ByteBuffer buffer)
+      {
+         this.buffer = buffer;
+         offset = buffer == null ? 0 : buffer.position();
+         length = buffer == null ? 0 : buffer.remaining();
+      }
+
+      @Override
+      public int length()
+      {
+         return length;
+      }
+
+      @Override
+      public char charAt(int index)
+      {
+         return (char) (buffer.get(offset + index) & 0xFF);
+      }
+
+      @Override
+      public CharSequence subSequence(int start, int end)
+      {
+         StringBuilder stringBuilder = new StringBuilder(end - start);
+         for (int i = start; i < end; i++)
+            stringBuilder.append(charAt(i));
+         return stringBuilder;
+      }
+
+      @Override
+      public String toString()
+      {
+         return subSequence(0, length).toString();
+      }
+   }
+}
@@ -0,0 +1,212 @@
+package us.ihmc.commons;
+
+/**
+ * Cubic Hermite interpolator for a fixed grid of percentages.
+ * <p>
+ * The four Hermite basis coefficients are evaluated once for each percentage when the grid is set,
+ * such that an interpolation over the whole grid only costs four multiplications per sample. The
+ * results are identical to
+ * {@link InterpolationTools#hermiteInterpolate(double, double, double, double, double)}.
+ * </p>
+ * <p>
+ * Typical use is resampling many trajectory segments at the same rate: the grid is set once and
+ * {@link #interpolate(double, double, double, double, double[], int)} is called for every segment.
+ * </p>
+ */
+public class PrecomputedHermiteInterpolator
+{
+   private double[] h00 = new double[0];
+   private double[] h10 = new double[0];
+   private double[] h01 = new double[0];
+   private double[] h11 = new double[0];
+   private int numberOfAlphas = 0;
+
+   /**
+    * Creates an interpolator with an empty grid, use {@link #setAlphas(double[])} or
+    * {@link #setUniformAlphas(int)} before interpolating.
+    */
+   public PrecomputedHermiteInterpolator()
+   {
+   }
+
+   /**
+    * Creates an interpolator for {@code numberOfAlphas} percentages evenly distributed in [0, 1],
+    * both included.
+    *
+    * @param numberOfAlphas the number of percentages in the grid.
+    */
+   public PrecomputedHermiteInterpolator(int numberOfAlphas)
+   {
+      setUniformAlphas(numberOfAlphas);
+   }
+
+   /**
+    * Creates an interpolator for the given grid of percentages.
+    *
+    * @param alphas the percentages to use for the interpolation. Not modified.
+    */
+   public PrecomputedHermiteInterpolator(double[] alphas)
+   {
+      setAlphas(alphas);
+   }
+
+   /**
+    * Sets the grid to {@code numberOfAlphas} percentages evenly distributed in [0, 1], both
+    * included. Only allocates when the grid grows beyond its previous capacity.
+    *
+    * @param numberOfAlphas the number of percentages in the grid.
+    */
+   public void setUniformAlphas(int numberOfAlphas)
+   {
+      if (numberOfAlphas < 0)
+         throw new IllegalArgumentException("The number of alphas must be positive: " + numberOfAlphas);
+
+      ensureCapacity(numberOfAlphas);
+      this.numberOfAlphas = numberOfAlphas;
+
+      if (numberOfAlphas == 1)
+      {
+         setCoefficients(0, 0.0);
+         return;
+      }
+
+      double step = 1.0 / (numberOfAlphas - 1);
+      for (int i = 0; i < numberOfAlphas; i++)
+         setCoefficients(i, i == numberOfAlphas - 1 ? 1.0 : i * step);
+   }
+
+   /**
+    * Sets the grid of percentages. The percentages are clamped to [0, 1]. Only allocates when the
+    * grid grows beyond its previous capacity.
+    *
+    * @param alphas the percentages to use for the interpolation. Not modified.
+    */
+   public void setAlphas(double[] alphas)
+   {
+      setAlphas(alphas, 0, alphas.length);
+   }
+
+   /**
+    * Sets the grid of percentages from the range [{@code offset}, {@code offset + length}) of
+    * {@code alphas}. The percentages are clamped to [0, 1]. Only allocates when the grid grows
+    * beyond its previous capacity.
+    *
+    * @param alphas the percentages to use for the interpolation. Not modified.
+    * @param offset index of the first percentage.
+    * @param length number of percentages.
+    */
+   public void setAlphas(double[] alphas, int offset, int length)
+   {
+      InterpolationTools.checkRange(alphas.length, offset, length);
+
+      ensureCapacity(length);
+      numberOfAlphas = length;
+
+      for (int i = 0; i < length; i++)
+         setCoefficients(i, alphas[offset + i]);
+   }
+
+   private void ensureCapacity(int capacity)
+   {
+      if (h00.length >= capacity)
+         return;
+
+      h00 = new double[capacity];
+      h10 = new double[capacity];
+      h01 = new double[capacity];
+      h11 = new double[capacity];
+   }
+
+   private void setCoefficients(int index, double alpha)
+   {
+      alpha = MathTools.clamp(alpha, 0.0, 1.0);
+
+      h00[index] = InterpolationTools.hermite00Coefficient(alpha);
+      h10[index] = InterpolationTools.hermite10Coefficient(alpha);
+      h01[index] = InterpolationTools.hermite01Coefficient(alpha);
+      h11[index] = InterpolationTools.hermite11Coefficient(alpha);
+   }
+
+   /**
+    * @return the number of percentages in the grid.
+    */
+   public int getNumberOfAlphas()
+   {
+      return numberOfAlphas;
+   }
+
+   /**
+    * Performs an interpolation from {@code a} to {@code b} using the {@code index}-th percentage of
+    * the grid. The tangents at the boundaries are assumed to be zero.
+    *
+    * @param a     the first value used in the interpolation.
+    * @param b     the second value used in the interpolation.
+    * @param index the index of the percentage in the grid.
+    * @return the interpolated value.
+    */
+   public double interpolate(double a, double b, int index)
+   {
+      checkIndex(index);
+      return h00[index] * a + h01[index] * b;
+   }
+
+   /**
+    * Performs an interpolation from {@code a} to {@code b} using the {@code index}-th percentage of
+    * the grid.
+    *
+    * @param a        the first value used in the interpolation.
+    * @param aTangent the tangent at the first value in the interpolation.
+    * @param b        the second value used in the interpolation.
+    * @param bTangent the tangent at the second value in the interpolation.
+    * @param index    the index of the percentage in the grid.
+    * @return the interpolated value.
+    */
+   public double interpolate(double a, double aTangent, double b, double bTangent, int index)
+   {
+      checkIndex(index);
+      return h00[index] * a + h10[index] * aTangent + h01[index] * b + h11[index] * bTangent;
+   }
+
+   /**
+    * Performs an interpolation from {@code a} to {@code b} for every percentage of the grid and
+    * stores the results in {@code resultToPack} starting at {@code resultOffset}. The tangents at the
+    * boundaries are assumed to be zero. Does not allocate.
+    *
+    * @param a            the first value used in the interpolation.
+    * @param b            the second value used in the interpolation.
+    * @param resultToPack the array in which the interpolated values are stored. Modified.
+    * @param resultOffset index at which the first interpolated value is stored.
+    */
+   public void interpolate(double a, double b, double[] resultToPack, int resultOffset)
+   {
+      InterpolationTools.checkRange(resultToPack.length, resultOffset, numberOfAlphas);
+
+      for (int i = 0; i < numberOfAlphas; i++)
+         resultToPack[resultOffset + i] = h00[i] * a + h01[i] * b;
+   }
+
+   /**
+    * Performs an interpolation from {@code a} to {@code b} for every percentage of the grid and
+    * stores the results in {@code resultToPack} starting at {@code resultOffset}. Does not allocate.
+    *
+    * @param a            the first value used in the interpolation.
+    * @param aTangent     the tangent at the first value in the interpolation.
+    * @param b            the second value used in the interpolation.
+    * @param bTangent     the tangent at the second value in the interpolation.
+    * @param resultToPack the array in which the interpolated values are stored. Modified.
+    * @param resultOffset index at which the first interpolated value is stored.
+    */
+   public void interpolate(double a, double aTangent, double b, double bTangent, double[] resultToPack, int resultOffset)
+   {
+      InterpolationTools.checkRange(resultToPack.length, resultOffset, numberOfAlphas);
+
+      for (int i = 0; i < numberOfAlphas; i++)
+         resultToPack[resultOffset + i] = h00[i] * a + h10[i] * aTangent + h01[i] * b + h11[i] * bTangent;
+   }
+
+   private void checkIndex(int index)
+   {
+      if (index < 0 || index >= numberOfAlphas)
+         throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + numberOfAlphas + " alphas");
+   }
+}
@@ -46,13 +46,34 @@ public class RandomNumbers
    public static double[] nextDoubleArray(Random random, int length, double lowerBound, double upperBound)
    {
       double[] ret = new double[length];
-      for (int i = 0; i < length; i++)
+      nextDoubleArray(random, lowerBound, upperBound, ret, 0, length);
+      return ret;
+   }
+
+   public static void nextDoubleArray(Random random, double amplitude, double[] arrayToPack)
+   {
+      nextDoubleArray(random, amplitude, arrayToPack, 0, arrayToPack.length);
+   }
+
+   public static void nextDoubleArray(Random random, double amplitude, double[] arrayToPack, int offset, int length)
+   {
+      nextDoubleArray(random, -amplitude / 2.0, amplitude / 2.0, arrayToPack, offset, length);
+   }
+
+   public static void nextDoubleArray(Random random, double lowerBound, double upperBound, double[] arrayToPack)
+   {
+      nextDoubleArray(random, lowerBound, upperBound, arrayToPack, 0, arrayToPack.length);
+   }
+
+   public static void nextDoubleArray(Random random, double lowerBound, double upperBound, double[] arrayToPack, int offset, int length)
+   {
+      checkRange(arrayToPack.length, offset, length);
+
+      for (int i = offset; i < offset + length; i++)
       {
          double parameter = random.nextDouble();
-         ret[i] = parameter * lowerBound + (1.0 - parameter) * upperBound;
+         arrayToPack[i] = parameter * lowerBound + (1.0 - parameter) * upperBound;
       }
-
-      return ret;
    }
 
    public static float[] nextFloatArray(Random random, int length, float amplitude)
@@ -63,35 +84,78 @@ public class RandomNumbers
    public static float[] nextFloatArray(Random random, int length, float lowerBound, float upperBound)
    {
       float[] ret = new float[length];
-      for (int i = 0; i < length; i++)
+      nextFloatArray(random, lowerBound, upperBound, ret, 0, length);
+      return ret;
+   }
+
+   public static void nextFloatArray(Random random, float amplitude, float[] arrayToPack)
+   {
+      nextFloatArray(random, amplitude, arrayToPack, 0, arrayToPack.length);
+   }
+
+   public static void nextFloatArray(Random random, float amplitude, float[] arrayToPack, int offset, int length)
+   {
+      nextFloatArray(random, -amplitude / 2.0f, amplitude / 2.0f, arrayToPack, offset, length);
+   }
+
+   public static void nextFloatArray(Random random, float lowerBound, float upperBound, float[] arrayToPack)
+   {
+      nextFloatArray(random, lowerBound, upperBound, arrayToPack, 0, arrayToPack.length);
+   }
+
+   public static void nextFloatArray(Random random, float lowerBound, float upperBound, float[] arrayToPack, int offset, int length)
+   {
+      checkRange(arrayToPack.length, offset, length);
+
+      for (int i = offset; i < offset + length; i++)
       {
          float parameter = random.nextFloat();
-         ret[i] = parameter * lowerBound + (1.0f - parameter) * upperBound;
+         arrayToPack[i] = parameter * lowerBound + (1.0f - parameter) * upperBound;
       }
-
-      return ret;
    }
 
    public static int[] nextIntArray(Random random, int length, int amplitude)
    {
       int[] ret = new int[length];
-      for (int i = 0; i < length; i++)
+      nextIntArray(random, amplitude, ret, 0, length);
+      return ret;
+   }
+
+   public static void nextIntArray(Random random, int amplitude, int[] arrayToPack)
+   {
+      nextIntArray(random, amplitude, arrayToPack, 0, arrayToPack.length);
+   }
+
+   public static void nextIntArray(Random random, int amplitude, int[] arrayToPack, int offset, int length)
+   {
+      checkRange(arrayToPack.length, offset, length);
+
+      for (int i = offset; i < offset + length; i++)
       {
-         ret[i] = (int) Math.round((random.nextDouble() - 0.5) * 2.0 * amplitude);
+         arrayToPack[i] = (int) Math.round((random.nextDouble() - 0.5) * 2.0 * amplitude);
       }
-
-      return ret;
    }
 
    public static int[] nextIntArray(Random random, int length, int lowerBound, int upperBound)
    {
       int[] ret = new int[length];
-      for (int i = 0; i < length; i++)
+      nextIntArray(random, lowerBound, upperBound, ret, 0, length);
+      return ret;
+   }
+
+   public static void nextIntArray(Random random, int lowerBound, int upperBound, int[] arrayToPack)
+   {
+      nextIntArray(random, lowerBound, upperBound, arrayToPack, 0, arrayToPack.length);
+   }
+
+   public static void nextIntArray(Random random, int lowerBound, int upperBound, int[] arrayToPack, int offset, int length)
+   {
+      checkRange(arrayToPack.length, offset, length);
+
+      for (int i = offset; i < offset + length; i++)
       {
-         ret[i] = (int) Math.round(random.nextDouble() * (upperBound - lowerBound) + lowerBound);
+         arrayToPack[i] = (int) Math.round(random.nextDouble() * (upperBound - lowerBound) + lowerBound);
       }
-
-      return ret;
    }
 
    public static int nextIntWithEdgeCases(Random random, double probabilityForEdgeCase)
@@ -143,16 +207,33 @@ public class RandomNumbers
    public static double[] nextDoubleArrayWithEdgeCases(Random random, int length, double probabilityForEdgeCase)
    {
       double[] ret = new double[length];
-      for (int i = 0; i < length; i++)
+      nextDoubleArrayWithEdgeCases(random, probabilityForEdgeCase, ret, 0, length);
+      return ret;
+   }
+
+   public static void nextDoubleArrayWithEdgeCases(Random random, double probabilityForEdgeCase, double[] arrayToPack)
+   {
+      nextDoubleArrayWithEdgeCases(random, probabilityForEdgeCase, arrayToPack, 0, arrayToPack.length);
+   }
+
+   public static void nextDoubleArrayWithEdgeCases(Random random, double probabilityForEdgeCase, double[] arrayToPack, int offset, int length)
+   {
+      checkRange(arrayToPack.length, offset, length);
+
+      for (int i = offset; i < offset + length; i++)
       {
-         ret[i] = nextDoubleWithEdgeCases(random, probabilityForEdgeCase);
+         arrayToPack[i] = nextDoubleWithEdgeCases(random, probabilityForEdgeCase);
       }
-
-      return ret;
    }
 
    public static double nextDoubleWithEdgeCases(Random random, double probabilityForEdgeCase)
    {
       return nextDoubleWithEdgeCases(random, probabilityForEdgeCase, Double.MAX_VALUE);
    }
+
+   private static void checkRange(int arrayLength, int offset, int length)
+   {
+      if (offset < 0 || length < 0 || offset > arrayLength - length)
+         throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + arrayLength);
+   }
 }
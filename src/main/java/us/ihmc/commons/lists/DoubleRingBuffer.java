@@ -0,0 +1,224 @@
+package us.ihmc.commons.lists;
+
+import java.util.NoSuchElementException;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Ring buffer of {@code double} values, keeping the N most recent values where N is the capacity
+ * of this buffer, and maintaining their sum, minimum and maximum as the values are added.
+ * <p>
+ * This implementation is meant for sliding window filters querying these statistics at every
+ * tick: none of the operations generate garbage and the statistics are updated in amortized
+ * constant time. The sum is compensated to limit the accumulation of round-off errors and the
+ * minimum and maximum are tracked with monotonic deques of the indices of the values.
+ * </p>
+ * <p>
+ * The internal storage is rounded up to a power of two such that the values are located with a
+ * bit mask. {@code NaN} values are not supported by the minimum and maximum.
+ * </p>
+ * <p>
+ * When this buffer is empty, {@link #getFirst()}, {@link #getLast()}, {@link #getMin()} and
+ * {@link #getMax()} throw a {@link NoSuchElementException}, the sum is 0 and the average is
+ * {@code NaN}, as for {@link LongRingBuffer}.
+ * </p>
+ *
+ * @see LongRingBuffer
+ * @see RingBuffer
+ */
+public class DoubleRingBuffer extends PrimitiveRingBuffer
+{
+   private final double[] buffer;
+
+   private double sum = 0.0;
+   private double sumCompensation = 0.0;
+
+   /**
+    * Create a new empty ring buffer.
+    *
+    * @param capacity the number of values this buffer holds onto.
+    */
+   public DoubleRingBuffer(int capacity)
+   {
+      super(capacity);
+      buffer = new double[storageLength()];
+   }
+
+   /**
+    * Clears this buffer and its statistics.
+    */
+   @Override
+   public void reset()
+   {
+      super.reset();
+      sum = 0.0;
+      sumCompensation = 0.0;
+   }
+
+   /**
+    * Adds a new value to this buffer, increasing its current size by 1 if not full, otherwise
+    * dropping the oldest value that was added.
+    *
+    * @param value the new value.
+    */
+   public void add(double value)
+   {
+      if (isBufferFull())
+         addToSum(-buffer[firstIndex()]);
+
+      int index = advance();
+      buffer[index] = value;
+      addToSum(value);
+
+      while (!minIndices.isEmpty() && buffer[minIndices.peekLast()] >= value)
+         minIndices.removeLast();
+      minIndices.addLast(index);
+
+      while (!maxIndices.isEmpty() && buffer[maxIndices.peekLast()] <= value)
+         maxIndices.removeLast();
+      maxIndices.addLast(index);
+   }
+
+   /** Kahan-Babuska summation. */
+   private void addToSum(double value)
+   {
+      double newSum = sum + value;
+      if (Math.abs(sum) >= Math.abs(value))
+         sumCompensation += (sum - newSum) + value;
+      else
+         sumCompensation += (value - newSum) + sum;
+      sum = newSum;
+   }
+
+   /**
+    * Gets the oldest value that was added to this buffer.
+    *
+    * @return the oldest value.
+    * @throws NoSuchElementException if this buffer is empty.
+    */
+   public double getFirst()
+   {
+      return buffer[firstIndex()];
+   }
+
+   /**
+    * Gets the newest value that was added to this buffer.
+    *
+    * @return the newest value.
+    * @throws NoSuchElementException if this buffer is empty.
+    */
+   public double getLast()
+   {
+      return buffer[lastIndex()];
+   }
+
+   /**
+    * Gets the <tt>N</tt><sup>th</sup> oldest value that was added to this buffer.
+    *
+    * @param offsetFromFirst offset from the oldest value, i.e. <tt>N</tt> above.
+    * @return the <tt>N</tt><sup>th</sup> oldest value.
+    * @throws IndexOutOfBoundsException if {@code offsetFromFirst} &notin; [0, <tt>this.size()</tt>[.
+    */
+   public double getFromFirst(int offsetFromFirst)
+   {
+      return buffer[fromFirstIndex(offsetFromFirst)];
+   }
+
+   /**
+    * Gets the <tt>N</tt><sup>th</sup> newest value that was added to this buffer.
+    *
+    * @param offsetFromLast offset from the newest value, i.e. <tt>N</tt> above.
+    * @return the <tt>N</tt><sup>th</sup> newest value.
+    * @throws IndexOutOfBoundsException if {@code offsetFromLast} &notin; [0, <tt>this.size()</tt>[.
+    */
+   public double getFromLast(int offsetFromLast)
+   {
+      return buffer[fromLastIndex(offsetFromLast)];
+   }
+
+   /**
+    * Copies a window of this buffer's values, ordered from the oldest to the newest, into the given
+    * array.
+    *
+    * @param fromOffset  offset from the oldest value of the first value to copy.
+    * @param length      the number of values to copy.
+    * @param destination the array in which the values are copied starting at index 0. Modified.
+    * @throws IndexOutOfBoundsException if the window is not within [0, <tt>this.size()</tt>[ or
+    *                                   {@code destination} is too small.
+    */
+   public void copyWindow(int fromOffset, int length, double[] destination)
+   {
+      int start = windowStart(fromOffset, length) & mask();
+      if (destination.length < length)
+         throw new IndexOutOfBoundsException("Destination length: " + destination.length + ", window length: " + length);
+
+      int firstPartLength = Math.min(length, buffer.length - start);
+      System.arraycopy(buffer, start, destination, 0, firstPartLength);
+      System.arraycopy(buffer, 0, destination, firstPartLength, length - firstPartLength);
+   }
+
+   /**
+    * Performs the given action on a window of this buffer's values, ordered from the oldest to the
+    * newest.
+    *
+    * @param fromOffset offset from the oldest value of the first value of the window.
+    * @param length     the number of values in the window.
+    * @param action     the action to perform on each value of the window.
+    * @throws IndexOutOfBoundsException if the window is not within [0, <tt>this.size()</tt>[.
+    */
+   public void forEachInWindow(int fromOffset, int length, DoubleConsumer action)
+   {
+      int start = windowStart(fromOffset, length);
+      int mask = mask();
+      for (int offset = 0; offset < length; offset++)
+         action.accept(buffer[(start + offset) & mask]);
+   }
+
+   /**
+    * @return the sum of the values in this buffer, or 0 if this buffer is empty.
+    */
+   public double getSum()
+   {
+      return sum + sumCompensation;
+   }
+
+   /**
+    * @return the average of the values in this buffer, or {@code NaN} if this buffer is empty.
+    */
+   public double getAverage()
+   {
+      return isEmpty() ? Double.NaN : getSum() / size();
+   }
+
+   /**
+    * @return the minimum of the values in this buffer.
+    * @throws NoSuchElementException if this buffer is empty.
+    */
+   public double getMin()
+   {
+      return buffer[minIndex()];
+   }
+
+   /**
+    * @return the maximum of the values in this buffer.
+    * @throws NoSuchElementException if this buffer is empty.
+    */
+   public double getMax()
+   {
+      return buffer[maxIndex()];
+   }
+
+   @Override
+   public String toString()
+   {
+      if (isEmpty())
+         return "Empty";
+
+      StringBuilder sb = new StringBuilder();
+      sb.append("Size: ").append(size()).append(", [");
+      sb.append(getFirst());
+      for (int i = 1; i < size(); i++)
+         sb.append(',').append(' ').append(getFromFirst(i));
+      sb.append(']');
+      return sb.toString();
+   }
+}
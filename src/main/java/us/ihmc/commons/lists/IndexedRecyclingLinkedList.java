@@ -0,0 +1,569 @@
+package us.ihmc.commons.lists;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * The {@link IndexedRecyclingLinkedList} is an alternative to the {@link RecyclingLinkedList} with the same
+ * copy-in/copy-out semantics, where the nodes are stored in parallel arrays and linked by their index instead of
+ * being separate objects.
+ * <p>
+ * In addition to adding and removing elements at both ends, a {@link Cursor} can be moved through the list to read,
+ * modify, insert, or remove elements anywhere in constant time. The cursors and the iterators validate themselves
+ * with a modification counter, they do not need to be tracked by the list and can be created once and reused.
+ * </p>
+ * <p>
+ * If used in a way such that the initial max size is not exceeded this class will be able to operate allocation free
+ * by recycling the nodes that are removed from the list. If the list grows to exceed the number of nodes allocated
+ * at construction time the arrays are grown, doubling the capacity.
+ * </p>
+ * <p>
+ * Note, that due to the recycling nature of this class the data stored in the linked list is not available from the
+ * outside of this class. Access is provided only through packing of objects. No reference to objects of type
+ * {@code T} that are passed to this class is stored and no reference to list-internal objects is available to
+ * callers.
+ * </p>
+ *
+ * @param <T> the class of the objects stored in this linked list.
+ */
+public class IndexedRecyclingLinkedList<T>
+{
+   public static final int defaultNumberOfElements = 16;
+
+   /** Index representing the absence of a node. */
+   private static final int NONE = -1;
+
+   private final Supplier<T> typeBuilder;
+   private final BiConsumer<T, T> copier;
+
+   private T[] values;
+   /** Index of the next node of each node, or of the next unused node for the unused nodes. */
+   private int[] nextIndices;
+   private int[] previousIndices;
+
+   private int firstIndex = NONE;
+   private int lastIndex = NONE;
+   private int firstUnusedIndex = NONE;
+   private int size;
+   /** Incremented on every structural modification to invalidate the cursors and iterators. */
+   private int modificationCount;
+
+   /**
+    * Creates a new {@link IndexedRecyclingLinkedList} with the default initial size.
+    *
+    * @param typeBuilder supplies a new instance of data type {@code T}.
+    * @param copier copies such that {@link BiConsumer#accept} sets the first argument from the second
+    */
+   public IndexedRecyclingLinkedList(Supplier<T> typeBuilder, BiConsumer<T, T> copier)
+   {
+      this(defaultNumberOfElements, typeBuilder, copier);
+   }
+
+   /**
+    * Creates a new {@link IndexedRecyclingLinkedList} with the default initial size.
+    *
+    * @param objectClass class {@code T}. Must have an empty constructor.
+    * @param copier copies such that {@link BiConsumer#accept} sets the first argument from the second
+    */
+   public IndexedRecyclingLinkedList(Class<T> objectClass, BiConsumer<T, T> copier)
+   {
+      this(defaultNumberOfElements, SupplierBuilder.createFromEmptyConstructor(objectClass), copier);
+   }
+
+   /**
+    * Creates a new {@link IndexedRecyclingLinkedList}.
+    *
+    * @param numElements is the number of initially allocated elements.
+    * @param objectClass class {@code T}. Must have an empty constructor.
+    * @param copier copies such that {@link BiConsumer#accept} sets the first argument from the second
+    */
+   public IndexedRecyclingLinkedList(int numElements, Class<T> objectClass, BiConsumer<T, T> copier)
+   {
+      this(numElements, SupplierBuilder.createFromEmptyConstructor(objectClass), copier);
+   }
+
+   /**
+    * Creates a new {@link IndexedRecyclingLinkedList}.
+    *
+    * @param numElements is the number of initially allocated elements.
+    * @param typeBuilder supplies a new instance of data type {@code T}.
+    * @param copier copies such that {@link BiConsumer#accept} sets the first argument from the second
+    */
+   @SuppressWarnings("unchecked")
+   public IndexedRecyclingLinkedList(int numElements, Supplier<T> typeBuilder, BiConsumer<T, T> copier)
+   {
+      if (numElements < 0)
+         throw new IllegalArgumentException("The number of elements cannot be negative: " + numElements);
+
+      this.typeBuilder = typeBuilder;
+      this.copier = copier;
+
+      values = (T[]) new Object[0];
+      nextIndices = new int[0];
+      previousIndices = new int[0];
+      ensureCapacity(numElements);
+   }
+
+   /**
+    * Adds an element to the front of the linked list and sets it to the provided object. Will attempt to
+    * recycle unused or previously removed objects and only allocate new objects if this data structure
+    * needs to grow.
+    *
+    * @param object that the new first element of the linked list will be set to.
+    */
+   public void addFirst(T object)
+   {
+      insert(NONE, firstIndex, object);
+   }
+
+   /**
+    * Adds an element to the end of the linked list and sets it to the provided object. Will attempt to
+    * recycle unused or previously removed objects and only allocate new objects if this data structure
+    * needs to grow.
+    *
+    * @param object that the new last element of the linked list will be set to.
+    */
+   public void addLast(T object)
+   {
+      insert(lastIndex, NONE, object);
+   }
+
+   /**
+    * Removes the first element of the linked list.
+    *
+    * @throws NoSuchElementException if the list is empty.
+    */
+   public void removeFirst()
+   {
+      removeFirst(null);
+   }
+
+   /**
+    * Removes the first element of the linked list and pack the provided object to match that removed
+    * element.
+    *
+    * @param objectToPack will be modified to match the removed element.
+    * @throws NoSuchElementException if the list is empty.
+    */
+   public void removeFirst(T objectToPack)
+   {
+      if (objectToPack != null)
+         peekFirst(objectToPack);
+      else if (firstIndex == NONE)
+         throw new NoSuchElementException();
+
+      remove(firstIndex);
+   }
+
+   /**
+    * Removes the last element of the linked list.
+    *
+    * @throws NoSuchElementException if the list is empty.
+    */
+   public void removeLast()
+   {
+      removeLast(null);
+   }
+
+   /**
+    * Removes the last element of the linked list and pack the provided object to match that removed
+    * element.
+    *
+    * @param objectToPack will be modified to match the removed element.
+    * @throws NoSuchElementException if the list is empty.
+    */
+   public void removeLast(T objectToPack)
+   {
+      if (objectToPack != null)
+         peekLast(objectToPack);
+      else if (lastIndex == NONE)
+         throw new NoSuchElementException();
+
+      remove(lastIndex);
+   }
+
+   /**
+    * Sets the provided object to match the first element in the linked list.
+    *
+    * @param objectToPack will be modified to match the first element in the linked list.
+    * @throws NoSuchElementException if the list is empty.
+    */
+   public void peekFirst(T objectToPack)
+   {
+      if (firstIndex == NONE)
+         throw new NoSuchElementException();
+
+      copier.accept(objectToPack, values[firstIndex]);
+   }
+
+   /**
+    * Sets the provided object to match the last element in the linked list.
+    *
+    * @param objectToPack will be modified to match the last element in the linked list.
+    * @throws NoSuchElementException if the list is empty.
+    */
+   public void peekLast(T objectToPack)
+   {
+      if (lastIndex == NONE)
+         throw new NoSuchElementException();
+
+      copier.accept(objectToPack, values[lastIndex]);
+   }
+
+   /**
+    * Removes all the elements, their objects are kept to be recycled.
+    */
+   public void clear()
+   {
+      if (firstIndex == NONE)
+         return;
+
+      nextIndices[lastIndex] = firstUnusedIndex;
+      firstUnusedIndex = firstIndex;
+      firstIndex = NONE;
+      lastIndex = NONE;
+      size = 0;
+      modificationCount++;
+   }
+
+   /**
+    * Checks whether the linked list contains any elements.
+    *
+    * @return {@code true} if the data structure is empty.
+    */
+   public boolean isEmpty()
+   {
+      return firstIndex == NONE;
+   }
+
+   /**
+    * Gets the current number of elements in the linked list.
+    *
+    * @return the size of the data structure.
+    */
+   public int size()
+   {
+      return size;
+   }
+
+   /**
+    * Gets the number of elements the linked list can hold before having to grow.
+    *
+    * @return the number of allocated elements.
+    */
+   public int capacity()
+   {
+      return values.length;
+   }
+
+   /**
+    * Grows the linked list if needed such that it can hold the given number of elements without allocating.
+    *
+    * @param capacity the number of elements.
+    */
+   public void ensureCapacity(int capacity)
+   {
+      int oldCapacity = values.length;
+
+      if (capacity <= oldCapacity)
+         return;
+
+      values = Arrays.copyOf(values, capacity);
+      nextIndices = Arrays.copyOf(nextIndices, capacity);
+      previousIndices = Arrays.copyOf(previousIndices, capacity);
+
+      // The new nodes are put first in the unused nodes, in order.
+      for (int i = capacity - 1; i >= oldCapacity; i--)
+      {
+         values[i] = typeBuilder.get();
+         previousIndices[i] = NONE;
+         nextIndices[i] = firstUnusedIndex;
+         firstUnusedIndex = i;
+      }
+   }
+
+   /**
+    * Creates and returns a new {@link RecyclingIterator} for the linked list. The iterator can be
+    * used to move through the list in a forward direction starting at the first element. To reuse
+    * the iterator call {@link RecyclingIterator#reset()} which will reset the pointer to the start
+    * of this linked list.
+    *
+    * @return a forward iterator for this linked list.
+    */
+   public RecyclingIterator<T> createForwardIterator()
+   {
+      return new IndexedRecyclingLinkedListIterator(false);
+   }
+
+   /**
+    * Creates and returns a new {@link RecyclingIterator} for the linked list. The iterator can be
+    * used to move through the list in a backward direction starting at the last element. To reuse
+    * the iterator call {@link RecyclingIterator#reset()} which will reset the pointer to the end
+    * of this linked list.
+    *
+    * @return a backward iterator for this linked list.
+    */
+   public RecyclingIterator<T> createBackwardIterator()
+   {
+      return new IndexedRecyclingLinkedListIterator(true);
+   }
+
+   /**
+    * Creates a new {@link Cursor} for this linked list, initially on the first element.
+    *
+    * @return the new cursor.
+    */
+   public Cursor createCursor()
+   {
+      Cursor cursor = new Cursor();
+      cursor.moveToFirst();
+      return cursor;
+   }
+
+   private int insert(int previousIndex, int nextIndex, T object)
+   {
+      if (firstUnusedIndex == NONE)
+         ensureCapacity(Math.max(1, 2 * values.length));
+
+      int index = firstUnusedIndex;
+      firstUnusedIndex = nextIndices[index];
+
+      copier.accept(values[index], object);
+      previousIndices[index] = previousIndex;
+      nextIndices[index] = nextIndex;
+
+      if (previousIndex == NONE)
+         firstIndex = index;
+      else
+         nextIndices[previousIndex] = index;
+
+      if (nextIndex == NONE)
+         lastIndex = index;
+      else
+         previousIndices[nextIndex] = index;
+
+      size++;
+      modificationCount++;
+      return index;
+   }
+
+   private void remove(int index)
+   {
+      int previousIndex = previousIndices[index];
+      int nextIndex = nextIndices[index];
+
+      if (previousIndex == NONE)
+         firstIndex = nextIndex;
+      else
+         nextIndices[previousIndex] = nextIndex;
+
+      if (nextIndex == NONE)
+         lastIndex = previousIndex;
+      else
+         previousIndices[nextIndex] = previousIndex;
+
+      previousIndices[index] = NONE;
+      nextIndices[index] = firstUnusedIndex;
+      firstUnusedIndex = index;
+
+      size--;
+      modificationCount++;
+   }
+
+   /**
+    * A position in the linked list, either on an element or past the end of the list, that can be moved in both
+    * directions and used to access, insert, or remove elements in constant time.
+    * <p>
+    * The modifications made through a cursor keep it valid. Any other modification of the list, directly or through
+    * another cursor, invalidates it: it then throws a {@link ConcurrentModificationException} until moved to the
+    * first or last element.
+    * </p>
+    */
+   public class Cursor
+   {
+      private int index = NONE;
+      private int expectedModificationCount;
+
+      private Cursor()
+      {
+      }
+
+      /**
+       * Moves this cursor to the first element, or past the end if the list is empty. Also makes it valid again.
+       */
+      public void moveToFirst()
+      {
+         index = firstIndex;
+         expectedModificationCount = modificationCount;
+      }
+
+      /**
+       * Moves this cursor to the last element, or past the end if the list is empty. Also makes it valid again.
+       */
+      public void moveToLast()
+      {
+         index = lastIndex;
+         expectedModificationCount = modificationCount;
+      }
+
+      /**
+       * @return whether this cursor is on an element, as opposed to past the end of the list.
+       * @throws ConcurrentModificationException if the list was modified by other means than this cursor.
+       */
+      public boolean hasElement()
+      {
+         checkForModification();
+         return index != NONE;
+      }
+
+      /**
+       * Moves this cursor to the next element, or past the end if on the last element.
+       *
+       * @throws NoSuchElementException if this cursor is past the end.
+       * @throws ConcurrentModificationException if the list was modified by other means than this cursor.
+       */
+      public void moveToNext()
+      {
+         checkElement();
+         index = nextIndices[index];
+      }
+
+      /**
+       * Moves this cursor to the previous element, or past the end if on the first element.
+       *
+       * @throws NoSuchElementException if this cursor is past the end.
+       * @throws ConcurrentModificationException if the list was modified by other means than this cursor.
+       */
+      public void moveToPrevious()
+      {
+         checkElement();
+         index = previousIndices[index];
+      }
+
+      /**
+       * Sets the provided object to match the element of this cursor.
+       *
+       * @param objectToPack will be modified to match the element.
+       * @throws NoSuchElementException if this cursor is past the end.
+       * @throws ConcurrentModificationException if the list was modified by other means than this cursor.
+       */
+      public void get(T objectToPack)
+      {
+         checkElement();
+         copier.accept(objectToPack, values[index]);
+      }
+
+      /**
+       * Sets the element of this cursor to match the provided object. This does not invalidate the other cursors.
+       *
+       * @param object that the element will be set to.
+       * @throws NoSuchElementException if this cursor is past the end.
+       * @throws ConcurrentModificationException if the list was modified by other means than this cursor.
+       */
+      public void set(T object)
+      {
+         checkElement();
+         copier.accept(values[index], object);
+      }
+
+      /**
+       * Inserts an element before the element of this cursor, or at the end of the list if past the end. This
+       * cursor does not move.
+       *
+       * @param object that the new element will be set to.
+       * @throws ConcurrentModificationException if the list was modified by other means than this cursor.
+       */
+      public void insertBefore(T object)
+      {
+         checkForModification();
+         insert(index == NONE ? lastIndex : previousIndices[index], index, object);
+         expectedModificationCount = modificationCount;
+      }
+
+      /**
+       * Inserts an element after the element of this cursor. This cursor does not move.
+       *
+       * @param object that the new element will be set to.
+       * @throws NoSuchElementException if this cursor is past the end.
+       * @throws ConcurrentModificationException if the list was modified by other means than this cursor.
+       */
+      public void insertAfter(T object)
+      {
+         checkElement();
+         insert(index, nextIndices[index], object);
+         expectedModificationCount = modificationCount;
+      }
+
+      /**
+       * Removes the element of this cursor and moves this cursor to the next element, or past the end if it was the
+       * last element.
+       *
+       * @throws NoSuchElementException if this cursor is past the end.
+       * @throws ConcurrentModificationException if the list was modified by other means than this cursor.
+       */
+      public void remove()
+      {
+         checkElement();
+         int nextIndex = nextIndices[index];
+         IndexedRecyclingLinkedList.this.remove(index);
+         index = nextIndex;
+         expectedModificationCount = modificationCount;
+      }
+
+      private void checkElement()
+      {
+         checkForModification();
+         if (index == NONE)
+            throw new NoSuchElementException();
+      }
+
+      private void checkForModification()
+      {
+         if (expectedModificationCount != modificationCount)
+            throw new ConcurrentModificationException();
+      }
+   }
+
+   private class IndexedRecyclingLinkedListIterator implements RecyclingIterator<T>
+   {
+      private final boolean reverse;
+      private int nextIndex;
+      private int expectedModificationCount;
+
+      public IndexedRecyclingLinkedListIterator(boolean reverse)
+      {
+         this.reverse = reverse;
+         reset();
+      }
+
+      @Override
+      public void reset()
+      {
+         nextIndex = reverse ? lastIndex : firstIndex;
+         expectedModificationCount = modificationCount;
+      }
+
+      @Override
+      public boolean hasNext()
+      {
+         if (expectedModificationCount != modificationCount)
+            throw new ConcurrentModificationException();
+
+         return nextIndex != NONE;
+      }
+
+      @Override
+      public void next(T objectToPack)
+      {
+         if (!hasNext())
+            throw new NoSuchElementException();
+
+         if (objectToPack != null)
+            copier.accept(objectToPack, values[nextIndex]);
+         nextIndex = reverse ? previousIndices[nextIndex] : nextIndices[nextIndex];
+      }
+   }
+}
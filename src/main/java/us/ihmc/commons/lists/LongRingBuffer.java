@@ -0,0 +1,210 @@
+package us.ihmc.commons.lists;
+
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+
+/**
+ * Ring buffer of {@code long} values, keeping the N most recent values where N is the capacity of
+ * this buffer, and maintaining their sum, minimum and maximum as the values are added.
+ * <p>
+ * None of the operations generate garbage and the statistics are updated in amortized constant
+ * time, the minimum and maximum are tracked with monotonic deques of the indices of the values. The
+ * sum overflows as a regular {@code long} addition.
+ * </p>
+ * <p>
+ * The internal storage is rounded up to a power of two such that the values are located with a
+ * bit mask.
+ * </p>
+ * <p>
+ * When this buffer is empty, {@link #getFirst()}, {@link #getLast()}, {@link #getMin()} and
+ * {@link #getMax()} throw a {@link NoSuchElementException}, the sum is 0 and the average is
+ * {@code NaN}, as for {@link DoubleRingBuffer}.
+ * </p>
+ *
+ * @see DoubleRingBuffer
+ * @see RingBuffer
+ */
+public class LongRingBuffer extends PrimitiveRingBuffer
+{
+   private final long[] buffer;
+
+   private long sum = 0;
+
+   /**
+    * Create a new empty ring buffer.
+    *
+    * @param capacity the number of values this buffer holds onto.
+    */
+   public LongRingBuffer(int capacity)
+   {
+      super(capacity);
+      buffer = new long[storageLength()];
+   }
+
+   /**
+    * Clears this buffer and its statistics.
+    */
+   @Override
+   public void reset()
+   {
+      super.reset();
+      sum = 0;
+   }
+
+   /**
+    * Adds a new value to this buffer, increasing its current size by 1 if not full, otherwise
+    * dropping the oldest value that was added.
+    *
+    * @param value the new value.
+    */
+   public void add(long value)
+   {
+      if (isBufferFull())
+         sum -= buffer[firstIndex()];
+
+      int index = advance();
+      buffer[index] = value;
+      sum += value;
+
+      while (!minIndices.isEmpty() && buffer[minIndices.peekLast()] >= value)
+         minIndices.removeLast();
+      minIndices.addLast(index);
+
+      while (!maxIndices.isEmpty() && buffer[maxIndices.peekLast()] <= value)
+         maxIndices.removeLast();
+      maxIndices.addLast(index);
+   }
+
+   /**
+    * Gets the oldest value that was added to this buffer.
+    *
+    * @return the oldest value.
+    * @throws NoSuchElementException if this buffer is empty.
+    */
+   public long getFirst()
+   {
+      return buffer[firstIndex()];
+   }
+
+   /**
+    * Gets the newest value that was added to this buffer.
+    *
+    * @return the newest value.
+    * @throws NoSuchElementException if this buffer is empty.
+    */
+   public long getLast()
+   {
+      return buffer[lastIndex()];
+   }
+
+   /**
+    * Gets the <tt>N</tt><sup>th</sup> oldest value that was added to this buffer.
+    *
+    * @param offsetFromFirst offset from the oldest value, i.e. <tt>N</tt> above.
+    * @return the <tt>N</tt><sup>th</sup> oldest value.
+    * @throws IndexOutOfBoundsException if {@code offsetFromFirst} &notin; [0, <tt>this.size()</tt>[.
+    */
+   public long getFromFirst(int offsetFromFirst)
+   {
+      return buffer[fromFirstIndex(offsetFromFirst)];
+   }
+
+   /**
+    * Gets the <tt>N</tt><sup>th</sup> newest value that was added to this buffer.
+    *
+    * @param offsetFromLast offset from the newest value, i.e. <tt>N</tt> above.
+    * @return the <tt>N</tt><sup>th</sup> newest value.
+    * @throws IndexOutOfBoundsException if {@code offsetFromLast} &notin; [0, <tt>this.size()</tt>[.
+    */
+   public long getFromLast(int offsetFromLast)
+   {
+      return buffer[fromLastIndex(offsetFromLast)];
+   }
+
+   /**
+    * Copies a window of this buffer's values, ordered from the oldest to the newest, into the given
+    * array.
+    *
+    * @param fromOffset  offset from the oldest value of the first value to copy.
+    * @param length      the number of values to copy.
+    * @param destination the array in which the values are copied starting at index 0. Modified.
+    * @throws IndexOutOfBoundsException if the window is not within [0, <tt>this.size()</tt>[ or
+    *                                   {@code destination} is too small.
+    */
+   public void copyWindow(int fromOffset, int length, long[] destination)
+   {
+      int start = windowStart(fromOffset, length) & mask();
+      if (destination.length < length)
+         throw new IndexOutOfBoundsException("Destination length: " + destination.length + ", window length: " + length);
+
+      int firstPartLength = Math.min(length, buffer.length - start);
+      System.arraycopy(buffer, start, destination, 0, firstPartLength);
+      System.arraycopy(buffer, 0, destination, firstPartLength, length - firstPartLength);
+   }
+
+   /**
+    * Performs the given action on a window of this buffer's values, ordered from the oldest to the
+    * newest.
+    *
+    * @param fromOffset offset from the oldest value of the first value of the window.
+    * @param length     the number of values in the window.
+    * @param action     the action to perform on each value of the window.
+    * @throws IndexOutOfBoundsException if the window is not within [0, <tt>this.size()</tt>[.
+    */
+   public void forEachInWindow(int fromOffset, int length, LongConsumer action)
+   {
+      int start = windowStart(fromOffset, length);
+      int mask = mask();
+      for (int offset = 0; offset < length; offset++)
+         action.accept(buffer[(start + offset) & mask]);
+   }
+
+   /**
+    * @return the sum of the values in this buffer, or 0 if this buffer is empty.
+    */
+   public long getSum()
+   {
+      return sum;
+   }
+
+   /**
+    * @return the average of the values in this buffer, or {@code NaN} if this buffer is empty.
+    */
+   public double getAverage()
+   {
+      return isEmpty() ? Double.NaN : (double) sum / size();
+   }
+
+   /**
+    * @return the minimum of the values in this buffer.
+    * @throws NoSuchElementException if this buffer is empty.
+    */
+   public long getMin()
+   {
+      return buffer[minIndex()];
+   }
+
+   /**
+    * @return the maximum of the values in this buffer.
+    * @throws NoSuchElementException if this buffer is empty.
+    */
+   public long getMax()
+   {
+      return buffer[maxIndex()];
+   }
+
+   @Override
+   public String toString()
+   {
+      if (isEmpty())
+         return "Empty";
+
+      StringBuilder sb = new StringBuilder();
+      sb.append("Size: ").append(size()).append(", [");
+      sb.append(getFirst());
+      for (int i = 1; i < size(); i++)
+         sb.append(',').append(' ').append(getFromFirst(i));
+      sb.append(']');
+      return sb.toString();
+   }
+}
@@ -0,0 +1,285 @@
+package us.ihmc.commons.lists;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Index bookkeeping shared by the ring buffers of primitive values, {@link DoubleRingBuffer} and
+ * {@link LongRingBuffer}.
+ * <p>
+ * The storage of the values is owned by the subclass, its length is {@link #storageLength()}, a
+ * power of two, such that the values are located with a bit mask. This class keeps track of the
+ * location of the values and of the monotonic deques of the indices of the candidates for the
+ * minimum and maximum. The values themselves are compared by the subclass.
+ * </p>
+ */
+abstract class PrimitiveRingBuffer
+{
+   private final int capacity;
+   private final int mask;
+
+   /** Index in the storage of the newest value. */
+   private int currentIndex = -1;
+   private int size = 0;
+
+   /**
+    * Indices of the candidates for the minimum, with increasing values from the oldest to the newest.
+    */
+   final IndexDeque minIndices;
+   /**
+    * Indices of the candidates for the maximum, with decreasing values from the oldest to the newest.
+    */
+   final IndexDeque maxIndices;
+
+   PrimitiveRingBuffer(int capacity)
+   {
+      if (capacity <= 0)
+         throw new IllegalArgumentException("Cannot instantiate a buffer with a size of zero or less.");
+      if (capacity > 1 << 30)
+         throw new IllegalArgumentException("Cannot round the capacity to a power of two: " + capacity);
+
+      this.capacity = capacity;
+      int storageLength = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+      mask = storageLength - 1;
+      minIndices = new IndexDeque(storageLength);
+      maxIndices = new IndexDeque(storageLength);
+   }
+
+   /**
+    * Clears this buffer.
+    */
+   public void reset()
+   {
+      currentIndex = -1;
+      size = 0;
+      minIndices.clear();
+      maxIndices.clear();
+   }
+
+   /**
+    * Moves on to the storage index of the next value to add. When this buffer is full, the oldest
+    * value is dropped from the candidates for the minimum and maximum and its index is returned. The
+    * subclass has to read the oldest value before calling this method if it needs it.
+    *
+    * @return the index in the storage at which the new value is to be written.
+    */
+   int advance()
+   {
+      if (size == capacity)
+      {
+         int oldestIndex = firstIndex();
+         minIndices.removeFirstIfEquals(oldestIndex);
+         maxIndices.removeFirstIfEquals(oldestIndex);
+      }
+      else
+      {
+         size++;
+      }
+
+      currentIndex = (currentIndex + 1) & mask;
+      return currentIndex;
+   }
+
+   /**
+    * @return the index in the storage of the oldest value.
+    * @throws NoSuchElementException if this buffer is empty.
+    */
+   int firstIndex()
+   {
+      checkNotEmpty();
+      return (currentIndex - size + 1) & mask;
+   }
+
+   /**
+    * @return the index in the storage of the newest value.
+    * @throws NoSuchElementException if this buffer is empty.
+    */
+   int lastIndex()
+   {
+      checkNotEmpty();
+      return currentIndex;
+   }
+
+   /**
+    * @return the index in the storage of the minimum value.
+    * @throws NoSuchElementException if this buffer is empty.
+    */
+   int minIndex()
+   {
+      checkNotEmpty();
+      return minIndices.peekFirst();
+   }
+
+   /**
+    * @return the index in the storage of the maximum value.
+    * @throws NoSuchElementException if this buffer is empty.
+    */
+   int maxIndex()
+   {
+      checkNotEmpty();
+      return maxIndices.peekFirst();
+   }
+
+   /**
+    * @param offsetFromFirst offset from the oldest value.
+    * @return the index in the storage of the value.
+    * @throws IndexOutOfBoundsException if {@code offsetFromFirst} &notin; [0, <tt>this.size()</tt>[.
+    */
+   int fromFirstIndex(int offsetFromFirst)
+   {
+      if (offsetFromFirst >= size || offsetFromFirst < 0)
+         throw new IndexOutOfBoundsException(outOfBoundsMessage(offsetFromFirst));
+
+      return (currentIndex - size + 1 + offsetFromFirst) & mask;
+   }
+
+   /**
+    * @param offsetFromLast offset from the newest value.
+    * @return the index in the storage of the value.
+    * @throws IndexOutOfBoundsException if {@code offsetFromLast} &notin; [0, <tt>this.size()</tt>[.
+    */
+   int fromLastIndex(int offsetFromLast)
+   {
+      if (offsetFromLast >= size || offsetFromLast < 0)
+         throw new IndexOutOfBoundsException(outOfBoundsMessage(offsetFromLast));
+
+      return (currentIndex - offsetFromLast) & mask;
+   }
+
+   /**
+    * Checks the window and returns the unmasked index of its first value, the index in the storage
+    * of the N<sup>th</sup> value of the window is {@code (windowStart + N) & mask()}.
+    *
+    * @param fromOffset offset from the oldest value of the first value of the window.
+    * @param length     the number of values in the window.
+    * @return the unmasked index of the first value of the window.
+    * @throws IndexOutOfBoundsException if the window is not within [0, <tt>this.size()</tt>[.
+    */
+   int windowStart(int fromOffset, int length)
+   {
+      if (fromOffset < 0 || length < 0 || fromOffset + length > size)
+         throw new IndexOutOfBoundsException("Window offset: " + fromOffset + ", length: " + length + ", Size: " + size);
+
+      return currentIndex - size + 1 + fromOffset;
+   }
+
+   /**
+    * @return the bit mask locating the values in the storage.
+    */
+   int mask()
+   {
+      return mask;
+   }
+
+   /**
+    * @return the length of the storage of the values, a power of two.
+    */
+   int storageLength()
+   {
+      return mask + 1;
+   }
+
+   /**
+    * Gets whether this buffer has reached its capacity or not.
+    *
+    * @return {@code true} is this ring buffer is full, {@code false} otherwise.
+    */
+   public boolean isBufferFull()
+   {
+      return size == capacity;
+   }
+
+   public boolean isEmpty()
+   {
+      return size == 0;
+   }
+
+   /**
+    * Returns the current size of this ring buffer.
+    *
+    * @return the number of values in this buffer.
+    */
+   public int size()
+   {
+      return size;
+   }
+
+   /**
+    * Returns the number of values this buffer can hold onto.
+    *
+    * @return this buffer's capacity.
+    */
+   public int capacity()
+   {
+      return capacity;
+   }
+
+   private void checkNotEmpty()
+   {
+      if (size == 0)
+         throw new NoSuchElementException("The buffer is empty.");
+   }
+
+   private String outOfBoundsMessage(int index)
+   {
+      return "Index: " + index + ", Size: " + size;
+   }
+
+   /**
+    * Circular deque of storage indices, used as monotonic deque for the minimum and maximum. It holds
+    * at most one index per value, such that it has the length of the storage.
+    */
+   static final class IndexDeque
+   {
+      private final int[] indices;
+      private final int mask;
+      private int head = 0;
+      private int size = 0;
+
+      private IndexDeque(int length)
+      {
+         indices = new int[length];
+         mask = length - 1;
+      }
+
+      void clear()
+      {
+         head = 0;
+         size = 0;
+      }
+
+      boolean isEmpty()
+      {
+         return size == 0;
+      }
+
+      int peekFirst()
+      {
+         return indices[head];
+      }
+
+      int peekLast()
+      {
+         return indices[(head + size - 1) & mask];
+      }
+
+      void removeLast()
+      {
+         size--;
+      }
+
+      void addLast(int index)
+      {
+         indices[(head + size) & mask] = index;
+         size++;
+      }
+
+      void removeFirstIfEquals(int index)
+      {
+         if (size > 0 && indices[head] == index)
+         {
+            head = (head + 1) & mask;
+            size--;
+         }
+      }
+   }
+}
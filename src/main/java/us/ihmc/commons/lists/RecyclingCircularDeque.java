@@ -0,0 +1,379 @@
+package us.ihmc.commons.lists;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A double ended queue that reuses its objects, stored in a circular array of which the length is a power of two.
+ * Unlike the {@link RecyclingArrayDeque}, it does not extend {@link java.util.ArrayDeque} and does not need a second
+ * queue for the unused objects: every slot of the array holds an object, the slots outside of the deque hold the
+ * objects to recycle.
+ * <p>
+ * Once the capacity is large enough, none of the operations allocate. The capacity only changes when calling
+ * {@link #ensureCapacity(int)}, or when adding to a full deque if growing is allowed, see
+ * {@link #setGrowthAllowed(boolean)}. The elements are iterated with {@link #get(int)}, {@link #getFromLast(int)},
+ * or {@link #forEach(Consumer)}, which do not allocate.
+ * </p>
+ * <p>
+ * Warning: the objects returned by this deque, including the removed ones, are reused and modified by this deque
+ * when adding new elements.
+ * </p>
+ *
+ * @param <T> the type of object in this deque
+ */
+public class RecyclingCircularDeque<T>
+{
+   private static final int defaultNumberOfElements = 16;
+   private static final int maximumCapacity = 1 << 30;
+
+   private final Supplier<T> typeBuilder;
+   private final BiConsumer<T, T> copier;
+
+   private T[] elements;
+   private int mask;
+   private int head = 0;
+   private int size = 0;
+   private boolean growthAllowed = true;
+
+   public RecyclingCircularDeque(Supplier<T> typeBuilder, BiConsumer<T, T> copier)
+   {
+      this(defaultNumberOfElements, typeBuilder, copier);
+   }
+
+   public RecyclingCircularDeque(Class<T> objectClass, BiConsumer<T, T> copier)
+   {
+      this(defaultNumberOfElements, SupplierBuilder.createFromEmptyConstructor(objectClass), copier);
+   }
+
+   public RecyclingCircularDeque(int numElements, Class<T> objectClass, BiConsumer<T, T> copier)
+   {
+      this(numElements, SupplierBuilder.createFromEmptyConstructor(objectClass), copier);
+   }
+
+   /**
+    * @param numElements lower bound on initial capacity of the deque, rounded up to a power of two
+    * @param typeBuilder builds instance of data type
+    * @param copier copies such that {@link BiConsumer#accept} sets the first argument from the second
+    */
+   @SuppressWarnings("unchecked")
+   public RecyclingCircularDeque(int numElements, Supplier<T> typeBuilder, BiConsumer<T, T> copier)
+   {
+      if (numElements < 0)
+         throw new IllegalArgumentException("The number of elements cannot be negative: " + numElements);
+
+      this.typeBuilder = typeBuilder;
+      this.copier = copier;
+
+      elements = (T[]) new Object[0];
+      ensureCapacity(Math.max(1, numElements));
+   }
+
+   /**
+    * Add an object at the front of this deque and return it. Because we are recycling objects the object may have data in it.
+    *
+    * @return the new object.
+    * @throws IllegalStateException if this deque is full and growing is not allowed or the maximum
+    *                               capacity, 2<sup>30</sup>, is reached.
+    */
+   public T addFirst()
+   {
+      growIfFull();
+      head = (head - 1) & mask;
+      size++;
+      return elements[head];
+   }
+
+   /**
+    * Add an object at the end of this deque and return it. Because we are recycling objects the object may have data in it.
+    *
+    * @return the new object.
+    * @throws IllegalStateException if this deque is full and growing is not allowed or the maximum
+    *                               capacity, 2<sup>30</sup>, is reached.
+    */
+   public T addLast()
+   {
+      growIfFull();
+      T newObject = elements[(head + size) & mask];
+      size++;
+      return newObject;
+   }
+
+   /**
+    * Add an object at the front of this deque set to match the given object.
+    *
+    * @param newObject the object to copy. Not modified.
+    * @throws IllegalStateException if this deque is full and growing is not allowed or the maximum
+    *                               capacity, 2<sup>30</sup>, is reached.
+    */
+   public void addFirst(T newObject)
+   {
+      copier.accept(addFirst(), newObject);
+   }
+
+   /**
+    * Add an object at the end of this deque set to match the given object.
+    *
+    * @param newObject the object to copy. Not modified.
+    * @throws IllegalStateException if this deque is full and growing is not allowed or the maximum
+    *                               capacity, 2<sup>30</sup>, is reached.
+    */
+   public void addLast(T newObject)
+   {
+      copier.accept(addLast(), newObject);
+   }
+
+   /**
+    * Removes the first element of this deque.
+    * <p>
+    * Warning: The returned element will be reused and modified by this deque when adding a new element.
+    * </p>
+    *
+    * @return the removed element, or {@code null} if this deque is empty.
+    */
+   public T pollFirst()
+   {
+      if (size == 0)
+         return null;
+
+      T objectToReturn = elements[head];
+      head = (head + 1) & mask;
+      size--;
+      return objectToReturn;
+   }
+
+   /**
+    * Removes the last element of this deque.
+    * <p>
+    * Warning: The returned element will be reused and modified by this deque when adding a new element.
+    * </p>
+    *
+    * @return the removed element, or {@code null} if this deque is empty.
+    */
+   public T pollLast()
+   {
+      if (size == 0)
+         return null;
+
+      size--;
+      return elements[(head + size) & mask];
+   }
+
+   /**
+    * Removes the first element of this deque.
+    * <p>
+    * Warning: The returned element will be reused and modified by this deque when adding a new element.
+    * </p>
+    *
+    * @return the removed element.
+    * @throws NoSuchElementException if this deque is empty.
+    */
+   public T removeFirst()
+   {
+      if (size == 0)
+         throw new NoSuchElementException();
+      return pollFirst();
+   }
+
+   /**
+    * Removes the last element of this deque.
+    * <p>
+    * Warning: The returned element will be reused and modified by this deque when adding a new element.
+    * </p>
+    *
+    * @return the removed element.
+    * @throws NoSuchElementException if this deque is empty.
+    */
+   public T removeLast()
+   {
+      if (size == 0)
+         throw new NoSuchElementException();
+      return pollLast();
+   }
+
+   /**
+    * @return the first element, or {@code null} if this deque is empty.
+    */
+   public T peekFirst()
+   {
+      return size == 0 ? null : elements[head];
+   }
+
+   /**
+    * @return the last element, or {@code null} if this deque is empty.
+    */
+   public T peekLast()
+   {
+      return size == 0 ? null : elements[(head + size - 1) & mask];
+   }
+
+   /**
+    * @return the first element.
+    * @throws NoSuchElementException if this deque is empty.
+    */
+   public T getFirst()
+   {
+      if (size == 0)
+         throw new NoSuchElementException();
+      return elements[head];
+   }
+
+   /**
+    * @return the last element.
+    * @throws NoSuchElementException if this deque is empty.
+    */
+   public T getLast()
+   {
+      if (size == 0)
+         throw new NoSuchElementException();
+      return elements[(head + size - 1) & mask];
+   }
+
+   /**
+    * Gets the element at the given position from the front of this deque.
+    *
+    * @param index the position of the element, 0 being the first element.
+    * @return the element.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, size[.
+    */
+   public T get(int index)
+   {
+      checkIndex(index);
+      return elements[(head + index) & mask];
+   }
+
+   /**
+    * Gets the element at the given position from the end of this deque.
+    *
+    * @param index the position of the element, 0 being the last element.
+    * @return the element.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, size[.
+    */
+   public T getFromLast(int index)
+   {
+      checkIndex(index);
+      return elements[(head + size - 1 - index) & mask];
+   }
+
+   /**
+    * Performs the given action on each element from the first to the last.
+    *
+    * @param action the action to perform.
+    */
+   public void forEach(Consumer<? super T> action)
+   {
+      for (int i = 0; i < size; i++)
+      {
+         action.accept(elements[(head + i) & mask]);
+      }
+   }
+
+   /**
+    * The deque will be empty after this call returns. The elements are kept for recycling purpose to prevent garbage
+    * generation.
+    */
+   public void clear()
+   {
+      head = 0;
+      size = 0;
+   }
+
+   public int size()
+   {
+      return size;
+   }
+
+   public boolean isEmpty()
+   {
+      return size == 0;
+   }
+
+   /**
+    * @return the number of elements this deque can hold without growing, always a power of two.
+    */
+   public int capacity()
+   {
+      return elements.length;
+   }
+
+   /**
+    * Sets whether this deque grows when adding to it while it is full. When not allowed, adding to a full deque
+    * throws an {@link IllegalStateException} instead of allocating.
+    *
+    * @param growthAllowed whether this deque can grow when full. Default is {@code true}.
+    */
+   public void setGrowthAllowed(boolean growthAllowed)
+   {
+      this.growthAllowed = growthAllowed;
+   }
+
+   /**
+    * Grows this deque if needed such that it can hold the given number of elements without growing.
+    *
+    * @param capacity the minimum capacity, rounded up to a power of two.
+    * @throws IllegalArgumentException if {@code capacity} is negative or greater than
+    *                                  2<sup>30</sup>.
+    */
+   public void ensureCapacity(int capacity)
+   {
+      if (capacity < 0)
+         throw new IllegalArgumentException("The capacity cannot be negative: " + capacity);
+      if (capacity <= elements.length)
+         return;
+      if (capacity > maximumCapacity)
+         throw new IllegalArgumentException("Capacity too large: " + capacity);
+
+      int newCapacity = Integer.highestOneBit(capacity - 1) << 1;
+      if (capacity == 1)
+         newCapacity = 1;
+
+      // Unwraps the elements and the unused objects to the beginning of the new array.
+      T[] newElements = Arrays.copyOf(elements, newCapacity);
+      for (int i = 0; i < elements.length; i++)
+      {
+         newElements[i] = elements[(head + i) & mask];
+      }
+      for (int i = elements.length; i < newCapacity; i++)
+      {
+         newElements[i] = typeBuilder.get();
+      }
+
+      elements = newElements;
+      mask = newCapacity - 1;
+      head = 0;
+   }
+
+   private void growIfFull()
+   {
+      if (size < elements.length)
+         return;
+      if (!growthAllowed)
+         throw new IllegalStateException("The deque is full, capacity: " + elements.length);
+      if (elements.length >= maximumCapacity)
+         throw new IllegalStateException("The deque is full and has reached the maximum capacity: " + elements.length);
+
+      ensureCapacity(2 * elements.length);
+   }
+
+   private void checkIndex(int index)
+   {
+      if (index < 0 || index >= size)
+         throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+   }
+
+   @Override
+   public String toString()
+   {
+      StringBuilder sb = new StringBuilder();
+      sb.append('[');
+      for (int i = 0; i < size; i++)
+      {
+         if (i > 0)
+            sb.append(',').append(' ');
+         sb.append(get(i));
+      }
+      return sb.append(']').toString();
+   }
+}
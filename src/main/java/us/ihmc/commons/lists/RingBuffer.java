@@ -5,6 +5,7 @@ import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -18,6 +19,18 @@ import java.util.function.Supplier;
  * <p>
  * Note that as {@link RecyclingArrayList}, this implementation recycles memory internally.
  * </p>
+ * <p>
+ * When the number of elements stored internally is a power of two, the elements are located with a
+ * bit mask instead of modulo operations. The storage can be rounded up to a power of two regardless
+ * of the capacity, see {@link #RingBuffer(int, Supplier, BiConsumer, boolean)}. The elements can
+ * also be accessed in bulk without garbage generation with {@link #copyWindow(int, int, Object[])}
+ * and {@link #forEachInWindow(int, int, Consumer)}.
+ * </p>
+ * <p>
+ * The capacity can be changed at runtime without garbage generation by first reserving the
+ * largest capacity that will be needed with {@link #reserveCapacity(int)}, after which
+ * {@link #changeCapacity(int)} only adjusts the window of elements visible in this buffer.
+ * </p>
  * 
  * @author Sylvain Bertrand
  * @param <T>
@@ -25,9 +38,14 @@ import java.util.function.Supplier;
 @SuppressWarnings("unchecked")
 public class RingBuffer<T> implements Iterable<T>
 {
+   /** Index in {@link #buffer} of the newest element. */
    private int currentIndex = -1;
+   private int size = 0;
    private int capacity;
    private boolean isBufferFull = false;
+   /** Mask used to wrap indices when the length of {@link #buffer} is a power of two, -1 otherwise. */
+   private int mask;
+   private final boolean roundStorageToPowerOfTwo;
 
    private transient int modCount = 0;
 
@@ -55,24 +73,52 @@ public class RingBuffer<T> implements Iterable<T>
     * @param copier    coper required to use {@link #add(Object)}.
     */
    public RingBuffer(int capacity, Supplier<T> allocator, BiConsumer<T, T> copier)
+   {
+      this(capacity, allocator, copier, false);
+   }
+
+   /**
+    * Create a new empty ring buffer.
+    * <p>
+    * When {@code roundStorageToPowerOfTwo} is {@code true}, the number of elements stored internally
+    * is rounded up to the next power of two such that the elements are always located with a bit
+    * mask. The capacity of this buffer is not affected, the extra elements are only used for
+    * recycling.
+    * </p>
+    * 
+    * @param capacity                 the initial capacity of this ring buffer.
+    * @param allocator                builder used to instantiate this buffer's elements.
+    * @param copier                   coper required to use {@link #add(Object)}.
+    * @param roundStorageToPowerOfTwo whether to round up the internal storage to a power of two.
+    */
+   public RingBuffer(int capacity, Supplier<T> allocator, BiConsumer<T, T> copier, boolean roundStorageToPowerOfTwo)
    {
       this.allocator = allocator;
       if (capacity <= 0)
          throw new IllegalArgumentException("Cannot instantiate a buffer with a size of zero or less.");
       this.capacity = capacity;
       this.copier = copier;
+      this.roundStorageToPowerOfTwo = roundStorageToPowerOfTwo;
 
+      int storageLength = computeStorageLength(capacity);
       T firstElement = allocator.get();
       elementType = (Class<T>) firstElement.getClass();
-      buffer = (T[]) new Object[capacity];
+      buffer = (T[]) new Object[storageLength];
       buffer[0] = firstElement;
-      for (int i = 1; i < capacity; i++)
+      for (int i = 1; i < storageLength; i++)
          buffer[i] = allocator.get();
+      mask = computeMask(storageLength);
    }
 
    /**
     * Resizes this buffer while preserving order and state of the previously added elements when
     * possible.
+    * <p>
+    * When the new capacity does not exceed the reserved capacity, see {@link #reserveCapacity(int)},
+    * this operation is done in constant time without garbage generation: when shrinking, only the
+    * newest elements are kept, when growing, the elements are preserved and the buffer will hold
+    * onto more elements as they are added. Otherwise the internal storage is reallocated.
+    * </p>
     * 
     * @param newCapacity the new capacity for this ring buffer.
     */
@@ -80,45 +126,64 @@ public class RingBuffer<T> implements Iterable<T>
    {
       if (capacity == newCapacity)
          return;
+      if (newCapacity <= 0)
+         throw new IllegalArgumentException("Cannot resize a buffer to a size of zero or less.");
 
       modCount++;
 
-      T[] newBuffer = (T[]) new Object[newCapacity];
+      if (newCapacity > buffer.length)
+         reallocate(computeStorageLength(newCapacity));
 
-      int size = size();
+      // The newest elements are kept, the older ones are left in the storage for recycling.
+      capacity = newCapacity;
+      size = Math.min(size, newCapacity);
+      isBufferFull = newCapacity <= size;
+   }
 
-      if (newCapacity > size)
-      {
-         int index = isBufferFull ? currentIndex + 1 : 0;
+   /**
+    * Grows the internal storage if needed such that the capacity of this buffer can later be
+    * increased up to {@code reservedCapacity} with {@link #changeCapacity(int)} without garbage
+    * generation. The capacity of this buffer and its elements are not affected.
+    * 
+    * @param reservedCapacity the maximum capacity this buffer should be able to reach without
+    *                         reallocation.
+    */
+   public void reserveCapacity(int reservedCapacity)
+   {
+      if (reservedCapacity <= buffer.length)
+         return;
 
-         for (int offset = 0; offset < Math.min(capacity, newCapacity); offset++)
-         {
-            newBuffer[offset] = (T) buffer[index % capacity];
-            index++;
-         }
-         currentIndex = size() - 1;
-         isBufferFull = false;
+      modCount++;
+      reallocate(computeStorageLength(reservedCapacity));
+   }
 
-         for (int i = capacity; i < newCapacity; i++)
-            newBuffer[i] = allocator.get();
-      }
-      else
-      {
-         int index = currentIndex;
+   /**
+    * Returns the maximum capacity this buffer can be resized to without reallocation, i.e. the
+    * number of elements stored internally.
+    * 
+    * @return this buffer's reserved capacity.
+    */
+   public int reservedCapacity()
+   {
+      return buffer.length;
+   }
 
-         for (int offset = newCapacity - 1; offset >= 0; offset--)
-         {
-            if (index < 0)
-               index += capacity;
-            newBuffer[offset] = buffer[index];
-            index--;
-         }
-         currentIndex = newCapacity - 1;
-         isBufferFull = true;
-      }
+   private void reallocate(int newStorageLength)
+   {
+      T[] newBuffer = (T[]) new Object[newStorageLength];
+      int index = 0;
+
+      // The elements go first from oldest to newest, followed by the other elements to recycle them.
+      for (int offset = size - 1; offset >= 0; offset--)
+         newBuffer[index++] = buffer[toBufferIndex(currentIndex - offset)];
+      for (int offset = size; offset < buffer.length; offset++)
+         newBuffer[index++] = buffer[toBufferIndex(currentIndex - offset)];
+      while (index < newStorageLength)
+         newBuffer[index++] = allocator.get();
 
       buffer = newBuffer;
-      capacity = newCapacity;
+      mask = computeMask(newStorageLength);
+      currentIndex = size - 1;
    }
 
    /**
@@ -131,6 +196,7 @@ public class RingBuffer<T> implements Iterable<T>
    {
       modCount++;
       currentIndex = -1;
+      size = 0;
       isBufferFull = false;
    }
 
@@ -143,15 +209,14 @@ public class RingBuffer<T> implements Iterable<T>
    public T add()
    {
       modCount++;
-      currentIndex++;
+      currentIndex = toBufferIndex(currentIndex + 1);
 
-      if (currentIndex >= capacity)
-      {
+      if (size < capacity)
+         size++;
+      else
          isBufferFull = true;
-         currentIndex = 0;
-      }
 
-      return (T) buffer[currentIndex];
+      return buffer[currentIndex];
    }
 
    /**
@@ -176,13 +241,10 @@ public class RingBuffer<T> implements Iterable<T>
     */
    public T getFirst()
    {
-      if (currentIndex == -1)
+      if (size == 0)
          return null;
-
-      if (!isBufferFull)
-         return (T) buffer[0];
-
-      return (T) buffer[(currentIndex + 1) % capacity];
+      else
+         return buffer[toBufferIndex(currentIndex - size + 1)];
    }
 
    /**
@@ -192,10 +254,10 @@ public class RingBuffer<T> implements Iterable<T>
     */
    public T getLast()
    {
-      if (currentIndex == -1)
+      if (size == 0)
          return null;
       else
-         return (T) buffer[currentIndex];
+         return buffer[currentIndex];
    }
 
    /**
@@ -207,14 +269,10 @@ public class RingBuffer<T> implements Iterable<T>
     */
    public T getFromFirst(int offsetFromFirst)
    {
-      if (offsetFromFirst >= size() || offsetFromFirst < 0)
+      if (offsetFromFirst >= size || offsetFromFirst < 0)
          throw new IndexOutOfBoundsException(outOfBoundsMessage(offsetFromFirst));
 
-      if (!isBufferFull)
-         return (T) buffer[offsetFromFirst];
-
-      int index = currentIndex + 1 + offsetFromFirst;
-      return (T) buffer[index % capacity];
+      return buffer[toBufferIndex(currentIndex - size + 1 + offsetFromFirst)];
    }
 
    /**
@@ -226,13 +284,10 @@ public class RingBuffer<T> implements Iterable<T>
     */
    public T getFromLast(int offsetFromLast)
    {
-      if (offsetFromLast >= size())
+      if (offsetFromLast >= size || offsetFromLast < 0)
          throw new IndexOutOfBoundsException(outOfBoundsMessage(offsetFromLast));
 
-      int index = currentIndex - offsetFromLast;
-      if (index < 0 && isBufferFull)
-         index += capacity;
-      return (T) buffer[index];
+      return buffer[toBufferIndex(currentIndex - offsetFromLast)];
    }
 
    /**
@@ -252,7 +307,7 @@ public class RingBuffer<T> implements Iterable<T>
     */
    public boolean isEmpty()
    {
-      return currentIndex == -1;
+      return size == 0;
    }
 
    /**
@@ -265,10 +320,7 @@ public class RingBuffer<T> implements Iterable<T>
     */
    public int size()
    {
-      if (isBufferFull)
-         return capacity;
-      else
-         return currentIndex + 1;
+      return size;
    }
 
    /**
@@ -288,16 +340,8 @@ public class RingBuffer<T> implements Iterable<T>
     */
    public T[] toArrayFromFirstToLast()
    {
-      int size = size();
       T[] array = (T[]) Array.newInstance(elementType, size);
-
-      int index = isBufferFull ? currentIndex + 1 : 0;
-
-      for (int offset = 0; offset < size; offset++)
-      {
-         array[offset] = (T) buffer[index % capacity];
-         index++;
-      }
+      copyWindow(0, size, array);
       return array;
    }
 
@@ -308,22 +352,61 @@ public class RingBuffer<T> implements Iterable<T>
     */
    public T[] toArrayFromLastToFirst()
    {
-      int size = size();
       T[] array = (T[]) Array.newInstance(elementType, size);
 
-      int index = currentIndex;
-
       for (int offset = 0; offset < size; offset++)
-      {
-         if (index < 0)
-            index += capacity;
-
-         array[offset] = (T) buffer[index];
-         index--;
-      }
+         array[offset] = buffer[toBufferIndex(currentIndex - offset)];
       return array;
    }
 
+   /**
+    * Copies a window of this buffer's elements, ordered from the oldest to the newest, into the given
+    * array without garbage generation.
+    * <p>
+    * Note that the elements themselves are not copied, {@code destination} is filled with references
+    * to the elements of this buffer.
+    * </p>
+    * 
+    * @param fromOffset  offset from the oldest element of the first element to copy.
+    * @param length      the number of elements to copy.
+    * @param destination the array in which the elements are copied starting at index 0. Modified.
+    * @throws IndexOutOfBoundsException if the window is not within [0, <tt>this.size()</tt>[ or
+    *                                   {@code destination} is too small.
+    */
+   public void copyWindow(int fromOffset, int length, T[] destination)
+   {
+      checkWindow(fromOffset, length);
+      if (destination.length < length)
+         throw new IndexOutOfBoundsException("Destination length: " + destination.length + ", window length: " + length);
+
+      int start = toBufferIndex(currentIndex - size + 1 + fromOffset);
+      int firstPartLength = Math.min(length, buffer.length - start);
+      System.arraycopy(buffer, start, destination, 0, firstPartLength);
+      System.arraycopy(buffer, 0, destination, firstPartLength, length - firstPartLength);
+   }
+
+   /**
+    * Performs the given action on a window of this buffer's elements, ordered from the oldest to the
+    * newest, without garbage generation.
+    * 
+    * @param fromOffset offset from the oldest element of the first element of the window.
+    * @param length     the number of elements in the window.
+    * @param action     the action to perform on each element of the window.
+    * @throws IndexOutOfBoundsException if the window is not within [0, <tt>this.size()</tt>[.
+    */
+   public void forEachInWindow(int fromOffset, int length, Consumer<? super T> action)
+   {
+      checkWindow(fromOffset, length);
+
+      int start = toBufferIndex(currentIndex - size + 1 + fromOffset);
+      int firstPartEnd = Math.min(start + length, buffer.length);
+
+      for (int index = start; index < firstPartEnd; index++)
+         action.accept(buffer[index]);
+      for (int index = 0; index < length - (firstPartEnd - start); index++)
+         action.accept(buffer[index]);
+   }
+
    /**
     * Returns an iterator over the elements of this ring buffer starting from the oldest element and
     * ending at the newest element.
@@ -348,6 +431,43 @@ public class RingBuffer<T> implements Iterable<T>
       return "Index: " + index + ", Size: " + size();
    }
 
+   private void checkWindow(int fromOffset, int length)
+   {
+      if (fromOffset < 0 || length < 0 || fromOffset + length > size)
+         throw new IndexOutOfBoundsException("Window offset: " + fromOffset + ", length: " + length + ", Size: " + size);
+   }
+
+   /**
+    * Wraps an index in [-<tt>buffer.length</tt>, 2 <tt>buffer.length</tt>[ to an index in the
+    * buffer.
+    */
+   private int toBufferIndex(int index)
+   {
+      if (mask != -1)
+         return index & mask;
+      else if (index < 0)
+         return index + buffer.length;
+      else if (index >= buffer.length)
+         return index - buffer.length;
+      else
+         return index;
+   }
+
+   private int computeStorageLength(int capacity)
+   {
+      if (!roundStorageToPowerOfTwo || capacity == 1)
+         return capacity;
+      else if (capacity > 1 << 30)
+         throw new IllegalArgumentException("Cannot round the capacity to a power of two: " + capacity);
+      else
+         return Integer.highestOneBit(capacity - 1) << 1;
+   }
+
+   private static int computeMask(int storageLength)
+   {
+      return Integer.bitCount(storageLength) == 1 ? storageLength - 1 : -1;
+   }
+
    private class RingBufferIterator implements Iterator<T>
    {
       /**
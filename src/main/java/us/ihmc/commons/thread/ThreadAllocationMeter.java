@@ -0,0 +1,297 @@
+package us.ihmc.commons.thread;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * <p>Measures the number of bytes allocated by a thread using the allocation counter the JVM keeps
+ * for every thread, see {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.</p>
+ *
+ * <p>Unlike the {@code AllocationProfiler}, no agent is needed and the code runs at full speed, reading
+ * the counter costs tens of nanoseconds. It only tells how much was allocated, not where, and can
+ * therefore be left in production code, for instance as a gauge of the bytes allocated per control
+ * tick:</p>
+ *
+ * <pre>
+ * {@code
+ * private final ThreadAllocationMeter allocationMeter = new ThreadAllocationMeter();
+ *
+ * public void doControl()
+ * {
+ *    allocationMeter.start();
+ *    // control tick
+ *    allocationMeter.stop();
+ *
+ *    if (allocationMeter.getLastAllocatedBytes() > 0) // report
+ * }
+ * }
+ * </pre>
+ *
+ * <p>A region is measured on the thread that started it. On JVMs without the counter, see
+ * {@link #isSupported()}, all measurements are {@link #UNSUPPORTED} and the meter does nothing.</p>
+ *
+ * <p>Warning: up to Java 13, reading the counter allocates, the JVM wraps the thread id in a
+ * {@code long[]} and returns the result in another {@code long[]}, about 50 bytes of garbage per read
+ * and therefore per {@link #start()} and {@link #stop()}. These bytes are subtracted from the
+ * measurements but are still allocated by the measured thread. From Java 14, reading the counter of
+ * the current thread does not allocate, see {@link #isMeasurementAllocationFree()}. On older JVMs,
+ * the garbage added to the measured loop can be limited by only measuring one region out of
+ * several, see {@link #ThreadAllocationMeter(int)}.</p>
+ */
+public class ThreadAllocationMeter
+{
+   /** Value of the measurements when the JVM does not count the allocated bytes. */
+   public static final long UNSUPPORTED = -1;
+   /** Value returned by {@link #stop()} for the regions skipped with a measurement period. */
+   public static final long NOT_MEASURED = -2;
+
+   private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = createThreadMXBean();
+   /** Bytes allocated by reading the counter itself, subtracted from the measurements. */
+   private static final long MEASUREMENT_OVERHEAD = computeMeasurementOverhead();
+
+   private final int measurementPeriod;
+   private int regionsUntilMeasurement = 0;
+   private boolean isRegionSkipped = false;
+
+   private long threadId;
+   private long regionStart = UNSUPPORTED;
+
+   private long lastAllocatedBytes;
+   private long maximumAllocatedBytes;
+   private long totalAllocatedBytes;
+   private long numberOfMeasurements;
+
+   /**
+    * Creates a meter measuring every region.
+    */
+   public ThreadAllocationMeter()
+   {
+      this(1);
+   }
+
+   /**
+    * Creates a meter measuring only one region out of {@code measurementPeriod}, starting with the
+    * first one. The other regions do not read the counter, which limits the garbage generated by the
+    * meter on JVMs where reading it allocates, see {@link #isMeasurementAllocationFree()}.
+    *
+    * @param measurementPeriod the number of regions per measured region.
+    */
+   public ThreadAllocationMeter(int measurementPeriod)
+   {
+      if (measurementPeriod < 1)
+         throw new IllegalArgumentException("The measurement period must be positive: " + measurementPeriod);
+      this.measurementPeriod = measurementPeriod;
+   }
+
+   /**
+    * Starts measuring a region on the current thread, replacing the region that was not stopped if
+    * any.
+    */
+   public void start()
+   {
+      if (regionsUntilMeasurement > 0)
+      {
+         regionsUntilMeasurement--;
+         isRegionSkipped = true;
+         return;
+      }
+
+      regionsUntilMeasurement = measurementPeriod - 1;
+      isRegionSkipped = false;
+      threadId = Thread.currentThread().getId();
+      regionStart = getAllocatedBytes(threadId);
+   }
+
+   /**
+    * Stops measuring the current region and updates the statistics.
+    *
+    * @return the number of bytes allocated since {@link #start()}, {@link #NOT_MEASURED} if the
+    *         region is skipped because of the measurement period, or {@link #UNSUPPORTED} if the
+    *         counter is not supported or the meter was not started.
+    */
+   public long stop()
+   {
+      if (isRegionSkipped)
+      {
+         isRegionSkipped = false;
+         return NOT_MEASURED;
+      }
+
+      if (regionStart == UNSUPPORTED)
+         return UNSUPPORTED;
+
+      long allocatedBytes = Math.max(0, getAllocatedBytes(threadId) - regionStart - MEASUREMENT_OVERHEAD);
+      regionStart = UNSUPPORTED;
+
+      lastAllocatedBytes = allocatedBytes;
+      maximumAllocatedBytes = Math.max(maximumAllocatedBytes, allocatedBytes);
+      totalAllocatedBytes += allocatedBytes;
+      numberOfMeasurements++;
+      return allocatedBytes;
+   }
+
+   /**
+    * Measures the bytes allocated by running the given region on the current thread and updates the
+    * statistics.
+    *
+    * @param region the code to measure.
+    * @return the number of bytes allocated by the region, {@link #NOT_MEASURED}, or
+    *         {@link #UNSUPPORTED}.
+    */
+   public long measure(Runnable region)
+   {
+      start();
+      region.run();
+      return stop();
+   }
+
+   /**
+    * Clears the statistics and the current region.
+    */
+   public void reset()
+   {
+      regionsUntilMeasurement = 0;
+      isRegionSkipped = false;
+      regionStart = UNSUPPORTED;
+      lastAllocatedBytes = 0;
+      maximumAllocatedBytes = 0;
+      totalAllocatedBytes = 0;
+      numberOfMeasurements = 0;
+   }
+
+   /**
+    * @return the number of bytes allocated in the last measured region.
+    */
+   public long getLastAllocatedBytes()
+   {
+      return lastAllocatedBytes;
+   }
+
+   /**
+    * @return the largest number of bytes allocated in a region since the last reset.
+    */
+   public long getMaximumAllocatedBytes()
+   {
+      return maximumAllocatedBytes;
+   }
+
+   /**
+    * @return the number of bytes allocated in all the regions since the last reset.
+    */
+   public long getTotalAllocatedBytes()
+   {
+      return totalAllocatedBytes;
+   }
+
+   /**
+    * @return the average number of bytes allocated per region since the last reset, or 0 if nothing was
+    *         measured.
+    */
+   public double getAverageAllocatedBytes()
+   {
+      return numberOfMeasurements == 0 ? 0.0 : (double) totalAllocatedBytes / numberOfMeasurements;
+   }
+
+   /**
+    * @return the number of regions measured since the last reset, not counting the regions skipped
+    *         because of the measurement period.
+    */
+   public long getNumberOfMeasurements()
+   {
+      return numberOfMeasurements;
+   }
+
+   /**
+    * Measures the bytes allocated by running the given region on the current thread.
+    *
+    * @param region the code to measure.
+    * @return the number of bytes allocated by the region, or {@link #UNSUPPORTED}.
+    */
+   public static long measureAllocatedBytes(Runnable region)
+   {
+      long threadId = Thread.currentThread().getId();
+      long start = getAllocatedBytes(threadId);
+      region.run();
+
+      if (start == UNSUPPORTED)
+         return UNSUPPORTED;
+      else
+         return Math.max(0, getAllocatedBytes(threadId) - start - MEASUREMENT_OVERHEAD);
+   }
+
+   /**
+    * @return the number of bytes allocated by the current thread since it started, or
+    *         {@link #UNSUPPORTED}.
+    */
+   public static long getCurrentThreadAllocatedBytes()
+   {
+      return getAllocatedBytes(Thread.currentThread().getId());
+   }
+
+   /**
+    * @return whether the JVM counts the bytes allocated per thread.
+    */
+   public static boolean isSupported()
+   {
+      return THREAD_MX_BEAN != null;
+   }
+
+   /**
+    * @return whether reading the counter, and therefore {@link #start()} and {@link #stop()}, does not
+    *         allocate, which is the case from Java 14.
+    */
+   public static boolean isMeasurementAllocationFree()
+   {
+      return THREAD_MX_BEAN != null && MEASUREMENT_OVERHEAD == 0;
+   }
+
+   private static long getAllocatedBytes(long threadId)
+   {
+      if (THREAD_MX_BEAN == null)
+         return UNSUPPORTED;
+      else
+         return THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+   }
+
+   private static com.sun.management.ThreadMXBean createThreadMXBean()
+   {
+      try
+      {
+         java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+         if (!(threadMXBean instanceof com.sun.management.ThreadMXBean))
+            return null;
+
+         com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+
+         if (!sunThreadMXBean.isThreadAllocatedMemorySupported())
+            return null;
+         if (!sunThreadMXBean.isThreadAllocatedMemoryEnabled())
+            sunThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+         return sunThreadMXBean;
+      }
+      catch (LinkageError | RuntimeException e)
+      {
+         // Not a HotSpot based JVM, or not allowed to enable the counter.
+         return null;
+      }
+   }
+
+   private static long computeMeasurementOverhead()
+   {
+      if (THREAD_MX_BEAN == null)
+         return 0;
+
+      // Some JVMs allocate when reading the counter, e.g. Java 8 wraps the thread id in an array.
+      long threadId = Thread.currentThread().getId();
+      long overhead = Long.MAX_VALUE;
+
+      for (int i = 0; i < 10; i++)
+      {
+         long start = getAllocatedBytes(threadId);
+         overhead = Math.min(overhead, getAllocatedBytes(threadId) - start);
+      }
+
+      return Math.max(0, overhead);
+   }
+}
@@ -20,6 +20,11 @@ public class DenseMatrixArrayList extends RecyclingArrayList<DMatrixRMaj>
       super(initialCapacity, createBuilder());
    }
 
+   protected DenseMatrixArrayList(int initialCapacity, Supplier<DMatrixRMaj> allocator)
+   {
+      super(initialCapacity, allocator);
+   }
+
    public void set(DenseMatrixArrayList denseMatrixArrayList)
    {
       clear();
@@ -0,0 +1,562 @@
+package us.ihmc.commons.robotics.lists;
+
+import java.util.Arrays;
+import java.util.List;
+
+import us.ihmc.euclid.referenceFrame.ReferenceFrame;
+import us.ihmc.euclid.referenceFrame.exceptions.ReferenceFrameMismatchException;
+import us.ihmc.euclid.referenceFrame.interfaces.FramePoint3DBasics;
+import us.ihmc.euclid.referenceFrame.interfaces.FrameTuple3DBasics;
+import us.ihmc.euclid.referenceFrame.interfaces.FrameTuple3DReadOnly;
+import us.ihmc.euclid.tools.EuclidCoreIOTools;
+import us.ihmc.euclid.tools.EuclidHashCodeTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DReadOnly;
+
+/**
+ * List of 3D points all expressed in the same {@link ReferenceFrame} and stored packed in a single
+ * {@code double[]}, as {@code x0, y0, z0, x1, y1, z1, ...}.
+ * <p>
+ * Compared to {@link FrameTuple3DArrayList}, copying a list is a single array copy, and changing the
+ * frame of all the points computes the transform once and applies it in one pass over the array.
+ * This is meant for large sets of points such as point clouds or contact points.
+ * </p>
+ * <p>
+ * The points can be accessed through views implementing {@link FramePoint3DBasics}, see
+ * {@link #get(int)}. The views share the frame of this list: changing the frame of a single view
+ * is not supported, use {@link #changeFrame(ReferenceFrame)} or
+ * {@link #setReferenceFrame(ReferenceFrame)} instead. The views are created when the list grows and
+ * are then reused, accessing them does not allocate.
+ * </p>
+ */
+public class PackedFramePoint3DList
+{
+   private static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+   private ReferenceFrame referenceFrame;
+   private double[] coordinates;
+   private PointView[] views;
+   private int size = 0;
+
+   private final RigidBodyTransform transformToDesiredFrame = new RigidBodyTransform();
+
+   /**
+    * Creates an empty list in world frame.
+    */
+   public PackedFramePoint3DList()
+   {
+      this(ReferenceFrame.getWorldFrame());
+   }
+
+   /**
+    * Creates an empty list.
+    *
+    * @param referenceFrame the frame in which the points are expressed.
+    */
+   public PackedFramePoint3DList(ReferenceFrame referenceFrame)
+   {
+      this(referenceFrame, DEFAULT_INITIAL_CAPACITY);
+   }
+
+   /**
+    * Creates an empty list.
+    *
+    * @param referenceFrame  the frame in which the points are expressed.
+    * @param initialCapacity the number of points the list can hold before growing.
+    */
+   public PackedFramePoint3DList(ReferenceFrame referenceFrame, int initialCapacity)
+   {
+      if (initialCapacity < 0)
+         throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+
+      this.referenceFrame = referenceFrame;
+      coordinates = new double[3 * initialCapacity];
+      views = new PointView[initialCapacity];
+
+      for (int i = 0; i < initialCapacity; i++)
+         views[i] = new PointView(i);
+   }
+
+   /**
+    * Ensures that this list can hold {@code capacity} points without growing.
+    *
+    * @param capacity the minimum capacity.
+    */
+   public void ensureCapacity(int capacity)
+   {
+      if (capacity <= views.length)
+         return;
+
+      int newCapacity = Math.max(capacity, 2 * views.length);
+      coordinates = Arrays.copyOf(coordinates, 3 * newCapacity);
+      int previousCapacity = views.length;
+      views = Arrays.copyOf(views, newCapacity);
+
+      for (int i = previousCapacity; i < newCapacity; i++)
+         views[i] = new PointView(i);
+   }
+
+   /**
+    * Removes all the points, the frame and the capacity of the list are unchanged.
+    */
+   public void clear()
+   {
+      size = 0;
+   }
+
+   /**
+    * Adds a point to the end of this list, grows the list if needed.
+    * <p>
+    * The coordinates of the new point are not reset and should be set using the returned view.
+    * </p>
+    *
+    * @return the view of the new point.
+    */
+   public FramePoint3DBasics add()
+   {
+      ensureCapacity(size + 1);
+      return views[size++];
+   }
+
+   /**
+    * Adds a point to the end of this list, grows the list if needed.
+    *
+    * @param x the x-coordinate of the new point.
+    * @param y the y-coordinate of the new point.
+    * @param z the z-coordinate of the new point.
+    */
+   public void add(double x, double y, double z)
+   {
+      ensureCapacity(size + 1);
+      set(size++, x, y, z);
+   }
+
+   /**
+    * Adds a copy of {@code point} to the end of this list, grows the list if needed.
+    *
+    * @param point the point to add. Not modified.
+    * @throws ReferenceFrameMismatchException if {@code point} is not expressed in the frame of this
+    *                                         list.
+    */
+   public void add(FrameTuple3DReadOnly point)
+   {
+      checkReferenceFrameMatch(point);
+      add(point.getX(), point.getY(), point.getZ());
+   }
+
+   /**
+    * Removes the point at {@code index}, the following points are shifted.
+    *
+    * @param index the index of the point to remove.
+    */
+   public void remove(int index)
+   {
+      checkIndex(index);
+      System.arraycopy(coordinates, 3 * (index + 1), coordinates, 3 * index, 3 * (size - index - 1));
+      size--;
+   }
+
+   /**
+    * Gets the view of the point at {@code index}.
+    * <p>
+    * The view is owned by this list and is only valid while {@code index < size()}.
+    * </p>
+    *
+    * @param index the index of the point.
+    * @return the view of the point.
+    */
+   public FramePoint3DBasics get(int index)
+   {
+      checkIndex(index);
+      return views[index];
+   }
+
+   /**
+    * Packs the point at {@code index} into {@code tupleToPack}, including the frame.
+    *
+    * @param index       the index of the point.
+    * @param tupleToPack the tuple in which the point is stored. Modified.
+    */
+   public void get(int index, FrameTuple3DBasics tupleToPack)
+   {
+      checkIndex(index);
+      int offset = 3 * index;
+      tupleToPack.setIncludingFrame(referenceFrame, coordinates[offset], coordinates[offset + 1], coordinates[offset + 2]);
+   }
+
+   public double getX(int index)
+   {
+      checkIndex(index);
+      return coordinates[3 * index];
+   }
+
+   public double getY(int index)
+   {
+      checkIndex(index);
+      return coordinates[3 * index + 1];
+   }
+
+   public double getZ(int index)
+   {
+      checkIndex(index);
+      return coordinates[3 * index + 2];
+   }
+
+   /**
+    * Sets the coordinates of the point at {@code index}.
+    *
+    * @param index the index of the point.
+    * @param x     the new x-coordinate.
+    * @param y     the new y-coordinate.
+    * @param z     the new z-coordinate.
+    */
+   public void set(int index, double x, double y, double z)
+   {
+      checkIndex(index);
+      int offset = 3 * index;
+      coordinates[offset] = x;
+      coordinates[offset + 1] = y;
+      coordinates[offset + 2] = z;
+   }
+
+   /**
+    * Sets the point at {@code index} to {@code point}.
+    *
+    * @param index the index of the point.
+    * @param point the new point. Not modified.
+    * @throws ReferenceFrameMismatchException if {@code point} is not expressed in the frame of this
+    *                                         list.
+    */
+   public void set(int index, FrameTuple3DReadOnly point)
+   {
+      checkReferenceFrameMatch(point);
+      set(index, point.getX(), point.getY(), point.getZ());
+   }
+
+   /**
+    * Sets this list to {@code other}, including the frame, with a single array copy.
+    *
+    * @param other the list to copy. Not modified.
+    */
+   public void set(PackedFramePoint3DList other)
+   {
+      ensureCapacity(other.size);
+      referenceFrame = other.referenceFrame;
+      System.arraycopy(other.coordinates, 0, coordinates, 0, 3 * other.size);
+      size = other.size;
+   }
+
+   /**
+    * Sets this list to the points of {@code otherList}, including the frame, and trims it to the size
+    * of {@code otherList}.
+    * <p>
+    * All the points of {@code otherList} have to be expressed in the same frame. The frame of this
+    * list is unchanged when {@code otherList} is empty.
+    * </p>
+    *
+    * @param otherList the points to copy. Not modified.
+    * @throws ReferenceFrameMismatchException if the points of {@code otherList} are not all expressed
+    *                                         in the same frame.
+    */
+   public void copyFromListAndTrimSize(List<? extends FrameTuple3DReadOnly> otherList)
+   {
+      int otherSize = otherList.size();
+
+      if (otherSize > 0)
+      {
+         ReferenceFrame otherFrame = otherList.get(0).getReferenceFrame();
+
+         for (int i = 1; i < otherSize; i++)
+            otherFrame.checkReferenceFrameMatch(otherList.get(i));
+
+         referenceFrame = otherFrame;
+      }
+
+      ensureCapacity(otherSize);
+
+      for (int i = 0; i < otherSize; i++)
+      {
+         Tuple3DReadOnly point = otherList.get(i);
+         int offset = 3 * i;
+         coordinates[offset] = point.getX();
+         coordinates[offset + 1] = point.getY();
+         coordinates[offset + 2] = point.getZ();
+      }
+
+      size = otherSize;
+   }
+
+   /**
+    * Sets this list to {@code numberOfPoints} points read from {@code source}, packed as
+    * {@code x, y, z} starting at {@code sourceOffset}.
+    *
+    * @param referenceFrame the frame in which the points are expressed.
+    * @param source         the array to copy the coordinates from. Not modified.
+    * @param sourceOffset   the index of the x-coordinate of the first point in {@code source}.
+    * @param numberOfPoints the number of points to copy.
+    */
+   public void setIncludingFrame(ReferenceFrame referenceFrame, double[] source, int sourceOffset, int numberOfPoints)
+   {
+      ensureCapacity(numberOfPoints);
+      this.referenceFrame = referenceFrame;
+      System.arraycopy(source, sourceOffset, coordinates, 0, 3 * numberOfPoints);
+      size = numberOfPoints;
+   }
+
+   /**
+    * Copies the coordinates of the points of this list into {@code destination}, packed as
+    * {@code x, y, z} starting at {@code destinationOffset}.
+    *
+    * @param destination       the array in which the coordinates are stored. Modified.
+    * @param destinationOffset the index at which the x-coordinate of the first point is stored.
+    */
+   public void getCoordinates(double[] destination, int destinationOffset)
+   {
+      System.arraycopy(coordinates, 0, destination, destinationOffset, 3 * size);
+   }
+
+   /**
+    * Sets the frame of this list without modifying the coordinates of the points.
+    *
+    * @param referenceFrame the new frame.
+    */
+   public void setReferenceFrame(ReferenceFrame referenceFrame)
+   {
+      this.referenceFrame = referenceFrame;
+   }
+
+   /**
+    * Expresses all the points of this list in {@code desiredFrame}.
+    * <p>
+    * The transform from the current frame to {@code desiredFrame} is computed once and applied to all
+    * the points in one pass.
+    * </p>
+    *
+    * @param desiredFrame the new frame.
+    */
+   public void changeFrame(ReferenceFrame desiredFrame)
+   {
+      if (desiredFrame == referenceFrame)
+         return;
+
+      referenceFrame.getTransformToDesiredFrame(transformToDesiredFrame, desiredFrame);
+      applyTransform(transformToDesiredFrame);
+      referenceFrame = desiredFrame;
+   }
+
+   /**
+    * Transforms all the points of this list by {@code transform}, the frame is unchanged.
+    *
+    * @param transform the transform to apply. Not modified.
+    */
+   public void applyTransform(RigidBodyTransform transform)
+   {
+      double m00 = transform.getRotation().getM00();
+      double m01 = transform.getRotation().getM01();
+      double m02 = transform.getRotation().getM02();
+      double m10 = transform.getRotation().getM10();
+      double m11 = transform.getRotation().getM11();
+      double m12 = transform.getRotation().getM12();
+      double m20 = transform.getRotation().getM20();
+      double m21 = transform.getRotation().getM21();
+      double m22 = transform.getRotation().getM22();
+      double tx = transform.getTranslationX();
+      double ty = transform.getTranslationY();
+      double tz = transform.getTranslationZ();
+
+      for (int offset = 0; offset < 3 * size; offset += 3)
+      {
+         double x = coordinates[offset];
+         double y = coordinates[offset + 1];
+         double z = coordinates[offset + 2];
+         coordinates[offset] = m00 * x + m01 * y + m02 * z + tx;
+         coordinates[offset + 1] = m10 * x + m11 * y + m12 * z + ty;
+         coordinates[offset + 2] = m20 * x + m21 * y + m22 * z + tz;
+      }
+   }
+
+   public ReferenceFrame getReferenceFrame()
+   {
+      return referenceFrame;
+   }
+
+   public int size()
+   {
+      return size;
+   }
+
+   public boolean isEmpty()
+   {
+      return size == 0;
+   }
+
+   /**
+    * @return the number of points this list can hold before growing.
+    */
+   public int capacity()
+   {
+      return views.length;
+   }
+
+   private void checkReferenceFrameMatch(FrameTuple3DReadOnly point)
+   {
+      referenceFrame.checkReferenceFrameMatch(point);
+   }
+
+   private void checkIndex(int index)
+   {
+      if (index < 0 || index >= size)
+         throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+   }
+
+   @Override
+   public boolean equals(Object object)
+   {
+      if (object == this)
+         return true;
+      if (!(object instanceof PackedFramePoint3DList))
+         return false;
+
+      PackedFramePoint3DList other = (PackedFramePoint3DList) object;
+
+      if (size != other.size || referenceFrame != other.referenceFrame)
+         return false;
+
+      for (int i = 0; i < 3 * size; i++)
+      {
+         if (Double.doubleToLongBits(coordinates[i]) != Double.doubleToLongBits(other.coordinates[i]))
+            return false;
+      }
+
+      return true;
+   }
+
+   @Override
+   public int hashCode()
+   {
+      long bits = referenceFrame == null ? 0L : referenceFrame.hashCode();
+
+      for (int i = 0; i < 3 * size; i++)
+         bits = EuclidHashCodeTools.addToHashCode(bits, coordinates[i]);
+
+      return EuclidHashCodeTools.toIntHashCode(bits);
+   }
+
+   @Override
+   public String toString()
+   {
+      StringBuilder sb = new StringBuilder("size: " + size + ", frame: " + referenceFrame);
+
+      for (int i = 0; i < size; i++)
+         sb.append("\n").append(views[i]);
+
+      return sb.toString();
+   }
+
+   /**
+    * View of a single point of the list, reads and writes the coordinates directly in the array of
+    * the list.
+    */
+   private class PointView implements FramePoint3DBasics
+   {
+      private final int offset;
+
+      private PointView(int index)
+      {
+         offset = 3 * index;
+      }
+
+      /**
+       * The views share the frame of the list, this only succeeds when {@code referenceFrame} is
+       * already the frame of the list.
+       *
+       * @throws ReferenceFrameMismatchException if {@code referenceFrame} is not the frame of the list.
+       */
+      @Override
+      public void setReferenceFrame(ReferenceFrame referenceFrame)
+      {
+         if (referenceFrame != PackedFramePoint3DList.this.referenceFrame)
+            throw new ReferenceFrameMismatchException("The points of a " + PackedFramePoint3DList.class.getSimpleName()
+                  + " share the frame of the list, cannot change the frame of a single point to: " + referenceFrame);
+      }
+
+      /**
+       * The views share the frame of the list, this does nothing when {@code desiredFrame} is already
+       * the frame of the list.
+       * <p>
+       * Unlike the default implementation, the frame is checked before transforming the coordinates
+       * such that a failed call leaves the point unchanged.
+       * </p>
+       *
+       * @throws ReferenceFrameMismatchException if {@code desiredFrame} is not the frame of the list.
+       */
+      @Override
+      public void changeFrame(ReferenceFrame desiredFrame)
+      {
+         setReferenceFrame(desiredFrame);
+      }
+
+      @Override
+      public ReferenceFrame getReferenceFrame()
+      {
+         return referenceFrame;
+      }
+
+      @Override
+      public void setX(double x)
+      {
+         coordinates[offset] = x;
+      }
+
+      @Override
+      public void setY(double y)
+      {
+         coordinates[offset + 1] = y;
+      }
+
+      @Override
+      public void setZ(double z)
+      {
+         coordinates[offset + 2] = z;
+      }
+
+      @Override
+      public double getX()
+      {
+         return coordinates[offset];
+      }
+
+      @Override
+      public double getY()
+      {
+         return coordinates[offset + 1];
+      }
+
+      @Override
+      public double getZ()
+      {
+         return coordinates[offset + 2];
+      }
+
+      @Override
+      public boolean equals(Object object)
+      {
+         if (object instanceof FrameTuple3DReadOnly)
+            return FramePoint3DBasics.super.equals((FrameTuple3DReadOnly) object);
+         else
+            return false;
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return EuclidHashCodeTools.toIntHashCode(getX(), getY(), getZ());
+      }
+
+      @Override
+      public String toString()
+      {
+         return EuclidCoreIOTools.getTuple3DString(this) + "-" + referenceFrame;
+      }
+   }
+}
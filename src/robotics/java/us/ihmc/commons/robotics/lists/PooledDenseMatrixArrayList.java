@@ -0,0 +1,228 @@
+package us.ihmc.commons.robotics.lists;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.ejml.data.DMatrixRMaj;
+
+/**
+ * {@link DenseMatrixArrayList} meant for matrices whose size changes from one tick to the next, such
+ * as QP and Jacobian matrices.
+ * <p>
+ * Each matrix of the list keeps the largest backing array it has needed so far, its high-water
+ * mark, such that shrinking and growing back to a previous size do not allocate. When a matrix needs
+ * a larger array, the array grows by at least half of its current length instead of exactly to the
+ * new size, to limit the number of allocations while the sizes settle. The matrices can also be
+ * allocated up front for the expected sizes using {@link #reserve(int, int)}, in which case resizing
+ * never allocates.
+ * </p>
+ * <p>
+ * Bulk operations on all the matrices, see {@link #zero()}, {@link #set(List)},
+ * {@link #packData(double[], int)} and {@link #unpackData(double[], int)}, only go through the
+ * elements in use by each matrix.
+ * </p>
+ */
+public class PooledDenseMatrixArrayList extends DenseMatrixArrayList
+{
+   public PooledDenseMatrixArrayList()
+   {
+      this(0, 0);
+   }
+
+   /**
+    * Creates a new empty list.
+    *
+    * @param initialCapacity        the number of matrices to allocate.
+    * @param initialElementCapacity the length of the backing array of each new matrix.
+    */
+   public PooledDenseMatrixArrayList(int initialCapacity, int initialElementCapacity)
+   {
+      super(initialCapacity, () ->
+      {
+         DMatrixRMaj matrix = new DMatrixRMaj(Math.max(1, initialElementCapacity));
+         matrix.reshape(0, 0);
+         return matrix;
+      });
+   }
+
+   /**
+    * Ensures that the first {@code numberOfMatrices} matrices of this list, including the ones beyond
+    * its current size, can hold {@code elementCapacity} elements without allocating.
+    *
+    * @param numberOfMatrices the number of matrices to reserve.
+    * @param elementCapacity  the minimum number of elements, i.e. rows times columns, of each matrix.
+    */
+   public void reserve(int numberOfMatrices, int elementCapacity)
+   {
+      ensureCapacity(numberOfMatrices);
+
+      for (int i = 0; i < numberOfMatrices; i++)
+         ensureElementCapacity(unsafeGet(i), elementCapacity);
+   }
+
+   /**
+    * Adds a new matrix to the end of this list and reshapes it.
+    *
+    * @param numRows the number of rows of the new matrix.
+    * @param numCols the number of columns of the new matrix.
+    * @return the new matrix, its elements are not reset.
+    */
+   public DMatrixRMaj add(int numRows, int numCols)
+   {
+      DMatrixRMaj matrix = add();
+      reshape(matrix, numRows, numCols);
+      return matrix;
+   }
+
+   /**
+    * Reshapes the {@code index}<sup>th</sup> matrix, its backing array is only replaced when the new
+    * number of elements exceeds the length of the current backing array.
+    *
+    * @param index   the index of the matrix to reshape.
+    * @param numRows the new number of rows.
+    * @param numCols the new number of columns.
+    * @return the reshaped matrix, its elements are not preserved.
+    */
+   public DMatrixRMaj reshape(int index, int numRows, int numCols)
+   {
+      DMatrixRMaj matrix = get(index);
+      reshape(matrix, numRows, numCols);
+      return matrix;
+   }
+
+   /**
+    * Gets the number of elements the {@code index}<sup>th</sup> matrix can hold without allocating.
+    *
+    * @param index the index of the matrix.
+    * @return the length of the backing array of the matrix.
+    */
+   public int getElementCapacity(int index)
+   {
+      return get(index).data.length;
+   }
+
+   /**
+    * Sets this list to a copy of {@code denseMatrixArrayList}, see {@link #set(List)}.
+    */
+   @Override
+   public void set(DenseMatrixArrayList denseMatrixArrayList)
+   {
+      set((List<DMatrixRMaj>) denseMatrixArrayList);
+   }
+
+   /**
+    * Sets this list to a copy of {@code matrices}, the size of this list is set to the number of
+    * matrices.
+    * <p>
+    * The matrices are copied with one array copy each and only allocate when the number of elements
+    * of a source matrix exceeds the length of the backing array of the corresponding matrix of this
+    * list.
+    * </p>
+    *
+    * @param matrices the matrices to copy. Not modified.
+    */
+   public void set(List<? extends DMatrixRMaj> matrices)
+   {
+      int numberOfMatrices = matrices.size();
+
+      for (int i = 0; i < numberOfMatrices; i++)
+      {
+         DMatrixRMaj source = matrices.get(i);
+         DMatrixRMaj destination = getAndGrowIfNeeded(i);
+         reshape(destination, source.getNumRows(), source.getNumCols());
+         System.arraycopy(source.data, 0, destination.data, 0, source.getNumElements());
+      }
+
+      while (size() > numberOfMatrices)
+         remove(size() - 1);
+   }
+
+   /**
+    * Sets all the elements of all the matrices of this list to zero, the shapes are unchanged.
+    */
+   public void zero()
+   {
+      for (int i = 0; i < size(); i++)
+      {
+         DMatrixRMaj matrix = unsafeGet(i);
+         Arrays.fill(matrix.data, 0, matrix.getNumElements(), 0.0);
+      }
+   }
+
+   /**
+    * @return the sum of the number of elements of all the matrices of this list.
+    */
+   public int getTotalNumberOfElements()
+   {
+      int totalNumberOfElements = 0;
+
+      for (int i = 0; i < size(); i++)
+         totalNumberOfElements += unsafeGet(i).getNumElements();
+
+      return totalNumberOfElements;
+   }
+
+   /**
+    * Copies the elements of all the matrices of this list, one matrix after the other in row-major
+    * order, into {@code dataToPack}.
+    *
+    * @param dataToPack the array in which the elements are stored. Modified.
+    * @param startIndex the index in {@code dataToPack} of the first element of the first matrix.
+    * @return the index in {@code dataToPack} following the last element of the last matrix.
+    */
+   public int packData(double[] dataToPack, int startIndex)
+   {
+      int index = startIndex;
+
+      for (int i = 0; i < size(); i++)
+      {
+         DMatrixRMaj matrix = unsafeGet(i);
+         System.arraycopy(matrix.data, 0, dataToPack, index, matrix.getNumElements());
+         index += matrix.getNumElements();
+      }
+
+      return index;
+   }
+
+   /**
+    * Sets the elements of all the matrices of this list from {@code data}, as packed by
+    * {@link #packData(double[], int)}. The matrices must already have the expected shapes.
+    *
+    * @param data       the array to read the elements from. Not modified.
+    * @param startIndex the index in {@code data} of the first element of the first matrix.
+    * @return the index in {@code data} following the last element of the last matrix.
+    */
+   public int unpackData(double[] data, int startIndex)
+   {
+      int index = startIndex;
+
+      for (int i = 0; i < size(); i++)
+      {
+         DMatrixRMaj matrix = unsafeGet(i);
+         System.arraycopy(data, index, matrix.data, 0, matrix.getNumElements());
+         index += matrix.getNumElements();
+      }
+
+      return index;
+   }
+
+   private static void reshape(DMatrixRMaj matrix, int numRows, int numCols)
+   {
+      int numberOfElements = numRows * numCols;
+
+      if (numberOfElements > matrix.data.length)
+         matrix.data = new double[Math.max(numberOfElements, matrix.data.length + (matrix.data.length >> 1))];
+
+      matrix.reshape(numRows, numCols, false);
+   }
+
+   private static void ensureElementCapacity(DMatrixRMaj matrix, int elementCapacity)
+   {
+      if (elementCapacity > matrix.data.length)
+      {
+         double[] newData = new double[elementCapacity];
+         System.arraycopy(matrix.data, 0, newData, 0, matrix.getNumElements());
+         matrix.data = newData;
+      }
+   }
+}
@@ -4,8 +4,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-import gnu.trove.map.TLongObjectMap;
-import gnu.trove.map.hash.TLongObjectHashMap;
 import us.ihmc.commons.lists.RecyclingArrayList;
 import us.ihmc.euclid.interfaces.Settable;
 import us.ihmc.euclid.referenceFrame.FramePoint2D;
@@ -20,12 +18,6 @@ public class CenterOfPressureDataHolder implements Settable<CenterOfPressureData
    private final List<RigidBodyBasics> bodiesWithCenterOfPressures = new ArrayList<>();
    private final RecyclingArrayList<FramePoint2D> centerOfPressures = new RecyclingArrayList<>(FramePoint2D.class);
 
-   /**
-    * This is used for lookups only and is populated from the {@link #centerOfPressures}. It should not be modified
-    * directly and does not represent the state of the class.
-    */
-   private final transient TLongObjectMap<FramePoint2D> centerOfPressureMap = new TLongObjectHashMap<>();
-
    public CenterOfPressureDataHolder()
    {
    }
@@ -45,29 +37,25 @@ public class CenterOfPressureDataHolder implements Settable<CenterOfPressureData
    {
       bodiesWithCenterOfPressures.clear();
       centerOfPressures.clear();
-      centerOfPressureMap.clear();
    }
 
    public void registerRigidBody(RigidBodyBasics rigidBody)
    {
-      if (bodiesWithCenterOfPressures.contains(rigidBody))
-         throw new RuntimeException("The body: " + rigidBody.getName() + " has already been registered.");
-
-      FramePoint2D cop = centerOfPressures.add();
-      cop.setToNaN(ReferenceFrame.getWorldFrame());
-      bodiesWithCenterOfPressures.add(rigidBody);
-      centerOfPressureMap.put(rigidBody.hashCode(), cop);
+      addRigidBody(rigidBody).setToNaN(ReferenceFrame.getWorldFrame());
    }
 
    public void registerRigidBody(RigidBodyBasics rigidBody, FramePoint2DReadOnly centerOfPressure)
+   {
+      addRigidBody(rigidBody).setIncludingFrame(centerOfPressure);
+   }
+
+   private FramePoint2D addRigidBody(RigidBodyBasics rigidBody)
    {
       if (bodiesWithCenterOfPressures.contains(rigidBody))
          throw new RuntimeException("The body: " + rigidBody.getName() + " has already been registered.");
 
-      FramePoint2D cop = centerOfPressures.add();
-      cop.setIncludingFrame(centerOfPressure);
       bodiesWithCenterOfPressures.add(rigidBody);
-      centerOfPressureMap.put(rigidBody.hashCode(), cop);
+      return centerOfPressures.add();
    }
 
    public int getNumberOfBodiesWithCenterOfPressure()
@@ -80,14 +68,61 @@ public class CenterOfPressureDataHolder implements Settable<CenterOfPressureData
       return bodiesWithCenterOfPressures.get(bodyIndex);
    }
 
+   /**
+    * Gets the index of the given body, to be resolved once and then used with the index based accessors.
+    * <p>
+    * The body is looked up by identity over the few registered bodies, which is cheaper than hashing and does not
+    * depend on {@link RigidBodyBasics#hashCode()}, that is only based on the name of the body.
+    * </p>
+    *
+    * @param rigidBody the body to get the index of.
+    * @return the index of the body, or {@code -1} if it is not registered.
+    */
+   public int getBodyIndex(RigidBodyBasics rigidBody)
+   {
+      for (int i = 0; i < bodiesWithCenterOfPressures.size(); i++)
+      {
+         if (bodiesWithCenterOfPressures.get(i) == rigidBody)
+            return i;
+      }
+
+      return -1;
+   }
+
+   /**
+    * Tests whether this and {@code other} have the same bodies registered in the same order, in which case
+    * {@link #set(CenterOfPressureDataHolder)} only copies the centers of pressure.
+    *
+    * @param other the other data holder. Not modified.
+    * @return whether both data holders have the same layout.
+    */
+   public boolean hasSameLayout(CenterOfPressureDataHolder other)
+   {
+      if (getNumberOfBodiesWithCenterOfPressure() != other.getNumberOfBodiesWithCenterOfPressure())
+         return false;
+
+      for (int i = 0; i < getNumberOfBodiesWithCenterOfPressure(); i++)
+      {
+         if (getRigidBody(i) != other.getRigidBody(i))
+            return false;
+      }
+
+      return true;
+   }
+
    public void setCenterOfPressure(FramePoint2DReadOnly centerOfPressure, RigidBodyBasics foot)
    {
-      centerOfPressureMap.get(foot.hashCode()).setIncludingFrame(centerOfPressure);
+      getCenterOfPressure(foot).setIncludingFrame(centerOfPressure);
    }
 
    public void setCenterOfPressure(ReferenceFrame referenceFrame, Point2DReadOnly centerOfPressure, RigidBodyBasics foot)
    {
-      centerOfPressureMap.get(foot.hashCode()).setIncludingFrame(referenceFrame, centerOfPressure);
+      getCenterOfPressure(foot).setIncludingFrame(referenceFrame, centerOfPressure);
+   }
+
+   public void setCenterOfPressure(FramePoint2DReadOnly centerOfPressure, int bodyIndex)
+   {
+      centerOfPressures.get(bodyIndex).setIncludingFrame(centerOfPressure);
    }
 
    public void setCenterOfPressure(ReferenceFrame referenceFrame, Point2DReadOnly centerOfPressure, int bodyIndex)
@@ -97,12 +132,18 @@ public class CenterOfPressureDataHolder implements Settable<CenterOfPressureData
 
    public void getCenterOfPressure(FramePoint2DBasics centerOfPressureToPack, RigidBodyBasics foot)
    {
-      centerOfPressureToPack.setIncludingFrame(centerOfPressureMap.get(foot.hashCode()));
+      centerOfPressureToPack.setIncludingFrame(getCenterOfPressure(foot));
+   }
+
+   public void getCenterOfPressure(FramePoint2DBasics centerOfPressureToPack, int bodyIndex)
+   {
+      centerOfPressureToPack.setIncludingFrame(centerOfPressures.get(bodyIndex));
    }
 
    public FramePoint2D getCenterOfPressure(RigidBodyBasics foot)
    {
-      return centerOfPressureMap.get(foot.hashCode());
+      int bodyIndex = getBodyIndex(foot);
+      return bodyIndex == -1 ? null : centerOfPressures.get(bodyIndex);
    }
 
    public FramePoint2D getCenterOfPressure(int bodyIndex)
@@ -110,9 +151,20 @@ public class CenterOfPressureDataHolder implements Settable<CenterOfPressureData
       return centerOfPressures.get(bodyIndex);
    }
 
+   /**
+    * Copies the data from {@code other}. When both data holders have the same layout, see
+    * {@link #hasSameLayout(CenterOfPressureDataHolder)}, only the centers of pressure are copied by index.
+    */
    @Override
    public void set(CenterOfPressureDataHolder other)
    {
+      if (hasSameLayout(other))
+      {
+         for (int i = 0; i < getNumberOfBodiesWithCenterOfPressure(); i++)
+            centerOfPressures.get(i).setIncludingFrame(other.getCenterOfPressure(i));
+         return;
+      }
+
       clear();
       for (int i = 0; i < other.getNumberOfBodiesWithCenterOfPressure(); i++)
       {
@@ -133,10 +185,11 @@ public class CenterOfPressureDataHolder implements Settable<CenterOfPressureData
          CenterOfPressureDataHolder other = (CenterOfPressureDataHolder) obj;
          if (getNumberOfBodiesWithCenterOfPressure() != other.getNumberOfBodiesWithCenterOfPressure())
             return false;
+         boolean sameLayout = hasSameLayout(other);
          for (int i = 0; i < getNumberOfBodiesWithCenterOfPressure(); i++)
          {
-            RigidBodyBasics rigidBody = getRigidBody(i);
-            if (!getCenterOfPressure(i).equals(other.getCenterOfPressure(rigidBody)))
+            FramePoint2D otherCenterOfPressure = sameLayout ? other.getCenterOfPressure(i) : other.getCenterOfPressure(getRigidBody(i));
+            if (!getCenterOfPressure(i).equals(otherCenterOfPressure))
                return false;
          }
          return true;
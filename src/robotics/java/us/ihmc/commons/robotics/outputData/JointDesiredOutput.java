@@ -1,5 +1,7 @@
 package us.ihmc.commons.robotics.outputData;
 
+import static us.ihmc.commons.robotics.outputData.JointDesiredOutputField.*;
+
 public class JointDesiredOutput implements JointDesiredOutputBasics
 {
    private JointDesiredControlMode controlMode;
@@ -27,6 +29,9 @@ public class JointDesiredOutput implements JointDesiredOutputBasics
    
    private double maxTorque = Double.NaN;
 
+   /** Bitmask of the fields written since the last clear, see {@link JointDesiredOutputField#mask}. */
+   private int dirtyFieldsMask = ALL_FIELDS_MASK;
+
    public JointDesiredOutput()
    {
       clear();
@@ -35,70 +40,133 @@ public class JointDesiredOutput implements JointDesiredOutputBasics
    @Override
    public void clear()
    {
-      controlMode = null;
-      loadMode = null;
-      desiredTorque = Double.NaN;
-      desiredPosition = Double.NaN;
-      desiredVelocity = Double.NaN;
-      desiredAcceleration = Double.NaN;
-      resetIntegrators = false;
-
-      stiffness = Double.NaN;
-      damping = Double.NaN;
-      masterGain = Double.NaN;
-
-      velocityScaling = Double.NaN;
-
-      velocityIntegrationBreakFrequency = Double.NaN;
-      positionIntegrationBreakFrequency = Double.NaN;
-      positionIntegrationMaxError = Double.NaN;
-      velocityIntegrationMaxError = Double.NaN;
-
-      positionFeedbackMaxError = Double.NaN;
-      velocityFeedbackMaxError = Double.NaN;
-      
-      maxTorque = Double.NaN;
+      if (dirtyFieldsMask != 0)
+         clearFields(dirtyFieldsMask);
+   }
+
+   @Override
+   public void clearFields(int fieldsMask)
+   {
+      int fieldsToClear = fieldsMask & dirtyFieldsMask;
+      dirtyFieldsMask &= ~fieldsToClear;
+
+      while (fieldsToClear != 0)
+      {
+         JointDesiredOutputField field = lowestField(fieldsToClear);
+         fieldsToClear &= ~field.mask;
+
+         switch (field)
+         {
+            case CONTROL_MODE:
+               controlMode = null;
+               break;
+            case LOAD_MODE:
+               loadMode = null;
+               break;
+            case DESIRED_TORQUE:
+               desiredTorque = Double.NaN;
+               break;
+            case DESIRED_POSITION:
+               desiredPosition = Double.NaN;
+               break;
+            case DESIRED_VELOCITY:
+               desiredVelocity = Double.NaN;
+               break;
+            case DESIRED_ACCELERATION:
+               desiredAcceleration = Double.NaN;
+               break;
+            case RESET_INTEGRATORS:
+               resetIntegrators = false;
+               break;
+            case STIFFNESS:
+               stiffness = Double.NaN;
+               break;
+            case DAMPING:
+               damping = Double.NaN;
+               break;
+            case MASTER_GAIN:
+               masterGain = Double.NaN;
+               break;
+            case VELOCITY_SCALING:
+               velocityScaling = Double.NaN;
+               break;
+            case VELOCITY_INTEGRATION_BREAK_FREQUENCY:
+               velocityIntegrationBreakFrequency = Double.NaN;
+               break;
+            case POSITION_INTEGRATION_BREAK_FREQUENCY:
+               positionIntegrationBreakFrequency = Double.NaN;
+               break;
+            case POSITION_INTEGRATION_MAX_ERROR:
+               positionIntegrationMaxError = Double.NaN;
+               break;
+            case VELOCITY_INTEGRATION_MAX_ERROR:
+               velocityIntegrationMaxError = Double.NaN;
+               break;
+            case POSITION_FEEDBACK_MAX_ERROR:
+               positionFeedbackMaxError = Double.NaN;
+               break;
+            case VELOCITY_FEEDBACK_MAX_ERROR:
+               velocityFeedbackMaxError = Double.NaN;
+               break;
+            case MAX_TORQUE:
+               maxTorque = Double.NaN;
+               break;
+         }
+      }
+   }
+
+   @Override
+   public int getDirtyFieldsMask()
+   {
+      return dirtyFieldsMask;
    }
 
    @Override
    public void setControlMode(JointDesiredControlMode controlMode)
    {
+      dirtyFieldsMask |= CONTROL_MODE.mask;
       this.controlMode = controlMode;
    }
 
    @Override
    public void setLoadMode(JointDesiredLoadMode loadMode)
    {
+      dirtyFieldsMask |= LOAD_MODE.mask;
       this.loadMode = loadMode;
    }
 
    @Override
    public void setDesiredTorque(double tau)
    {
+      dirtyFieldsMask |= DESIRED_TORQUE.mask;
       desiredTorque = tau;
    }
 
    @Override
    public void setDesiredPosition(double q)
    {
+      dirtyFieldsMask |= DESIRED_POSITION.mask;
       desiredPosition = q;
    }
 
    @Override
    public void setDesiredVelocity(double qd)
    {
+      dirtyFieldsMask |= DESIRED_VELOCITY.mask;
       desiredVelocity = qd;
    }
 
    @Override
    public void setDesiredAcceleration(double qdd)
    {
+      dirtyFieldsMask |= DESIRED_ACCELERATION.mask;
       desiredAcceleration = qdd;
    }
 
    @Override
    public void setResetIntegrators(boolean reset)
    {
+      dirtyFieldsMask |= RESET_INTEGRATORS.mask;
       resetIntegrators = reset;
    }
 
@@ -168,12 +236,14 @@ public class JointDesiredOutput implements JointDesiredOutputBasics
    @Override
    public void setStiffness(double stiffness)
    {
+      dirtyFieldsMask |= STIFFNESS.mask;
       this.stiffness = stiffness;
    }
 
    @Override
    public void setDamping(double damping)
    {
+      dirtyFieldsMask |= DAMPING.mask;
       this.damping = damping;
    }
 
@@ -186,6 +256,7 @@ public class JointDesiredOutput implements JointDesiredOutputBasics
    @Override
    public void setMasterGain(double masterGain)
    {
+      dirtyFieldsMask |= MASTER_GAIN.mask;
       this.masterGain = masterGain;
    }
 
@@ -198,6 +269,7 @@ public class JointDesiredOutput implements JointDesiredOutputBasics
    @Override
    public void setVelocityScaling(double velocityScaling)
    {
+      dirtyFieldsMask |= VELOCITY_SCALING.mask;
       this.velocityScaling = velocityScaling;
    }
 
@@ -210,6 +282,7 @@ public class JointDesiredOutput implements JointDesiredOutputBasics
    @Override
    public void setVelocityIntegrationBreakFrequency(double velocityIntegrationBreakFrequency)
    {
+      dirtyFieldsMask |= VELOCITY_INTEGRATION_BREAK_FREQUENCY.mask;
       this.velocityIntegrationBreakFrequency = velocityIntegrationBreakFrequency;
    }
 
@@ -222,6 +295,7 @@ public class JointDesiredOutput implements JointDesiredOutputBasics
    @Override
    public void setPositionIntegrationBreakFrequency(double positionIntegrationBreakFrequency)
    {
+      dirtyFieldsMask |= POSITION_INTEGRATION_BREAK_FREQUENCY.mask;
       this.positionIntegrationBreakFrequency = positionIntegrationBreakFrequency;
    }
 
@@ -234,6 +308,7 @@ public class JointDesiredOutput implements JointDesiredOutputBasics
    @Override
    public void setPositionIntegrationMaxError(double maxPositionError)
    {
+      dirtyFieldsMask |= POSITION_INTEGRATION_MAX_ERROR.mask;
       this.positionIntegrationMaxError = maxPositionError;
    }
 
@@ -246,6 +321,7 @@ public class JointDesiredOutput implements JointDesiredOutputBasics
    @Override
    public void setVelocityIntegrationMaxError(double maxVelocityError)
    {
+      dirtyFieldsMask |= VELOCITY_INTEGRATION_MAX_ERROR.mask;
       this.velocityIntegrationMaxError = maxVelocityError;
    }
 
@@ -264,18 +340,103 @@ public class JointDesiredOutput implements JointDesiredOutputBasics
    @Override
    public void setPositionFeedbackMaxError(double positionFeedbackMaxError)
    {
+      dirtyFieldsMask |= POSITION_FEEDBACK_MAX_ERROR.mask;
       this.positionFeedbackMaxError = positionFeedbackMaxError;
    }
 
    @Override
    public void setVelocityFeedbackMaxError(double velocityFeedbackMaxError)
    {
+      dirtyFieldsMask |= VELOCITY_FEEDBACK_MAX_ERROR.mask;
       this.velocityFeedbackMaxError = velocityFeedbackMaxError;
    }
 
+   @Override
+   public void set(JointDesiredOutputReadOnly other)
+   {
+      if (other instanceof JointDesiredOutput)
+         set((JointDesiredOutput) other);
+      else
+         JointDesiredOutputBasics.super.set(other);
+   }
+
    public void set(JointDesiredOutput other)
    {
-      JointDesiredOutputBasics.super.set(other);
+      if ((dirtyFieldsMask | other.dirtyFieldsMask) == 0)
+         return;
+
+      // Fields that are not dirty hold their cleared value in both, copying all the fields is cheaper than testing the masks.
+      controlMode = other.controlMode;
+      loadMode = other.loadMode;
+      desiredTorque = other.desiredTorque;
+      desiredPosition = other.desiredPosition;
+      desiredVelocity = other.desiredVelocity;
+      desiredAcceleration = other.desiredAcceleration;
+      resetIntegrators = other.resetIntegrators;
+      stiffness = other.stiffness;
+      damping = other.damping;
+      masterGain = other.masterGain;
+      velocityScaling = other.velocityScaling;
+      velocityIntegrationBreakFrequency = other.velocityIntegrationBreakFrequency;
+      positionIntegrationBreakFrequency = other.positionIntegrationBreakFrequency;
+      positionIntegrationMaxError = other.positionIntegrationMaxError;
+      velocityIntegrationMaxError = other.velocityIntegrationMaxError;
+      positionFeedbackMaxError = other.positionFeedbackMaxError;
+      velocityFeedbackMaxError = other.velocityFeedbackMaxError;
+      maxTorque = other.maxTorque;
+      dirtyFieldsMask = other.dirtyFieldsMask;
+   }
+
+   @Override
+   public void completeWith(JointDesiredOutputReadOnly other)
+   {
+      if (other instanceof JointDesiredOutput)
+         completeWith((JointDesiredOutput) other);
+      else
+         JointDesiredOutputBasics.super.completeWith(other);
+   }
+
+   public void completeWith(JointDesiredOutput other)
+   {
+      if (other.dirtyFieldsMask == 0)
+         return;
+
+      if (controlMode == null)
+         controlMode = other.controlMode;
+      if (loadMode == null)
+         loadMode = other.loadMode;
+      if (Double.isNaN(desiredTorque))
+         desiredTorque = other.desiredTorque;
+      if (Double.isNaN(desiredPosition))
+         desiredPosition = other.desiredPosition;
+      if (Double.isNaN(desiredVelocity))
+         desiredVelocity = other.desiredVelocity;
+      if (Double.isNaN(desiredAcceleration))
+         desiredAcceleration = other.desiredAcceleration;
+      resetIntegrators |= other.resetIntegrators;
+      if (Double.isNaN(stiffness))
+         stiffness = other.stiffness;
+      if (Double.isNaN(damping))
+         damping = other.damping;
+      if (Double.isNaN(masterGain))
+         masterGain = other.masterGain;
+      if (Double.isNaN(velocityScaling))
+         velocityScaling = other.velocityScaling;
+      if (Double.isNaN(velocityIntegrationBreakFrequency))
+         velocityIntegrationBreakFrequency = other.velocityIntegrationBreakFrequency;
+      if (Double.isNaN(positionIntegrationBreakFrequency))
+         positionIntegrationBreakFrequency = other.positionIntegrationBreakFrequency;
+      if (Double.isNaN(positionIntegrationMaxError))
+         positionIntegrationMaxError = other.positionIntegrationMaxError;
+      if (Double.isNaN(velocityIntegrationMaxError))
+         velocityIntegrationMaxError = other.velocityIntegrationMaxError;
+      if (Double.isNaN(positionFeedbackMaxError))
+         positionFeedbackMaxError = other.positionFeedbackMaxError;
+      if (Double.isNaN(velocityFeedbackMaxError))
+         velocityFeedbackMaxError = other.velocityFeedbackMaxError;
+      if (Double.isNaN(maxTorque))
+         maxTorque = other.maxTorque;
+      dirtyFieldsMask |= other.dirtyFieldsMask;
    }
 
    @Override
@@ -287,6 +448,12 @@ public class JointDesiredOutput implements JointDesiredOutputBasics
          return false;
    }
 
+   @Override
+   public int hashCode()
+   {
+      return computeHashCode();
+   }
+
    @Override
    public String toString()
    {
@@ -301,6 +468,7 @@ public class JointDesiredOutput implements JointDesiredOutputBasics
 
    public void setMaxTorque(double feedbackMaxTorque)
    {
+      dirtyFieldsMask |= MAX_TORQUE.mask;
       this.maxTorque = feedbackMaxTorque;
    }
    
@@ -4,70 +4,58 @@ public interface JointDesiredOutputBasics extends JointDesiredOutputReadOnly
 {
    void clear();
 
+   /**
+    * Resets the given fields to their cleared value.
+    *
+    * @param fieldsMask the bitmask of the fields to clear, see {@link JointDesiredOutputField#mask}.
+    */
+   default void clearFields(int fieldsMask)
+   {
+      while (fieldsMask != 0)
+      {
+         JointDesiredOutputField field = JointDesiredOutputField.lowestField(fieldsMask);
+         fieldsMask &= ~field.mask;
+         field.clear(this);
+      }
+   }
+
+   /**
+    * Copies the data held in other. Only the fields written in either this or other, see
+    * {@link #getDirtyFieldsMask()}, are touched.
+    */
    default void set(JointDesiredOutputReadOnly other)
    {
-      setControlMode(other.getControlMode());
-      setLoadMode(other.getLoadMode());
-      setDesiredTorque(other.getDesiredTorque());
-      setDesiredPosition(other.getDesiredPosition());
-      setDesiredVelocity(other.getDesiredVelocity());
-      setDesiredAcceleration(other.getDesiredAcceleration());
-      setResetIntegrators(other.peekResetIntegratorsRequest());
-      setStiffness(other.getStiffness());
-      setDamping(other.getDamping());
-      setMasterGain(other.getMasterGain());
-      setVelocityScaling(other.getVelocityScaling());
-      setVelocityIntegrationBreakFrequency(other.getVelocityIntegrationBreakFrequency());
-      setPositionIntegrationBreakFrequency(other.getPositionIntegrationBreakFrequency());
-      setPositionIntegrationMaxError(other.getPositionIntegrationMaxError());
-      setVelocityIntegrationMaxError(other.getVelocityIntegrationMaxError());
-      setPositionFeedbackMaxError(other.getPositionFeedbackMaxError());
-      setVelocityFeedbackMaxError(other.getVelocityFeedbackMaxError());
-      setMaxTorque(other.getMaxTorque());
+      int otherFieldsMask = other.getDirtyFieldsMask();
+      int fieldsToClear = getDirtyFieldsMask() & ~otherFieldsMask;
+
+      if (fieldsToClear != 0)
+         clearFields(fieldsToClear);
+
+      while (otherFieldsMask != 0)
+      {
+         JointDesiredOutputField field = JointDesiredOutputField.lowestField(otherFieldsMask);
+         otherFieldsMask &= ~field.mask;
+         field.copy(other, this);
+      }
    }
 
    /**
     * Complete the information held in this using other.
     * Does not overwrite the data already set in this.
+    * Only the fields written in other, see {@link #getDirtyFieldsMask()}, are touched.
     */
    default void completeWith(JointDesiredOutputReadOnly other)
    {
-      if (!hasControlMode())
-         setControlMode(other.getControlMode());
-      if (!hasLoadMode())
-         setLoadMode(other.getLoadMode());
-      if (!hasDesiredTorque())
-         setDesiredTorque(other.getDesiredTorque());
-      if (!hasDesiredPosition())
-         setDesiredPosition(other.getDesiredPosition());
-      if (!hasDesiredVelocity())
-         setDesiredVelocity(other.getDesiredVelocity());
-      if (!hasDesiredAcceleration())
-         setDesiredAcceleration(other.getDesiredAcceleration());
-      if (!peekResetIntegratorsRequest())
-         setResetIntegrators(other.peekResetIntegratorsRequest());
-      if (!hasStiffness())
-         setStiffness(other.getStiffness());
-      if (!hasDamping())
-         setDamping(other.getDamping());
-      if (!hasMasterGain())
-         setMasterGain(other.getMasterGain());
-      if (!hasVelocityScaling())
-         setVelocityScaling(other.getVelocityScaling());
-      if (!hasVelocityIntegrationBreakFrequency())
-         setVelocityIntegrationBreakFrequency(other.getVelocityIntegrationBreakFrequency());
-      if (!hasPositionIntegrationBreakFrequency())
-         setPositionIntegrationBreakFrequency(other.getPositionIntegrationBreakFrequency());
-      if (!hasPositionIntegrationMaxError())
-         setPositionIntegrationMaxError(other.getPositionIntegrationMaxError());
-      if (!hasVelocityIntegrationMaxError())
-         setVelocityIntegrationMaxError(other.getVelocityIntegrationMaxError());
-      if (!hasPositionFeedbackMaxError())
-         setPositionFeedbackMaxError(other.getPositionFeedbackMaxError());
-      if (!hasVelocityFeedbackMaxError())
-         setVelocityFeedbackMaxError(other.getVelocityFeedbackMaxError());
-      if(!hasMaxTorque())
-         setMaxTorque(other.getMaxTorque());
+      int otherFieldsMask = other.getDirtyFieldsMask();
+
+      while (otherFieldsMask != 0)
+      {
+         JointDesiredOutputField field = JointDesiredOutputField.lowestField(otherFieldsMask);
+         otherFieldsMask &= ~field.mask;
+
+         if (!field.isSet(this))
+            field.copy(other, this);
+      }
    }
 
    void setControlMode(JointDesiredControlMode controlMode);
@@ -0,0 +1,321 @@
+package us.ihmc.commons.robotics.outputData;
+
+/**
+ * Enumerates the fields held by a {@link JointDesiredOutputReadOnly}.
+ * <p>
+ * The {@code double} fields come first such that their ordinal can be used to index
+ * per-field storage, see {@link #doubleFields}.
+ * </p>
+ * <p>
+ * Sets of fields are represented as {@code int} bitmasks, combining the {@link #mask} of each field.
+ * </p>
+ */
+public enum JointDesiredOutputField
+{
+   DESIRED_TORQUE,
+   DESIRED_POSITION,
+   DESIRED_VELOCITY,
+   DESIRED_ACCELERATION,
+   STIFFNESS,
+   DAMPING,
+   MASTER_GAIN,
+   VELOCITY_SCALING,
+   VELOCITY_INTEGRATION_BREAK_FREQUENCY,
+   POSITION_INTEGRATION_BREAK_FREQUENCY,
+   POSITION_INTEGRATION_MAX_ERROR,
+   VELOCITY_INTEGRATION_MAX_ERROR,
+   POSITION_FEEDBACK_MAX_ERROR,
+   VELOCITY_FEEDBACK_MAX_ERROR,
+   MAX_TORQUE,
+   CONTROL_MODE,
+   LOAD_MODE,
+   RESET_INTEGRATORS;
+
+   public static final JointDesiredOutputField[] values = values();
+   /** The fields of type {@code double}, their ordinal is also their index in this array. */
+   public static final JointDesiredOutputField[] doubleFields = {DESIRED_TORQUE, DESIRED_POSITION, DESIRED_VELOCITY, DESIRED_ACCELERATION, STIFFNESS, DAMPING,
+         MASTER_GAIN, VELOCITY_SCALING, VELOCITY_INTEGRATION_BREAK_FREQUENCY, POSITION_INTEGRATION_BREAK_FREQUENCY, POSITION_INTEGRATION_MAX_ERROR,
+         VELOCITY_INTEGRATION_MAX_ERROR, POSITION_FEEDBACK_MAX_ERROR, VELOCITY_FEEDBACK_MAX_ERROR, MAX_TORQUE};
+
+   /** Bitmask with the bits of all the fields set. */
+   public static final int ALL_FIELDS_MASK = (1 << values.length) - 1;
+
+   /** The bit representing this field in a bitmask of fields, {@code 1 << ordinal()}. */
+   public final int mask;
+
+   private JointDesiredOutputField()
+   {
+      mask = 1 << ordinal();
+   }
+
+   /**
+    * Computes the bitmask of the fields that are set in {@code output}, i.e. that differ from their
+    * cleared value: not {@code NaN}, not {@code null}, or {@code true} for the integrator reset request.
+    *
+    * @param output the data holder to read from. Not modified.
+    * @return the bitmask of the fields that are set.
+    */
+   public static int computeSetFieldsMask(JointDesiredOutputReadOnly output)
+   {
+      int setFieldsMask = 0;
+
+      for (JointDesiredOutputField field : values)
+      {
+         if (field.isSet(output))
+            setFieldsMask |= field.mask;
+      }
+
+      return setFieldsMask;
+   }
+
+   /**
+    * Gets the field represented by the lowest bit set in {@code fieldsMask}. Used to iterate through
+    * a bitmask of fields:
+    *
+    * <pre>
+    * while (fieldsMask != 0)
+    * {
+    *    JointDesiredOutputField field = JointDesiredOutputField.lowestField(fieldsMask);
+    *    fieldsMask &amp;= ~field.mask;
+    *    ...
+    * }
+    * </pre>
+    *
+    * @param fieldsMask the bitmask of fields, must not be zero.
+    * @return the field with the lowest ordinal in the bitmask.
+    */
+   public static JointDesiredOutputField lowestField(int fieldsMask)
+   {
+      return values[Integer.numberOfTrailingZeros(fieldsMask)];
+   }
+
+   /**
+    * @return whether this field is of type {@code double}.
+    */
+   public boolean isDoubleField()
+   {
+      return ordinal() < doubleFields.length;
+   }
+
+   /**
+    * Gets the value of this field from {@code output}.
+    *
+    * @param output the data holder to read from. Not modified.
+    * @return the value of this field.
+    * @throws UnsupportedOperationException if this field is not of type {@code double}.
+    */
+   public double getDouble(JointDesiredOutputReadOnly output)
+   {
+      switch (this)
+      {
+         case DESIRED_TORQUE:
+            return output.getDesiredTorque();
+         case DESIRED_POSITION:
+            return output.getDesiredPosition();
+         case DESIRED_VELOCITY:
+            return output.getDesiredVelocity();
+         case DESIRED_ACCELERATION:
+            return output.getDesiredAcceleration();
+         case STIFFNESS:
+            return output.getStiffness();
+         case DAMPING:
+            return output.getDamping();
+         case MASTER_GAIN:
+            return output.getMasterGain();
+         case VELOCITY_SCALING:
+            return output.getVelocityScaling();
+         case VELOCITY_INTEGRATION_BREAK_FREQUENCY:
+            return output.getVelocityIntegrationBreakFrequency();
+         case POSITION_INTEGRATION_BREAK_FREQUENCY:
+            return output.getPositionIntegrationBreakFrequency();
+         case POSITION_INTEGRATION_MAX_ERROR:
+            return output.getPositionIntegrationMaxError();
+         case VELOCITY_INTEGRATION_MAX_ERROR:
+            return output.getVelocityIntegrationMaxError();
+         case POSITION_FEEDBACK_MAX_ERROR:
+            return output.getPositionFeedbackMaxError();
+         case VELOCITY_FEEDBACK_MAX_ERROR:
+            return output.getVelocityFeedbackMaxError();
+         case MAX_TORQUE:
+            return output.getMaxTorque();
+         default:
+            throw new UnsupportedOperationException("The field " + this + " is not a double field.");
+      }
+   }
+
+   /**
+    * Sets the value of this field in {@code output}.
+    *
+    * @param output the data holder to write to. Modified.
+    * @param value  the new value of this field.
+    * @throws UnsupportedOperationException if this field is not of type {@code double}.
+    */
+   public void setDouble(JointDesiredOutputBasics output, double value)
+   {
+      switch (this)
+      {
+         case DESIRED_TORQUE:
+            output.setDesiredTorque(value);
+            break;
+         case DESIRED_POSITION:
+            output.setDesiredPosition(value);
+            break;
+         case DESIRED_VELOCITY:
+            output.setDesiredVelocity(value);
+            break;
+         case DESIRED_ACCELERATION:
+            output.setDesiredAcceleration(value);
+            break;
+         case STIFFNESS:
+            output.setStiffness(value);
+            break;
+         case DAMPING:
+            output.setDamping(value);
+            break;
+         case MASTER_GAIN:
+            output.setMasterGain(value);
+            break;
+         case VELOCITY_SCALING:
+            output.setVelocityScaling(value);
+            break;
+         case VELOCITY_INTEGRATION_BREAK_FREQUENCY:
+            output.setVelocityIntegrationBreakFrequency(value);
+            break;
+         case POSITION_INTEGRATION_BREAK_FREQUENCY:
+            output.setPositionIntegrationBreakFrequency(value);
+            break;
+         case POSITION_INTEGRATION_MAX_ERROR:
+            output.setPositionIntegrationMaxError(value);
+            break;
+         case VELOCITY_INTEGRATION_MAX_ERROR:
+            output.setVelocityIntegrationMaxError(value);
+            break;
+         case POSITION_FEEDBACK_MAX_ERROR:
+            output.setPositionFeedbackMaxError(value);
+            break;
+         case VELOCITY_FEEDBACK_MAX_ERROR:
+            output.setVelocityFeedbackMaxError(value);
+            break;
+         case MAX_TORQUE:
+            output.setMaxTorque(value);
+            break;
+         default:
+            throw new UnsupportedOperationException("The field " + this + " is not a double field.");
+      }
+   }
+
+   /**
+    * Tests whether this field is set in {@code output}, i.e. differs from its cleared value.
+    *
+    * @param output the data holder to read from. Not modified.
+    * @return whether this field is set.
+    */
+   public boolean isSet(JointDesiredOutputReadOnly output)
+   {
+      switch (this)
+      {
+         case CONTROL_MODE:
+            return output.hasControlMode();
+         case LOAD_MODE:
+            return output.hasLoadMode();
+         case RESET_INTEGRATORS:
+            return output.peekResetIntegratorsRequest();
+         default:
+            return !Double.isNaN(getDouble(output));
+      }
+   }
+
+   /**
+    * Copies the value of this field from {@code source} to {@code destination}.
+    *
+    * @param source      the data holder to read from. Not modified.
+    * @param destination the data holder to write to. Modified.
+    */
+   public void copy(JointDesiredOutputReadOnly source, JointDesiredOutputBasics destination)
+   {
+      switch (this)
+      {
+         case CONTROL_MODE:
+            destination.setControlMode(source.getControlMode());
+            break;
+         case LOAD_MODE:
+            destination.setLoadMode(source.getLoadMode());
+            break;
+         case RESET_INTEGRATORS:
+            destination.setResetIntegrators(source.peekResetIntegratorsRequest());
+            break;
+         default:
+            setDouble(destination, getDouble(source));
+            break;
+      }
+   }
+
+   /**
+    * Resets this field in {@code output} to its cleared value.
+    *
+    * @param output the data holder to write to. Modified.
+    */
+   public void clear(JointDesiredOutputBasics output)
+   {
+      switch (this)
+      {
+         case CONTROL_MODE:
+            output.setControlMode(null);
+            break;
+         case LOAD_MODE:
+            output.setLoadMode(null);
+            break;
+         case RESET_INTEGRATORS:
+            output.setResetIntegrators(false);
+            break;
+         default:
+            setDouble(output, Double.NaN);
+            break;
+      }
+   }
+
+   /**
+    * Computes a hash code of the value of this field in {@code output}, consistent with
+    * {@link #valueEquals(JointDesiredOutputReadOnly, JointDesiredOutputReadOnly)}.
+    *
+    * @param output the data holder to read from. Not modified.
+    * @return the hash code of the value of this field.
+    */
+   public int valueHashCode(JointDesiredOutputReadOnly output)
+   {
+      switch (this)
+      {
+         case CONTROL_MODE:
+            return output.hasControlMode() ? output.getControlMode().ordinal() + 1 : 0;
+         case LOAD_MODE:
+            return output.hasLoadMode() ? output.getLoadMode().ordinal() + 1 : 0;
+         case RESET_INTEGRATORS:
+            return Boolean.hashCode(output.peekResetIntegratorsRequest());
+         default:
+            return Double.hashCode(getDouble(output));
+      }
+   }
+
+   /**
+    * Tests whether this field has the same value in {@code a} and {@code b}. {@code double} values are
+    * compared with {@link Double#compare(double, double)} such that two {@code NaN}s are equal.
+    *
+    * @param a the first data holder. Not modified.
+    * @param b the second data holder. Not modified.
+    * @return whether this field is equal in both data holders.
+    */
+   public boolean valueEquals(JointDesiredOutputReadOnly a, JointDesiredOutputReadOnly b)
+   {
+      switch (this)
+      {
+         case CONTROL_MODE:
+            return a.getControlMode() == b.getControlMode();
+         case LOAD_MODE:
+            return a.getLoadMode() == b.getLoadMode();
+         case RESET_INTEGRATORS:
+            return a.peekResetIntegratorsRequest() == b.peekResetIntegratorsRequest();
+         default:
+            return Double.compare(getDouble(a), getDouble(b)) == 0;
+      }
+   }
+}
@@ -1,5 +1,7 @@
 package us.ihmc.commons.robotics.outputData;
 
+import gnu.trove.impl.Constants;
+import gnu.trove.map.hash.TIntIntHashMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
 import us.ihmc.mecano.multiBodySystem.interfaces.OneDoFJointReadOnly;
 
@@ -8,6 +10,7 @@ public class JointDesiredOutputList implements JointDesiredOutputListBasics
    private final OneDoFJointReadOnly[] joints;
    private final JointDesiredOutput[] jointsData;
    private final TIntObjectHashMap<JointDesiredOutput> jointMap;
+   private final TIntIntHashMap jointIndexMap;
 
    public JointDesiredOutputList(OneDoFJointReadOnly[] joints)
    {
@@ -17,12 +20,15 @@ public class JointDesiredOutputList implements JointDesiredOutputListBasics
       float disableAutoCompaction = 0;
       jointMap = new TIntObjectHashMap<>(joints.length);
       jointMap.setAutoCompactionFactor(disableAutoCompaction);
+      jointIndexMap = new TIntIntHashMap(joints.length, Constants.DEFAULT_LOAD_FACTOR, 0, -1);
+      jointIndexMap.setAutoCompactionFactor(disableAutoCompaction);
 
       for (int i = 0; i < joints.length; i++)
       {
          JointDesiredOutput data = new JointDesiredOutput();
          jointsData[i] = data;
          jointMap.put(joints[i].hashCode(), data);
+         jointIndexMap.put(joints[i].hashCode(), i);
       }
    }
 
@@ -44,6 +50,12 @@ public class JointDesiredOutputList implements JointDesiredOutputListBasics
       return joints.length;
    }
 
+   @Override
+   public int getJointIndex(OneDoFJointReadOnly joint)
+   {
+      return jointIndexMap.get(joint.hashCode());
+   }
+
    @Override
    public JointDesiredOutput getJointDesiredOutput(int index)
    {
@@ -12,9 +12,21 @@ public interface JointDesiredOutputListBasics extends JointDesiredOutputListRead
 
    /**
     * Clear this and copy the data held in other.
+    * <p>
+    * When both lists have the same joint ordering, see
+    * {@link #hasSameJointOrdering(JointDesiredOutputListReadOnly)}, the data is copied by index
+    * without any hash lookup.
+    * </p>
     */
    default void overwriteWith(JointDesiredOutputListReadOnly other)
    {
+      if (hasSameJointOrdering(other))
+      {
+         for (int index = 0; index < getNumberOfJointsWithDesiredOutput(); index++)
+            getJointDesiredOutput(index).set(other.getJointDesiredOutput(index));
+         return;
+      }
+
       clear();
 
       for (int otherIndex = 0; otherIndex < other.getNumberOfJointsWithDesiredOutput(); otherIndex++)
@@ -28,12 +40,48 @@ public interface JointDesiredOutputListBasics extends JointDesiredOutputListRead
          jointDesiredOutput.set(other.getJointDesiredOutput(otherIndex));
       }
    }
+
+   /**
+    * Clear this and copy the data held in other using a joint index table resolved beforehand with
+    * {@link #getJointIndices(JointDesiredOutputListReadOnly, int[])}.
+    *
+    * @param other              the list to copy. Not modified.
+    * @param otherToThisIndices for each joint index of {@code other}, the index of the same joint in
+    *                           this list or -1 if this list does not hold the joint. Not modified.
+    */
+   default void overwriteWith(JointDesiredOutputListReadOnly other, int[] otherToThisIndices)
+   {
+      clear();
+
+      for (int otherIndex = 0; otherIndex < other.getNumberOfJointsWithDesiredOutput(); otherIndex++)
+      {
+         int index = otherToThisIndices[otherIndex];
+
+         if (index == -1)
+            continue;
+
+         getJointDesiredOutput(index).set(other.getJointDesiredOutput(otherIndex));
+      }
+   }
+
    /**
     * Complete the information held in this using other.
     * Does not overwrite the data already set in this.
+    * <p>
+    * When both lists have the same joint ordering, see
+    * {@link #hasSameJointOrdering(JointDesiredOutputListReadOnly)}, the data is merged by index
+    * without any hash lookup.
+    * </p>
     */
    default void completeWith(JointDesiredOutputListReadOnly other)
    {
+      if (hasSameJointOrdering(other))
+      {
+         for (int index = 0; index < getNumberOfJointsWithDesiredOutput(); index++)
+            getJointDesiredOutput(index).completeWith(other.getJointDesiredOutput(index));
+         return;
+      }
+
       for (int otherIndex = 0; otherIndex < other.getNumberOfJointsWithDesiredOutput(); otherIndex++)
       {
          OneDoFJointReadOnly otherJoint = other.getOneDoFJoint(otherIndex);
@@ -46,6 +94,29 @@ public interface JointDesiredOutputListBasics extends JointDesiredOutputListRead
       }
    }
 
+   /**
+    * Complete the information held in this using other and a joint index table resolved beforehand
+    * with {@link #getJointIndices(JointDesiredOutputListReadOnly, int[])}.
+    * Does not overwrite the data already set in this.
+    *
+    * @param other              the list used to complete this. Not modified.
+    * @param otherToThisIndices for each joint index of {@code other}, the index of the same joint in
+    *                           this list. Not modified.
+    * @throws RuntimeException if a joint of {@code other} is not registered in this list.
+    */
+   default void completeWith(JointDesiredOutputListReadOnly other, int[] otherToThisIndices)
+   {
+      for (int otherIndex = 0; otherIndex < other.getNumberOfJointsWithDesiredOutput(); otherIndex++)
+      {
+         int index = otherToThisIndices[otherIndex];
+
+         if (index == -1)
+            throwJointNotRegisteredException(other.getOneDoFJoint(otherIndex));
+
+         getJointDesiredOutput(index).completeWith(other.getJointDesiredOutput(otherIndex));
+      }
+   }
+
    default void setJointControlMode(OneDoFJointReadOnly joint, JointDesiredControlMode controlMode)
    {
       JointDesiredOutputBasics jointDesiredOutput = getJointDesiredOutputFromHash(joint.hashCode());
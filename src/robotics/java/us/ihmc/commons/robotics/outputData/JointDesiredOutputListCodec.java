@@ -0,0 +1,279 @@
+package us.ihmc.commons.robotics.outputData;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import us.ihmc.mecano.multiBodySystem.interfaces.OneDoFJointReadOnly;
+
+/**
+ * Fixed layout binary codec for {@link JointDesiredOutputListReadOnly}, meant to exchange desired
+ * outputs between processes without going through message types.
+ * <p>
+ * The encoded data is made of a header followed by one record of {@value #JOINT_RECORD_SIZE} bytes
+ * per joint, in the joint ordering of the list:
+ * <ul>
+ * <li>Header: magic number ({@code int}), {@link #VERSION} ({@code int}), number of joints
+ * ({@code int}), hash of the joint ordering ({@code int}).
+ * <li>Joint record: presence bitmask ({@code int}) combining the {@link JointDesiredOutputField#mask}
+ * of the fields that are set, control mode ({@code byte}), load mode ({@code byte}), integrator
+ * reset request ({@code byte}), padding ({@code byte}), and the {@code double} fields ordered as
+ * {@link JointDesiredOutputField#doubleFields}.
+ * </ul>
+ * Only the fields that are set, i.e. not {@code NaN} or {@code null}, are written and flagged in the
+ * presence bitmask, the slots of the other fields are left untouched and ignored when decoding. The
+ * byte order of the buffer is used, the magic number does not match when decoding with a different
+ * byte order.
+ * </p>
+ * <p>
+ * Encoding and decoding are garbage free.
+ * </p>
+ */
+public class JointDesiredOutputListCodec
+{
+   /** Identifies the encoded data, reads "JDOL" in ASCII with a big-endian buffer. */
+   public static final int MAGIC_NUMBER = 0x4A444F4C;
+   /** Version of the layout, to be incremented for any change to the layout. */
+   public static final int VERSION = 1;
+
+   /** Size in bytes of the header preceding the joint records. */
+   public static final int HEADER_SIZE = 16;
+   /** Size in bytes of the record of a single joint. */
+   public static final int JOINT_RECORD_SIZE = 128;
+
+   private static final int VERSION_OFFSET = 4;
+   private static final int NUMBER_OF_JOINTS_OFFSET = 8;
+   private static final int JOINT_ORDERING_HASH_OFFSET = 12;
+
+   private static final int PRESENCE_MASK_OFFSET = 0;
+   private static final int CONTROL_MODE_OFFSET = 4;
+   private static final int LOAD_MODE_OFFSET = 5;
+   private static final int RESET_INTEGRATORS_OFFSET = 6;
+   private static final int DOUBLE_FIELDS_OFFSET = 8;
+
+   private static final byte NO_MODE = -1;
+
+   private final int numberOfJoints;
+   private final int jointOrderingHash;
+
+   /**
+    * Creates a codec for lists with the same joint ordering as {@code layout}.
+    *
+    * @param layout the list providing the joint ordering. Not modified.
+    */
+   public JointDesiredOutputListCodec(JointDesiredOutputListReadOnly layout)
+   {
+      numberOfJoints = layout.getNumberOfJointsWithDesiredOutput();
+      jointOrderingHash = computeJointOrderingHash(layout);
+   }
+
+   /**
+    * Computes the number of bytes needed to encode a list with the given number of joints.
+    *
+    * @param numberOfJoints the number of joints in the list.
+    * @return the size in bytes of the encoded list.
+    */
+   public static int computeEncodedSize(int numberOfJoints)
+   {
+      return HEADER_SIZE + numberOfJoints * JOINT_RECORD_SIZE;
+   }
+
+   /**
+    * Computes a hash of the joint ordering of {@code list}, used to verify that the encoder and the
+    * decoder agree on the joint ordering.
+    *
+    * @param list the list to compute the hash of. Not modified.
+    * @return the hash of the joint ordering.
+    */
+   public static int computeJointOrderingHash(JointDesiredOutputListReadOnly list)
+   {
+      int hash = 1;
+
+      for (int i = 0; i < list.getNumberOfJointsWithDesiredOutput(); i++)
+      {
+         OneDoFJointReadOnly joint = list.getOneDoFJoint(i);
+         hash = 31 * hash + joint.hashCode();
+      }
+
+      return hash;
+   }
+
+   /**
+    * Encodes {@code list} into {@code buffer} starting at its position, the position is then advanced
+    * by {@link #getEncodedSize()}.
+    *
+    * @param list   the list to encode. Not modified.
+    * @param buffer the buffer to write to. Modified.
+    * @throws IllegalArgumentException if {@code list} does not have the joint ordering of this codec.
+    * @throws BufferOverflowException  if {@code buffer} has fewer than {@link #getEncodedSize()}
+    *                                  bytes remaining.
+    */
+   public void encode(JointDesiredOutputListReadOnly list, ByteBuffer buffer)
+   {
+      if (list.getNumberOfJointsWithDesiredOutput() != numberOfJoints || computeJointOrderingHash(list) != jointOrderingHash)
+         throw new IllegalArgumentException("The list does not have the joint ordering of this codec.");
+      if (buffer.remaining() < getEncodedSize())
+         throw new BufferOverflowException();
+
+      int start = buffer.position();
+      buffer.putInt(start, MAGIC_NUMBER);
+      buffer.putInt(start + VERSION_OFFSET, VERSION);
+      buffer.putInt(start + NUMBER_OF_JOINTS_OFFSET, numberOfJoints);
+      buffer.putInt(start + JOINT_ORDERING_HASH_OFFSET, jointOrderingHash);
+
+      for (int i = 0; i < numberOfJoints; i++)
+      {
+         encodeJoint(list.getJointDesiredOutput(i), buffer, start + HEADER_SIZE + i * JOINT_RECORD_SIZE);
+      }
+
+      buffer.position(start + getEncodedSize());
+   }
+
+   private static void encodeJoint(JointDesiredOutputReadOnly output, ByteBuffer buffer, int recordOffset)
+   {
+      int fieldsMask = output.getDirtyFieldsMask();
+      int presenceMask = 0;
+      byte controlMode = NO_MODE;
+      byte loadMode = NO_MODE;
+      boolean resetIntegrators = false;
+
+      while (fieldsMask != 0)
+      {
+         JointDesiredOutputField field = JointDesiredOutputField.lowestField(fieldsMask);
+         fieldsMask &= ~field.mask;
+
+         switch (field)
+         {
+            case CONTROL_MODE:
+               if (output.hasControlMode())
+                  controlMode = output.getControlMode().toByte();
+               break;
+            case LOAD_MODE:
+               if (output.hasLoadMode())
+                  loadMode = (byte) output.getLoadMode().ordinal();
+               break;
+            case RESET_INTEGRATORS:
+               resetIntegrators = output.peekResetIntegratorsRequest();
+               break;
+            default:
+               double value = field.getDouble(output);
+               if (!Double.isNaN(value))
+               {
+                  buffer.putDouble(recordOffset + DOUBLE_FIELDS_OFFSET + Double.BYTES * field.ordinal(), value);
+                  presenceMask |= field.mask;
+               }
+               break;
+         }
+      }
+
+      if (controlMode != NO_MODE)
+         presenceMask |= JointDesiredOutputField.CONTROL_MODE.mask;
+      if (loadMode != NO_MODE)
+         presenceMask |= JointDesiredOutputField.LOAD_MODE.mask;
+      if (resetIntegrators)
+         presenceMask |= JointDesiredOutputField.RESET_INTEGRATORS.mask;
+
+      buffer.putInt(recordOffset + PRESENCE_MASK_OFFSET, presenceMask);
+      buffer.put(recordOffset + CONTROL_MODE_OFFSET, controlMode);
+      buffer.put(recordOffset + LOAD_MODE_OFFSET, loadMode);
+      buffer.put(recordOffset + RESET_INTEGRATORS_OFFSET, resetIntegrators ? (byte) 1 : (byte) 0);
+   }
+
+   /**
+    * Decodes the list encoded in {@code buffer} starting at its position into {@code listToPack}, the
+    * position is then advanced by {@link #getEncodedSize()}.
+    * <p>
+    * Each joint desired output is overwritten: the fields that were not set in the encoded list are
+    * cleared.
+    * </p>
+    *
+    * @param buffer     the buffer to read from. Its position is modified.
+    * @param listToPack the list to write to. Modified.
+    * @throws IllegalArgumentException if the encoded data does not match the layout and joint ordering
+    *                                  of this codec, or if {@code listToPack} does not have the
+    *                                  joint ordering of this codec.
+    * @throws BufferUnderflowException if {@code buffer} has fewer than {@link #getEncodedSize()}
+    *                                  bytes remaining.
+    */
+   public void decode(ByteBuffer buffer, JointDesiredOutputListBasics listToPack)
+   {
+      if (listToPack.getNumberOfJointsWithDesiredOutput() != numberOfJoints || computeJointOrderingHash(listToPack) != jointOrderingHash)
+         throw new IllegalArgumentException("The list does not have the joint ordering of this codec.");
+      if (buffer.remaining() < HEADER_SIZE)
+         throw new BufferUnderflowException();
+
+      int start = buffer.position();
+      if (buffer.getInt(start) != MAGIC_NUMBER)
+         throw new IllegalArgumentException("Unexpected magic number: " + Integer.toHexString(buffer.getInt(start)) + ", check the byte order.");
+      if (buffer.getInt(start + VERSION_OFFSET) != VERSION)
+         throw new IllegalArgumentException("Unsupported version: " + buffer.getInt(start + VERSION_OFFSET) + ", expected: " + VERSION);
+      if (buffer.getInt(start + NUMBER_OF_JOINTS_OFFSET) != numberOfJoints)
+         throw new IllegalArgumentException("Unexpected number of joints: " + buffer.getInt(start + NUMBER_OF_JOINTS_OFFSET) + ", expected: " + numberOfJoints);
+      if (buffer.getInt(start + JOINT_ORDERING_HASH_OFFSET) != jointOrderingHash)
+         throw new IllegalArgumentException("The encoded list does not have the joint ordering of this codec.");
+      if (buffer.remaining() < getEncodedSize())
+         throw new BufferUnderflowException();
+
+      for (int i = 0; i < numberOfJoints; i++)
+      {
+         decodeJoint(buffer, start + HEADER_SIZE + i * JOINT_RECORD_SIZE, listToPack.getJointDesiredOutput(i));
+      }
+
+      buffer.position(start + getEncodedSize());
+   }
+
+   private static void decodeJoint(ByteBuffer buffer, int recordOffset, JointDesiredOutputBasics outputToPack)
+   {
+      int presenceMask = buffer.getInt(recordOffset + PRESENCE_MASK_OFFSET) & JointDesiredOutputField.ALL_FIELDS_MASK;
+      int fieldsToClear = outputToPack.getDirtyFieldsMask() & ~presenceMask;
+
+      if (fieldsToClear != 0)
+         outputToPack.clearFields(fieldsToClear);
+
+      while (presenceMask != 0)
+      {
+         JointDesiredOutputField field = JointDesiredOutputField.lowestField(presenceMask);
+         presenceMask &= ~field.mask;
+
+         switch (field)
+         {
+            case CONTROL_MODE:
+               outputToPack.setControlMode(JointDesiredControlMode.fromByte(buffer.get(recordOffset + CONTROL_MODE_OFFSET)));
+               break;
+            case LOAD_MODE:
+               outputToPack.setLoadMode(JointDesiredLoadMode.values[buffer.get(recordOffset + LOAD_MODE_OFFSET)]);
+               break;
+            case RESET_INTEGRATORS:
+               outputToPack.setResetIntegrators(buffer.get(recordOffset + RESET_INTEGRATORS_OFFSET) != 0);
+               break;
+            default:
+               field.setDouble(outputToPack, buffer.getDouble(recordOffset + DOUBLE_FIELDS_OFFSET + Double.BYTES * field.ordinal()));
+               break;
+         }
+      }
+   }
+
+   /**
+    * @return the size in bytes of a list encoded with this codec.
+    */
+   public int getEncodedSize()
+   {
+      return computeEncodedSize(numberOfJoints);
+   }
+
+   /**
+    * @return the number of joints of the lists handled by this codec.
+    */
+   public int getNumberOfJoints()
+   {
+      return numberOfJoints;
+   }
+
+   /**
+    * @return the hash of the joint ordering of the lists handled by this codec.
+    */
+   public int getJointOrderingHash()
+   {
+      return jointOrderingHash;
+   }
+}
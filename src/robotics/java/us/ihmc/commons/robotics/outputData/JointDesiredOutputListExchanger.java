@@ -0,0 +1,145 @@
+package us.ihmc.commons.robotics.outputData;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Triple buffer used to pass a {@link JointDesiredOutputListBasics} from a writer thread, e.g. the
+ * controller, to a reader thread, e.g. the driver, without locks.
+ * <p>
+ * The writer fills the write buffer, see {@link #getWriteBuffer()}, and publishes it with
+ * {@link #publish()}, which atomically swaps it with the buffer shared between the two threads. The
+ * reader calls {@link #poll()} to atomically swap its read buffer with the shared buffer whenever
+ * something new was published, and then reads it with {@link #read()}. Neither thread ever blocks,
+ * the reader always gets the latest published list and never sees a list that is being written.
+ * </p>
+ * <p>
+ * This class is meant to be used by a single writer thread and a single reader thread.
+ * </p>
+ *
+ * @param <T> the type of the buffered lists.
+ */
+public class JointDesiredOutputListExchanger<T extends JointDesiredOutputListBasics>
+{
+   private static final int INDEX_MASK = 0b11;
+   /** Set in {@link #sharedState} when the shared buffer holds a list the reader has not polled. */
+   private static final int NEW_DATA_FLAG = 0b100;
+
+   private final T[] buffers;
+   /** Index of the shared buffer and {@link #NEW_DATA_FLAG}, swapped by both threads. */
+   private final AtomicInteger sharedState = new AtomicInteger(1);
+   private int writeIndex = 0;
+   private int readIndex = 2;
+
+   /**
+    * Creates a new exchanger.
+    *
+    * @param listSupplier used to create the three buffers, the lists it creates must all have the same
+    *                     joint ordering.
+    * @throws IllegalArgumentException if the created lists do not have the same joint ordering.
+    */
+   @SuppressWarnings("unchecked")
+   public JointDesiredOutputListExchanger(Supplier<? extends T> listSupplier)
+   {
+      buffers = (T[]) new JointDesiredOutputListBasics[3];
+
+      for (int i = 0; i < buffers.length; i++)
+      {
+         buffers[i] = listSupplier.get();
+
+         if (!buffers[i].hasSameJointOrdering(buffers[0]))
+            throw new IllegalArgumentException("The lists do not have the same joint ordering.");
+      }
+   }
+
+   /**
+    * Gets the buffer to be filled by the writer before calling {@link #publish()}.
+    * <p>
+    * The buffer holds an older list, every joint should be overwritten before publishing.
+    * </p>
+    *
+    * @return the write buffer.
+    */
+   public T getWriteBuffer()
+   {
+      return buffers[writeIndex];
+   }
+
+   /**
+    * Publishes the write buffer, such that the next call to {@link #poll()} gets it, and replaces it
+    * with another buffer. Called by the writer, never blocks.
+    */
+   public void publish()
+   {
+      writeIndex = sharedState.getAndSet(writeIndex | NEW_DATA_FLAG) & INDEX_MASK;
+   }
+
+   /**
+    * Copies {@code source} into the write buffer and publishes it. Called by the writer, never blocks.
+    * <p>
+    * Only the joints of {@code source} are overwritten, {@code source} should hold all the joints of
+    * the buffers.
+    * </p>
+    *
+    * @param source the list to publish. Not modified.
+    */
+   public void publish(JointDesiredOutputListReadOnly source)
+   {
+      getWriteBuffer().overwriteWith(source);
+      publish();
+   }
+
+   /**
+    * Peeks at whether a list was published since the last call to {@link #poll()}.
+    *
+    * @return whether a new list is available.
+    */
+   public boolean peekHasNewData()
+   {
+      return (sharedState.get() & NEW_DATA_FLAG) != 0;
+   }
+
+   /**
+    * Gets the latest published list if it has not been polled yet, the list can then be accessed with
+    * {@link #read()}. Called by the reader, never blocks.
+    *
+    * @return whether a new list was polled.
+    */
+   public boolean poll()
+   {
+      if (!peekHasNewData())
+         return false;
+
+      readIndex = sharedState.getAndSet(readIndex) & INDEX_MASK;
+      return true;
+   }
+
+   /**
+    * Polls and, if a new list was published, copies it into {@code destination}. Called by the reader,
+    * never blocks.
+    *
+    * @param destination the list to copy the new list into. Modified only if a new list was polled.
+    * @return whether a new list was polled.
+    */
+   public boolean poll(JointDesiredOutputListBasics destination)
+   {
+      if (!poll())
+         return false;
+
+      destination.overwriteWith(read());
+      return true;
+   }
+
+   /**
+    * Gets the list obtained with the last successful {@link #poll()}. Called by the reader.
+    * <p>
+    * The list is not modified by the writer until the next call to {@link #poll()}.
+    * </p>
+    *
+    * @return the read buffer.
+    */
+   public T read()
+   {
+      return buffers[readIndex];
+   }
+}
@@ -20,6 +20,136 @@ public interface JointDesiredOutputListReadOnly
 
    int getNumberOfJointsWithDesiredOutput();
 
+   /**
+    * Gets the index of the given joint in this list. As for
+    * {@link #getJointDesiredOutputFromHash(int)}, joints are identified by their hash code.
+    * <p>
+    * The index can be resolved once at setup and then used with the index based methods, such as
+    * {@link #getJointDesiredOutput(int)}, to avoid a hash lookup per access.
+    * </p>
+    *
+    * @param joint the joint to look up.
+    * @return the index of the joint, or -1 if this list does not hold data for the joint.
+    */
+   default int getJointIndex(OneDoFJointReadOnly joint)
+   {
+      int jointHashCode = joint.hashCode();
+
+      for (int i = 0; i < getNumberOfJointsWithDesiredOutput(); i++)
+      {
+         if (getOneDoFJoint(i).hashCode() == jointHashCode)
+            return i;
+      }
+      return -1;
+   }
+
+   /**
+    * Resolves the index in this list of each of the given joints, see
+    * {@link #getJointIndex(OneDoFJointReadOnly)}.
+    *
+    * @param joints        the joints to look up. Not modified.
+    * @param indicesToPack the array in which the index of each joint is stored, -1 for the joints
+    *                      that this list does not hold. Modified.
+    */
+   default void getJointIndices(OneDoFJointReadOnly[] joints, int[] indicesToPack)
+   {
+      if (indicesToPack.length < joints.length)
+         throw new IllegalArgumentException("The array to pack is too small: " + indicesToPack.length + ", expected: " + joints.length);
+
+      for (int i = 0; i < joints.length; i++)
+         indicesToPack[i] = getJointIndex(joints[i]);
+   }
+
+   /**
+    * Resolves, for each joint of {@code other}, its index in this list. The result can be used with
+    * {@link JointDesiredOutputListBasics#overwriteWith(JointDesiredOutputListReadOnly, int[])} and
+    * {@link JointDesiredOutputListBasics#completeWith(JointDesiredOutputListReadOnly, int[])} to merge
+    * lists without any hash lookup.
+    *
+    * @param other         the other list. Not modified.
+    * @param indicesToPack the array in which, for each joint index of {@code other}, the index of the
+    *                      same joint in this list is stored, -1 if this list does not hold the joint.
+    *                      Modified.
+    */
+   default void getJointIndices(JointDesiredOutputListReadOnly other, int[] indicesToPack)
+   {
+      if (indicesToPack.length < other.getNumberOfJointsWithDesiredOutput())
+         throw new IllegalArgumentException("The array to pack is too small: " + indicesToPack.length + ", expected: "
+               + other.getNumberOfJointsWithDesiredOutput());
+
+      for (int i = 0; i < other.getNumberOfJointsWithDesiredOutput(); i++)
+         indicesToPack[i] = getJointIndex(other.getOneDoFJoint(i));
+   }
+
+   /**
+    * Tests whether {@code other} holds data for the same joints, in the same order, as this list. When
+    * it does, the data for a joint is found at the same index in both lists. As for
+    * {@link #getJointDesiredOutputFromHash(int)}, joints are identified by their hash code.
+    *
+    * @param other the other list. Not modified.
+    * @return {@code true} if both lists have the same joints in the same order.
+    */
+   default boolean hasSameJointOrdering(JointDesiredOutputListReadOnly other)
+   {
+      if (other == this)
+         return true;
+      if (other.getNumberOfJointsWithDesiredOutput() != getNumberOfJointsWithDesiredOutput())
+         return false;
+
+      for (int i = 0; i < getNumberOfJointsWithDesiredOutput(); i++)
+      {
+         if (other.getOneDoFJoint(i).hashCode() != getOneDoFJoint(i).hashCode())
+            return false;
+      }
+      return true;
+   }
+
+   /**
+    * Gets the bitmask of the fields written for any joint since the last clear, see
+    * {@link JointDesiredOutputReadOnly#getDirtyFieldsMask()}.
+    *
+    * @return the bitmask of the fields that may differ from their cleared value for at least one
+    *         joint.
+    */
+   default int getDirtyFieldsMask()
+   {
+      int dirtyFieldsMask = 0;
+      for (int i = 0; i < getNumberOfJointsWithDesiredOutput(); i++)
+         dirtyFieldsMask |= getJointDesiredOutput(i).getDirtyFieldsMask();
+      return dirtyFieldsMask;
+   }
+
+   /**
+    * Returns true if any field of the {@code index}-th joint has been written since the last clear.
+    *
+    * @see JointDesiredOutputReadOnly#isDirty()
+    */
+   default boolean isJointDirty(int index)
+   {
+      return getJointDesiredOutput(index).isDirty();
+   }
+
+   /**
+    * Packs the indices of the joints for which a field has been written since the last clear. This
+    * can be used to only send the data of these joints to the joint level controllers.
+    *
+    * @param indicesToPack the array in which the indices are stored, in increasing order. Must be at
+    *                      least as long as {@link #getNumberOfJointsWithDesiredOutput()}. Modified.
+    * @return the number of joints written since the last clear.
+    */
+   default int getDirtyJointIndices(int[] indicesToPack)
+   {
+      int numberOfDirtyJoints = 0;
+
+      for (int i = 0; i < getNumberOfJointsWithDesiredOutput(); i++)
+      {
+         if (isJointDirty(i))
+            indicesToPack[numberOfDirtyJoints++] = i;
+      }
+
+      return numberOfDirtyJoints;
+   }
+
    default void insertDesiredTorquesIntoOneDoFJoints(OneDoFJointBasics[] oneDoFJoints)
    {
       for (int i = 0; i < oneDoFJoints.length; i++)
@@ -258,6 +388,15 @@ public interface JointDesiredOutputListReadOnly
       {
          if (getNumberOfJointsWithDesiredOutput() != other.getNumberOfJointsWithDesiredOutput())
             return false;
+         if (hasSameJointOrdering(other))
+         {
+            for (int jointIndex = 0; jointIndex < getNumberOfJointsWithDesiredOutput(); jointIndex++)
+            {
+               if (!getJointDesiredOutput(jointIndex).equals(other.getJointDesiredOutput(jointIndex)))
+                  return false;
+            }
+            return true;
+         }
          for (int jointIndex = 0; jointIndex < getNumberOfJointsWithDesiredOutput(); jointIndex++)
          {
             OneDoFJointReadOnly joint = getOneDoFJoint(jointIndex);
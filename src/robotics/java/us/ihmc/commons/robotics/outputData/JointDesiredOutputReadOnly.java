@@ -8,6 +8,31 @@ import us.ihmc.commons.MathTools;
  */
 public interface JointDesiredOutputReadOnly
 {
+   /**
+    * Gets the bitmask of the fields that have been written since the last clear, see
+    * {@link JointDesiredOutputField#mask}. Any field outside of this mask holds its cleared value, such
+    * that copies, merges and comparisons only need to look at the fields in the mask.
+    * <p>
+    * Implementations that do not track writes return the fields that are currently set, see
+    * {@link JointDesiredOutputField#computeSetFieldsMask(JointDesiredOutputReadOnly)}.
+    * </p>
+    *
+    * @return the bitmask of the fields that may differ from their cleared value.
+    */
+   default int getDirtyFieldsMask()
+   {
+      return JointDesiredOutputField.computeSetFieldsMask(this);
+   }
+
+   /**
+    * Returns true if any field has been written since the last clear.
+    *
+    * @see #getDirtyFieldsMask()
+    */
+   default boolean isDirty()
+   {
+      return getDirtyFieldsMask() != 0;
+   }
 
    default boolean hasDesiredTorque()
    {
@@ -404,43 +429,43 @@ public interface JointDesiredOutputReadOnly
       }
       else
       {
-         if (getControlMode() != other.getControlMode())
-            return false;
-         if (getLoadMode() != other.getLoadMode())
-            return false;
-         if (Double.compare(getDesiredTorque(), other.getDesiredTorque()) != 0)
-            return false;
-         if (Double.compare(getDesiredPosition(), other.getDesiredPosition()) != 0)
-            return false;
-         if (Double.compare(getDesiredVelocity(), other.getDesiredVelocity()) != 0)
-            return false;
-         if (Double.compare(getDesiredAcceleration(), other.getDesiredAcceleration()) != 0)
-            return false;
-         if (peekResetIntegratorsRequest() != other.peekResetIntegratorsRequest())
-            return false;
-         if (Double.compare(getStiffness(), other.getStiffness()) != 0)
-            return false;
-         if (Double.compare(getDamping(), other.getDamping()) != 0)
-            return false;
-         if (Double.compare(getMasterGain(), other.getMasterGain()) != 0)
-            return false;
-         if (Double.compare(getVelocityScaling(), other.getVelocityScaling()) != 0)
-            return false;
-         if (Double.compare(getVelocityIntegrationBreakFrequency(), other.getVelocityIntegrationBreakFrequency()) != 0)
-            return false;
-         if (Double.compare(getPositionIntegrationBreakFrequency(), other.getPositionIntegrationBreakFrequency()) != 0)
-            return false;
-         if (Double.compare(getVelocityIntegrationMaxError(), other.getVelocityIntegrationMaxError()) != 0)
-            return false;
-         if (Double.compare(getPositionIntegrationMaxError(), other.getPositionIntegrationMaxError()) != 0)
-            return false;
-         if (Double.compare(getVelocityFeedbackMaxError(), other.getVelocityFeedbackMaxError()) != 0)
-            return false;
-         if (Double.compare(getPositionFeedbackMaxError(), other.getPositionFeedbackMaxError()) != 0)
-            return false;
-         if (Double.compare(getMaxTorque(), other.getMaxTorque()) != 0)
-            return false;
+         // Fields outside of both masks hold their cleared value in both.
+         int fieldsMask = getDirtyFieldsMask() | other.getDirtyFieldsMask();
+
+         while (fieldsMask != 0)
+         {
+            JointDesiredOutputField field = JointDesiredOutputField.lowestField(fieldsMask);
+            fieldsMask &= ~field.mask;
+
+            if (!field.valueEquals(this, other))
+               return false;
+         }
          return true;
       }
    }
+
+   /**
+    * Computes a hash code consistent with {@link #equals(JointDesiredOutputReadOnly)}.
+    * <p>
+    * Only the fields that differ from their cleared value are hashed, such that a field that has been
+    * written with its cleared value does not change the hash code.
+    * </p>
+    *
+    * @return the hash code of this data holder.
+    */
+   default int computeHashCode()
+   {
+      int hashCode = 1;
+      int fieldsMask = getDirtyFieldsMask();
+
+      while (fieldsMask != 0)
+      {
+         JointDesiredOutputField field = JointDesiredOutputField.lowestField(fieldsMask);
+         fieldsMask &= ~field.mask;
+
+         if (field.isSet(this))
+            hashCode = 31 * hashCode + (field.ordinal() ^ field.valueHashCode(this));
+      }
+      return hashCode;
+   }
 }
\ No newline at end of file
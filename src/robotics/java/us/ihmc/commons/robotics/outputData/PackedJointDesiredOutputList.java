@@ -0,0 +1,818 @@
+package us.ihmc.commons.robotics.outputData;
+
+import static us.ihmc.commons.robotics.outputData.JointDesiredOutputField.*;
+
+import java.util.Arrays;
+
+import gnu.trove.impl.Constants;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import us.ihmc.mecano.multiBodySystem.interfaces.OneDoFJointReadOnly;
+
+/**
+ * Implementation of {@link JointDesiredOutputListBasics} that stores the data of all the joints in a
+ * structure of arrays.
+ * <p>
+ * Each {@code double} field, see {@link JointDesiredOutputField#doubleFields}, is held in its own
+ * {@code double[]} indexed by joint, the control and load modes in {@code byte[]} and the integrator
+ * reset requests in a {@code boolean[]}. The data for a single joint is accessed through a
+ * {@link PackedJointDesiredOutput}, a view created once per joint at construction.
+ * </p>
+ * <p>
+ * The bulk accessors, such as {@link #getDoubleField(JointDesiredOutputField, double[], int)}, allow
+ * to copy the desired state of all the joints with a few calls to {@link System#arraycopy}.
+ * </p>
+ * <p>
+ * The fields written since the last clear are tracked per joint and for the whole list, such that
+ * {@link #clear()}, {@link #set(PackedJointDesiredOutputList)} and {@link #completeWith} only touch
+ * the arrays of the fields that have been written.
+ * </p>
+ */
+public class PackedJointDesiredOutputList implements JointDesiredOutputListBasics
+{
+   /** Value used in the mode arrays to indicate that no mode is set. */
+   public static final byte NO_MODE = -1;
+
+   private final OneDoFJointReadOnly[] joints;
+   private final PackedJointDesiredOutput[] jointsData;
+   private final TIntObjectHashMap<PackedJointDesiredOutput> jointMap;
+   private final TIntIntHashMap jointIndexMap;
+
+   private final double[] desiredTorques;
+   private final double[] desiredPositions;
+   private final double[] desiredVelocities;
+   private final double[] desiredAccelerations;
+   private final double[] stiffnesses;
+   private final double[] dampings;
+   private final double[] masterGains;
+   private final double[] velocityScalings;
+   private final double[] velocityIntegrationBreakFrequencies;
+   private final double[] positionIntegrationBreakFrequencies;
+   private final double[] positionIntegrationMaxErrors;
+   private final double[] velocityIntegrationMaxErrors;
+   private final double[] positionFeedbackMaxErrors;
+   private final double[] velocityFeedbackMaxErrors;
+   private final double[] maxTorques;
+   /** The arrays above, indexed by {@link JointDesiredOutputField#ordinal()}. */
+   private final double[][] doubleData;
+
+   private final byte[] controlModes;
+   private final byte[] loadModes;
+   private final boolean[] resetIntegrators;
+
+   /** Per joint, bitmask of the fields written since the last clear. */
+   private final int[] dirtyFieldsMasks;
+   /** Bitmask of the fields written for any joint since the last clear of the list. */
+   private int dirtyFieldsMask = ALL_FIELDS_MASK;
+
+   public PackedJointDesiredOutputList(OneDoFJointReadOnly[] joints)
+   {
+      this.joints = joints;
+      int numberOfJoints = joints.length;
+
+      doubleData = new double[JointDesiredOutputField.doubleFields.length][];
+      for (int i = 0; i < doubleData.length; i++)
+         doubleData[i] = new double[numberOfJoints];
+
+      desiredTorques = doubleData[JointDesiredOutputField.DESIRED_TORQUE.ordinal()];
+      desiredPositions = doubleData[JointDesiredOutputField.DESIRED_POSITION.ordinal()];
+      desiredVelocities = doubleData[JointDesiredOutputField.DESIRED_VELOCITY.ordinal()];
+      desiredAccelerations = doubleData[JointDesiredOutputField.DESIRED_ACCELERATION.ordinal()];
+      stiffnesses = doubleData[JointDesiredOutputField.STIFFNESS.ordinal()];
+      dampings = doubleData[JointDesiredOutputField.DAMPING.ordinal()];
+      masterGains = doubleData[JointDesiredOutputField.MASTER_GAIN.ordinal()];
+      velocityScalings = doubleData[JointDesiredOutputField.VELOCITY_SCALING.ordinal()];
+      velocityIntegrationBreakFrequencies = doubleData[JointDesiredOutputField.VELOCITY_INTEGRATION_BREAK_FREQUENCY.ordinal()];
+      positionIntegrationBreakFrequencies = doubleData[JointDesiredOutputField.POSITION_INTEGRATION_BREAK_FREQUENCY.ordinal()];
+      positionIntegrationMaxErrors = doubleData[JointDesiredOutputField.POSITION_INTEGRATION_MAX_ERROR.ordinal()];
+      velocityIntegrationMaxErrors = doubleData[JointDesiredOutputField.VELOCITY_INTEGRATION_MAX_ERROR.ordinal()];
+      positionFeedbackMaxErrors = doubleData[JointDesiredOutputField.POSITION_FEEDBACK_MAX_ERROR.ordinal()];
+      velocityFeedbackMaxErrors = doubleData[JointDesiredOutputField.VELOCITY_FEEDBACK_MAX_ERROR.ordinal()];
+      maxTorques = doubleData[JointDesiredOutputField.MAX_TORQUE.ordinal()];
+
+      controlModes = new byte[numberOfJoints];
+      loadModes = new byte[numberOfJoints];
+      resetIntegrators = new boolean[numberOfJoints];
+      dirtyFieldsMasks = new int[numberOfJoints];
+
+      jointsData = new PackedJointDesiredOutput[numberOfJoints];
+
+      float disableAutoCompaction = 0;
+      jointMap = new TIntObjectHashMap<>(numberOfJoints);
+      jointMap.setAutoCompactionFactor(disableAutoCompaction);
+      jointIndexMap = new TIntIntHashMap(numberOfJoints, Constants.DEFAULT_LOAD_FACTOR, 0, -1);
+      jointIndexMap.setAutoCompactionFactor(disableAutoCompaction);
+
+      for (int i = 0; i < numberOfJoints; i++)
+      {
+         PackedJointDesiredOutput data = new PackedJointDesiredOutput(i);
+         jointsData[i] = data;
+         jointMap.put(joints[i].hashCode(), data);
+         jointIndexMap.put(joints[i].hashCode(), i);
+      }
+
+      clear();
+   }
+
+   @Override
+   public void clear()
+   {
+      if (dirtyFieldsMask == 0)
+         return;
+
+      int fieldsToClear = dirtyFieldsMask;
+
+      while (fieldsToClear != 0)
+      {
+         JointDesiredOutputField field = lowestField(fieldsToClear);
+         fieldsToClear &= ~field.mask;
+
+         switch (field)
+         {
+            case CONTROL_MODE:
+               Arrays.fill(controlModes, NO_MODE);
+               break;
+            case LOAD_MODE:
+               Arrays.fill(loadModes, NO_MODE);
+               break;
+            case RESET_INTEGRATORS:
+               Arrays.fill(resetIntegrators, false);
+               break;
+            default:
+               Arrays.fill(doubleData[field.ordinal()], Double.NaN);
+               break;
+         }
+      }
+
+      Arrays.fill(dirtyFieldsMasks, 0);
+      dirtyFieldsMask = 0;
+   }
+
+   /**
+    * Copies all the data from {@code other}. Both lists must have been created with the same joints in
+    * the same order, the data is then copied field by field with {@link System#arraycopy}. Only the
+    * fields written in either list are copied.
+    *
+    * @param other the list to copy. Not modified.
+    * @throws IllegalArgumentException if {@code other} does not hold the same joints in the same
+    *                                  order.
+    */
+   public void set(PackedJointDesiredOutputList other)
+   {
+      if (!hasSameJointOrdering(other))
+         throw new IllegalArgumentException("The joints of the other list do not match the joints of this list.");
+      if (other == this)
+         return;
+
+      int numberOfJoints = joints.length;
+      // Fields outside of both masks hold their cleared value in both lists.
+      int fieldsToCopy = dirtyFieldsMask | other.dirtyFieldsMask;
+
+      while (fieldsToCopy != 0)
+      {
+         JointDesiredOutputField field = lowestField(fieldsToCopy);
+         fieldsToCopy &= ~field.mask;
+
+         switch (field)
+         {
+            case CONTROL_MODE:
+               System.arraycopy(other.controlModes, 0, controlModes, 0, numberOfJoints);
+               break;
+            case LOAD_MODE:
+               System.arraycopy(other.loadModes, 0, loadModes, 0, numberOfJoints);
+               break;
+            case RESET_INTEGRATORS:
+               System.arraycopy(other.resetIntegrators, 0, resetIntegrators, 0, numberOfJoints);
+               break;
+            default:
+               System.arraycopy(other.doubleData[field.ordinal()], 0, doubleData[field.ordinal()], 0, numberOfJoints);
+               break;
+         }
+      }
+
+      System.arraycopy(other.dirtyFieldsMasks, 0, dirtyFieldsMasks, 0, numberOfJoints);
+      dirtyFieldsMask = other.dirtyFieldsMask;
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * When {@code other} is a {@code PackedJointDesiredOutputList} with the same joint ordering, the
+    * data is copied with {@link #set(PackedJointDesiredOutputList)}.
+    * </p>
+    */
+   @Override
+   public void overwriteWith(JointDesiredOutputListReadOnly other)
+   {
+      if (other instanceof PackedJointDesiredOutputList && hasSameJointOrdering(other))
+         set((PackedJointDesiredOutputList) other);
+      else
+         JointDesiredOutputListBasics.super.overwriteWith(other);
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * When {@code other} is a {@code PackedJointDesiredOutputList} with the same joint ordering, the
+    * data is merged by walking through the arrays of both lists field by field.
+    * </p>
+    */
+   @Override
+   public void completeWith(JointDesiredOutputListReadOnly other)
+   {
+      if (other instanceof PackedJointDesiredOutputList && hasSameJointOrdering(other))
+         completeWith((PackedJointDesiredOutputList) other);
+      else
+         JointDesiredOutputListBasics.super.completeWith(other);
+   }
+
+   private void completeWith(PackedJointDesiredOutputList other)
+   {
+      if (other == this)
+         return;
+
+      int numberOfJoints = joints.length;
+      int fieldsToComplete = other.dirtyFieldsMask;
+
+      while (fieldsToComplete != 0)
+      {
+         JointDesiredOutputField field = lowestField(fieldsToComplete);
+         fieldsToComplete &= ~field.mask;
+
+         switch (field)
+         {
+            case CONTROL_MODE:
+               for (int i = 0; i < numberOfJoints; i++)
+               {
+                  if (controlModes[i] == NO_MODE)
+                     controlModes[i] = other.controlModes[i];
+               }
+               break;
+            case LOAD_MODE:
+               for (int i = 0; i < numberOfJoints; i++)
+               {
+                  if (loadModes[i] == NO_MODE)
+                     loadModes[i] = other.loadModes[i];
+               }
+               break;
+            case RESET_INTEGRATORS:
+               for (int i = 0; i < numberOfJoints; i++)
+               {
+                  if (!resetIntegrators[i])
+                     resetIntegrators[i] = other.resetIntegrators[i];
+               }
+               break;
+            default:
+               double[] thisFieldData = doubleData[field.ordinal()];
+               double[] otherFieldData = other.doubleData[field.ordinal()];
+
+               for (int i = 0; i < numberOfJoints; i++)
+               {
+                  if (Double.isNaN(thisFieldData[i]))
+                     thisFieldData[i] = otherFieldData[i];
+               }
+               break;
+         }
+      }
+
+      for (int i = 0; i < numberOfJoints; i++)
+         dirtyFieldsMasks[i] |= other.dirtyFieldsMasks[i];
+      dirtyFieldsMask |= other.dirtyFieldsMask;
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * This is a superset of the fields written for any joint since the last call to {@link #clear()},
+    * clearing the data of a single joint does not update it.
+    * </p>
+    */
+   @Override
+   public int getDirtyFieldsMask()
+   {
+      return dirtyFieldsMask;
+   }
+
+   /**
+    * Packs, for each joint in joint order, the bitmask of the fields written since the last clear, see
+    * {@link JointDesiredOutputReadOnly#getDirtyFieldsMask()}.
+    *
+    * @param dirtyFieldsMasksToPack the array in which the bitmasks are stored. Modified.
+    * @param offset                 the index in {@code dirtyFieldsMasksToPack} at which the bitmask of
+    *                               the first joint is stored.
+    */
+   public void getDirtyFieldsMasks(int[] dirtyFieldsMasksToPack, int offset)
+   {
+      System.arraycopy(dirtyFieldsMasks, 0, dirtyFieldsMasksToPack, offset, joints.length);
+   }
+
+   @Override
+   public boolean isJointDirty(int index)
+   {
+      return dirtyFieldsMasks[index] != 0;
+   }
+
+   private void markDirtyForAllJoints(JointDesiredOutputField field)
+   {
+      for (int i = 0; i < dirtyFieldsMasks.length; i++)
+         dirtyFieldsMasks[i] |= field.mask;
+      dirtyFieldsMask |= field.mask;
+   }
+
+   /**
+    * Packs the values of the given {@code double} field for all the joints, in joint order.
+    *
+    * @param field        the field to get. Must be a {@code double} field.
+    * @param valuesToPack the array in which the values are stored. Modified.
+    * @param offset       the index in {@code valuesToPack} at which the value of the first joint is
+    *                     stored.
+    */
+   public void getDoubleField(JointDesiredOutputField field, double[] valuesToPack, int offset)
+   {
+      System.arraycopy(getDoubleFieldData(field), 0, valuesToPack, offset, joints.length);
+   }
+
+   /**
+    * Sets the values of the given {@code double} field for all the joints, in joint order.
+    *
+    * @param field  the field to set. Must be a {@code double} field.
+    * @param values the new values. Not modified.
+    * @param offset the index in {@code values} of the value of the first joint.
+    */
+   public void setDoubleField(JointDesiredOutputField field, double[] values, int offset)
+   {
+      System.arraycopy(values, offset, getDoubleFieldData(field), 0, joints.length);
+      markDirtyForAllJoints(field);
+   }
+
+   private double[] getDoubleFieldData(JointDesiredOutputField field)
+   {
+      if (!field.isDoubleField())
+         throw new IllegalArgumentException("The field " + field + " is not a double field.");
+      return doubleData[field.ordinal()];
+   }
+
+   /**
+    * Packs the control modes of all the joints, in joint order. A joint without control mode is
+    * represented by {@link #NO_MODE}, otherwise see {@link JointDesiredControlMode#toByte()}.
+    *
+    * @param controlModesToPack the array in which the control modes are stored. Modified.
+    * @param offset             the index in {@code controlModesToPack} at which the control mode of the
+    *                           first joint is stored.
+    */
+   public void getControlModes(byte[] controlModesToPack, int offset)
+   {
+      System.arraycopy(controlModes, 0, controlModesToPack, offset, joints.length);
+   }
+
+   /**
+    * Sets the control modes of all the joints, in joint order, see
+    * {@link #getControlModes(byte[], int)}.
+    *
+    * @param controlModes the new control modes. Not modified.
+    * @param offset       the index in {@code controlModes} of the control mode of the first joint.
+    */
+   public void setControlModes(byte[] controlModes, int offset)
+   {
+      System.arraycopy(controlModes, offset, this.controlModes, 0, joints.length);
+      markDirtyForAllJoints(CONTROL_MODE);
+   }
+
+   /**
+    * Packs the load modes of all the joints, in joint order. A joint without load mode is represented
+    * by {@link #NO_MODE}, otherwise by the ordinal of the {@link JointDesiredLoadMode}.
+    *
+    * @param loadModesToPack the array in which the load modes are stored. Modified.
+    * @param offset          the index in {@code loadModesToPack} at which the load mode of the first
+    *                        joint is stored.
+    */
+   public void getLoadModes(byte[] loadModesToPack, int offset)
+   {
+      System.arraycopy(loadModes, 0, loadModesToPack, offset, joints.length);
+   }
+
+   /**
+    * Sets the load modes of all the joints, in joint order, see {@link #getLoadModes(byte[], int)}.
+    *
+    * @param loadModes the new load modes. Not modified.
+    * @param offset    the index in {@code loadModes} of the load mode of the first joint.
+    */
+   public void setLoadModes(byte[] loadModes, int offset)
+   {
+      System.arraycopy(loadModes, offset, this.loadModes, 0, joints.length);
+      markDirtyForAllJoints(LOAD_MODE);
+   }
+
+   /**
+    * Packs the integrator reset requests of all the joints, in joint order. The requests are not
+    * consumed.
+    *
+    * @param resetIntegratorsToPack the array in which the requests are stored. Modified.
+    * @param offset                 the index in {@code resetIntegratorsToPack} at which the request
+    *                               of the first joint is stored.
+    */
+   public void getResetIntegrators(boolean[] resetIntegratorsToPack, int offset)
+   {
+      System.arraycopy(resetIntegrators, 0, resetIntegratorsToPack, offset, joints.length);
+   }
+
+   /**
+    * Sets the integrator reset requests of all the joints, in joint order.
+    *
+    * @param resetIntegrators the new requests. Not modified.
+    * @param offset           the index in {@code resetIntegrators} of the request of the first
+    *                         joint.
+    */
+   public void setResetIntegrators(boolean[] resetIntegrators, int offset)
+   {
+      System.arraycopy(resetIntegrators, offset, this.resetIntegrators, 0, joints.length);
+      markDirtyForAllJoints(RESET_INTEGRATORS);
+   }
+
+   @Override
+   public boolean hasDataForJoint(OneDoFJointReadOnly joint)
+   {
+      return jointMap.containsKey(joint.hashCode());
+   }
+
+   @Override
+   public OneDoFJointReadOnly getOneDoFJoint(int index)
+   {
+      return joints[index];
+   }
+
+   @Override
+   public int getNumberOfJointsWithDesiredOutput()
+   {
+      return joints.length;
+   }
+
+   @Override
+   public int getJointIndex(OneDoFJointReadOnly joint)
+   {
+      return jointIndexMap.get(joint.hashCode());
+   }
+
+   @Override
+   public PackedJointDesiredOutput getJointDesiredOutput(int index)
+   {
+      return jointsData[index];
+   }
+
+   @Override
+   public PackedJointDesiredOutput getJointDesiredOutputFromHash(int jointHashCode)
+   {
+      return jointMap.get(jointHashCode);
+   }
+
+   public String getJointName(int index)
+   {
+      return joints[index].getName();
+   }
+
+   /**
+    * View on the data of a single joint held in a {@link PackedJointDesiredOutputList}. Reading and
+    * writing through this view directly accesses the arrays of the list.
+    */
+   public class PackedJointDesiredOutput implements JointDesiredOutputBasics
+   {
+      private final int index;
+
+      private PackedJointDesiredOutput(int index)
+      {
+         this.index = index;
+      }
+
+      /**
+       * @return the index of the joint this view refers to.
+       */
+      public int getIndex()
+      {
+         return index;
+      }
+
+      @Override
+      public void clear()
+      {
+         if (dirtyFieldsMasks[index] != 0)
+            clearFields(dirtyFieldsMasks[index]);
+      }
+
+      @Override
+      public void clearFields(int fieldsMask)
+      {
+         int fieldsToClear = fieldsMask & dirtyFieldsMasks[index];
+         dirtyFieldsMasks[index] &= ~fieldsToClear;
+
+         while (fieldsToClear != 0)
+         {
+            JointDesiredOutputField field = lowestField(fieldsToClear);
+            fieldsToClear &= ~field.mask;
+
+            switch (field)
+            {
+               case CONTROL_MODE:
+                  controlModes[index] = NO_MODE;
+                  break;
+               case LOAD_MODE:
+                  loadModes[index] = NO_MODE;
+                  break;
+               case RESET_INTEGRATORS:
+                  resetIntegrators[index] = false;
+                  break;
+               default:
+                  doubleData[field.ordinal()][index] = Double.NaN;
+                  break;
+            }
+         }
+      }
+
+      @Override
+      public int getDirtyFieldsMask()
+      {
+         return dirtyFieldsMasks[index];
+      }
+
+      private void markDirty(JointDesiredOutputField field)
+      {
+         dirtyFieldsMasks[index] |= field.mask;
+         dirtyFieldsMask |= field.mask;
+      }
+
+      @Override
+      public void setControlMode(JointDesiredControlMode controlMode)
+      {
+         markDirty(CONTROL_MODE);
+         controlModes[index] = controlMode == null ? NO_MODE : controlMode.toByte();
+      }
+
+      @Override
+      public void setLoadMode(JointDesiredLoadMode loadMode)
+      {
+         markDirty(LOAD_MODE);
+         loadModes[index] = loadMode == null ? NO_MODE : (byte) loadMode.ordinal();
+      }
+
+      @Override
+      public void setDesiredTorque(double tau)
+      {
+         markDirty(DESIRED_TORQUE);
+         desiredTorques[index] = tau;
+      }
+
+      @Override
+      public void setDesiredPosition(double q)
+      {
+         markDirty(DESIRED_POSITION);
+         desiredPositions[index] = q;
+      }
+
+      @Override
+      public void setDesiredVelocity(double qd)
+      {
+         markDirty(DESIRED_VELOCITY);
+         desiredVelocities[index] = qd;
+      }
+
+      @Override
+      public void setDesiredAcceleration(double qdd)
+      {
+         markDirty(DESIRED_ACCELERATION);
+         desiredAccelerations[index] = qdd;
+      }
+
+      @Override
+      public void setResetIntegrators(boolean reset)
+      {
+         markDirty(RESET_INTEGRATORS);
+         resetIntegrators[index] = reset;
+      }
+
+      @Override
+      public void setStiffness(double stiffness)
+      {
+         markDirty(STIFFNESS);
+         stiffnesses[index] = stiffness;
+      }
+
+      @Override
+      public void setDamping(double damping)
+      {
+         markDirty(DAMPING);
+         dampings[index] = damping;
+      }
+
+      @Override
+      public void setMasterGain(double masterGain)
+      {
+         markDirty(MASTER_GAIN);
+         masterGains[index] = masterGain;
+      }
+
+      @Override
+      public void setVelocityScaling(double velocityScaling)
+      {
+         markDirty(VELOCITY_SCALING);
+         velocityScalings[index] = velocityScaling;
+      }
+
+      @Override
+      public void setVelocityIntegrationBreakFrequency(double velocityIntegrationBreakFrequency)
+      {
+         markDirty(VELOCITY_INTEGRATION_BREAK_FREQUENCY);
+         velocityIntegrationBreakFrequencies[index] = velocityIntegrationBreakFrequency;
+      }
+
+      @Override
+      public void setPositionIntegrationBreakFrequency(double positionIntegrationBreakFrequency)
+      {
+         markDirty(POSITION_INTEGRATION_BREAK_FREQUENCY);
+         positionIntegrationBreakFrequencies[index] = positionIntegrationBreakFrequency;
+      }
+
+      @Override
+      public void setPositionIntegrationMaxError(double maxPositionError)
+      {
+         markDirty(POSITION_INTEGRATION_MAX_ERROR);
+         positionIntegrationMaxErrors[index] = maxPositionError;
+      }
+
+      @Override
+      public void setVelocityIntegrationMaxError(double maxVelocityError)
+      {
+         markDirty(VELOCITY_INTEGRATION_MAX_ERROR);
+         velocityIntegrationMaxErrors[index] = maxVelocityError;
+      }
+
+      @Override
+      public void setPositionFeedbackMaxError(double positionFeedbackMaxError)
+      {
+         markDirty(POSITION_FEEDBACK_MAX_ERROR);
+         positionFeedbackMaxErrors[index] = positionFeedbackMaxError;
+      }
+
+      @Override
+      public void setVelocityFeedbackMaxError(double velocityFeedbackMaxError)
+      {
+         markDirty(VELOCITY_FEEDBACK_MAX_ERROR);
+         velocityFeedbackMaxErrors[index] = velocityFeedbackMaxError;
+      }
+
+      @Override
+      public void setMaxTorque(double maxTorque)
+      {
+         markDirty(MAX_TORQUE);
+         maxTorques[index] = maxTorque;
+      }
+
+      @Override
+      public JointDesiredControlMode getControlMode()
+      {
+         return JointDesiredControlMode.fromByte(controlModes[index]);
+      }
+
+      @Override
+      public JointDesiredLoadMode getLoadMode()
+      {
+         byte loadMode = loadModes[index];
+         return loadMode == NO_MODE ? null : JointDesiredLoadMode.values[loadMode];
+      }
+
+      @Override
+      public boolean hasControlMode()
+      {
+         return controlModes[index] != NO_MODE;
+      }
+
+      @Override
+      public boolean hasLoadMode()
+      {
+         return loadModes[index] != NO_MODE;
+      }
+
+      @Override
+      public double getDesiredTorque()
+      {
+         return desiredTorques[index];
+      }
+
+      @Override
+      public double getDesiredPosition()
+      {
+         return desiredPositions[index];
+      }
+
+      @Override
+      public double getDesiredVelocity()
+      {
+         return desiredVelocities[index];
+      }
+
+      @Override
+      public double getDesiredAcceleration()
+      {
+         return desiredAccelerations[index];
+      }
+
+      @Override
+      public boolean pollResetIntegratorsRequest()
+      {
+         boolean reset = resetIntegrators[index];
+         resetIntegrators[index] = false;
+         return reset;
+      }
+
+      @Override
+      public boolean peekResetIntegratorsRequest()
+      {
+         return resetIntegrators[index];
+      }
+
+      @Override
+      public double getStiffness()
+      {
+         return stiffnesses[index];
+      }
+
+      @Override
+      public double getDamping()
+      {
+         return dampings[index];
+      }
+
+      @Override
+      public double getMasterGain()
+      {
+         return masterGains[index];
+      }
+
+      @Override
+      public double getVelocityScaling()
+      {
+         return velocityScalings[index];
+      }
+
+      @Override
+      public double getVelocityIntegrationBreakFrequency()
+      {
+         return velocityIntegrationBreakFrequencies[index];
+      }
+
+      @Override
+      public double getPositionIntegrationBreakFrequency()
+      {
+         return positionIntegrationBreakFrequencies[index];
+      }
+
+      @Override
+      public double getPositionIntegrationMaxError()
+      {
+         return positionIntegrationMaxErrors[index];
+      }
+
+      @Override
+      public double getVelocityIntegrationMaxError()
+      {
+         return velocityIntegrationMaxErrors[index];
+      }
+
+      @Override
+      public double getPositionFeedbackMaxError()
+      {
+         return positionFeedbackMaxErrors[index];
+      }
+
+      @Override
+      public double getVelocityFeedbackMaxError()
+      {
+         return velocityFeedbackMaxErrors[index];
+      }
+
+      @Override
+      public double getMaxTorque()
+      {
+         return maxTorques[index];
+      }
+
+      @Override
+      public boolean equals(Object object)
+      {
+         if (object instanceof JointDesiredOutputReadOnly)
+            return JointDesiredOutputBasics.super.equals((JointDesiredOutputReadOnly) object);
+         else
+            return false;
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return computeHashCode();
+      }
+
+      @Override
+      public String toString()
+      {
+         return getRepresentativeString();
+      }
+   }
+}
@@ -0,0 +1,248 @@
+package us.ihmc.commons.robotics.outputData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Exchanges a {@link JointDesiredOutputListReadOnly} between two processes through a memory-mapped
+ * file, for instance between a controller and a hardware interface.
+ * <p>
+ * Both processes create a transport on the same file with lists that have the same joint ordering,
+ * one process calls {@link #publish(JointDesiredOutputListReadOnly)} and the other calls
+ * {@link #readLatest(JointDesiredOutputListBasics)}. The list is encoded with
+ * {@link JointDesiredOutputListCodec} in a private buffer which is then copied in a single bulk copy
+ * to one of two slots of the file, alternating between the slots. The reader copies the last
+ * published slot in a single bulk copy to a private buffer and decodes it from there. Each slot is
+ * guarded by a pair of sequence numbers, written before and after the data, such that the reader
+ * detects and discards a slot that was overwritten while it was being copied. Neither side blocks
+ * and all operations are garbage free.
+ * </p>
+ * <p>
+ * File layout, in native byte order: a header of {@value #HEADER_SIZE} bytes holding a magic number,
+ * the version, the size of the encoded list and the last published sequence number, followed by the
+ * two slots each holding a start sequence number, an end sequence number and the encoded list.
+ * </p>
+ * <p>
+ * This class is meant to be used by a single writer and a single reader. The ordering of the
+ * accesses to the mapped file relies on the fences emitted for volatile accesses.
+ * </p>
+ */
+public class SharedMemoryJointDesiredOutputTransport
+{
+   /** Identifies the file, reads "JDOT" in ASCII with a big-endian buffer. */
+   public static final int MAGIC_NUMBER = 0x4A444F54;
+   /** Version of the file layout, to be incremented for any change to the layout. */
+   public static final int VERSION = 1;
+
+   /** Size in bytes of the file header, a cache line. */
+   public static final int HEADER_SIZE = 64;
+
+   private static final int VERSION_OFFSET = 4;
+   private static final int PAYLOAD_SIZE_OFFSET = 8;
+   private static final int PUBLISHED_SEQUENCE_OFFSET = 16;
+
+   private static final int SLOT_START_SEQUENCE_OFFSET = 0;
+   private static final int SLOT_END_SEQUENCE_OFFSET = 8;
+   private static final int SLOT_PAYLOAD_OFFSET = 16;
+
+   /** Number of attempts at copying a consistent slot before {@link #readLatest} gives up. */
+   private static final int MAX_READ_ATTEMPTS = 4;
+
+   private final JointDesiredOutputListCodec codec;
+   private final int payloadSize;
+   private final int slotSize;
+
+   private final MappedByteBuffer mappedBuffer;
+   private final ByteBuffer writerView;
+   private final ByteBuffer readerView;
+   private final ByteBuffer writerBuffer;
+   private final ByteBuffer readerBuffer;
+
+   private long lastPublishedSequence;
+   private long lastReadSequence = 0;
+
+   private volatile int fence;
+
+   /**
+    * Creates a new transport over {@code file}, creating and initializing the file if needed.
+    *
+    * @param file   the file shared by the two processes.
+    * @param layout the list providing the joint ordering. Not modified.
+    * @throws IOException if the file could not be mapped or has been initialized for a different
+    *                     layout.
+    */
+   public SharedMemoryJointDesiredOutputTransport(Path file, JointDesiredOutputListReadOnly layout) throws IOException
+   {
+      codec = new JointDesiredOutputListCodec(layout);
+      payloadSize = codec.getEncodedSize();
+      slotSize = alignToCacheLine(SLOT_PAYLOAD_OFFSET + payloadSize);
+
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+      {
+         int fileSize = computeFileSize(layout.getNumberOfJointsWithDesiredOutput());
+         if (channel.size() != 0 && channel.size() != fileSize)
+            throw new IOException("The file " + file + " has been initialized for a different number of joints.");
+         mappedBuffer = channel.map(MapMode.READ_WRITE, 0, fileSize);
+      }
+      mappedBuffer.order(ByteOrder.nativeOrder());
+
+      if (mappedBuffer.getInt(0) == 0)
+      { // New file, the magic number is written last such that the header is complete once it is set.
+         mappedBuffer.putInt(VERSION_OFFSET, VERSION);
+         mappedBuffer.putInt(PAYLOAD_SIZE_OFFSET, payloadSize);
+         fullFence();
+         mappedBuffer.putInt(0, MAGIC_NUMBER);
+      }
+      else if (mappedBuffer.getInt(0) != MAGIC_NUMBER)
+      {
+         throw new IOException("The file " + file + " is not a joint desired output transport.");
+      }
+      else if (mappedBuffer.getInt(VERSION_OFFSET) != VERSION)
+      {
+         throw new IOException("Unsupported version: " + mappedBuffer.getInt(VERSION_OFFSET) + ", expected: " + VERSION);
+      }
+      else if (mappedBuffer.getInt(PAYLOAD_SIZE_OFFSET) != payloadSize)
+      {
+         throw new IOException("The file " + file + " has been initialized for a different number of joints.");
+      }
+
+      writerView = mappedBuffer.duplicate().order(ByteOrder.nativeOrder());
+      readerView = mappedBuffer.duplicate().order(ByteOrder.nativeOrder());
+      writerBuffer = ByteBuffer.allocate(payloadSize).order(ByteOrder.nativeOrder());
+      readerBuffer = ByteBuffer.allocate(payloadSize).order(ByteOrder.nativeOrder());
+      lastPublishedSequence = mappedBuffer.getLong(PUBLISHED_SEQUENCE_OFFSET);
+   }
+
+   /**
+    * Computes the size in bytes of the file used to exchange a list with the given number of joints.
+    *
+    * @param numberOfJoints the number of joints in the list.
+    * @return the size in bytes of the file.
+    */
+   public static int computeFileSize(int numberOfJoints)
+   {
+      return HEADER_SIZE + 2 * alignToCacheLine(SLOT_PAYLOAD_OFFSET + JointDesiredOutputListCodec.computeEncodedSize(numberOfJoints));
+   }
+
+   private static int alignToCacheLine(int size)
+   {
+      return (size + HEADER_SIZE - 1) / HEADER_SIZE * HEADER_SIZE;
+   }
+
+   /**
+    * Publishes {@code list} such that the next call to {@link #readLatest} in the other process reads
+    * it. Never blocks.
+    *
+    * @param list the list to publish. Not modified.
+    * @throws IllegalArgumentException if {@code list} does not have the joint ordering of this
+    *                                  transport.
+    */
+   public void publish(JointDesiredOutputListReadOnly list)
+   {
+      writerBuffer.clear();
+      codec.encode(list, writerBuffer);
+      writerBuffer.flip();
+
+      long sequence = lastPublishedSequence + 1;
+      int slotOffset = getSlotOffset(sequence);
+
+      writerView.putLong(slotOffset + SLOT_START_SEQUENCE_OFFSET, sequence);
+      fullFence();
+      writerView.position(slotOffset + SLOT_PAYLOAD_OFFSET);
+      writerView.put(writerBuffer);
+      fullFence();
+      writerView.putLong(slotOffset + SLOT_END_SEQUENCE_OFFSET, sequence);
+      fullFence();
+      writerView.putLong(PUBLISHED_SEQUENCE_OFFSET, sequence);
+      lastPublishedSequence = sequence;
+   }
+
+   /**
+    * Reads the last list published by the other process into {@code listToPack}. Never blocks.
+    *
+    * @param listToPack the list to write to. Modified only if a new list was read.
+    * @return {@code true} if a list published since the last call was read, {@code false} if nothing
+    *         new was published or if the writer kept overwriting the slot being read.
+    * @throws IllegalArgumentException if {@code listToPack} does not have the joint ordering of this
+    *                                  transport.
+    */
+   public boolean readLatest(JointDesiredOutputListBasics listToPack)
+   {
+      for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++)
+      {
+         long publishedSequence = readerView.getLong(PUBLISHED_SEQUENCE_OFFSET);
+
+         if (publishedSequence <= lastReadSequence)
+            return false;
+
+         int slotOffset = getSlotOffset(publishedSequence);
+         fullFence();
+         long endSequence = readerView.getLong(slotOffset + SLOT_END_SEQUENCE_OFFSET);
+         fullFence();
+         readerView.limit(slotOffset + SLOT_PAYLOAD_OFFSET + payloadSize);
+         readerView.position(slotOffset + SLOT_PAYLOAD_OFFSET);
+         readerBuffer.clear();
+         readerBuffer.put(readerView);
+         fullFence();
+         long startSequence = readerView.getLong(slotOffset + SLOT_START_SEQUENCE_OFFSET);
+         readerView.clear();
+
+         if (startSequence == endSequence && endSequence >= publishedSequence)
+         {
+            readerBuffer.flip();
+            codec.decode(readerBuffer, listToPack);
+            lastReadSequence = endSequence;
+            return true;
+         }
+      }
+
+      return false;
+   }
+
+   private int getSlotOffset(long sequence)
+   {
+      return HEADER_SIZE + (int) (sequence & 1L) * slotSize;
+   }
+
+   /**
+    * Orders the accesses to the mapped file before and after this call: volatile write followed by a
+    * volatile read.
+    */
+   private void fullFence()
+   {
+      fence = 0;
+      @SuppressWarnings("unused")
+      int ignored = fence;
+   }
+
+   /**
+    * @return the sequence number of the last list published by this transport, or found in the file
+    *         when it was opened.
+    */
+   public long getLastPublishedSequence()
+   {
+      return lastPublishedSequence;
+   }
+
+   /**
+    * @return the sequence number of the last list read by this transport, {@code 0} if none.
+    */
+   public long getLastReadSequence()
+   {
+      return lastReadSequence;
+   }
+
+   /**
+    * @return the codec used to encode and decode the lists.
+    */
+   public JointDesiredOutputListCodec getCodec()
+   {
+      return codec;
+   }
+}
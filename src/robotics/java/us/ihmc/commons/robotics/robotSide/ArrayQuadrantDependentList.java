@@ -0,0 +1,61 @@
+package us.ihmc.commons.robotics.robotSide;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Array backed alternative to {@link QuadrantDependentList}, see {@link ArraySegmentDependentList}.
+ * Unlike {@link QuadrantDependentList#quadrants()}, {@link #quadrants()} does not iterate through the
+ * quadrants when called.
+ */
+public class ArrayQuadrantDependentList<V> extends ArraySegmentDependentList<RobotQuadrant, V>
+{
+   /**
+    * Creates an empty list.
+    */
+   public ArrayQuadrantDependentList()
+   {
+      super(RobotQuadrant.values);
+   }
+
+   /**
+    * Initializes the four quadrants to values from the allocator.
+    */
+   public ArrayQuadrantDependentList(Supplier<V> allocator)
+   {
+      this(allocator.get(), allocator.get(), allocator.get(), allocator.get());
+   }
+
+   /**
+    * Initializes the four quadrants to the given values.
+    */
+   public ArrayQuadrantDependentList(V frontLeftObject, V frontRightObject, V hindLeftObject, V hindRightObject)
+   {
+      this();
+      set(RobotQuadrant.FRONT_LEFT, frontLeftObject);
+      set(RobotQuadrant.FRONT_RIGHT, frontRightObject);
+      set(RobotQuadrant.HIND_RIGHT, hindRightObject);
+      set(RobotQuadrant.HIND_LEFT, hindLeftObject);
+   }
+
+   /**
+    * Gets the quadrants contained in this list, the returned array is only valid until this list is
+    * next modified.
+    */
+   public RobotQuadrant[] quadrants()
+   {
+      return keys();
+   }
+
+   public static <V> ArrayQuadrantDependentList<V> build(Function<RobotQuadrant, V> values)
+   {
+      ArrayQuadrantDependentList<V> quadrantDependentList = new ArrayQuadrantDependentList<>();
+
+      for (RobotQuadrant quadrant : RobotQuadrant.values)
+      {
+         quadrantDependentList.set(quadrant, values.apply(quadrant));
+      }
+
+      return quadrantDependentList;
+   }
+}
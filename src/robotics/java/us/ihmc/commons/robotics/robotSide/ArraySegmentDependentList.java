@@ -0,0 +1,230 @@
+package us.ihmc.commons.robotics.robotSide;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Alternative to {@link SegmentDependentList} backed by an array indexed by the ordinal of the
+ * segments instead of an {@link java.util.EnumMap}.
+ * <p>
+ * A segment is contained in the list when its value is not {@code null}. The segments contained in
+ * the list are cached and updated when the list is modified, see {@link #keys()}, such that they can
+ * be iterated through with an index loop without allocating:
+ *
+ * <pre>
+ * E[] keys = list.keys();
+ * for (int i = 0; i &lt; keys.length; i++)
+ * {
+ *    V value = list.get(keys[i]);
+ *    ...
+ * }
+ * </pre>
+ * </p>
+ *
+ * @param <E> the type of segment.
+ * @param <V> the type of value.
+ */
+public class ArraySegmentDependentList<E extends Enum<E> & RobotSegment<E>, V> implements Iterable<V>
+{
+   private final E[] segments;
+   private final V[] values;
+   private int size = 0;
+   /** Arrays of the contained segments, indexed by the number of contained segments. */
+   private final E[][] keysArrays;
+
+   /**
+    * Creates a new empty list.
+    *
+    * @param segments all the values of the segment enum, e.g. {@link RobotSide#values}.
+    */
+   @SuppressWarnings("unchecked")
+   public ArraySegmentDependentList(E[] segments)
+   {
+      this.segments = segments;
+      values = (V[]) new Object[segments.length];
+      keysArrays = (E[][]) Array.newInstance(segments.getClass(), segments.length + 1);
+
+      for (int i = 0; i < segments.length; i++)
+         keysArrays[i] = Arrays.copyOf(segments, i);
+      keysArrays[segments.length] = segments;
+   }
+
+   /**
+    * Gets the value associated with {@code segment}.
+    *
+    * @param segment the segment to get the value of.
+    * @return the value, or {@code null} if the list does not contain {@code segment}.
+    */
+   public V get(E segment)
+   {
+      return values[segment.ordinal()];
+   }
+
+   /**
+    * Associates {@code value} with {@code segment}, setting {@code null} removes the segment.
+    *
+    * @param segment the segment to set the value of.
+    * @param value   the new value.
+    * @return the previous value, or {@code null} if the list did not contain {@code segment}.
+    */
+   public V set(E segment, V value)
+   {
+      int index = segment.ordinal();
+      V previous = values[index];
+      values[index] = value;
+
+      if ((previous == null) != (value == null))
+         updateKeys(value == null ? size - 1 : size + 1);
+
+      return previous;
+   }
+
+   /**
+    * Sets the values of this list to the values of {@code other}. Just copies the references to the
+    * values.
+    *
+    * @param other the list to copy. Not modified.
+    */
+   public void set(ArraySegmentDependentList<E, ? extends V> other)
+   {
+      for (int i = 0; i < segments.length; i++)
+         set(segments[i], other.get(segments[i]));
+   }
+
+   /**
+    * Removes {@code segment} from this list.
+    *
+    * @param segment the segment to remove.
+    * @return the previous value, or {@code null} if the list did not contain {@code segment}.
+    */
+   public V remove(E segment)
+   {
+      return set(segment, null);
+   }
+
+   /**
+    * Removes all the segments from this list.
+    */
+   public void clear()
+   {
+      Arrays.fill(values, null);
+      size = 0;
+   }
+
+   /**
+    * @param segment the segment to test.
+    * @return whether this list holds a value for {@code segment}.
+    */
+   public boolean containsKey(E segment)
+   {
+      return values[segment.ordinal()] != null;
+   }
+
+   /**
+    * @return the number of segments contained in this list.
+    */
+   public int size()
+   {
+      return size;
+   }
+
+   /**
+    * @return whether this list contains no segment.
+    */
+   public boolean isEmpty()
+   {
+      return size == 0;
+   }
+
+   /**
+    * Gets the segments contained in this list, in the order of their ordinal.
+    * <p>
+    * The returned array is cached and is only valid until this list is next modified.
+    * </p>
+    *
+    * @return the contained segments.
+    */
+   public E[] keys()
+   {
+      return keysArrays[size];
+   }
+
+   private void updateKeys(int newSize)
+   {
+      size = newSize;
+
+      if (newSize == segments.length)
+         return;
+
+      E[] keys = keysArrays[newSize];
+
+      for (int i = 0, j = 0; i < segments.length; i++)
+      {
+         if (values[i] != null)
+            keys[j++] = segments[i];
+      }
+   }
+
+   /**
+    * Performs {@code action} for the value of each contained segment, in the order of the segment
+    * ordinals. Does not allocate.
+    */
+   @Override
+   public void forEach(Consumer<? super V> action)
+   {
+      for (int i = 0; i < values.length; i++)
+      {
+         if (values[i] != null)
+            action.accept(values[i]);
+      }
+   }
+
+   @Override
+   public Iterator<V> iterator()
+   {
+      return new Itr();
+   }
+
+   @Override
+   public String toString()
+   {
+      StringBuilder sb = new StringBuilder("type: " + getClass());
+
+      for (int i = 0; i < segments.length; i++)
+         sb.append("\n").append(segments[i].getCamelCaseNameForStartOfExpression()).append(": ").append(values[i]);
+
+      return sb.toString();
+   }
+
+   private class Itr implements Iterator<V>
+   {
+      private int index = nextIndex(0);
+
+      private int nextIndex(int start)
+      {
+         while (start < values.length && values[start] == null)
+            start++;
+         return start;
+      }
+
+      @Override
+      public boolean hasNext()
+      {
+         return index < values.length;
+      }
+
+      @Override
+      public V next()
+      {
+         if (!hasNext())
+            throw new NoSuchElementException();
+
+         V next = values[index];
+         index = nextIndex(index + 1);
+         return next;
+      }
+   }
+}
@@ -0,0 +1,53 @@
+package us.ihmc.commons.robotics.robotSide;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Array backed alternative to {@link SideDependentList}, see {@link ArraySegmentDependentList}.
+ */
+public class ArraySideDependentList<V> extends ArraySegmentDependentList<RobotSide, V>
+{
+   /**
+    * Creates an empty list.
+    */
+   public ArraySideDependentList()
+   {
+      super(RobotSide.values);
+   }
+
+   /**
+    * Initializes both sides to the given values.
+    */
+   public ArraySideDependentList(V leftObject, V rightObject)
+   {
+      this();
+      set(RobotSide.LEFT, leftObject);
+      set(RobotSide.RIGHT, rightObject);
+   }
+
+   /**
+    * Initializes both sides to values from the supplier.
+    */
+   public ArraySideDependentList(Supplier<V> valueSupplier)
+   {
+      this(valueSupplier.get(), valueSupplier.get());
+   }
+
+   /**
+    * Initializes both sides to values from the valueFunction.
+    */
+   public ArraySideDependentList(Function<RobotSide, V> valueFunction)
+   {
+      this(valueFunction.apply(RobotSide.LEFT), valueFunction.apply(RobotSide.RIGHT));
+   }
+
+   /**
+    * Gets the sides contained in this list, the returned array is only valid until this list is next
+    * modified.
+    */
+   public RobotSide[] sides()
+   {
+      return keys();
+   }
+}
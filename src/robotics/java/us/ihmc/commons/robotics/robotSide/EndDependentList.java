@@ -5,7 +5,16 @@ import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
-
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A place to store values per robot end backed by an {@link EnumMap}.
+ * <p>
+ * {@link #iterator()} allocates a new iterator at each call, in hot paths prefer {@link #forEach(Consumer)},
+ * {@link #forEach(BiConsumer)} or an index loop over {@link RobotEnd#values}.
+ * </p>
+ */
 public class EndDependentList<V> extends EnumMap<RobotEnd, V> implements Iterable<V>
 {
    private static final long serialVersionUID = -6514328471068877058L;
@@ -74,6 +83,39 @@ public class EndDependentList<V> extends EnumMap<RobotEnd, V> implements Iterabl
       return new EndDependentList<ArrayList<V>>(new ArrayList<V>(), new ArrayList<V>());
    }
 
+   /**
+    * Performs {@code action} for the hind and then the front value, as {@link #iterator()} would.
+    * Does not allocate.
+    */
+   @Override
+   public void forEach(Consumer<? super V> action)
+   {
+      for (int i = 0; i < RobotEnd.values.length; i++)
+      {
+         action.accept(get(RobotEnd.values[i]));
+      }
+   }
+
+   /**
+    * Performs {@code action} for each end contained in this list. Unlike
+    * {@link java.util.Map#forEach(BiConsumer)}, does not allocate.
+    */
+   @Override
+   public void forEach(BiConsumer<? super RobotEnd, ? super V> action)
+   {
+      for (int i = 0; i < RobotEnd.values.length; i++)
+      {
+         RobotEnd robotEnd = RobotEnd.values[i];
+
+         if (containsKey(robotEnd))
+            action.accept(robotEnd, get(robotEnd));
+      }
+   }
+
+   /**
+    * Creates a new iterator over the hind and then the front value. Allocates, see
+    * {@link #forEach(Consumer)} for hot paths.
+    */
    public Iterator<V> iterator()
    {
       return new Itr();
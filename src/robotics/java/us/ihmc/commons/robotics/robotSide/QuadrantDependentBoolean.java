@@ -0,0 +1,21 @@
+package us.ihmc.commons.robotics.robotSide;
+
+/**
+ * Primitive alternative to {@code QuadrantDependentList<Boolean>}, see {@link SegmentDependentBoolean}.
+ */
+public class QuadrantDependentBoolean extends SegmentDependentBoolean<RobotQuadrant>
+{
+   public QuadrantDependentBoolean()
+   {
+      super(RobotQuadrant.values);
+   }
+
+   public QuadrantDependentBoolean(boolean frontLeftValue, boolean frontRightValue, boolean hindLeftValue, boolean hindRightValue)
+   {
+      this();
+      set(RobotQuadrant.FRONT_LEFT, frontLeftValue);
+      set(RobotQuadrant.FRONT_RIGHT, frontRightValue);
+      set(RobotQuadrant.HIND_RIGHT, hindRightValue);
+      set(RobotQuadrant.HIND_LEFT, hindLeftValue);
+   }
+}
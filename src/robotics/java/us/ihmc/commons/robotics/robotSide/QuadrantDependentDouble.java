@@ -0,0 +1,21 @@
+package us.ihmc.commons.robotics.robotSide;
+
+/**
+ * Primitive alternative to {@code QuadrantDependentList<Double>}, see {@link SegmentDependentDouble}.
+ */
+public class QuadrantDependentDouble extends SegmentDependentDouble<RobotQuadrant>
+{
+   public QuadrantDependentDouble()
+   {
+      super(RobotQuadrant.values);
+   }
+
+   public QuadrantDependentDouble(double frontLeftValue, double frontRightValue, double hindLeftValue, double hindRightValue)
+   {
+      this();
+      set(RobotQuadrant.FRONT_LEFT, frontLeftValue);
+      set(RobotQuadrant.FRONT_RIGHT, frontRightValue);
+      set(RobotQuadrant.HIND_RIGHT, hindRightValue);
+      set(RobotQuadrant.HIND_LEFT, hindLeftValue);
+   }
+}
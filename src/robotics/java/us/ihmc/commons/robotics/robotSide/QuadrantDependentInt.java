@@ -0,0 +1,21 @@
+package us.ihmc.commons.robotics.robotSide;
+
+/**
+ * Primitive alternative to {@code QuadrantDependentList<Integer>}, see {@link SegmentDependentInt}.
+ */
+public class QuadrantDependentInt extends SegmentDependentInt<RobotQuadrant>
+{
+   public QuadrantDependentInt()
+   {
+      super(RobotQuadrant.values);
+   }
+
+   public QuadrantDependentInt(int frontLeftValue, int frontRightValue, int hindLeftValue, int hindRightValue)
+   {
+      this();
+      set(RobotQuadrant.FRONT_LEFT, frontLeftValue);
+      set(RobotQuadrant.FRONT_RIGHT, frontRightValue);
+      set(RobotQuadrant.HIND_RIGHT, hindRightValue);
+      set(RobotQuadrant.HIND_LEFT, hindLeftValue);
+   }
+}
@@ -0,0 +1,60 @@
+package us.ihmc.commons.robotics.robotSide;
+
+import java.util.Arrays;
+
+/**
+ * Holds a boolean per segment in an array indexed by the ordinal of the segments, avoiding the boxing
+ * and the {@link java.util.EnumMap} lookups of a {@link SegmentDependentList}.
+ *
+ * @param <E> the type of segment.
+ */
+public class SegmentDependentBoolean<E extends Enum<E> & RobotSegment<E>>
+{
+   private final E[] segments;
+   private final boolean[] values;
+
+   /**
+    * Creates a new list with all the values initialized to {@code false}.
+    *
+    * @param segments all the values of the segment enum, e.g. {@link RobotSide#values}.
+    */
+   public SegmentDependentBoolean(E[] segments)
+   {
+      this.segments = segments;
+      values = new boolean[segments.length];
+   }
+
+   public boolean get(E segment)
+   {
+      return values[segment.ordinal()];
+   }
+
+   public void set(E segment, boolean value)
+   {
+      values[segment.ordinal()] = value;
+   }
+
+   public void set(SegmentDependentBoolean<E> other)
+   {
+      System.arraycopy(other.values, 0, values, 0, values.length);
+   }
+
+   /**
+    * Sets the value of every segment to {@code value}.
+    */
+   public void setAll(boolean value)
+   {
+      Arrays.fill(values, value);
+   }
+
+   @Override
+   public String toString()
+   {
+      StringBuilder sb = new StringBuilder("type: " + getClass());
+
+      for (int i = 0; i < segments.length; i++)
+         sb.append("\n").append(segments[i].getCamelCaseNameForStartOfExpression()).append(": ").append(values[i]);
+
+      return sb.toString();
+   }
+}
@@ -0,0 +1,68 @@
+package us.ihmc.commons.robotics.robotSide;
+
+import java.util.Arrays;
+
+/**
+ * Holds a int per segment in an array indexed by the ordinal of the segments, avoiding the boxing
+ * and the {@link java.util.EnumMap} lookups of a {@link SegmentDependentList}.
+ *
+ * @param <E> the type of segment.
+ */
+public class SegmentDependentInt<E extends Enum<E> & RobotSegment<E>>
+{
+   private final E[] segments;
+   private final int[] values;
+
+   /**
+    * Creates a new list with all the values initialized to {@code 0}.
+    *
+    * @param segments all the values of the segment enum, e.g. {@link RobotSide#values}.
+    */
+   public SegmentDependentInt(E[] segments)
+   {
+      this.segments = segments;
+      values = new int[segments.length];
+   }
+
+   public int get(E segment)
+   {
+      return values[segment.ordinal()];
+   }
+
+   public void set(E segment, int value)
+   {
+      values[segment.ordinal()] = value;
+   }
+
+   public void set(SegmentDependentInt<E> other)
+   {
+      System.arraycopy(other.values, 0, values, 0, values.length);
+   }
+
+   /**
+    * Sets the value of every segment to {@code value}.
+    */
+   public void setAll(int value)
+   {
+      Arrays.fill(values, value);
+   }
+
+   /**
+    * Adds {@code value} to the value of {@code segment}.
+    */
+   public void add(E segment, int value)
+   {
+      values[segment.ordinal()] += value;
+   }
+
+   @Override
+   public String toString()
+   {
+      StringBuilder sb = new StringBuilder("type: " + getClass());
+
+      for (int i = 0; i < segments.length; i++)
+         sb.append("\n").append(segments[i].getCamelCaseNameForStartOfExpression()).append(": ").append(values[i]);
+
+      return sb.toString();
+   }
+}
@@ -1,12 +1,25 @@
 package us.ihmc.commons.robotics.robotSide;
 
 import java.util.EnumMap;
+import java.util.function.BiConsumer;
 
+/**
+ * Base for the lists holding a value per robot segment, backed by an {@link EnumMap}.
+ * <p>
+ * Iterating through the map views, e.g. {@link #keySet()}, {@link #values()} or
+ * {@link #entrySet()}, allocates an iterator. In hot paths, prefer
+ * {@link #forEach(BiConsumer)} or an index loop over the segment values, e.g.
+ * {@link RobotSide#values}, none of which allocate.
+ * </p>
+ */
 public class SegmentDependentList<E extends Enum<E> & RobotSegment<E>, V> extends EnumMap<E, V>
 { 
+   private final E[] segments;
+
    public SegmentDependentList(Class<E> keyClass)
    {
       super(keyClass);
+      segments = keyClass.getEnumConstants();
    }
 
    public V get(E key)
@@ -18,4 +31,20 @@ public class SegmentDependentList<E extends Enum<E> & RobotSegment<E>, V> extend
    {
       return this.put(segment, element);
    }
+
+   /**
+    * Performs {@code action} for each segment contained in this list, in the order of the segment
+    * ordinals. Unlike {@link java.util.Map#forEach(BiConsumer)}, does not allocate.
+    */
+   @Override
+   public void forEach(BiConsumer<? super E, ? super V> action)
+   {
+      for (int i = 0; i < segments.length; i++)
+      {
+         E segment = segments[i];
+
+         if (containsKey(segment))
+            action.accept(segment, get(segment));
+      }
+   }
 }
@@ -0,0 +1,19 @@
+package us.ihmc.commons.robotics.robotSide;
+
+/**
+ * Primitive alternative to {@code SideDependentList<Boolean>}, see {@link SegmentDependentBoolean}.
+ */
+public class SideDependentBoolean extends SegmentDependentBoolean<RobotSide>
+{
+   public SideDependentBoolean()
+   {
+      super(RobotSide.values);
+   }
+
+   public SideDependentBoolean(boolean leftValue, boolean rightValue)
+   {
+      this();
+      set(RobotSide.LEFT, leftValue);
+      set(RobotSide.RIGHT, rightValue);
+   }
+}
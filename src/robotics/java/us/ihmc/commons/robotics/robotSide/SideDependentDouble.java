@@ -0,0 +1,19 @@
+package us.ihmc.commons.robotics.robotSide;
+
+/**
+ * Primitive alternative to {@code SideDependentList<Double>}, see {@link SegmentDependentDouble}.
+ */
+public class SideDependentDouble extends SegmentDependentDouble<RobotSide>
+{
+   public SideDependentDouble()
+   {
+      super(RobotSide.values);
+   }
+
+   public SideDependentDouble(double leftValue, double rightValue)
+   {
+      this();
+      set(RobotSide.LEFT, leftValue);
+      set(RobotSide.RIGHT, rightValue);
+   }
+}
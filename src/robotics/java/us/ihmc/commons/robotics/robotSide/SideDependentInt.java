@@ -0,0 +1,19 @@
+package us.ihmc.commons.robotics.robotSide;
+
+/**
+ * Primitive alternative to {@code SideDependentList<Integer>}, see {@link SegmentDependentInt}.
+ */
+public class SideDependentInt extends SegmentDependentInt<RobotSide>
+{
+   public SideDependentInt()
+   {
+      super(RobotSide.values);
+   }
+
+   public SideDependentInt(int leftValue, int rightValue)
+   {
+      this();
+      set(RobotSide.LEFT, leftValue);
+      set(RobotSide.RIGHT, rightValue);
+   }
+}
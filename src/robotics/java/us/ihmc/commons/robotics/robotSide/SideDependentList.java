@@ -5,11 +5,16 @@ import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
  * An place to stored sided values backed by an {@link EnumMap}/
+ * <p>
+ * {@link #iterator()} allocates a new iterator at each call, in hot paths prefer {@link #forEach(Consumer)},
+ * {@link #forEach(java.util.function.BiConsumer)} or an index loop over {@link RobotSide#values}.
+ * </p>
  */
 public class SideDependentList<V> extends SegmentDependentList<RobotSide, V> implements Iterable<V>
 {
@@ -131,6 +136,23 @@ public class SideDependentList<V> extends SegmentDependentList<RobotSide, V> imp
       return new SideDependentList<ArrayList<V>>(new ArrayList<V>(), new ArrayList<V>());
    }
 
+   /**
+    * Performs {@code action} for the left and then the right value, as {@link #iterator()} would.
+    * Does not allocate.
+    */
+   @Override
+   public void forEach(Consumer<? super V> action)
+   {
+      for (int i = 0; i < RobotSide.values.length; i++)
+      {
+         action.accept(get(RobotSide.values[i]));
+      }
+   }
+
+   /**
+    * Creates a new iterator over the left and then the right value. Allocates, see
+    * {@link #forEach(Consumer)} for hot paths.
+    */
    @Override
    public Iterator<V> iterator()
    {
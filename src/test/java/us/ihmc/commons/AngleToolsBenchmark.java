@@ -0,0 +1,93 @@
+package us.ihmc.commons;
+
+import java.util.Random;
+
+import us.ihmc.log.LogTools;
+
+/**
+ * Compares the batch angle operations of {@link AngleTools} against calling the scalar methods in a
+ * loop.
+ */
+public class AngleToolsBenchmark
+{
+   private static final int NUMBER_OF_ANGLES = 100000;
+   private static final int WARMUP_ITERATIONS = 2000;
+   private static final int ITERATIONS = 2000;
+
+   private static double blackHole;
+
+   public static void main(String[] args)
+   {
+      Random random = new Random(5519);
+      double[] anglesA = RandomNumbers.nextDoubleArray(random, NUMBER_OF_ANGLES, 20.0);
+      double[] anglesB = RandomNumbers.nextDoubleArray(random, NUMBER_OF_ANGLES, 20.0);
+      double[] result = new double[NUMBER_OF_ANGLES];
+
+      for (int i = 0; i < WARMUP_ITERATIONS; i++)
+      {
+         trimScalar(anglesA, result);
+         AngleTools.trimAngleMinusPiToPi(anglesA, result);
+         differenceScalar(anglesA, anglesB, result);
+         AngleTools.computeAngleDifferenceMinusPiToPi(anglesA, anglesB, result);
+         averageScalar(anglesA, anglesB, result);
+         AngleTools.computeAngleAverage(anglesA, anglesB, result);
+         blackHole += result[i % NUMBER_OF_ANGLES];
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         trimScalar(anglesA, result);
+      report("trimAngleMinusPiToPi (scalar)", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         AngleTools.trimAngleMinusPiToPi(anglesA, result);
+      report("trimAngleMinusPiToPi (batch)", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         differenceScalar(anglesA, anglesB, result);
+      report("computeAngleDifferenceMinusPiToPi (scalar)", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         AngleTools.computeAngleDifferenceMinusPiToPi(anglesA, anglesB, result);
+      report("computeAngleDifferenceMinusPiToPi (batch)", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         averageScalar(anglesA, anglesB, result);
+      report("computeAngleAverage (scalar)", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         AngleTools.computeAngleAverage(anglesA, anglesB, result);
+      report("computeAngleAverage (batch)", start);
+
+      LogTools.info("Ignore: " + blackHole);
+   }
+
+   private static void trimScalar(double[] angles, double[] result)
+   {
+      for (int i = 0; i < angles.length; i++)
+         result[i] = AngleTools.trimAngleMinusPiToPi(angles[i]);
+   }
+
+   private static void differenceScalar(double[] anglesA, double[] anglesB, double[] result)
+   {
+      for (int i = 0; i < anglesA.length; i++)
+         result[i] = AngleTools.computeAngleDifferenceMinusPiToPi(anglesA[i], anglesB[i]);
+   }
+
+   private static void averageScalar(double[] anglesA, double[] anglesB, double[] result)
+   {
+      for (int i = 0; i < anglesA.length; i++)
+         result[i] = AngleTools.computeAngleAverage(anglesA[i], anglesB[i]);
+   }
+
+   private static void report(String name, long startNanos)
+   {
+      double microsecondsPerCall = (System.nanoTime() - startNanos) / 1.0e3 / ITERATIONS;
+      LogTools.info(String.format("%-45s %10.2f us per %d angles", name, microsecondsPerCall, NUMBER_OF_ANGLES));
+   }
+}
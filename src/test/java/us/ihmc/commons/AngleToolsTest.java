@@ -4,6 +4,7 @@ package us.ihmc.commons;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Random;
 
 import org.junit.jupiter.api.AfterEach;
@@ -155,6 +156,103 @@ public class AngleToolsTest
       }
    }
 
+   @Test
+   public void testBatchAngleOperations()
+   {
+      Random random = new Random(6734L);
+      int length = 1000;
+
+      double[] anglesA = RandomNumbers.nextDoubleArray(random, length, 200.0);
+      // Add some values exactly on the range boundaries.
+      anglesA[0] = Math.PI;
+      anglesA[1] = -Math.PI;
+      anglesA[2] = -Math.PI - 0.5 * AngleTools.EPSILON;
+      anglesA[3] = 0.0;
+      anglesA[4] = Double.NaN;
+
+      double[] anglesB = new double[length];
+      for (int i = 0; i < length; i++)
+         anglesB[i] = anglesA[i] + RandomNumbers.nextDouble(random, 2.0 * Math.PI - 1.0e-6);
+
+      double[] result = new double[length];
+
+      AngleTools.trimAngleMinusPiToPi(anglesA, result);
+      for (int i = 0; i < length; i++)
+         assertEquals(AngleTools.trimAngleMinusPiToPi(anglesA[i]), result[i]);
+
+      double startOfRange = RandomNumbers.nextDouble(random, 10.0);
+      AngleTools.shiftAngleToStartOfRange(anglesA, startOfRange, result);
+      for (int i = 0; i < length; i++)
+         assertEquals(AngleTools.shiftAngleToStartOfRange(anglesA[i], startOfRange), result[i]);
+
+      AngleTools.computeAngleDifferenceMinusPiToPi(anglesB, anglesA, result);
+      for (int i = 0; i < length; i++)
+         assertEquals(AngleTools.computeAngleDifferenceMinusPiToPi(anglesB[i], anglesA[i]), result[i]);
+
+      AngleTools.computeAngleAverage(anglesA, anglesB, result);
+      for (int i = 0; i < length; i++)
+         assertEquals(AngleTools.computeAngleAverage(anglesA[i], anglesB[i]), result[i]);
+
+      // Large differences are only equal to within rounding error.
+      double[] farAngles = RandomNumbers.nextDoubleArray(random, length, 2000.0);
+      AngleTools.computeAngleDifferenceMinusPiToPi(farAngles, anglesA, result);
+      for (int i = 5; i < length; i++)
+         assertEquals(AngleTools.computeAngleDifferenceMinusPiToPi(farAngles[i], anglesA[i]), result[i], 1.0e-12);
+
+      // Ranges and in place
+      double[] copy = anglesA.clone();
+      AngleTools.trimAngleMinusPiToPi(copy, 10, 20, copy);
+      for (int i = 0; i < length; i++)
+      {
+         if (i >= 10 && i < 30)
+            assertEquals(AngleTools.trimAngleMinusPiToPi(anglesA[i]), copy[i]);
+         else
+            assertEquals(anglesA[i], copy[i]);
+      }
+
+      assertThrows(IndexOutOfBoundsException.class, () -> AngleTools.trimAngleMinusPiToPi(anglesA, 990, 20, new double[length]));
+      assertThrows(IndexOutOfBoundsException.class, () -> AngleTools.computeAngleAverage(anglesA, new double[10], new double[length]));
+   }
+
+   @Test
+   public void testComputeAngleAverageRange()
+   {
+      Random random = new Random(1745L);
+
+      for (int i = 0; i < 100; i++)
+      {
+         double[] angles = RandomNumbers.nextDoubleArray(random, 20, 1.0);
+         double offsetAngle = AngleTools.generateRandomAngle(random);
+         for (int j = 0; j < angles.length; j++)
+            angles[j] += offsetAngle;
+
+         assertEquals(AngleTools.computeAngleAverage(angles), AngleTools.computeAngleAverage(angles, 0, angles.length), 1.0e-12);
+         assertEquals(AngleTools.computeAngleAverage(Arrays.copyOfRange(angles, 5, 12)), AngleTools.computeAngleAverage(angles, 5, 7), 1.0e-12);
+      }
+   }
+
+   @Test
+   public void testGenerateArrayOfTestAnglesToPack()
+   {
+      boolean[] booleans = {false, true};
+
+      for (boolean includeZero : booleans)
+      {
+         for (boolean includePlusMinusPI : booleans)
+         {
+            double[] expected = AngleTools.generateArrayOfTestAngles(100, 1e-1, includeZero, includePlusMinusPI);
+            assertEquals(expected.length, AngleTools.computeNumberOfTestAngles(100, includeZero, includePlusMinusPI));
+
+            double[] angles = new double[expected.length + 2];
+            assertEquals(expected.length, AngleTools.generateArrayOfTestAngles(100, 1e-1, includeZero, includePlusMinusPI, angles, 2));
+            assertArrayEquals(expected, Arrays.copyOfRange(angles, 2, angles.length));
+
+            assertThrows(IndexOutOfBoundsException.class,
+                         () -> AngleTools.generateArrayOfTestAngles(100, 1e-1, includeZero, includePlusMinusPI, new double[expected.length], 1));
+         }
+      }
+   }
+
    @Test
    public void testGenerateArrayOfTestAngles()
    {
@@ -0,0 +1,108 @@
+package us.ihmc.commons;
+
+import java.util.Random;
+
+import us.ihmc.log.LogTools;
+
+/**
+ * Compares {@link ArrayKernels} against the equivalent {@link MathTools} and {@link ArrayTools}
+ * methods on a large sensor window.
+ */
+public class ArrayKernelsBenchmark
+{
+   private static final int WINDOW_SIZE = 100000;
+   private static final int WARMUP_ITERATIONS = 5000;
+   private static final int ITERATIONS = 5000;
+
+   private static double blackHole;
+
+   public static void main(String[] args)
+   {
+      Random random = new Random(9814);
+      double[] window = RandomNumbers.nextDoubleArray(random, WINDOW_SIZE, 10.0);
+      double[] other = window.clone();
+      double[] result = new double[WINDOW_SIZE];
+
+      for (int i = 0; i < WARMUP_ITERATIONS; i++)
+      {
+         blackHole += MathTools.sum(window) + ArrayKernels.sum(window);
+         blackHole += MathTools.max(window) + ArrayKernels.max(window, 0, WINDOW_SIZE);
+         blackHole += MathTools.dotPlus(window, 1.0)[0];
+         ArrayKernels.dotPlus(window, 1.0, result);
+         blackHole += MathTools.diff(window)[0];
+         ArrayKernels.diff(window, result);
+         blackHole += ArrayTools.deltaEquals(window, other, 0.1) ? 1.0 : 0.0;
+         blackHole += ArrayKernels.deltaEquals(window, 0, other, 0, WINDOW_SIZE, 0.1) ? 1.0 : 0.0;
+         blackHole += ArrayTools.getMaximumAbsoluteChangeBetweenTicks(window);
+         blackHole += ArrayKernels.getMaximumAbsoluteChangeBetweenTicks(window, 0, WINDOW_SIZE);
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         blackHole += MathTools.sum(window);
+      report("MathTools.sum", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         blackHole += ArrayKernels.sum(window);
+      report("ArrayKernels.sum", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         blackHole += MathTools.max(window);
+      report("MathTools.max", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         blackHole += ArrayKernels.max(window, 0, WINDOW_SIZE);
+      report("ArrayKernels.max", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         blackHole += MathTools.dotPlus(window, 1.0)[0];
+      report("MathTools.dotPlus", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         ArrayKernels.dotPlus(window, 1.0, result);
+      report("ArrayKernels.dotPlus", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         blackHole += MathTools.diff(window)[0];
+      report("MathTools.diff", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         ArrayKernels.diff(window, result);
+      report("ArrayKernels.diff", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         blackHole += ArrayTools.deltaEquals(window, other, 0.1) ? 1.0 : 0.0;
+      report("ArrayTools.deltaEquals", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         blackHole += ArrayKernels.deltaEquals(window, 0, other, 0, WINDOW_SIZE, 0.1) ? 1.0 : 0.0;
+      report("ArrayKernels.deltaEquals", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         blackHole += ArrayTools.getMaximumAbsoluteChangeBetweenTicks(window);
+      report("ArrayTools.getMaximumAbsoluteChange", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         blackHole += ArrayKernels.getMaximumAbsoluteChangeBetweenTicks(window, 0, WINDOW_SIZE);
+      report("ArrayKernels.getMaximumAbsoluteChange", start);
+
+      LogTools.info("Ignore: " + blackHole);
+   }
+
+   private static void report(String name, long startNanos)
+   {
+      double microsecondsPerCall = (System.nanoTime() - startNanos) / 1.0e3 / ITERATIONS;
+      LogTools.info(String.format("%-40s %10.2f us per %d elements", name, microsecondsPerCall, WINDOW_SIZE));
+   }
+}
@@ -0,0 +1,141 @@
+package us.ihmc.commons;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ArrayKernelsTest
+{
+   private static final int ITERATIONS = 100;
+   private static final double EPSILON = 1.0e-12;
+
+   @Test
+   public void testReductions()
+   {
+      Random random = new Random(3491);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         double[] array = RandomNumbers.nextDoubleArray(random, random.nextInt(50) + 1, 10.0);
+         int offset = random.nextInt(array.length);
+         int length = random.nextInt(array.length - offset + 1);
+         double[] range = Arrays.copyOfRange(array, offset, offset + length);
+
+         assertEquals(MathTools.sum(array), ArrayKernels.sum(array), EPSILON);
+         assertEquals(MathTools.sum(range), ArrayKernels.sum(array, offset, length), EPSILON);
+         assertEquals(MathTools.min(range), ArrayKernels.min(array, offset, length));
+         assertEquals(MathTools.max(range), ArrayKernels.max(array, offset, length));
+         if (length > 0)
+            assertEquals(MathTools.average(range), ArrayKernels.average(array, offset, length), EPSILON);
+
+         int[] intArray = RandomNumbers.nextIntArray(random, array.length, 100);
+         assertEquals(MathTools.sum(Arrays.copyOfRange(intArray, offset, offset + length)), ArrayKernels.sum(intArray, offset, length));
+      }
+
+      assertEquals(-Double.MAX_VALUE, ArrayKernels.max(new double[0], 0, 0));
+      assertEquals(Double.MAX_VALUE, ArrayKernels.min(new double[0], 0, 0));
+      assertTrue(Double.isNaN(ArrayKernels.max(new double[] {1.0, 2.0, Double.NaN, 3.0, 4.0}, 0, 5)));
+      assertTrue(Double.isNaN(ArrayKernels.min(new double[] {1.0, 2.0, 3.0, 4.0, Double.NaN}, 0, 5)));
+   }
+
+   @Test
+   public void testCumulativeSumDiffAndDotPlus()
+   {
+      Random random = new Random(8521);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         double[] array = RandomNumbers.nextDoubleArray(random, random.nextInt(50) + 1, 10.0);
+         double addend = RandomNumbers.nextDouble(random, 5.0);
+
+         double[] result = new double[array.length];
+         ArrayKernels.cumulativeSum(array, result);
+         assertArrayEquals(MathTools.cumulativeSum(array), result);
+
+         result = new double[array.length - 1];
+         ArrayKernels.diff(array, result);
+         assertArrayEquals(MathTools.diff(array), result);
+
+         result = new double[array.length];
+         ArrayKernels.dotPlus(array, addend, result);
+         assertArrayEquals(MathTools.dotPlus(array, addend), result);
+
+         int[] intArray = RandomNumbers.nextIntArray(random, array.length, 100);
+         int[] intResult = new int[intArray.length];
+         ArrayKernels.dotPlus(intArray, 3, intResult);
+         assertArrayEquals(MathTools.dotPlus(intArray, 3), intResult);
+
+         // In place
+         double[] copy = array.clone();
+         ArrayKernels.cumulativeSum(copy, copy);
+         assertArrayEquals(MathTools.cumulativeSum(array), copy);
+
+         copy = array.clone();
+         ArrayKernels.diff(copy, copy);
+         assertArrayEquals(MathTools.diff(array), Arrays.copyOf(copy, array.length - 1));
+
+         copy = array.clone();
+         ArrayKernels.dotPlus(copy, addend, copy);
+         assertArrayEquals(MathTools.dotPlus(array, addend), copy);
+      }
+   }
+
+   @Test
+   public void testRangesAndOverlaps()
+   {
+      double[] array = {1.0, 2.0, 4.0, 7.0, 11.0, 16.0};
+
+      double[] result = new double[5];
+      ArrayKernels.cumulativeSum(array, 2, 3, result, 1);
+      assertArrayEquals(new double[] {0.0, 4.0, 11.0, 22.0, 0.0}, result);
+
+      result = new double[4];
+      ArrayKernels.diff(array, 1, 4, result, 1);
+      assertArrayEquals(new double[] {0.0, 2.0, 3.0, 4.0}, result);
+
+      double[] copy = array.clone();
+      ArrayKernels.diff(copy, 0, 4, copy, 2);
+      assertArrayEquals(new double[] {1.0, 2.0, 1.0, 2.0, 3.0, 16.0}, copy);
+
+      copy = array.clone();
+      ArrayKernels.dotPlus(copy, 0, 4, 1.0, copy, 2);
+      assertArrayEquals(new double[] {1.0, 2.0, 2.0, 3.0, 5.0, 8.0}, copy);
+
+      assertThrows(IllegalArgumentException.class, () -> ArrayKernels.cumulativeSum(array, 0, 4, array, 1));
+      assertThrows(IndexOutOfBoundsException.class, () -> ArrayKernels.sum(array, 4, 3));
+      assertThrows(IndexOutOfBoundsException.class, () -> ArrayKernels.dotPlus(array, 0, 6, 1.0, new double[5], 0));
+      assertThrows(IllegalArgumentException.class, () -> ArrayKernels.diff(array, 0, 0, array, 0));
+   }
+
+   @Test
+   public void testDeltaEqualsAndContinuity()
+   {
+      Random random = new Random(1298);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         double[] a = RandomNumbers.nextDoubleArray(random, random.nextInt(50) + 1, 10.0);
+         double[] b = a.clone();
+         double delta = 0.1;
+
+         for (int j = 0; j < b.length; j++)
+            b[j] += RandomNumbers.nextDouble(random, 0.09);
+         assertEquals(ArrayTools.deltaEquals(a, b, delta), ArrayKernels.deltaEquals(a, 0, b, 0, a.length, delta));
+         assertTrue(ArrayKernels.deltaEquals(a, 0, b, 0, a.length, delta));
+
+         b[random.nextInt(b.length)] += 0.2;
+         assertEquals(ArrayTools.deltaEquals(a, b, delta), ArrayKernels.deltaEquals(a, 0, b, 0, a.length, delta));
+         assertFalse(ArrayKernels.deltaEquals(a, 0, b, 0, a.length, delta));
+
+         assertEquals(ArrayTools.getMaximumAbsoluteChangeBetweenTicks(a), ArrayKernels.getMaximumAbsoluteChangeBetweenTicks(a, 0, a.length));
+         assertEquals(ArrayTools.isContinuous(a, 5.0), ArrayKernels.isContinuous(a, 0, a.length, 5.0));
+      }
+
+      assertFalse(ArrayKernels.deltaEquals(null, 0, new double[1], 0, 1, 0.1));
+      assertEquals(0.0, ArrayKernels.getMaximumAbsoluteChangeBetweenTicks(new double[] {1.0}, 0, 1));
+      assertEquals(3.0, ArrayKernels.getMaximumAbsoluteChangeBetweenTicks(new double[] {1.0, Double.NaN, 0.0, 3.0}, 0, 4));
+   }
+}
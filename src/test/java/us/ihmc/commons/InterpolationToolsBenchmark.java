@@ -0,0 +1,127 @@
+package us.ihmc.commons;
+
+import java.util.Random;
+
+import us.ihmc.log.LogTools;
+
+/**
+ * Compares the speed and accuracy of the batch {@link InterpolationTools} methods,
+ * {@link PrecomputedHermiteInterpolator} and {@link LogisticInterpolator} against the scalar
+ * {@link InterpolationTools} methods when resampling a segment.
+ */
+public class InterpolationToolsBenchmark
+{
+   private static final int NUMBER_OF_SAMPLES = 1000;
+   private static final int WARMUP_ITERATIONS = 20000;
+   private static final int ITERATIONS = 20000;
+   private static final double STEEPNESS = 1.5;
+   private static final double LOOKUP_TABLE_ERROR = 1.0e-6;
+
+   private static double blackHole;
+
+   public static void main(String[] args)
+   {
+      Random random = new Random(4512);
+      double[] alphas = new double[NUMBER_OF_SAMPLES];
+      for (int i = 0; i < NUMBER_OF_SAMPLES; i++)
+         alphas[i] = (double) i / (NUMBER_OF_SAMPLES - 1);
+      double[] result = new double[NUMBER_OF_SAMPLES];
+      double[] expected = new double[NUMBER_OF_SAMPLES];
+
+      double a = RandomNumbers.nextDouble(random, 10.0);
+      double b = RandomNumbers.nextDouble(random, 10.0);
+      double aTangent = RandomNumbers.nextDouble(random, 10.0);
+      double bTangent = RandomNumbers.nextDouble(random, 10.0);
+
+      PrecomputedHermiteInterpolator hermiteInterpolator = new PrecomputedHermiteInterpolator(alphas);
+      LogisticInterpolator exactLogisticInterpolator = new LogisticInterpolator(STEEPNESS);
+      LogisticInterpolator tableLogisticInterpolator = new LogisticInterpolator(STEEPNESS, LOOKUP_TABLE_ERROR);
+
+      for (int i = 0; i < WARMUP_ITERATIONS; i++)
+      {
+         scalarHermite(a, aTangent, b, bTangent, alphas, result);
+         InterpolationTools.hermiteInterpolate(a, aTangent, b, bTangent, alphas, result);
+         hermiteInterpolator.interpolate(a, aTangent, b, bTangent, result, 0);
+         scalarLogistic(a, b, alphas, result);
+         InterpolationTools.logisticInterpolate(a, b, alphas, STEEPNESS, result);
+         exactLogisticInterpolator.interpolate(a, b, alphas, result);
+         tableLogisticInterpolator.interpolate(a, b, alphas, result);
+         blackHole += result[NUMBER_OF_SAMPLES / 2];
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         scalarHermite(a, aTangent, b, bTangent, alphas, result);
+      report("InterpolationTools.hermiteInterpolate", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         InterpolationTools.hermiteInterpolate(a, aTangent, b, bTangent, alphas, result);
+      report("InterpolationTools.hermiteInterpolate[]", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         hermiteInterpolator.interpolate(a, aTangent, b, bTangent, result, 0);
+      report("PrecomputedHermiteInterpolator", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         scalarLogistic(a, b, alphas, result);
+      report("InterpolationTools.logisticInterpolate", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         InterpolationTools.logisticInterpolate(a, b, alphas, STEEPNESS, result);
+      report("InterpolationTools.logisticInterpolate[]", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         exactLogisticInterpolator.interpolate(a, b, alphas, result);
+      report("LogisticInterpolator (exact)", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         tableLogisticInterpolator.interpolate(a, b, alphas, result);
+      report("LogisticInterpolator (table)", start);
+
+      scalarHermite(a, aTangent, b, bTangent, alphas, expected);
+      InterpolationTools.hermiteInterpolate(a, aTangent, b, bTangent, alphas, result);
+      reportError("InterpolationTools.hermiteInterpolate[]", expected, result);
+      hermiteInterpolator.interpolate(a, aTangent, b, bTangent, result, 0);
+      reportError("PrecomputedHermiteInterpolator", expected, result);
+
+      scalarLogistic(a, b, alphas, expected);
+      InterpolationTools.logisticInterpolate(a, b, alphas, STEEPNESS, result);
+      reportError("InterpolationTools.logisticInterpolate[]", expected, result);
+      tableLogisticInterpolator.interpolate(a, b, alphas, result);
+      reportError("LogisticInterpolator (table, " + tableLogisticInterpolator.getTableSize() + " entries)", expected, result);
+
+      LogTools.info("Ignore: " + blackHole);
+   }
+
+   private static void scalarHermite(double a, double aTangent, double b, double bTangent, double[] alphas, double[] result)
+   {
+      for (int i = 0; i < alphas.length; i++)
+         result[i] = InterpolationTools.hermiteInterpolate(a, aTangent, b, bTangent, alphas[i]);
+   }
+
+   private static void scalarLogistic(double a, double b, double[] alphas, double[] result)
+   {
+      for (int i = 0; i < alphas.length; i++)
+         result[i] = InterpolationTools.logisticInterpolate(a, b, alphas[i], STEEPNESS);
+   }
+
+   private static void report(String name, long startNanos)
+   {
+      double microsecondsPerCall = (System.nanoTime() - startNanos) / 1.0e3 / ITERATIONS;
+      LogTools.info(String.format("%-45s %10.2f us per %d samples", name, microsecondsPerCall, NUMBER_OF_SAMPLES));
+   }
+
+   private static void reportError(String name, double[] expected, double[] actual)
+   {
+      double maximumError = 0.0;
+      for (int i = 0; i < expected.length; i++)
+         maximumError = Math.max(maximumError, Math.abs(expected[i] - actual[i]));
+      LogTools.info(String.format("%-45s max error %.3e", name, maximumError));
+   }
+}
@@ -1,6 +1,7 @@
 package us.ihmc.commons;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.Random;
 
@@ -376,7 +377,58 @@ public class InterpolationToolsTest
          assertEquals(h11, h11ShouldBe, epsilon);
       }
    }
-   
+
+   @Test
+   public void testBatchInterpolation()
+   {
+      double[] alphas = new double[50];
+      double[] result = new double[alphas.length];
+
+      for (int i = 0; i < iters; i++)
+      {
+         double boundA = RandomNumbers.nextDouble(random, 10.0);
+         double boundB = RandomNumbers.nextDouble(random, 10.0);
+         double aTangent = RandomNumbers.nextDouble(random, 10.0);
+         double bTangent = RandomNumbers.nextDouble(random, 10.0);
+         double steepness = RandomNumbers.nextDouble(random, 0.1, 5.0);
+         RandomNumbers.nextDoubleArray(random, -0.2, 1.2, alphas);
+
+         InterpolationTools.linearInterpolate(boundA, boundB, alphas, result);
+         for (int j = 0; j < alphas.length; j++)
+            assertEquals(InterpolationTools.linearInterpolate(boundA, boundB, alphas[j]), result[j], 1.0e-12);
+
+         InterpolationTools.hermite01Interpolate(boundA, boundB, alphas, result);
+         for (int j = 0; j < alphas.length; j++)
+            assertEquals(InterpolationTools.hermite01Interpolate(boundA, boundB, alphas[j]), result[j], 1.0e-12);
+
+         InterpolationTools.hermiteInterpolate(boundA, boundB, alphas, result);
+         for (int j = 0; j < alphas.length; j++)
+            assertEquals(InterpolationTools.hermiteInterpolate(boundA, boundB, alphas[j]), result[j], 1.0e-12);
+
+         InterpolationTools.hermiteInterpolate(boundA, aTangent, boundB, bTangent, alphas, result);
+         for (int j = 0; j < alphas.length; j++)
+            assertEquals(InterpolationTools.hermiteInterpolate(boundA, aTangent, boundB, bTangent, alphas[j]), result[j], 1.0e-12);
+
+         InterpolationTools.logisticInterpolate(boundA, boundB, alphas, steepness, result);
+         for (int j = 0; j < alphas.length; j++)
+            assertEquals(InterpolationTools.logisticInterpolate(boundA, boundB, alphas[j], steepness), result[j], 1.0e-12);
+      }
+
+      // Ranges leave the rest of the array untouched, and in place is allowed.
+      double[] copy = alphas.clone();
+      InterpolationTools.linearInterpolate(1.0, 3.0, copy, 10, 20, copy);
+      for (int j = 0; j < alphas.length; j++)
+      {
+         if (j < 10 || j >= 30)
+            assertEquals(alphas[j], copy[j], 0.0);
+         else
+            assertEquals(InterpolationTools.linearInterpolate(1.0, 3.0, alphas[j]), copy[j], 1.0e-12);
+      }
+
+      assertThrows(IndexOutOfBoundsException.class, () -> InterpolationTools.linearInterpolate(0.0, 1.0, alphas, 40, 20, result));
+      assertThrows(IndexOutOfBoundsException.class, () -> InterpolationTools.hermiteInterpolate(0.0, 1.0, alphas, new double[10]));
+   }
+
    public static void main(String[] args)
    {
       MutationTestFacilitator.facilitateMutationTestForClass(InterpolationTools.class, InterpolationToolsTest.class);
@@ -0,0 +1,94 @@
+package us.ihmc.commons;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LogisticInterpolatorTest
+{
+   private static final int ITERATIONS = 1000;
+
+   @Test
+   public void testExact()
+   {
+      Random random = new Random(5521);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         double steepness = RandomNumbers.nextDouble(random, 0.1, 5.0);
+         LogisticInterpolator interpolator = new LogisticInterpolator(steepness);
+         assertFalse(interpolator.isUsingLookupTable());
+         assertEquals(0, interpolator.getTableSize());
+
+         double a = RandomNumbers.nextDouble(random, 10.0);
+         double b = RandomNumbers.nextDouble(random, 10.0);
+         double alpha = RandomNumbers.nextDouble(random, -0.5, 1.5);
+         assertEquals(InterpolationTools.logisticInterpolate(a, b, alpha, steepness), interpolator.interpolate(a, b, alpha));
+      }
+   }
+
+   @Test
+   public void testLookupTableErrorBound()
+   {
+      double[] steepnesses = {0.1, 0.5, 1.0, 2.0, 5.0};
+      double[] maximumErrors = {1.0e-3, 1.0e-5, 1.0e-7};
+
+      for (double steepness : steepnesses)
+      {
+         for (double maximumError : maximumErrors)
+         {
+            LogisticInterpolator interpolator = new LogisticInterpolator(steepness, maximumError);
+            assertTrue(interpolator.isUsingLookupTable());
+            assertEquals(maximumError, interpolator.getMaximumError());
+            assertEquals(LogisticInterpolator.computeNumberOfIntervals(steepness, maximumError) + 1, interpolator.getTableSize());
+
+            double worstError = 0.0;
+            int numberOfSamples = 100000;
+            for (int i = 0; i <= numberOfSamples; i++)
+            {
+               double alpha = (double) i / numberOfSamples;
+               double expected = InterpolationTools.logisticInterpolate(0.0, 1.0, alpha, steepness);
+               worstError = Math.max(worstError, Math.abs(expected - interpolator.computeBeta(alpha)));
+            }
+
+            assertTrue(worstError <= maximumError + 1.0e-15, "Error " + worstError + " exceeds " + maximumError);
+         }
+      }
+   }
+
+   @Test
+   public void testLookupTableBatchAndOutOfRange()
+   {
+      Random random = new Random(1177);
+      LogisticInterpolator interpolator = new LogisticInterpolator(1.0, 1.0e-6);
+
+      double[] alphas = RandomNumbers.nextDoubleArray(random, 100, -0.5, 1.5);
+      double[] result = new double[alphas.length];
+      interpolator.interpolate(-2.0, 3.0, alphas, result);
+
+      for (int i = 0; i < alphas.length; i++)
+      {
+         double expected = InterpolationTools.logisticInterpolate(-2.0, 3.0, alphas[i], 1.0);
+         if (alphas[i] < 0.0 || alphas[i] > 1.0)
+            assertEquals(expected, result[i]);
+         else
+            assertEquals(expected, result[i], 5.0 * 1.0e-6 + 1.0e-14);
+      }
+
+      double[] betas = new double[alphas.length];
+      interpolator.computeBetas(alphas, betas);
+      for (int i = 0; i < alphas.length; i++)
+         assertEquals(interpolator.computeBeta(alphas[i]), betas[i]);
+
+      assertEquals(interpolator.computeBeta(0.0), InterpolationTools.logisticInterpolate(0.0, 1.0, 0.0, 1.0), 1.0e-15);
+      assertEquals(interpolator.computeBeta(1.0), InterpolationTools.logisticInterpolate(0.0, 1.0, 1.0, 1.0), 1.0e-15);
+      assertTrue(Double.isNaN(interpolator.computeBeta(Double.NaN)));
+
+      assertThrows(IllegalArgumentException.class, () -> new LogisticInterpolator(1.0, 0.0));
+      assertThrows(IllegalArgumentException.class, () -> new LogisticInterpolator(1.0, Double.NaN));
+      assertThrows(IllegalArgumentException.class, () -> new LogisticInterpolator(1000.0, 1.0e-15));
+      assertThrows(IndexOutOfBoundsException.class, () -> interpolator.interpolate(0.0, 1.0, alphas, 50, 60, result));
+   }
+}
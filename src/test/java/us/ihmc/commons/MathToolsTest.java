@@ -858,6 +858,39 @@ public class MathToolsTest
    //      assertEquals(0.1, proj.getZ(), 10e-10);
    //   }
 
+   @Test
+   public void testArrayOperationsToPack()
+   {
+      Random random = new Random(7832L);
+      double[] array = RandomNumbers.nextDoubleArray(random, 20, 10.0);
+      int[] intArray = RandomNumbers.nextIntArray(random, 20, 10);
+
+      double[] result = new double[array.length];
+      MathTools.cumulativeSum(array, result);
+      assertArrayEquals(MathTools.cumulativeSum(array), result);
+      MathTools.dotPlus(array, 3.0, result);
+      assertArrayEquals(MathTools.dotPlus(array, 3.0), result);
+
+      double[] diff = new double[array.length - 1];
+      MathTools.diff(array, diff);
+      assertArrayEquals(MathTools.diff(array), diff);
+
+      int[] intResult = new int[intArray.length];
+      MathTools.dotPlus(intArray, -4, intResult);
+      assertArrayEquals(MathTools.dotPlus(intArray, -4), intResult);
+
+      double[] window = Arrays.copyOfRange(array, 5, 15);
+      result = new double[12];
+      MathTools.cumulativeSum(array, 5, 10, result, 2);
+      assertArrayEquals(MathTools.cumulativeSum(window), Arrays.copyOfRange(result, 2, 12));
+      MathTools.diff(array, 5, 10, result, 0);
+      assertArrayEquals(MathTools.diff(window), Arrays.copyOfRange(result, 0, 9));
+      MathTools.dotPlus(array, 5, 10, 1.5, result, 1);
+      assertArrayEquals(MathTools.dotPlus(window, 1.5), Arrays.copyOfRange(result, 1, 11));
+      MathTools.dotPlus(intArray, 5, 10, 2, intResult, 0);
+      assertArrayEquals(MathTools.dotPlus(Arrays.copyOfRange(intArray, 5, 15), 2), Arrays.copyOfRange(intResult, 0, 10));
+   }
+
    @Test
    public void testOrderOfMagnitude()
    {
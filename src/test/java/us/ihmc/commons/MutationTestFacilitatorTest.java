@@ -0,0 +1,86 @@
+package us.ihmc.commons;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MutationTestFacilitatorTest
+{
+   @TempDir
+   Path temporaryDirectory;
+
+   @Test
+   public void testExpandTargetClasses() throws IOException
+   {
+      for (String file : new String[] {"a/b/Foo.class", "a/b/Foo$1.class", "a/b/FooTest.class", "a/b/c/Bar.class", "a/d/Baz.class", "a/b/notes.txt"})
+      {
+         Path path = temporaryDirectory.resolve(file);
+         Files.createDirectories(path.getParent());
+         Files.createFile(path);
+      }
+
+      List<Path> directories = Collections.singletonList(temporaryDirectory);
+      assertEquals(Arrays.asList("a.b.Foo", "a.b.Foo$1", "a.b.c.Bar"), MutationTestFacilitator.expandTargetClasses(Arrays.asList("a.b.*"), directories));
+      assertEquals(Arrays.asList("a.d.Baz", "x.y.*"), MutationTestFacilitator.expandTargetClasses(Arrays.asList("x.y.*", "a.d.Baz"), directories));
+   }
+
+   @Test
+   public void testPartitionTargetClasses()
+   {
+      List<String> targetClasses = Arrays.asList("a.A", "a.A$1", "a.A$Inner", "a.B", "a.C", "a.D", "a.D$1", "b.*");
+
+      List<List<String>> shards = MutationTestFacilitator.partitionTargetClasses(targetClasses, 3);
+      assertEquals(3, shards.size());
+      assertEquals(Arrays.asList("a.A", "a.A$1", "a.A$Inner"), shards.get(0));
+      assertEquals(Arrays.asList("a.D", "a.D$1", "b.*"), shards.get(1));
+      assertEquals(Arrays.asList("a.B", "a.C"), shards.get(2));
+
+      assertEquals(Collections.singletonList(targetClasses), MutationTestFacilitator.partitionTargetClasses(targetClasses, 1));
+      assertEquals(5, MutationTestFacilitator.partitionTargetClasses(targetClasses, 10).size());
+   }
+
+   @Test
+   public void testMergeReports() throws Exception
+   {
+      Path runPath = temporaryDirectory.resolve("202401011200");
+      Path shard0 = runPath.resolve("shard0");
+      Path shard1 = runPath.resolve("shard1");
+      Path shard2 = runPath.resolve("shard2");
+      Files.createDirectories(shard0);
+      Files.createDirectories(shard1);
+      writeMutations(shard0, true, true, false);
+      writeMutations(shard1, false);
+      Files.createFile(shard0.resolve("index.html"));
+      Files.createFile(shard1.resolve("index.html"));
+
+      MutationTestFacilitator.mergeReports(runPath, Arrays.asList(shard0, shard1, shard2));
+
+      assertEquals(4, DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(runPath.resolve("mutations.xml").toFile()).getElementsByTagName("mutation").getLength());
+      String index = new String(Files.readAllBytes(runPath.resolve("index.html")), StandardCharsets.UTF_8);
+      assertTrue(index.contains("<a href=\"shard0/index.html\">shard0</a></td><td>3</td><td>2</td><td>66%</td>"));
+      assertTrue(index.contains("shard2 (no report)</td><td>0</td><td>0</td><td>-</td>"));
+      assertTrue(index.contains("<b>Total</b></td><td>4</td><td>2</td><td>50%</td>"));
+   }
+
+   private static void writeMutations(Path shardPath, boolean... detected) throws IOException
+   {
+      StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<mutations>\n");
+      for (boolean isDetected : detected)
+      {
+         xml.append("<mutation detected='" + isDetected + "' status='" + (isDetected ? "KILLED" : "SURVIVED") + "'><mutatedClass>a.A</mutatedClass></mutation>\n");
+      }
+      xml.append("</mutations>\n");
+      Files.write(shardPath.resolve("mutations.xml"), xml.toString().getBytes(StandardCharsets.UTF_8));
+   }
+}
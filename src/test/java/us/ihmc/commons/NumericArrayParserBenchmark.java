@@ -0,0 +1,82 @@
+package us.ihmc.commons;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import us.ihmc.log.LogTools;
+
+/**
+ * Compares {@link NumericArrayParser} against the {@link ArrayTools} text parsing methods.
+ */
+public class NumericArrayParserBenchmark
+{
+   private static final int NUMBER_OF_ELEMENTS = 1000;
+   private static final int WARMUP_ITERATIONS = 2000;
+   private static final int ITERATIONS = 5000;
+
+   public static void main(String[] args) throws IOException
+   {
+      Random random = new Random(1738);
+
+      double[] doubles = new double[NUMBER_OF_ELEMENTS];
+      int[] integers = new int[NUMBER_OF_ELEMENTS];
+      for (int i = 0; i < NUMBER_OF_ELEMENTS; i++)
+      {
+         doubles[i] = Math.round(random.nextGaussian() * 1.0e4) / 1.0e4;
+         integers[i] = random.nextInt();
+      }
+
+      String doubleText = Arrays.toString(doubles).replace("[", "{").replace("]", "}");
+      String matlabText = Arrays.toString(doubles);
+      String integerText = Arrays.toString(integers);
+
+      NumericArrayParser parser = new NumericArrayParser();
+
+      for (int i = 0; i < WARMUP_ITERATIONS; i++)
+      {
+         ArrayTools.parseDoubleArray(doubleText);
+         ArrayTools.parseDoubleArrayFromMATLAB(matlabText);
+         ArrayTools.parseIntegerArray(integerText);
+         parser.parseDoubles(doubleText);
+         parser.parseDoubles(matlabText);
+         parser.parseIntegers(integerText);
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         ArrayTools.parseDoubleArray(doubleText);
+      report("ArrayTools.parseDoubleArray", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         parser.parseDoubles(doubleText);
+      report("NumericArrayParser.parseDoubles", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         ArrayTools.parseDoubleArrayFromMATLAB(matlabText);
+      report("ArrayTools.parseDoubleArrayFromMATLAB", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         parser.parseDoubles(matlabText);
+      report("NumericArrayParser.parseDoubles (MATLAB)", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         ArrayTools.parseIntegerArray(integerText);
+      report("ArrayTools.parseIntegerArray", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         parser.parseIntegers(integerText);
+      report("NumericArrayParser.parseIntegers", start);
+   }
+
+   private static void report(String name, long startNanos)
+   {
+      double microsecondsPerCall = (System.nanoTime() - startNanos) / 1.0e3 / ITERATIONS;
+      LogTools.info(String.format("%-42s %10.2f us per %d elements", name, microsecondsPerCall, NUMBER_OF_ELEMENTS));
+   }
+}
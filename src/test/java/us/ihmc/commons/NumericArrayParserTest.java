@@ -0,0 +1,155 @@
+package us.ihmc.commons;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class NumericArrayParserTest
+{
+   private static final int ITERATIONS = 100;
+
+   @Test
+   public void testParseDoublesAgainstArrayTools() throws IOException
+   {
+      Random random = new Random(4367);
+      NumericArrayParser parser = new NumericArrayParser(0);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         double[] expectedArray = nextDoubleArray(random);
+
+         String matlabString = Arrays.toString(expectedArray);
+         assertEquals(expectedArray.length, parser.parseDoubles(matlabString));
+         assertArrayEquals(ArrayTools.parseDoubleArrayFromMATLAB(matlabString), parser.toDoubleArray());
+
+         String braceString = matlabString.replace("[", "{").replace("]", "};");
+         assertEquals(expectedArray.length, parser.parseDoubles(braceString));
+         assertArrayEquals(ArrayTools.parseDoubleArray(braceString), parser.toDoubleArray());
+         assertArrayEquals(expectedArray, parser.toDoubleArray());
+      }
+   }
+
+   @Test
+   public void testParseDoublesIsExact()
+   {
+      Random random = new Random(2345);
+      NumericArrayParser parser = new NumericArrayParser();
+
+      for (int i = 0; i < 10 * ITERATIONS; i++)
+      {
+         // Exercises both the fast path and the fallback.
+         String token = String.format(Locale.US, "%." + random.nextInt(20) + "e", random.nextGaussian() * Math.pow(10.0, random.nextInt(60) - 30));
+         assertEquals(1, parser.parseDoubles(token));
+         assertEquals(Double.parseDouble(token), parser.getDouble(0), token);
+
+         token = Double.toString(random.nextDouble() * Math.pow(10.0, random.nextInt(10)));
+         assertEquals(1, parser.parseDoubles(token));
+         assertEquals(Double.parseDouble(token), parser.getDouble(0), token);
+      }
+
+      String specialValues = "{NaN, Infinity, -Infinity, -0.0, 0, 1e22, 1e-22, 1e23, 123456789012345, 1234567890123456789, 4.9E-324, .5, 5., +2}";
+      assertEquals(14, parser.parseDoubles(specialValues));
+      double[] expected = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, -0.0, 0.0, 1e22, 1e-22, 1e23, 123456789012345.0,
+            1234567890123456789.0, Double.MIN_VALUE, 0.5, 5.0, 2.0};
+      assertArrayEquals(expected, parser.toDoubleArray());
+   }
+
+   @Test
+   public void testParseMATLABMatrix()
+   {
+      NumericArrayParser parser = new NumericArrayParser();
+
+      assertEquals(6, parser.parseDoubles("[1 2.5 3;\n 4, -5e-1 6]"));
+      assertArrayEquals(new double[] {1.0, 2.5, 3.0, 4.0, -0.5, 6.0}, parser.toDoubleArray());
+
+      assertEquals(0, parser.parseDoubles("[]"));
+      assertEquals(0, parser.parseDoubles(""));
+      assertEquals(0, parser.getNumberOfDoubles());
+   }
+
+   @Test
+   public void testAppendDoubles()
+   {
+      NumericArrayParser parser = new NumericArrayParser(1);
+      String text = "xx{1.0, 2.0}xx";
+
+      assertEquals(2, parser.appendDoubles(text, 2, 12));
+      assertEquals(2, parser.appendDoubles(text, 2, 12));
+      assertEquals(4, parser.getNumberOfDoubles());
+      assertArrayEquals(new double[] {1.0, 2.0, 1.0, 2.0}, parser.toDoubleArray());
+
+      double[] packed = new double[6];
+      assertEquals(4, parser.getDoubles(packed, 2));
+      assertArrayEquals(new double[] {0.0, 0.0, 1.0, 2.0, 1.0, 2.0}, packed);
+
+      assertThrows(IndexOutOfBoundsException.class, () -> parser.getDouble(4));
+   }
+
+   @Test
+   public void testParseIntegersAgainstArrayTools() throws IOException
+   {
+      Random random = new Random(7548);
+      NumericArrayParser parser = new NumericArrayParser();
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         int[] expectedArray = new int[random.nextInt(500) + 1];
+         for (int j = 0; j < expectedArray.length; j++)
+            expectedArray[j] = random.nextInt();
+
+         String sourceString = Arrays.toString(expectedArray);
+         assertEquals(expectedArray.length, parser.parseIntegers(sourceString));
+         assertArrayEquals(ArrayTools.parseIntegerArray(sourceString), parser.toIntegerArray());
+         assertArrayEquals(expectedArray, parser.toIntegerArray());
+      }
+
+      assertEquals(3, parser.parseIntegers("{" + Integer.MIN_VALUE + ", " + Integer.MAX_VALUE + ", +7}"));
+      assertArrayEquals(new int[] {Integer.MIN_VALUE, Integer.MAX_VALUE, 7}, parser.toIntegerArray());
+   }
+
+   @Test
+   public void testInvalidInput()
+   {
+      NumericArrayParser parser = new NumericArrayParser();
+
+      assertThrows(NumberFormatException.class, () -> parser.parseDoubles("{1.0, abc}"));
+      assertThrows(NumberFormatException.class, () -> parser.parseDoubles("1.0e"));
+      assertThrows(NumberFormatException.class, () -> parser.parseDoubles("-"));
+      assertThrows(NumberFormatException.class, () -> parser.parseIntegers("1.0"));
+      assertThrows(NumberFormatException.class, () -> parser.parseIntegers("2147483648"));
+      assertThrows(NumberFormatException.class, () -> parser.parseIntegers("-2147483649"));
+      assertThrows(NumberFormatException.class, () -> parser.parseIntegers("+"));
+   }
+
+   @Test
+   public void testParseByteBuffer()
+   {
+      NumericArrayParser parser = new NumericArrayParser();
+      ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+      buffer.put("ignored[1.5, -2, 3e2]".getBytes(StandardCharsets.US_ASCII));
+      buffer.flip();
+      buffer.position(7);
+
+      assertEquals(3, parser.parseDoubles(buffer));
+      assertArrayEquals(new double[] {1.5, -2.0, 300.0}, parser.toDoubleArray());
+      assertEquals(7, buffer.position());
+
+      assertEquals(2, parser.parseIntegers(ByteBuffer.wrap("{-4, 12}".getBytes(StandardCharsets.US_ASCII))));
+      assertArrayEquals(new int[] {-4, 12}, parser.toIntegerArray());
+   }
+
+   private static double[] nextDoubleArray(Random random)
+   {
+      double[] array = new double[random.nextInt(500) + 1];
+      for (int i = 0; i < array.length; i++)
+         array[i] = random.nextBoolean() ? random.nextGaussian() : Math.round(random.nextGaussian() * 1000.0) / 1000.0;
+      return array;
+   }
+}
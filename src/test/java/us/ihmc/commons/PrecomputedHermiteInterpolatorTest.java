@@ -0,0 +1,67 @@
+package us.ihmc.commons;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PrecomputedHermiteInterpolatorTest
+{
+   private static final int ITERATIONS = 100;
+
+   @Test
+   public void testMatchesInterpolationTools()
+   {
+      Random random = new Random(6643);
+      PrecomputedHermiteInterpolator interpolator = new PrecomputedHermiteInterpolator();
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         double[] alphas = RandomNumbers.nextDoubleArray(random, random.nextInt(50) + 1, -0.2, 1.2);
+         interpolator.setAlphas(alphas);
+         assertEquals(alphas.length, interpolator.getNumberOfAlphas());
+
+         double a = RandomNumbers.nextDouble(random, 10.0);
+         double b = RandomNumbers.nextDouble(random, 10.0);
+         double aTangent = RandomNumbers.nextDouble(random, 10.0);
+         double bTangent = RandomNumbers.nextDouble(random, 10.0);
+
+         double[] result = new double[alphas.length + 3];
+         interpolator.interpolate(a, aTangent, b, bTangent, result, 3);
+
+         for (int j = 0; j < alphas.length; j++)
+         {
+            assertEquals(InterpolationTools.hermiteInterpolate(a, aTangent, b, bTangent, alphas[j]), result[j + 3]);
+            assertEquals(InterpolationTools.hermiteInterpolate(a, aTangent, b, bTangent, alphas[j]), interpolator.interpolate(a, aTangent, b, bTangent, j));
+            assertEquals(InterpolationTools.hermiteInterpolate(a, b, alphas[j]), interpolator.interpolate(a, b, j));
+         }
+
+         interpolator.interpolate(a, b, result, 0);
+         for (int j = 0; j < alphas.length; j++)
+            assertEquals(InterpolationTools.hermiteInterpolate(a, b, alphas[j]), result[j]);
+      }
+   }
+
+   @Test
+   public void testUniformAlphas()
+   {
+      PrecomputedHermiteInterpolator interpolator = new PrecomputedHermiteInterpolator(11);
+      assertEquals(11, interpolator.getNumberOfAlphas());
+
+      assertEquals(2.0, interpolator.interpolate(2.0, 1.0, 5.0, -1.0, 0));
+      assertEquals(5.0, interpolator.interpolate(2.0, 1.0, 5.0, -1.0, 10));
+      for (int i = 0; i < 11; i++)
+         assertEquals(InterpolationTools.hermiteInterpolate(2.0, 1.0, 5.0, -1.0, i / 10.0), interpolator.interpolate(2.0, 1.0, 5.0, -1.0, i), 1.0e-15);
+
+      interpolator.setUniformAlphas(1);
+      assertEquals(2.0, interpolator.interpolate(2.0, 5.0, 0));
+
+      interpolator.setUniformAlphas(0);
+      interpolator.interpolate(2.0, 5.0, new double[0], 0);
+
+      assertThrows(IllegalArgumentException.class, () -> new PrecomputedHermiteInterpolator(-1));
+      assertThrows(IndexOutOfBoundsException.class, () -> new PrecomputedHermiteInterpolator(5).interpolate(0.0, 1.0, 5));
+      assertThrows(IndexOutOfBoundsException.class, () -> new PrecomputedHermiteInterpolator(5).interpolate(0.0, 1.0, new double[5], 1));
+   }
+}
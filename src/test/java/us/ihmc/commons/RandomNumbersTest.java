@@ -1,7 +1,10 @@
 package us.ihmc.commons;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
 import java.util.Random;
 
 import org.junit.jupiter.api.Test;
@@ -48,6 +51,38 @@ public class RandomNumbersTest
       }
    }
 
+   @Test
+   public void testPackedArraysMatchAllocatingArrays()
+   {
+      long seed = 4632L;
+      int length = 100;
+      int offset = 3;
+
+      double[] doubles = new double[length + offset];
+      RandomNumbers.nextDoubleArray(new Random(seed), 2.0, 5.0, doubles, offset, length);
+      assertArrayEquals(RandomNumbers.nextDoubleArray(new Random(seed), length, 2.0, 5.0), Arrays.copyOfRange(doubles, offset, offset + length));
+      RandomNumbers.nextDoubleArray(new Random(seed), 4.0, doubles);
+      assertArrayEquals(RandomNumbers.nextDoubleArray(new Random(seed), doubles.length, 4.0), doubles);
+
+      float[] floats = new float[length + offset];
+      RandomNumbers.nextFloatArray(new Random(seed), 2.0f, 5.0f, floats, offset, length);
+      assertArrayEquals(RandomNumbers.nextFloatArray(new Random(seed), length, 2.0f, 5.0f), Arrays.copyOfRange(floats, offset, offset + length));
+      RandomNumbers.nextFloatArray(new Random(seed), 4.0f, floats);
+      assertArrayEquals(RandomNumbers.nextFloatArray(new Random(seed), floats.length, 4.0f), floats);
+
+      int[] ints = new int[length + offset];
+      RandomNumbers.nextIntArray(new Random(seed), -3, 8, ints, offset, length);
+      assertArrayEquals(RandomNumbers.nextIntArray(new Random(seed), length, -3, 8), Arrays.copyOfRange(ints, offset, offset + length));
+      RandomNumbers.nextIntArray(new Random(seed), 7, ints);
+      assertArrayEquals(RandomNumbers.nextIntArray(new Random(seed), ints.length, 7), ints);
+
+      RandomNumbers.nextDoubleArrayWithEdgeCases(new Random(seed), 0.1, doubles, offset, length);
+      assertArrayEquals(RandomNumbers.nextDoubleArrayWithEdgeCases(new Random(seed), length, 0.1), Arrays.copyOfRange(doubles, offset, offset + length));
+
+      assertThrows(IndexOutOfBoundsException.class, () -> RandomNumbers.nextDoubleArray(new Random(seed), 1.0, new double[2], 1, 2));
+      assertThrows(IndexOutOfBoundsException.class, () -> RandomNumbers.nextIntArray(new Random(seed), 1, new int[2], -1, 1));
+   }
+
    @Test
    public void testGenerateRandomDoubleInRange()
    {
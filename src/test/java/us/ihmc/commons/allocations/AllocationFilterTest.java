@@ -0,0 +1,156 @@
+package us.ihmc.commons.allocations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class AllocationFilterTest
+{
+   private static final int ITERATIONS = 1000;
+   private static final String ALPHABET = "ab.$<>\u00e9";
+
+   @Test
+   public void testClassNamePrefixTrie()
+   {
+      Random random = new Random(2341);
+
+      assertTrue(new ClassNamePrefixTrie(Collections.emptyList()).isEmpty());
+      assertFalse(new ClassNamePrefixTrie(Collections.emptyList()).matches("a"));
+      assertTrue(new ClassNamePrefixTrie(Collections.singletonList("")).matches("anything"));
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         List<String> prefixes = nextStrings(random, random.nextInt(5), 6);
+         ClassNamePrefixTrie trie = new ClassNamePrefixTrie(prefixes);
+         String className = nextString(random, 8);
+
+         assertEquals(prefixes.stream().anyMatch(className::startsWith), trie.matches(className), prefixes + " " + className);
+      }
+   }
+
+   @Test
+   public void testKeywordAutomaton()
+   {
+      Random random = new Random(7823);
+
+      assertTrue(new KeywordAutomaton(Collections.emptyList()).isEmpty());
+      assertFalse(new KeywordAutomaton(Collections.emptyList()).matches("a"));
+      assertTrue(new KeywordAutomaton(Collections.singletonList("")).matches(""));
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         List<String> keywords = nextStrings(random, random.nextInt(6), 4);
+         KeywordAutomaton automaton = new KeywordAutomaton(keywords);
+         String text = nextString(random, 30);
+
+         assertEquals(keywords.stream().anyMatch(text::contains), automaton.matches(text), keywords + " " + text);
+      }
+   }
+
+   @Test
+   public void testKeywordAutomatonOnStackTraceElements()
+   {
+      List<StackTraceElement> elements = new ArrayList<>(Arrays.asList(new Throwable().getStackTrace()));
+      elements.add(new StackTraceElement("us.ihmc.Foo", "<init>", "Foo.java", 1204));
+      elements.add(new StackTraceElement("us.ihmc.Foo", "bar", "Foo.java", -1));
+      elements.add(new StackTraceElement("us.ihmc.Foo", "bar", null, 12));
+      elements.add(new StackTraceElement("us.ihmc.Foo", "bar", null, -2));
+
+      for (StackTraceElement element : elements)
+      {
+         String text = toJava8String(element);
+
+         for (int start = 0; start < text.length(); start++)
+         {
+            for (int end = start + 1; end <= Math.min(text.length(), start + 12); end++)
+            {
+               KeywordAutomaton automaton = new KeywordAutomaton(Arrays.asList("#", text.substring(start, end)));
+               assertTrue(automaton.matches(element), text.substring(start, end) + " in " + text);
+            }
+         }
+
+         assertFalse(new KeywordAutomaton(Arrays.asList(text + "!", "#")).matches(element));
+      }
+   }
+
+   @Test
+   public void testAllocationFilter()
+   {
+      StackTraceElement[] stackTrace = {new StackTraceElement("us.ihmc.Foo", "bar", "Foo.java", 12),
+                                        new StackTraceElement("us.ihmc.Foo$Inner", "<init>", "Foo.java", 20),
+                                        new StackTraceElement("org.Baz", "run", "Baz.java", 3)};
+      Class<?>[] classes = {String.class, Integer.class, AllocationFilterTest.class};
+
+      AllocationFilter emptyFilter = new AllocationFilter(list(), list(), list(), list());
+      assertFalse(emptyFilter.hasStackTraceRules());
+      assertFalse(emptyFilter.matchesAllocatedClass("us.ihmc.Foo"));
+      assertFalse(emptyFilter.matchesAnyElement(stackTrace, 0));
+      assertFalse(emptyFilter.matchesAnyClass(classes, 0));
+
+      AllocationFilter allocatedClassFilter = new AllocationFilter(list("us.ihmc.Foo"), list(), list(), list());
+      assertFalse(allocatedClassFilter.hasStackTraceRules());
+      assertTrue(allocatedClassFilter.matchesAllocatedClass("us.ihmc.Foo$Inner"));
+      assertFalse(allocatedClassFilter.matchesAllocatedClass("us.ihmc.Fo"));
+
+      AllocationFilter classFilter = new AllocationFilter(list(), list("org.Baz", Integer.class.getName()), list(), list());
+      assertTrue(classFilter.hasStackTraceRules());
+      assertTrue(classFilter.matchesAnyElement(stackTrace, 0));
+      assertTrue(classFilter.matchesAnyElement(stackTrace, 2));
+      assertFalse(classFilter.matchesAnyElement(stackTrace, 3));
+      assertTrue(classFilter.matchesAnyClass(classes, 1));
+      assertFalse(classFilter.matchesAnyClass(classes, 2));
+
+      AllocationFilter methodFilter = new AllocationFilter(list(), list(), list("us.ihmc.Foo$Inner.<init>", "invalid"), list());
+      assertTrue(methodFilter.hasStackTraceRules());
+      assertTrue(methodFilter.matchesAnyElement(stackTrace, 1));
+      assertFalse(methodFilter.matchesAnyElement(stackTrace, 2));
+      assertFalse(new AllocationFilter(list(), list(), list("us.ihmc.Foo.<init>"), list()).matchesAnyElement(stackTrace, 0));
+
+      AllocationFilter keywordFilter = new AllocationFilter(list(), list(), list(), list("Foo.java:20"));
+      assertTrue(keywordFilter.matchesAnyElement(stackTrace, 0));
+      assertFalse(keywordFilter.matchesAnyElement(stackTrace, 2));
+   }
+
+   private static List<String> list(String... values)
+   {
+      return Arrays.asList(values);
+   }
+
+   /** Text of a stack trace element as formatted by {@link StackTraceElement#toString()} in Java 8. */
+   private static String toJava8String(StackTraceElement element)
+   {
+      String location;
+      if (element.isNativeMethod())
+         location = "(Native Method)";
+      else if (element.getFileName() != null && element.getLineNumber() >= 0)
+         location = "(" + element.getFileName() + ":" + element.getLineNumber() + ")";
+      else if (element.getFileName() != null)
+         location = "(" + element.getFileName() + ")";
+      else
+         location = "(Unknown Source)";
+      return element.getClassName() + "." + element.getMethodName() + location;
+   }
+
+   private static List<String> nextStrings(Random random, int numberOfStrings, int maxLength)
+   {
+      List<String> strings = new ArrayList<>();
+      for (int i = 0; i < numberOfStrings; i++)
+         strings.add(nextString(random, maxLength));
+      return strings;
+   }
+
+   private static String nextString(Random random, int maxLength)
+   {
+      StringBuilder sb = new StringBuilder();
+      int length = random.nextInt(maxLength + 1);
+      for (int i = 0; i < length; i++)
+         sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+      return sb.toString();
+   }
+}
@@ -0,0 +1,124 @@
+package us.ihmc.commons.allocations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AllocationHistogramTest
+{
+   @TempDir
+   Path temporaryDirectory;
+
+   private static final StackTraceElement[] STACK_A = {new StackTraceElement("Recorder", "record", "Recorder.java", 1),
+                                                       new StackTraceElement("us.ihmc.Foo", "allocate", "Foo.java", 12),
+                                                       new StackTraceElement("us.ihmc.Foo", "update", "Foo.java", 40),
+                                                       new StackTraceElement("us.ihmc.Main", "main", "Main.java", 3)};
+   private static final StackTraceElement[] STACK_B = {new StackTraceElement("Recorder", "record", "Recorder.java", 1),
+                                                       new StackTraceElement("us.ihmc.Foo", "allocate", "Foo.java", 12),
+                                                       new StackTraceElement("us.ihmc.Bar", "update", "Bar.java", 7),
+                                                       new StackTraceElement("us.ihmc.Main", "main", "Main.java", 3)};
+
+   @Test
+   public void testAggregation()
+   {
+      AllocationHistogram histogram = new AllocationHistogram(10, 2);
+
+      for (int i = 0; i < 5; i++)
+         histogram.record(double[].class, 32, STACK_A, 1);
+      for (int i = 0; i < 3; i++)
+         histogram.record(double[].class, 100, STACK_B, 1);
+      histogram.record(String.class, 24, STACK_A, 1);
+
+      // Sites differing beyond the stack depth are merged.
+      histogram.record(String.class, 24, new StackTraceElement[] {STACK_A[0], STACK_A[1], STACK_A[2], STACK_B[2]}, 1);
+
+      assertEquals(3, histogram.getNumberOfSites());
+      AllocationHistogram.Snapshot snapshot = histogram.snapshot();
+      List<AllocationHistogram.Entry> entries = snapshot.getEntries();
+      assertEquals(3, entries.size());
+      assertEquals(10, snapshot.getTotalNumberOfAllocations());
+      assertEquals(5 * 32 + 3 * 100 + 2 * 24, snapshot.getTotalNumberOfBytes());
+
+      assertEquals(double[].class, entries.get(0).getType());
+      assertEquals(3, entries.get(0).getNumberOfAllocations());
+      assertEquals(300, entries.get(0).getNumberOfBytes());
+      assertArrayEquals(new StackTraceElement[] {STACK_B[1], STACK_B[2]}, entries.get(0).getStackTrace());
+      assertEquals(STACK_B[1], entries.get(0).getAllocationSite());
+
+      assertEquals(double[].class, entries.get(1).getType());
+      assertEquals(5, entries.get(1).getNumberOfAllocations());
+      assertEquals(String.class, entries.get(2).getType());
+      assertEquals(2, entries.get(2).getNumberOfAllocations());
+
+      // Snapshotting does not modify the counts unless resetting.
+      assertEquals(10, histogram.snapshot().getTotalNumberOfAllocations());
+      assertEquals(10, histogram.snapshotAndReset().getTotalNumberOfAllocations());
+      assertEquals(0, histogram.snapshot().getTotalNumberOfAllocations());
+      assertTrue(histogram.snapshot().getEntries().isEmpty());
+      assertEquals(3, histogram.getNumberOfSites());
+
+      histogram.record(String.class, 24, STACK_A, 1);
+      assertEquals(1, histogram.snapshot().getEntries().size());
+
+      histogram.clear();
+      assertEquals(0, histogram.getNumberOfSites());
+      assertEquals(0, histogram.snapshot().getTotalNumberOfAllocations());
+   }
+
+   @Test
+   public void testBounded()
+   {
+      AllocationHistogram histogram = new AllocationHistogram(1, 1);
+      histogram.record(double[].class, 32, STACK_A, 1);
+      histogram.record(double[].class, 32, STACK_A, 1);
+      histogram.record(String.class, 24, STACK_A, 1);
+      histogram.record(double[].class, 32, STACK_B, 2);
+
+      AllocationHistogram.Snapshot snapshot = histogram.snapshot();
+      assertEquals(1, histogram.getNumberOfSites());
+      assertEquals(2, snapshot.getEntries().get(0).getNumberOfAllocations());
+      assertEquals(2, snapshot.getNumberOfDroppedAllocations());
+      assertEquals(56, snapshot.getNumberOfDroppedBytes());
+      assertEquals(4, snapshot.getTotalNumberOfAllocations());
+      assertTrue(snapshot.toRankedReport(10).contains("2 allocations and 56 bytes at dropped sites"));
+
+      assertEquals(2, histogram.snapshotAndReset().getNumberOfDroppedAllocations());
+      assertEquals(0, histogram.snapshot().getNumberOfDroppedAllocations());
+
+      assertThrows(IllegalArgumentException.class, () -> new AllocationHistogram(0, 1));
+      assertThrows(IllegalArgumentException.class, () -> new AllocationHistogram(1, 0));
+   }
+
+   @Test
+   public void testReports() throws IOException
+   {
+      AllocationHistogram histogram = new AllocationHistogram(10, 3);
+      histogram.record(double[].class, 32, STACK_A, 1);
+      histogram.record(double[].class, 32, STACK_A, 1);
+      histogram.record(String.class, 24, STACK_B, 1);
+      AllocationHistogram.Snapshot snapshot = histogram.snapshot();
+
+      String report = snapshot.toRankedReport(1);
+      assertTrue(report.startsWith("3 allocations, 88 bytes, 2 sites\n"));
+      assertTrue(report.contains("double[]"));
+      assertTrue(report.contains("at us.ihmc.Foo.update(Foo.java:40)"));
+      assertFalse(report.contains("java.lang.String"));
+
+      StringWriter writer = new StringWriter();
+      snapshot.writeCollapsedStacks(writer, true);
+      assertEquals("us.ihmc.Main.main;us.ihmc.Foo.update;us.ihmc.Foo.allocate;double[] 64\n"
+            + "us.ihmc.Main.main;us.ihmc.Bar.update;us.ihmc.Foo.allocate;java.lang.String 24\n", writer.toString());
+
+      Path file = temporaryDirectory.resolve("allocations.collapsed");
+      snapshot.writeCollapsedStacks(file, false);
+      assertEquals("us.ihmc.Main.main;us.ihmc.Foo.update;us.ihmc.Foo.allocate;double[] 2\n"
+            + "us.ihmc.Main.main;us.ihmc.Bar.update;us.ihmc.Foo.allocate;java.lang.String 1\n", new String(Files.readAllBytes(file), "UTF-8"));
+   }
+}
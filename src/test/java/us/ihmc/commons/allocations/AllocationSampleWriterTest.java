@@ -0,0 +1,61 @@
+package us.ihmc.commons.allocations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AllocationSampleWriterTest
+{
+   @TempDir
+   Path temporaryDirectory;
+
+   private static final StackTraceElement[] STACK = {new StackTraceElement("Recorder", "record", "Recorder.java", 1),
+                                                     new StackTraceElement("us.ihmc.Foo", "allocate", "Foo.java", 12),
+                                                     new StackTraceElement("us.ihmc.Foo", "update", "Foo.java", 40),
+                                                     new StackTraceElement("us.ihmc.Main", "main", "Main.java", 3)};
+
+   @Test
+   public void testWrite() throws IOException
+   {
+      Path file = temporaryDirectory.resolve("allocations.txt");
+      AllocationSampleWriter writer = new AllocationSampleWriter(file, 1000, 2);
+      assertTrue(writer.isRunning());
+
+      for (int i = 0; i < 100; i++)
+         writer.write(double[].class, 32, STACK, 1);
+      writer.write(String.class, 24, STACK, 3);
+      writer.close();
+
+      assertFalse(writer.isRunning());
+      assertEquals(101, writer.getNumberOfWrittenSamples());
+      assertEquals(0, writer.getNumberOfDroppedSamples());
+
+      List<String> lines = Files.readAllLines(file);
+      assertEquals(102, lines.size());
+      assertTrue(lines.get(0).startsWith("#"));
+
+      String[] fields = lines.get(1).split("\t");
+      assertEquals(5, fields.length);
+      assertTrue(Long.parseLong(fields[0]) > 0);
+      assertEquals(Thread.currentThread().getName(), fields[1]);
+      assertEquals("double[]", fields[2]);
+      assertEquals("32", fields[3]);
+      assertEquals("us.ihmc.Foo.allocate(Foo.java:12);us.ihmc.Foo.update(Foo.java:40)", fields[4]);
+
+      assertTrue(lines.get(101).endsWith("java.lang.String\t24\tus.ihmc.Main.main(Main.java:3)"));
+
+      // Dropped once closed.
+      writer.write(String.class, 24, STACK, 1);
+      assertEquals(1, writer.getNumberOfDroppedSamples());
+      assertEquals(102, Files.readAllLines(file).size());
+
+      assertThrows(IllegalArgumentException.class, () -> new AllocationSampleWriter(file, 0, 1));
+      assertThrows(IllegalArgumentException.class, () -> new AllocationSampleWriter(file, 1, 0));
+   }
+}
@@ -12,6 +12,10 @@ import us.ihmc.commons.MutationTestFacilitator;
 import us.ihmc.log.LogTools;
 import us.ihmc.commons.thread.ThreadTools;
 
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 @Tag("allocation")
@@ -201,6 +205,32 @@ public class AllocationTestTest
       Assertions.assertEquals(3, allocations.size());
    }
 
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testIncludeInsideReflectionFrame() throws ReflectiveOperationException
+   {
+      // Method.invoke is in the stack trace but not in the classes of the stack used to prefilter the allocations.
+      KnownAllocator knownAllocator = new KnownAllocator();
+      Method method = KnownAllocator.class.getMethod("whoCaresIfIAllocate");
+      method.setAccessible(true);
+
+      AllocationProfiler allocationProfiler = new AllocationProfiler();
+      allocationProfiler.includeAllocationsInsideClass(Method.class.getName());
+      List<AllocationRecord> allocations = allocationProfiler.recordAllocations(() ->
+      {
+         try
+         {
+            method.invoke(knownAllocator);
+         }
+         catch (ReflectiveOperationException e)
+         {
+            throw new RuntimeException(e);
+         }
+      });
+      printAllocations(allocations);
+      assertAllocationsContain(allocations, MutableInt.class);
+   }
+
    @Execution(ExecutionMode.SAME_THREAD)
    @Test
    public void testReset()
@@ -233,6 +263,92 @@ public class AllocationTestTest
       Assertions.assertEquals(4, allocations.size());
    }
 
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testAllocationHistogram()
+   {
+      AllocationProfiler allocationProfiler = new AllocationProfiler();
+      AllocationHistogram allocationHistogram = new AllocationHistogram(100, 4);
+      allocationProfiler.setAllocationHistogram(allocationHistogram);
+      allocationProfiler.includeAllocationsInsideClass(LilAllocator.class.getName());
+      LilAllocator lilAllocator = new LilAllocator();
+
+      allocationProfiler.startRecordingAllocations();
+      for (int i = 0; i < 10; i++)
+         lilAllocator.doStuff(); // allocates 2 things inside
+      allocationProfiler.stopRecordingAllocations();
+
+      Assertions.assertTrue(allocationProfiler.pollAllocations().isEmpty());
+      AllocationHistogram.Snapshot snapshot = allocationHistogram.snapshot();
+      LogTools.info(snapshot.toRankedReport(10));
+      Assertions.assertEquals(2, snapshot.getEntries().size());
+      Assertions.assertEquals(20, snapshot.getTotalNumberOfAllocations());
+
+      for (AllocationHistogram.Entry entry : snapshot.getEntries())
+      {
+         Assertions.assertEquals(MutableInt.class, entry.getType());
+         Assertions.assertEquals(10, entry.getNumberOfAllocations());
+      }
+
+      allocationProfiler.reset();
+      Assertions.assertNull(allocationProfiler.getAllocationHistogram());
+   }
+
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testSampledAllocations() throws IOException
+   {
+      AllocationProfiler allocationProfiler = new AllocationProfiler();
+      AllocationHistogram allocationHistogram = new AllocationHistogram(100, 4);
+      allocationProfiler.setAllocationHistogram(allocationHistogram);
+      allocationProfiler.includeAllocationsInsideClass(LilAllocator.class.getName());
+      allocationProfiler.setSamplingInterval(10);
+      LilAllocator lilAllocator = new LilAllocator();
+
+      allocationProfiler.startRecordingAllocations();
+      for (int i = 0; i < 1000; i++)
+         lilAllocator.doStuff(); // allocates 2 things inside
+      allocationProfiler.stopRecordingAllocations();
+
+      long numberOfSamples = allocationHistogram.snapshotAndReset().getTotalNumberOfAllocations();
+      LogTools.info("Sampled " + numberOfSamples + " of 2000 allocations");
+      Assertions.assertTrue(numberOfSamples > 100 && numberOfSamples < 300);
+
+      // Only the allocations of the other threads.
+      Thread currentThread = Thread.currentThread();
+      allocationProfiler.setSamplingInterval(1);
+      allocationProfiler.setThreadFilter(thread -> thread != currentThread);
+      allocationProfiler.startRecordingAllocations();
+      lilAllocator.doStuff();
+      allocationProfiler.stopRecordingAllocations();
+      Assertions.assertEquals(0, allocationHistogram.snapshot().getTotalNumberOfAllocations());
+
+      // Streamed to a file.
+      Path file = Files.createTempFile("allocations", ".txt");
+      AllocationSampleWriter allocationSampleWriter = new AllocationSampleWriter(file, 100, 4);
+      allocationProfiler.setAllocationHistogram(null);
+      allocationProfiler.setAllocationSampleWriter(allocationSampleWriter);
+      allocationProfiler.setThreadFilter(thread -> thread == currentThread);
+      allocationProfiler.startRecordingAllocations();
+      lilAllocator.doStuff();
+      allocationProfiler.stopRecordingAllocations();
+      allocationSampleWriter.close();
+
+      List<String> lines = Files.readAllLines(file);
+      Files.delete(file);
+      Assertions.assertEquals(3, lines.size());
+      Assertions.assertEquals(2, allocationSampleWriter.getNumberOfWrittenSamples());
+      Assertions.assertTrue(allocationProfiler.pollAllocations().isEmpty());
+
+      for (String line : lines.subList(1, lines.size()))
+      {
+         String[] fields = line.split("\t");
+         Assertions.assertEquals(currentThread.getName(), fields[1]);
+         Assertions.assertEquals(MutableInt.class.getName(), fields[2]);
+         Assertions.assertEquals(4, fields[4].split(";").length);
+      }
+   }
+
    private void printAllocations(List<AllocationRecord> allocations)
    {
       for (AllocationRecord allocation : allocations)
@@ -0,0 +1,146 @@
+package us.ihmc.commons.allocations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import us.ihmc.commons.AngleTools;
+import us.ihmc.commons.ArrayKernels;
+import us.ihmc.commons.InterpolationTools;
+import us.ihmc.commons.LogisticInterpolator;
+import us.ihmc.commons.MathTools;
+import us.ihmc.commons.PrecomputedHermiteInterpolator;
+import us.ihmc.commons.RandomNumbers;
+import us.ihmc.log.LogTools;
+
+public class ArrayToPackAllocationTest
+{
+   private static final int LENGTH = 50;
+
+   private AllocationProfiler allocationProfiler;
+
+   @BeforeEach
+   public void setUp()
+   {
+      allocationProfiler = new AllocationProfiler();
+      allocationProfiler.includeAllocationsInsideClass(MathTools.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(ArrayKernels.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(RandomNumbers.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(AngleTools.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(InterpolationTools.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(PrecomputedHermiteInterpolator.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(LogisticInterpolator.class.getName());
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testMathTools()
+   {
+      double[] array = RandomNumbers.nextDoubleArray(new Random(2341L), LENGTH, 10.0);
+      double[] result = new double[LENGTH];
+      int[] intArray = RandomNumbers.nextIntArray(new Random(2341L), LENGTH, 10);
+      int[] intResult = new int[LENGTH];
+
+      testInternal(() ->
+                   {
+                      MathTools.cumulativeSum(array, result);
+                      MathTools.cumulativeSum(array, 10, 20, result, 5);
+                      MathTools.diff(array, result);
+                      MathTools.diff(array, 10, 20, result, 5);
+                      MathTools.dotPlus(array, 1.0, result);
+                      MathTools.dotPlus(array, 10, 20, 1.0, result, 5);
+                      MathTools.dotPlus(intArray, 1, intResult);
+                      MathTools.dotPlus(intArray, 10, 20, 1, intResult, 5);
+                   });
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testArrayKernels()
+   {
+      double[] array = RandomNumbers.nextDoubleArray(new Random(9801L), LENGTH, 10.0);
+      double[] other = array.clone();
+
+      testInternal(() ->
+                   {
+                      ArrayKernels.sum(array, 5, 20);
+                      ArrayKernels.average(array, 5, 20);
+                      ArrayKernels.min(array, 5, 20);
+                      ArrayKernels.max(array, 5, 20);
+                      ArrayKernels.deltaEquals(array, 0, other, 0, LENGTH, 0.1);
+                      ArrayKernels.isContinuous(array, 5, 20, 1.0);
+                   });
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testRandomNumbers()
+   {
+      Random random = new Random(4398L);
+      double[] doubles = new double[LENGTH];
+      float[] floats = new float[LENGTH];
+      int[] ints = new int[LENGTH];
+
+      testInternal(() ->
+                   {
+                      RandomNumbers.nextDoubleArray(random, 1.0, doubles);
+                      RandomNumbers.nextDoubleArray(random, -1.0, 2.0, doubles, 10, 20);
+                      RandomNumbers.nextFloatArray(random, 1.0f, floats);
+                      RandomNumbers.nextFloatArray(random, -1.0f, 2.0f, floats, 10, 20);
+                      RandomNumbers.nextIntArray(random, 10, ints);
+                      RandomNumbers.nextIntArray(random, -10, 20, ints, 10, 20);
+                      RandomNumbers.nextDoubleArrayWithEdgeCases(random, 0.1, doubles, 10, 20);
+                   });
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testAngleTools()
+   {
+      double[] angles = new double[AngleTools.computeNumberOfTestAngles(LENGTH, true, true)];
+
+      testInternal(() -> AngleTools.generateArrayOfTestAngles(LENGTH, 1.0e-1, true, true, angles, 0));
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testInterpolation()
+   {
+      double[] alphas = RandomNumbers.nextDoubleArray(new Random(7712L), LENGTH, 0.0, 1.0);
+      double[] result = new double[LENGTH];
+      PrecomputedHermiteInterpolator hermiteInterpolator = new PrecomputedHermiteInterpolator(LENGTH);
+      LogisticInterpolator logisticInterpolator = new LogisticInterpolator(1.0, 1.0e-6);
+
+      testInternal(() ->
+                   {
+                      InterpolationTools.linearInterpolate(0.0, 1.0, alphas, result);
+                      InterpolationTools.hermiteInterpolate(0.0, 1.0, 2.0, -1.0, alphas, result);
+                      InterpolationTools.logisticInterpolate(0.0, 1.0, alphas, 1.0, result);
+                      hermiteInterpolator.setUniformAlphas(LENGTH);
+                      hermiteInterpolator.interpolate(0.0, 1.0, 2.0, -1.0, result, 0);
+                      logisticInterpolator.interpolate(0.0, 1.0, alphas, result);
+                   });
+   }
+
+   private void testInternal(Runnable whatToTestFor)
+   {
+      List<AllocationRecord> allocations = allocationProfiler.recordAllocations(whatToTestFor);
+
+      if (!allocations.isEmpty())
+      {
+         allocations.forEach(it -> LogTools.info(it.toString()));
+         fail("Found allocations.");
+      }
+   }
+}
@@ -0,0 +1,127 @@
+package us.ihmc.commons.allocations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import us.ihmc.commons.robotics.outputData.JointDesiredOutputList;
+import us.ihmc.commons.robotics.outputData.JointDesiredOutputListCodec;
+import us.ihmc.commons.robotics.outputData.JointDesiredOutputListExchanger;
+import us.ihmc.commons.robotics.outputData.PackedJointDesiredOutputList;
+import us.ihmc.commons.robotics.outputData.SharedMemoryJointDesiredOutputTransport;
+import us.ihmc.log.LogTools;
+import us.ihmc.mecano.multiBodySystem.interfaces.OneDoFJointReadOnly;
+import us.ihmc.mecano.tools.MultiBodySystemRandomTools;
+
+public class JointDesiredOutputAllocationTest
+{
+   private static final int NUMBER_OF_JOINTS = 20;
+
+   @TempDir
+   Path temporaryDirectory;
+
+   private AllocationProfiler allocationProfiler;
+
+   @BeforeEach
+   public void setUp()
+   {
+      allocationProfiler = new AllocationProfiler();
+      allocationProfiler.includeAllocationsInsideClass(JointDesiredOutputListCodec.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(SharedMemoryJointDesiredOutputTransport.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(JointDesiredOutputListExchanger.class.getName());
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testCodec()
+   {
+      OneDoFJointReadOnly[] joints = nextJoints();
+      JointDesiredOutputList source = nextJointDesiredOutputList(joints);
+      PackedJointDesiredOutputList destination = new PackedJointDesiredOutputList(joints);
+      JointDesiredOutputListCodec codec = new JointDesiredOutputListCodec(source);
+      ByteBuffer buffer = ByteBuffer.allocateDirect(codec.getEncodedSize());
+
+      testInternal(() ->
+                   {
+                      buffer.clear();
+                      codec.encode(source, buffer);
+                      buffer.flip();
+                      codec.decode(buffer, destination);
+                   });
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testSharedMemoryTransport() throws IOException
+   {
+      OneDoFJointReadOnly[] joints = nextJoints();
+      JointDesiredOutputList source = nextJointDesiredOutputList(joints);
+      JointDesiredOutputList destination = new JointDesiredOutputList(joints);
+      Path file = temporaryDirectory.resolve("jointDesiredOutputs");
+      SharedMemoryJointDesiredOutputTransport writer = new SharedMemoryJointDesiredOutputTransport(file, source);
+      SharedMemoryJointDesiredOutputTransport reader = new SharedMemoryJointDesiredOutputTransport(file, destination);
+
+      testInternal(() ->
+                   {
+                      writer.publish(source);
+                      reader.readLatest(destination);
+                   });
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testExchanger()
+   {
+      OneDoFJointReadOnly[] joints = nextJoints();
+      JointDesiredOutputList source = nextJointDesiredOutputList(joints);
+      JointDesiredOutputList destination = new JointDesiredOutputList(joints);
+      JointDesiredOutputListExchanger<PackedJointDesiredOutputList> exchanger = new JointDesiredOutputListExchanger<>(() -> new PackedJointDesiredOutputList(joints));
+
+      testInternal(() ->
+                   {
+                      exchanger.publish(source);
+                      exchanger.poll(destination);
+                      exchanger.poll();
+                   });
+   }
+
+   private static OneDoFJointReadOnly[] nextJoints()
+   {
+      return MultiBodySystemRandomTools.nextOneDoFJointChain(new Random(3412L), NUMBER_OF_JOINTS).toArray(new OneDoFJointReadOnly[0]);
+   }
+
+   private static JointDesiredOutputList nextJointDesiredOutputList(OneDoFJointReadOnly[] joints)
+   {
+      JointDesiredOutputList list = new JointDesiredOutputList(joints);
+      for (int i = 0; i < NUMBER_OF_JOINTS; i++)
+      {
+         list.setupForPositionControl(i, i, -i);
+         list.getJointDesiredOutput(i).setStiffness(10.0);
+      }
+      return list;
+   }
+
+   private void testInternal(Runnable whatToTestFor)
+   {
+      List<AllocationRecord> allocations = allocationProfiler.recordAllocations(whatToTestFor);
+
+      if (!allocations.isEmpty())
+      {
+         allocations.forEach(it -> LogTools.info(it.toString()));
+         fail("Found allocations.");
+      }
+   }
+}
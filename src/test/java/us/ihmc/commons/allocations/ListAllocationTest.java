@@ -11,11 +11,15 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
+import us.ihmc.commons.lists.IndexedRecyclingLinkedList;
 import us.ihmc.commons.lists.PreallocatedEnumList;
 import us.ihmc.commons.lists.PreallocatedList;
 import us.ihmc.commons.lists.RecyclingArrayDeque;
 import us.ihmc.commons.lists.RecyclingArrayList;
+import us.ihmc.commons.lists.RecyclingCircularDeque;
+import us.ihmc.commons.lists.RecyclingIterator;
 import us.ihmc.commons.lists.RecyclingLinkedList;
+import us.ihmc.commons.robotics.lists.PooledDenseMatrixArrayList;
 import us.ihmc.log.LogTools;
 
 public class ListAllocationTest
@@ -32,6 +36,9 @@ public class ListAllocationTest
       allocationProfiler.includeAllocationsInsideClass(PreallocatedList.class.getName());
       allocationProfiler.includeAllocationsInsideClass(PreallocatedEnumList.class.getName());
       allocationProfiler.includeAllocationsInsideClass(RecyclingLinkedList.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(PooledDenseMatrixArrayList.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(IndexedRecyclingLinkedList.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(RecyclingCircularDeque.class.getName());
    }
 
    @Tag("allocation")
@@ -243,6 +250,109 @@ public class ListAllocationTest
       }
    }
 
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testPooledDenseMatrixArrayList()
+   {
+      int numberOfMatrices = 6;
+      int maxSize = 12;
+      PooledDenseMatrixArrayList list = new PooledDenseMatrixArrayList();
+      PooledDenseMatrixArrayList copy = new PooledDenseMatrixArrayList();
+      list.reserve(numberOfMatrices, maxSize * maxSize);
+      copy.reserve(numberOfMatrices, maxSize * maxSize);
+      double[] packedData = new double[numberOfMatrices * maxSize * maxSize];
+
+      testInternal(() ->
+                   {
+                      for (int size = 1; size <= maxSize; size++)
+                      {
+                         list.clear();
+                         for (int i = 0; i < numberOfMatrices; i++)
+                            list.add(size, maxSize + 1 - size);
+                         list.zero();
+                         copy.set(list);
+                         copy.unpackData(packedData, list.packData(packedData, 0) - list.getTotalNumberOfElements());
+                         list.reshape(0, maxSize, maxSize);
+                      }
+                   });
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testIndexedRecyclingLinkedList()
+   {
+      MutableInt element = new MutableInt();
+      IndexedRecyclingLinkedList<MutableInt> linkedList = new IndexedRecyclingLinkedList<>(MutableInt::new, MutableInt::setValue);
+      IndexedRecyclingLinkedList<MutableInt>.Cursor cursor = linkedList.createCursor();
+      RecyclingIterator<MutableInt> iterator = linkedList.createBackwardIterator();
+
+      testInternal(() ->
+                   {
+                      // Fill the default capacity. This should not allocate.
+                      for (int i = 0; i < IndexedRecyclingLinkedList.defaultNumberOfElements / 2; i++)
+                      {
+                         element.setValue(i);
+                         linkedList.addLast(element);
+                         linkedList.addFirst(element);
+                      }
+
+                      // Remove every other element and insert them back through the cursor.
+                      for (cursor.moveToFirst(); cursor.hasElement(); cursor.moveToNext())
+                         cursor.remove();
+                      for (cursor.moveToFirst(); cursor.hasElement(); cursor.moveToNext())
+                         cursor.insertAfter(element);
+
+                      for (iterator.reset(); iterator.hasNext();)
+                         iterator.next(element);
+
+                      linkedList.removeLast(element);
+                      linkedList.removeFirst();
+                      linkedList.clear();
+                   });
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testRecyclingCircularDeque()
+   {
+      int capacity = 8;
+      RecyclingCircularDeque<MutableInt> deque = new RecyclingCircularDeque<>(capacity, MutableInt::new, MutableInt::setValue);
+      deque.setGrowthAllowed(false);
+      MutableInt element = new MutableInt();
+
+      testInternal(() ->
+                   {
+                      for (int i = 0; i < 2 * capacity; i++)
+                      {
+                         // wrap around the end of the array from both sides
+                         element.setValue(i);
+                         deque.addLast(element);
+                         deque.addFirst().setValue(-i);
+                         deque.pollFirst();
+                         deque.removeFirst();
+                      }
+
+                      for (int i = 0; i < capacity; i++)
+                         deque.addFirst(element);
+
+                      for (int i = 0; i < deque.size(); i++)
+                      {
+                         deque.get(i).increment();
+                         deque.getFromLast(i).decrement();
+                      }
+                      deque.forEach(MutableInt::increment);
+
+                      deque.peekFirst();
+                      deque.peekLast();
+                      deque.removeLast();
+                      deque.pollLast();
+                      deque.clear();
+                   });
+   }
+
    private enum TestEnum
    {
       A, B, C, D;
@@ -0,0 +1,136 @@
+package us.ihmc.commons.allocations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import us.ihmc.commons.robotics.robotSide.ArrayQuadrantDependentList;
+import us.ihmc.commons.robotics.robotSide.ArraySegmentDependentList;
+import us.ihmc.commons.robotics.robotSide.ArraySideDependentList;
+import us.ihmc.commons.robotics.robotSide.EndDependentList;
+import us.ihmc.commons.robotics.robotSide.QuadrantDependentList;
+import us.ihmc.commons.robotics.robotSide.RobotEnd;
+import us.ihmc.commons.robotics.robotSide.RobotQuadrant;
+import us.ihmc.commons.robotics.robotSide.RobotSide;
+import us.ihmc.commons.robotics.robotSide.SegmentDependentList;
+import us.ihmc.commons.robotics.robotSide.SideDependentList;
+import us.ihmc.log.LogTools;
+
+public class SegmentDependentListAllocationTest
+{
+   private AllocationProfiler allocationProfiler;
+
+   private final Consumer<MutableInt> incrementer = MutableInt::increment;
+   private final BiConsumer<Object, MutableInt> segmentIncrementer = (segment, value) -> value.increment();
+
+   @BeforeEach
+   public void setUp()
+   {
+      allocationProfiler = new AllocationProfiler();
+      allocationProfiler.includeAllocationsInsideClass(MutableInt.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(SegmentDependentList.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(SideDependentList.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(QuadrantDependentList.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(EndDependentList.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(ArraySegmentDependentList.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(ArraySideDependentList.class.getName());
+      allocationProfiler.includeAllocationsInsideClass(ArrayQuadrantDependentList.class.getName());
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testSideDependentList()
+   {
+      SideDependentList<MutableInt> list = new SideDependentList<>(() -> new MutableInt());
+
+      testInternal(() ->
+                   {
+                      list.forEach(incrementer);
+                      list.forEach(segmentIncrementer);
+                      for (int i = 0; i < list.sides().length; i++)
+                         list.get(list.sides()[i]).increment();
+                   });
+
+      assertEquals(3, list.get(RobotSide.LEFT).intValue());
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testEndDependentList()
+   {
+      EndDependentList<MutableInt> list = new EndDependentList<>(new MutableInt(), new MutableInt());
+
+      testInternal(() ->
+                   {
+                      list.forEach(incrementer);
+                      list.forEach(segmentIncrementer);
+                      for (int i = 0; i < RobotEnd.values.length; i++)
+                         list.get(RobotEnd.values[i]).increment();
+                   });
+
+      assertEquals(3, list.get(RobotEnd.FRONT).intValue());
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testQuadrantDependentList()
+   {
+      QuadrantDependentList<MutableInt> list = new QuadrantDependentList<>(() -> new MutableInt());
+      list.remove(RobotQuadrant.HIND_LEFT);
+
+      testInternal(() ->
+                   {
+                      list.forEach(segmentIncrementer);
+                      RobotQuadrant[] quadrants = list.quadrants();
+                      for (int i = 0; i < quadrants.length; i++)
+                         list.get(quadrants[i]).increment();
+                   });
+
+      assertEquals(2, list.get(RobotQuadrant.FRONT_LEFT).intValue());
+   }
+
+   @Tag("allocation")
+   @Execution(ExecutionMode.SAME_THREAD)
+   @Test
+   public void testArraySegmentDependentLists()
+   {
+      ArraySideDependentList<MutableInt> sideList = new ArraySideDependentList<>(() -> new MutableInt());
+      ArrayQuadrantDependentList<MutableInt> quadrantList = new ArrayQuadrantDependentList<>(() -> new MutableInt());
+      MutableInt removed = quadrantList.remove(RobotQuadrant.FRONT_RIGHT);
+
+      testInternal(() ->
+                   {
+                      sideList.forEach(incrementer);
+                      quadrantList.forEach(incrementer);
+                      quadrantList.set(RobotQuadrant.FRONT_RIGHT, removed);
+                      RobotQuadrant[] quadrants = quadrantList.quadrants();
+                      for (int i = 0; i < quadrants.length; i++)
+                         quadrantList.get(quadrants[i]).increment();
+                      quadrantList.remove(RobotQuadrant.FRONT_RIGHT);
+                   });
+
+      assertEquals(2, quadrantList.get(RobotQuadrant.FRONT_LEFT).intValue());
+   }
+
+   private void testInternal(Runnable whatToTestFor)
+   {
+      List<AllocationRecord> allocations = allocationProfiler.recordAllocations(whatToTestFor);
+
+      if (!allocations.isEmpty())
+      {
+         allocations.forEach(it -> LogTools.info(it.toString()));
+         fail("Found allocations.");
+      }
+   }
+}
@@ -0,0 +1,135 @@
+package us.ihmc.commons.lists;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DoubleRingBufferTest
+{
+   private static final int ITERATIONS = 1000;
+   private static final double EPSILON = 1.0e-9;
+
+   @Test
+   public void testAgainstRingBuffer()
+   {
+      Random random = new Random(4596);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         int capacity = random.nextInt(100) + 1;
+         DoubleRingBuffer buffer = new DoubleRingBuffer(capacity);
+         RingBuffer<double[]> expected = new RingBuffer<>(capacity, () -> new double[1]);
+         assertEquals(capacity, buffer.capacity());
+         assertTrue(buffer.isEmpty());
+         assertThrows(NoSuchElementException.class, () -> buffer.getMin());
+         assertThrows(NoSuchElementException.class, () -> buffer.getMax());
+         assertThrows(NoSuchElementException.class, () -> buffer.getFirst());
+         assertThrows(NoSuchElementException.class, () -> buffer.getLast());
+         assertTrue(Double.isNaN(buffer.getAverage()));
+
+         int numberOfValues = random.nextInt(4 * capacity);
+
+         for (int j = 0; j < numberOfValues; j++)
+         {
+            // Few distinct values to exercise the equal values in the monotonic deques.
+            double value = random.nextBoolean() ? random.nextInt(5) : 1000.0 * (random.nextDouble() - 0.5);
+            buffer.add(value);
+            expected.add()[0] = value;
+
+            assertEquals(expected.size(), buffer.size());
+            assertEquals(expected.size() == capacity, buffer.isBufferFull());
+            assertEquals(expected.getFirst()[0], buffer.getFirst());
+            assertEquals(value, buffer.getLast());
+
+            double sum = 0.0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+
+            for (int k = 0; k < expected.size(); k++)
+            {
+               double expectedValue = expected.getFromFirst(k)[0];
+               sum += expectedValue;
+               min = Math.min(min, expectedValue);
+               max = Math.max(max, expectedValue);
+               assertEquals(expectedValue, buffer.getFromFirst(k));
+               assertEquals(expected.getFromLast(k)[0], buffer.getFromLast(k));
+            }
+
+            assertEquals(sum, buffer.getSum(), EPSILON);
+            assertEquals(sum / expected.size(), buffer.getAverage(), EPSILON);
+            assertEquals(min, buffer.getMin());
+            assertEquals(max, buffer.getMax());
+         }
+
+         assertThrows(IndexOutOfBoundsException.class, () -> buffer.getFromFirst(buffer.size()));
+         assertThrows(IndexOutOfBoundsException.class, () -> buffer.getFromLast(-1));
+
+         buffer.reset();
+         assertTrue(buffer.isEmpty());
+         assertEquals(0.0, buffer.getSum());
+         assertThrows(NoSuchElementException.class, () -> buffer.getMin());
+         buffer.add(3.0);
+         assertEquals(3.0, buffer.getMin());
+         assertEquals(3.0, buffer.getMax());
+         assertEquals(3.0, buffer.getSum());
+      }
+   }
+
+   @Test
+   public void testCopyWindow()
+   {
+      Random random = new Random(12);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         DoubleRingBuffer buffer = new DoubleRingBuffer(random.nextInt(100) + 1);
+
+         int numberOfValues = random.nextInt(3 * buffer.capacity());
+         for (int j = 0; j < numberOfValues; j++)
+            buffer.add(j);
+
+         double[] expected = new double[buffer.size()];
+         for (int j = 0; j < buffer.size(); j++)
+            expected[j] = buffer.getFromFirst(j);
+
+         int fromOffset = random.nextInt(buffer.size() + 1);
+         int length = random.nextInt(buffer.size() - fromOffset + 1);
+
+         double[] actual = new double[length];
+         buffer.copyWindow(fromOffset, length, actual);
+         assertArrayEquals(Arrays.copyOfRange(expected, fromOffset, fromOffset + length), actual);
+
+         List<Double> forEachValues = new ArrayList<>();
+         buffer.forEachInWindow(fromOffset, length, forEachValues::add);
+         assertEquals(length, forEachValues.size());
+         for (int j = 0; j < length; j++)
+            assertEquals(expected[fromOffset + j], forEachValues.get(j).doubleValue());
+
+         assertThrows(IndexOutOfBoundsException.class, () -> buffer.copyWindow(fromOffset, buffer.size() - fromOffset + 1, new double[buffer.size() + 1]));
+         if (length > 0)
+            assertThrows(IndexOutOfBoundsException.class, () -> buffer.copyWindow(fromOffset, length, new double[length - 1]));
+      }
+   }
+
+   @Test
+   public void testSumAccuracy()
+   {
+      DoubleRingBuffer buffer = new DoubleRingBuffer(10);
+      Random random = new Random(678);
+
+      // Alternating large and small values would let the error of a naive running sum accumulate.
+      for (int i = 0; i < 1000000; i++)
+         buffer.add(i % 2 == 0 ? 1.0e8 * random.nextDouble() : 1.0e-3 * random.nextDouble());
+
+      double sum = 0.0;
+      for (int i = 0; i < buffer.size(); i++)
+         sum += buffer.getFromFirst(i);
+      assertEquals(sum, buffer.getSum(), 1.0e-6);
+   }
+}
@@ -0,0 +1,119 @@
+package us.ihmc.commons.lists;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+
+import us.ihmc.log.LogTools;
+
+/**
+ * Compares {@link RecyclingLinkedList} and {@link IndexedRecyclingLinkedList} used as a queue and iterated, and
+ * measures inserting and removing in the middle of an {@link IndexedRecyclingLinkedList} through a cursor.
+ */
+public class IndexedRecyclingLinkedListBenchmark
+{
+   private static final int NUMBER_OF_ELEMENTS = 1000;
+   private static final int WARMUP_ITERATIONS = 20000;
+   private static final int ITERATIONS = 100000;
+
+   private static long blackHole = 0;
+
+   public static void main(String[] args)
+   {
+      RecyclingLinkedList<MutableInt> linkedList = new RecyclingLinkedList<>(NUMBER_OF_ELEMENTS, MutableInt::new, MutableInt::setValue);
+      IndexedRecyclingLinkedList<MutableInt> indexedLinkedList = new IndexedRecyclingLinkedList<>(NUMBER_OF_ELEMENTS, MutableInt::new, MutableInt::setValue);
+      RecyclingIterator<MutableInt> iterator = linkedList.createForwardIterator();
+      RecyclingIterator<MutableInt> indexedIterator = indexedLinkedList.createForwardIterator();
+      IndexedRecyclingLinkedList<MutableInt>.Cursor cursor = indexedLinkedList.createCursor();
+      MutableInt element = new MutableInt();
+
+      for (int i = 0; i < NUMBER_OF_ELEMENTS; i++)
+      {
+         element.setValue(i);
+         linkedList.addLast(element);
+         indexedLinkedList.addLast(element);
+      }
+
+      for (int i = 0; i < WARMUP_ITERATIONS; i++)
+      {
+         tickLinkedList(linkedList, iterator, element);
+         tickIndexedLinkedList(indexedLinkedList, indexedIterator, element);
+         tickCursor(cursor, element);
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         tickLinkedList(linkedList, iterator, element);
+      report("RecyclingLinkedList", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         tickIndexedLinkedList(indexedLinkedList, indexedIterator, element);
+      report("IndexedRecyclingLinkedList", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         tickCursor(cursor, element);
+      report("IndexedRecyclingLinkedList cursor", start);
+
+      LogTools.info("Ignore: " + blackHole);
+   }
+
+   /** Moves 10 elements from the front to the back and iterates through the list. */
+   private static void tickLinkedList(RecyclingLinkedList<MutableInt> linkedList, RecyclingIterator<MutableInt> iterator, MutableInt element)
+   {
+      for (int i = 0; i < 10; i++)
+      {
+         linkedList.removeFirst(element);
+         linkedList.addLast(element);
+      }
+
+      iterator.reset();
+      while (iterator.hasNext())
+      {
+         iterator.next(element);
+         blackHole += element.intValue();
+      }
+   }
+
+   /** Same as {@link #tickLinkedList(RecyclingLinkedList, RecyclingIterator, MutableInt)}. */
+   private static void tickIndexedLinkedList(IndexedRecyclingLinkedList<MutableInt> linkedList, RecyclingIterator<MutableInt> iterator, MutableInt element)
+   {
+      for (int i = 0; i < 10; i++)
+      {
+         linkedList.removeFirst(element);
+         linkedList.addLast(element);
+      }
+
+      iterator.reset();
+      while (iterator.hasNext())
+      {
+         iterator.next(element);
+         blackHole += element.intValue();
+      }
+   }
+
+   /** Walks through the list removing and reinserting every tenth element. */
+   private static void tickCursor(IndexedRecyclingLinkedList<MutableInt>.Cursor cursor, MutableInt element)
+   {
+      int index = 0;
+      for (cursor.moveToFirst(); cursor.hasElement(); index++)
+      {
+         if (index % 10 == 0)
+         {
+            cursor.get(element);
+            cursor.remove();
+            cursor.insertBefore(element);
+         }
+         else
+         {
+            cursor.moveToNext();
+         }
+      }
+      blackHole += index;
+   }
+
+   private static void report(String name, long startNanos)
+   {
+      double microsecondsPerCall = (double) (System.nanoTime() - startNanos) / ITERATIONS / 1000.0;
+      LogTools.info(String.format("%-36s %10.2f us per tick with %d elements", name, microsecondsPerCall, NUMBER_OF_ELEMENTS));
+   }
+}
@@ -0,0 +1,209 @@
+package us.ihmc.commons.lists;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.junit.jupiter.api.Test;
+
+public class IndexedRecyclingLinkedListTest
+{
+   private static final int ITERATIONS = 10000;
+
+   @Test
+   public void testAgainstArrayList()
+   {
+      Random random = new Random(2148);
+      IndexedRecyclingLinkedList<MutableInt> linkedList = new IndexedRecyclingLinkedList<>(2, MutableInt::new, MutableInt::setValue);
+      IndexedRecyclingLinkedList<MutableInt>.Cursor cursor = linkedList.createCursor();
+      RecyclingIterator<MutableInt> forwardIterator = linkedList.createForwardIterator();
+      RecyclingIterator<MutableInt> backwardIterator = linkedList.createBackwardIterator();
+      List<Integer> expected = new ArrayList<>();
+      int cursorIndex = 0; // expected.size() when past the end
+      MutableInt element = new MutableInt();
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         int value = random.nextInt(1000);
+         element.setValue(value);
+
+         switch (random.nextInt(11))
+         {
+            case 0:
+               linkedList.addFirst(element);
+               expected.add(0, value);
+               cursor.moveToFirst();
+               cursorIndex = 0;
+               break;
+            case 1:
+               linkedList.addLast(element);
+               expected.add(value);
+               cursor.moveToLast();
+               cursorIndex = expected.size() - 1;
+               break;
+            case 2:
+               if (expected.isEmpty())
+               {
+                  assertThrows(NoSuchElementException.class, () -> linkedList.removeFirst());
+                  break;
+               }
+               linkedList.removeFirst(element);
+               assertEquals(expected.remove(0).intValue(), element.intValue());
+               cursor.moveToFirst();
+               cursorIndex = 0;
+               break;
+            case 3:
+               if (expected.isEmpty())
+               {
+                  assertThrows(NoSuchElementException.class, () -> linkedList.removeLast(element));
+                  break;
+               }
+               linkedList.removeLast();
+               expected.remove(expected.size() - 1);
+               cursor.moveToLast();
+               cursorIndex = Math.max(0, expected.size() - 1);
+               break;
+            case 4:
+               if (cursorIndex < expected.size())
+               {
+                  cursor.moveToNext();
+                  cursorIndex++;
+               }
+               else
+               {
+                  assertThrows(NoSuchElementException.class, () -> cursor.moveToNext());
+               }
+               break;
+            case 5:
+               if (cursorIndex < expected.size())
+               {
+                  cursor.moveToPrevious();
+                  cursorIndex = cursorIndex == 0 ? expected.size() : cursorIndex - 1;
+               }
+               break;
+            case 6:
+               cursor.insertBefore(element);
+               expected.add(cursorIndex, value);
+               cursorIndex++;
+               break;
+            case 7:
+               if (cursorIndex < expected.size())
+               {
+                  cursor.insertAfter(element);
+                  expected.add(cursorIndex + 1, value);
+               }
+               else
+               {
+                  assertThrows(NoSuchElementException.class, () -> cursor.insertAfter(element));
+               }
+               break;
+            case 8:
+               if (cursorIndex < expected.size())
+               {
+                  cursor.remove();
+                  expected.remove(cursorIndex);
+               }
+               else
+               {
+                  assertThrows(NoSuchElementException.class, () -> cursor.remove());
+               }
+               break;
+            case 9:
+               if (cursorIndex < expected.size())
+               {
+                  cursor.set(element);
+                  expected.set(cursorIndex, value);
+               }
+               break;
+            default:
+               if (random.nextInt(20) == 0)
+               {
+                  linkedList.clear();
+                  expected.clear();
+                  cursor.moveToFirst();
+                  cursorIndex = 0;
+               }
+               break;
+         }
+
+         assertEquals(expected.size(), linkedList.size());
+         assertEquals(expected.isEmpty(), linkedList.isEmpty());
+         assertEquals(cursorIndex < expected.size(), cursor.hasElement());
+         if (cursorIndex < expected.size())
+         {
+            cursor.get(element);
+            assertEquals(expected.get(cursorIndex).intValue(), element.intValue());
+         }
+
+         forwardIterator.reset();
+         for (int j = 0; j < expected.size(); j++)
+         {
+            assertTrue(forwardIterator.hasNext());
+            forwardIterator.next(element);
+            assertEquals(expected.get(j).intValue(), element.intValue());
+         }
+         assertFalse(forwardIterator.hasNext());
+
+         backwardIterator.reset();
+         for (int j = expected.size() - 1; j >= 0; j--)
+         {
+            backwardIterator.next(element);
+            assertEquals(expected.get(j).intValue(), element.intValue());
+         }
+         assertThrows(NoSuchElementException.class, () -> backwardIterator.next());
+      }
+
+      assertTrue(linkedList.capacity() >= linkedList.size());
+   }
+
+   @Test
+   public void testModificationChecks()
+   {
+      IndexedRecyclingLinkedList<MutableInt> linkedList = new IndexedRecyclingLinkedList<>(MutableInt.class, MutableInt::setValue);
+      MutableInt element = new MutableInt(1);
+      assertThrows(NoSuchElementException.class, () -> linkedList.peekFirst(element));
+      assertThrows(NoSuchElementException.class, () -> linkedList.peekLast(element));
+
+      linkedList.addLast(element);
+      RecyclingIterator<MutableInt> iterator = linkedList.createForwardIterator();
+      IndexedRecyclingLinkedList<MutableInt>.Cursor cursorA = linkedList.createCursor();
+      IndexedRecyclingLinkedList<MutableInt>.Cursor cursorB = linkedList.createCursor();
+
+      // Setting an element is not a structural modification.
+      element.setValue(2);
+      cursorA.set(element);
+      assertTrue(iterator.hasNext());
+      cursorB.get(element);
+      assertEquals(2, element.intValue());
+
+      // A cursor stays valid after its own modifications, the others are invalidated.
+      cursorA.insertAfter(element);
+      assertTrue(cursorA.hasElement());
+      assertThrows(ConcurrentModificationException.class, () -> iterator.hasNext());
+      assertThrows(ConcurrentModificationException.class, () -> cursorB.hasElement());
+      assertThrows(ConcurrentModificationException.class, () -> cursorB.get(element));
+
+      iterator.reset();
+      cursorB.moveToLast();
+      assertTrue(iterator.hasNext());
+      cursorB.remove();
+      assertFalse(cursorB.hasElement());
+      assertThrows(ConcurrentModificationException.class, () -> cursorA.moveToNext());
+      assertEquals(1, linkedList.size());
+
+      linkedList.clear();
+      assertThrows(ConcurrentModificationException.class, () -> cursorB.hasElement());
+      cursorB.moveToFirst();
+      assertFalse(cursorB.hasElement());
+      cursorB.insertBefore(element);
+      assertEquals(1, linkedList.size());
+      assertEquals(IndexedRecyclingLinkedList.defaultNumberOfElements, linkedList.capacity());
+
+      assertThrows(IllegalArgumentException.class, () -> new IndexedRecyclingLinkedList<>(-1, MutableInt::new, MutableInt::setValue));
+   }
+}
@@ -0,0 +1,129 @@
+package us.ihmc.commons.lists;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.commons.allocations.AllocationBudget;
+
+@AllocationBudget
+public class ListsAllocationBudgetTest
+{
+   private static final int NUMBER_OF_ELEMENTS = 20;
+
+   private final RecyclingArrayList<MutableInt> recyclingArrayList = new RecyclingArrayList<>(NUMBER_OF_ELEMENTS, () -> new MutableInt());
+   private final RecyclingArrayDeque<MutableInt> recyclingArrayDeque = new RecyclingArrayDeque<>(NUMBER_OF_ELEMENTS,
+                                                                                                 () -> new MutableInt(),
+                                                                                                 (source, destination) -> destination.setValue(source.intValue()));
+   private final RingBuffer<MutableInt> ringBuffer = new RingBuffer<>(NUMBER_OF_ELEMENTS, () -> new MutableInt());
+   private final RingBuffer<MutableInt> powerOfTwoRingBuffer = new RingBuffer<>(NUMBER_OF_ELEMENTS, () -> new MutableInt(), null, true);
+   private final MutableInt[] ringBufferWindow = new MutableInt[NUMBER_OF_ELEMENTS];
+   private final Consumer<MutableInt> ringBufferWindowAction = element -> element.increment();
+   private final RingBuffer<MutableInt> reservedRingBuffer = new RingBuffer<>(NUMBER_OF_ELEMENTS, () -> new MutableInt());
+   private final DoubleRingBuffer doubleRingBuffer = new DoubleRingBuffer(NUMBER_OF_ELEMENTS);
+   private final LongRingBuffer longRingBuffer = new LongRingBuffer(NUMBER_OF_ELEMENTS);
+   private final PreallocatedList<MutableInt> preallocatedList = new PreallocatedList<>(MutableInt.class, () -> new MutableInt(), NUMBER_OF_ELEMENTS);
+
+   @Test
+   public void testRecyclingArrayList()
+   {
+      recyclingArrayList.clear();
+
+      for (int i = 0; i < NUMBER_OF_ELEMENTS; i++)
+         recyclingArrayList.add().setValue(i);
+
+      recyclingArrayList.fastRemove(0);
+      recyclingArrayList.swap(0, 1);
+      recyclingArrayList.remove(recyclingArrayList.size() - 1);
+      recyclingArrayList.insertAtIndex(2).setValue(-1);
+      assertEquals(NUMBER_OF_ELEMENTS - 1, recyclingArrayList.size());
+   }
+
+   @Test
+   public void testRecyclingArrayDeque()
+   {
+      for (int i = 0; i < NUMBER_OF_ELEMENTS / 2; i++)
+      {
+         recyclingArrayDeque.addLast().setValue(i);
+         recyclingArrayDeque.addFirst().setValue(-i);
+      }
+
+      while (!recyclingArrayDeque.isEmpty())
+      {
+         recyclingArrayDeque.pollFirst();
+         recyclingArrayDeque.pollLast();
+      }
+   }
+
+   @Test
+   public void testRingBuffer()
+   {
+      for (int i = 0; i < 2 * NUMBER_OF_ELEMENTS; i++)
+         ringBuffer.add().setValue(i);
+
+      int sum = 0;
+      for (int i = 0; i < ringBuffer.size(); i++)
+         sum += ringBuffer.getFromLast(i).intValue();
+      assertTrue(sum > 0);
+      ringBuffer.reset();
+   }
+
+   @Test
+   public void testRingBufferWindow()
+   {
+      for (int i = 0; i < 2 * NUMBER_OF_ELEMENTS + 3; i++)
+         powerOfTwoRingBuffer.add().setValue(i);
+
+      powerOfTwoRingBuffer.copyWindow(2, NUMBER_OF_ELEMENTS - 4, ringBufferWindow);
+      powerOfTwoRingBuffer.forEachInWindow(0, powerOfTwoRingBuffer.size(), ringBufferWindowAction);
+      assertEquals(powerOfTwoRingBuffer.getFromFirst(2), ringBufferWindow[0]);
+      powerOfTwoRingBuffer.reset();
+   }
+
+   @Test
+   public void testRingBufferChangeCapacity()
+   {
+      reservedRingBuffer.reserveCapacity(4 * NUMBER_OF_ELEMENTS);
+
+      for (int i = 0; i < 4 * NUMBER_OF_ELEMENTS; i++)
+      {
+         reservedRingBuffer.add().setValue(i);
+         reservedRingBuffer.changeCapacity(i % (4 * NUMBER_OF_ELEMENTS) + 1);
+      }
+
+      reservedRingBuffer.changeCapacity(NUMBER_OF_ELEMENTS);
+      assertEquals(4 * NUMBER_OF_ELEMENTS - 1, reservedRingBuffer.getLast().intValue());
+   }
+
+   @Test
+   public void testPrimitiveRingBuffers()
+   {
+      for (int i = 0; i < 3 * NUMBER_OF_ELEMENTS; i++)
+      {
+         doubleRingBuffer.add(Math.sin(i));
+         longRingBuffer.add(i % 7);
+         assertTrue(doubleRingBuffer.getMin() <= doubleRingBuffer.getAverage());
+         assertTrue(longRingBuffer.getMax() >= longRingBuffer.getSum() / longRingBuffer.size());
+      }
+
+      doubleRingBuffer.reset();
+      longRingBuffer.reset();
+   }
+
+   @Test
+   public void testPreallocatedList()
+   {
+      preallocatedList.clear();
+
+      for (int i = 0; i < NUMBER_OF_ELEMENTS; i++)
+         preallocatedList.add().setValue(NUMBER_OF_ELEMENTS - i);
+
+      preallocatedList.swap(0, NUMBER_OF_ELEMENTS - 1);
+      preallocatedList.remove(NUMBER_OF_ELEMENTS / 2);
+      preallocatedList.remove();
+      assertEquals(NUMBER_OF_ELEMENTS - 2, preallocatedList.size());
+   }
+}
@@ -0,0 +1,109 @@
+package us.ihmc.commons.lists;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LongRingBufferTest
+{
+   private static final int ITERATIONS = 1000;
+
+   @Test
+   public void testAgainstRingBuffer()
+   {
+      Random random = new Random(3450);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         int capacity = random.nextInt(100) + 1;
+         LongRingBuffer buffer = new LongRingBuffer(capacity);
+         RingBuffer<long[]> expected = new RingBuffer<>(capacity, () -> new long[1]);
+         assertEquals(capacity, buffer.capacity());
+         assertTrue(buffer.isEmpty());
+         assertThrows(NoSuchElementException.class, () -> buffer.getMin());
+         assertThrows(NoSuchElementException.class, () -> buffer.getMax());
+         assertThrows(NoSuchElementException.class, () -> buffer.getFirst());
+         assertThrows(NoSuchElementException.class, () -> buffer.getLast());
+         assertTrue(Double.isNaN(buffer.getAverage()));
+
+         int numberOfValues = random.nextInt(4 * capacity);
+
+         for (int j = 0; j < numberOfValues; j++)
+         {
+            long value = random.nextBoolean() ? random.nextInt(5) : random.nextInt();
+            buffer.add(value);
+            expected.add()[0] = value;
+
+            assertEquals(expected.size(), buffer.size());
+            assertEquals(expected.size() == capacity, buffer.isBufferFull());
+            assertEquals(expected.getFirst()[0], buffer.getFirst());
+            assertEquals(value, buffer.getLast());
+
+            long sum = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+
+            for (int k = 0; k < expected.size(); k++)
+            {
+               long expectedValue = expected.getFromFirst(k)[0];
+               sum += expectedValue;
+               min = Math.min(min, expectedValue);
+               max = Math.max(max, expectedValue);
+               assertEquals(expectedValue, buffer.getFromFirst(k));
+               assertEquals(expected.getFromLast(k)[0], buffer.getFromLast(k));
+            }
+
+            assertEquals(sum, buffer.getSum());
+            assertEquals((double) sum / expected.size(), buffer.getAverage());
+            assertEquals(min, buffer.getMin());
+            assertEquals(max, buffer.getMax());
+         }
+
+         buffer.reset();
+         assertTrue(buffer.isEmpty());
+         assertEquals(0, buffer.getSum());
+         assertThrows(NoSuchElementException.class, () -> buffer.getMax());
+         buffer.add(-3);
+         assertEquals(-3, buffer.getMin());
+         assertEquals(-3, buffer.getMax());
+      }
+   }
+
+   @Test
+   public void testCopyWindow()
+   {
+      Random random = new Random(9804);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         LongRingBuffer buffer = new LongRingBuffer(random.nextInt(100) + 1);
+
+         int numberOfValues = random.nextInt(3 * buffer.capacity());
+         for (int j = 0; j < numberOfValues; j++)
+            buffer.add(j);
+
+         long[] expected = new long[buffer.size()];
+         for (int j = 0; j < buffer.size(); j++)
+            expected[j] = buffer.getFromFirst(j);
+
+         int fromOffset = random.nextInt(buffer.size() + 1);
+         int length = random.nextInt(buffer.size() - fromOffset + 1);
+
+         long[] actual = new long[length];
+         buffer.copyWindow(fromOffset, length, actual);
+         assertArrayEquals(Arrays.copyOfRange(expected, fromOffset, fromOffset + length), actual);
+
+         List<Long> forEachValues = new ArrayList<>();
+         buffer.forEachInWindow(fromOffset, length, forEachValues::add);
+         assertEquals(length, forEachValues.size());
+         for (int j = 0; j < length; j++)
+            assertEquals(expected[fromOffset + j], forEachValues.get(j).longValue());
+      }
+   }
+}
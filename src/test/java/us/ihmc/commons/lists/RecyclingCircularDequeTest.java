@@ -0,0 +1,192 @@
+package us.ihmc.commons.lists;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.junit.jupiter.api.Test;
+
+public class RecyclingCircularDequeTest
+{
+   private static final int ITERATIONS = 10000;
+
+   @Test
+   public void testConstructors()
+   {
+      RecyclingCircularDeque<MutableInt> deque = new RecyclingCircularDeque<>(MutableInt::new, MutableInt::setValue);
+      assertTrue(deque.isEmpty());
+      assertEquals(16, deque.capacity());
+
+      deque = new RecyclingCircularDeque<>(MutableInt.class, MutableInt::setValue);
+      assertTrue(deque.isEmpty());
+      assertEquals(16, deque.capacity());
+
+      deque = new RecyclingCircularDeque<>(10, MutableInt.class, MutableInt::setValue);
+      assertTrue(deque.isEmpty());
+      assertEquals(16, deque.capacity());
+
+      deque = new RecyclingCircularDeque<>(0, MutableInt::new, MutableInt::setValue);
+      assertTrue(deque.isEmpty());
+      assertEquals(1, deque.capacity());
+
+      assertThrows(IllegalArgumentException.class, () -> new RecyclingCircularDeque<>(-1, MutableInt::new, MutableInt::setValue));
+
+      RecyclingCircularDeque<MutableInt> emptyDeque = deque;
+      assertThrows(NoSuchElementException.class, () -> emptyDeque.getFirst());
+      assertThrows(NoSuchElementException.class, () -> emptyDeque.getLast());
+      assertNull(emptyDeque.peekFirst());
+      assertNull(emptyDeque.peekLast());
+   }
+
+   @Test
+   public void testAgainstArrayDeque()
+   {
+      Random random = new Random(6734);
+      RecyclingCircularDeque<MutableInt> deque = new RecyclingCircularDeque<>(1, MutableInt::new, MutableInt::setValue);
+      ArrayDeque<Integer> expected = new ArrayDeque<>();
+      MutableInt element = new MutableInt();
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         int value = random.nextInt(1000);
+         element.setValue(value);
+
+         switch (random.nextInt(8))
+         {
+            case 0:
+               deque.addFirst(element);
+               expected.addFirst(value);
+               break;
+            case 1:
+               deque.addLast(element);
+               expected.addLast(value);
+               break;
+            case 2:
+               deque.addFirst().setValue(value);
+               expected.addFirst(value);
+               break;
+            case 3:
+               deque.addLast().setValue(value);
+               expected.addLast(value);
+               break;
+            case 4:
+               assertEquals(expected.pollFirst(), toInteger(deque.pollFirst()));
+               break;
+            case 5:
+               assertEquals(expected.pollLast(), toInteger(deque.pollLast()));
+               break;
+            case 6:
+               if (expected.isEmpty())
+                  assertThrows(NoSuchElementException.class, () -> deque.removeFirst());
+               else
+                  assertEquals(expected.removeFirst().intValue(), deque.removeFirst().intValue());
+               break;
+            default:
+               if (expected.isEmpty())
+                  assertThrows(NoSuchElementException.class, () -> deque.removeLast());
+               else
+                  assertEquals(expected.removeLast().intValue(), deque.removeLast().intValue());
+               break;
+         }
+
+         assertDequeEquals(expected, deque);
+      }
+   }
+
+   @Test
+   public void testIndexedAccess()
+   {
+      RecyclingCircularDeque<MutableInt> deque = new RecyclingCircularDeque<>(4, MutableInt::new, MutableInt::setValue);
+
+      // Wraps around the end of the array.
+      deque.addLast().setValue(2);
+      deque.addLast().setValue(3);
+      deque.addFirst().setValue(1);
+      deque.addFirst().setValue(0);
+
+      for (int i = 0; i < 4; i++)
+      {
+         assertEquals(i, deque.get(i).intValue());
+         assertEquals(3 - i, deque.getFromLast(i).intValue());
+      }
+
+      assertThrows(IndexOutOfBoundsException.class, () -> deque.get(-1));
+      assertThrows(IndexOutOfBoundsException.class, () -> deque.get(4));
+      assertThrows(IndexOutOfBoundsException.class, () -> deque.getFromLast(4));
+
+      List<Integer> values = new ArrayList<>();
+      deque.forEach(value -> values.add(value.intValue()));
+      assertEquals(Arrays.asList(0, 1, 2, 3), values);
+      assertEquals("[0, 1, 2, 3]", deque.toString());
+   }
+
+   @Test
+   public void testCapacity()
+   {
+      RecyclingCircularDeque<MutableInt> deque = new RecyclingCircularDeque<>(3, MutableInt::new, MutableInt::setValue);
+      assertEquals(4, deque.capacity());
+
+      MutableInt last = deque.addLast();
+      last.setValue(1);
+      deque.pollLast();
+      // The removed object is recycled.
+      assertTrue(last == deque.addLast());
+      deque.pollFirst();
+      assertTrue(last == deque.addFirst());
+
+      deque.clear();
+      deque.setGrowthAllowed(false);
+      for (int i = 0; i < 4; i++)
+         deque.addFirst().setValue(i);
+      assertThrows(IllegalStateException.class, () -> deque.addLast());
+      assertThrows(IllegalStateException.class, () -> deque.addFirst());
+      assertEquals(4, deque.size());
+
+      deque.setGrowthAllowed(true);
+      deque.addLast().setValue(-1);
+      assertEquals(8, deque.capacity());
+      assertEquals(5, deque.size());
+      assertEquals(3, deque.getFirst().intValue());
+      assertEquals(-1, deque.getLast().intValue());
+
+      deque.ensureCapacity(9);
+      assertEquals(16, deque.capacity());
+      deque.ensureCapacity(2);
+      assertEquals(16, deque.capacity());
+      assertThrows(IllegalArgumentException.class, () -> deque.ensureCapacity(-1));
+      assertThrows(IllegalArgumentException.class, () -> deque.ensureCapacity(Integer.MIN_VALUE));
+      assertThrows(IllegalArgumentException.class, () -> deque.ensureCapacity((1 << 30) + 1));
+      assertEquals(16, deque.capacity());
+      for (int i = 0; i < 5; i++)
+         assertEquals(i < 4 ? 3 - i : -1, deque.get(i).intValue());
+   }
+
+   private static Integer toInteger(MutableInt value)
+   {
+      return value == null ? null : value.toInteger();
+   }
+
+   private static void assertDequeEquals(ArrayDeque<Integer> expected, RecyclingCircularDeque<MutableInt> actual)
+   {
+      assertEquals(expected.size(), actual.size());
+      assertEquals(expected.isEmpty(), actual.isEmpty());
+      assertEquals(expected.peekFirst(), toInteger(actual.peekFirst()));
+      assertEquals(expected.peekLast(), toInteger(actual.peekLast()));
+      assertEquals(1, Integer.bitCount(actual.capacity()));
+
+      Iterator<Integer> iterator = expected.iterator();
+      for (int i = 0; i < actual.size(); i++)
+         assertEquals(iterator.next().intValue(), actual.get(i).intValue());
+
+      iterator = expected.descendingIterator();
+      for (int i = 0; i < actual.size(); i++)
+         assertEquals(iterator.next().intValue(), actual.getFromLast(i).intValue());
+   }
+}
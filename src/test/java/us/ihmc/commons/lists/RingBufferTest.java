@@ -205,4 +205,142 @@ public class RingBufferTest
          assertArrayEquals(expected, actual);
       }
    }
+
+   @Test
+   public void testPowerOfTwoStorage()
+   {
+      Random random = new Random(2390);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         int capacity = random.nextInt(1500) + 1;
+         RingBuffer<MutableInt> buffer = new RingBuffer<>(capacity, MutableInt::new, MutableInt::setValue, true);
+         RingBuffer<MutableInt> expected = new RingBuffer<>(capacity, MutableInt::new, MutableInt::setValue);
+         assertEquals(capacity, buffer.capacity());
+
+         int numberOfElements = random.nextInt(3 * capacity);
+
+         for (int j = 0; j < numberOfElements; j++)
+         {
+            MutableInt newElement = new MutableInt(j);
+            buffer.add(newElement);
+            expected.add(newElement);
+            assertEquals(expected.isBufferFull(), buffer.isBufferFull());
+            assertEquals(expected.getFirst(), buffer.getFirst());
+            assertEquals(expected.getLast(), buffer.getLast());
+         }
+
+         assertEquals(expected, buffer);
+         assertArrayEquals(expected.toArrayFromLastToFirst(), buffer.toArrayFromLastToFirst());
+
+         int newCapacity = random.nextInt(1500) + 1;
+         buffer.changeCapacity(newCapacity);
+         expected.changeCapacity(newCapacity);
+         assertEquals(expected, buffer);
+
+         for (int j = 0; j < newCapacity; j++)
+         {
+            buffer.add().setValue(-j);
+            expected.add().setValue(-j);
+         }
+         assertEquals(expected, buffer);
+      }
+   }
+
+   @Test
+   public void testCopyWindow()
+   {
+      Random random = new Random(7832);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         RingBuffer<MutableInt> buffer = new RingBuffer<>(random.nextInt(500) + 1, MutableInt::new, MutableInt::setValue, random.nextBoolean());
+
+         int numberOfElements = random.nextInt(3 * buffer.capacity());
+         for (int j = 0; j < numberOfElements; j++)
+            buffer.add().setValue(j);
+
+         MutableInt[] expected = buffer.toArrayFromFirstToLast();
+         int fromOffset = random.nextInt(buffer.size() + 1);
+         int length = random.nextInt(buffer.size() - fromOffset + 1);
+
+         MutableInt[] actual = new MutableInt[length + random.nextInt(3)];
+         buffer.copyWindow(fromOffset, length, actual);
+         assertArrayEquals(Arrays.copyOfRange(expected, fromOffset, fromOffset + length), Arrays.copyOf(actual, length));
+
+         List<MutableInt> forEachElements = new ArrayList<>();
+         buffer.forEachInWindow(fromOffset, length, forEachElements::add);
+         assertEquals(Arrays.asList(expected).subList(fromOffset, fromOffset + length), forEachElements);
+
+         assertThrows(IndexOutOfBoundsException.class, () -> buffer.copyWindow(-1, 0, actual));
+         assertThrows(IndexOutOfBoundsException.class, () -> buffer.copyWindow(fromOffset, buffer.size() - fromOffset + 1, new MutableInt[buffer.size() + 1]));
+         if (!buffer.isEmpty())
+            assertThrows(IndexOutOfBoundsException.class, () -> buffer.copyWindow(0, buffer.size(), new MutableInt[buffer.size() - 1]));
+         assertThrows(IndexOutOfBoundsException.class, () -> buffer.forEachInWindow(fromOffset, -1, element -> fail()));
+      }
+   }
+
+   @Test
+   public void testChangeCapacityWithinReservedCapacity()
+   {
+      Random random = new Random(9023);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         int reservedCapacity = random.nextInt(200) + 1;
+         RingBuffer<MutableInt> buffer = new RingBuffer<>(random.nextInt(reservedCapacity) + 1, MutableInt::new, MutableInt::setValue, random.nextBoolean());
+         buffer.reserveCapacity(reservedCapacity);
+         int storageLength = buffer.reservedCapacity();
+         assertTrue(storageLength >= reservedCapacity);
+         List<Integer> expected = new ArrayList<>();
+
+         for (int j = 0; j < 200; j++)
+         {
+            if (random.nextInt(5) == 0)
+            {
+               int newCapacity = random.nextInt(storageLength) + 1;
+               boolean wasFull = buffer.isBufferFull();
+               int previousCapacity = buffer.capacity();
+               MutableInt[] elementsBefore = buffer.toArrayFromFirstToLast();
+               buffer.changeCapacity(newCapacity);
+
+               while (expected.size() > newCapacity)
+                  expected.remove(0);
+
+               assertEquals(newCapacity, buffer.capacity());
+               assertEquals(storageLength, buffer.reservedCapacity());
+               if (newCapacity != previousCapacity)
+                  assertEquals(expected.size() >= newCapacity, buffer.isBufferFull());
+               else
+                  assertEquals(wasFull, buffer.isBufferFull());
+
+               // The same objects are kept.
+               MutableInt[] elementsAfter = buffer.toArrayFromFirstToLast();
+               for (int k = 0; k < elementsAfter.length; k++)
+                  assertTrue(elementsBefore[elementsBefore.length - elementsAfter.length + k] == elementsAfter[k]);
+            }
+            else
+            {
+               buffer.add().setValue(j);
+               expected.add(j);
+
+               if (expected.size() > buffer.capacity())
+                  expected.remove(0);
+            }
+
+            assertEquals(expected.size(), buffer.size());
+            for (int k = 0; k < expected.size(); k++)
+            {
+               assertEquals(expected.get(k).intValue(), buffer.getFromFirst(k).intValue());
+               assertEquals(expected.get(expected.size() - 1 - k).intValue(), buffer.getFromLast(k).intValue());
+            }
+         }
+
+         // Growing past the reserved capacity reallocates while preserving the elements.
+         MutableInt[] elementsBefore = buffer.toArrayFromFirstToLast();
+         buffer.changeCapacity(storageLength + 1);
+         assertTrue(buffer.reservedCapacity() > storageLength);
+         assertArrayEquals(elementsBefore, buffer.toArrayFromFirstToLast());
+      }
+   }
 }
@@ -0,0 +1,81 @@
+package us.ihmc.commons.robotics.lists;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import us.ihmc.euclid.referenceFrame.FramePoint3D;
+import us.ihmc.euclid.referenceFrame.ReferenceFrame;
+import us.ihmc.euclid.referenceFrame.tools.EuclidFrameRandomTools;
+import us.ihmc.log.LogTools;
+
+/**
+ * Compares copying a point cloud and expressing it in another frame using
+ * {@link FrameTuple3DArrayList} and using {@link PackedFramePoint3DList}.
+ */
+public class PackedFramePoint3DListBenchmark
+{
+   private static final int NUMBER_OF_POINTS = 5000;
+   private static final int WARMUP_ITERATIONS = 5000;
+   private static final int ITERATIONS = 20000;
+
+   private static double blackHole = 0.0;
+
+   public static void main(String[] args)
+   {
+      Random random = new Random(6512);
+      ReferenceFrame[] frames = EuclidFrameRandomTools.nextReferenceFrameTree(random);
+      ReferenceFrame sensorFrame = frames[frames.length - 1];
+      ReferenceFrame desiredFrame = frames[1];
+
+      List<FramePoint3D> pointCloud = new ArrayList<>();
+      for (int i = 0; i < NUMBER_OF_POINTS; i++)
+         pointCloud.add(EuclidFrameRandomTools.nextFramePoint3D(random, sensorFrame));
+
+      FrameTuple3DArrayList<FramePoint3D> sourceList = FrameTuple3DArrayList.createFramePointArrayList();
+      FrameTuple3DArrayList<FramePoint3D> arrayList = FrameTuple3DArrayList.createFramePointArrayList();
+      sourceList.copyFromListAndTrimSize(pointCloud);
+      PackedFramePoint3DList sourcePackedList = new PackedFramePoint3DList();
+      PackedFramePoint3DList packedList = new PackedFramePoint3DList();
+      sourcePackedList.copyFromListAndTrimSize(pointCloud);
+
+      for (int i = 0; i < WARMUP_ITERATIONS; i++)
+      {
+         tickArrayList(sourceList, arrayList, desiredFrame);
+         tickPackedList(sourcePackedList, packedList, desiredFrame);
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         tickArrayList(sourceList, arrayList, desiredFrame);
+      report("FrameTuple3DArrayList", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         tickPackedList(sourcePackedList, packedList, desiredFrame);
+      report("PackedFramePoint3DList", start);
+
+      LogTools.info("Ignore: " + blackHole);
+   }
+
+   private static void tickArrayList(FrameTuple3DArrayList<FramePoint3D> source, FrameTuple3DArrayList<FramePoint3D> destination, ReferenceFrame desiredFrame)
+   {
+      destination.set(source);
+      for (int i = 0; i < destination.size(); i++)
+         destination.get(i).changeFrame(desiredFrame);
+      blackHole += destination.get(0).getX();
+   }
+
+   private static void tickPackedList(PackedFramePoint3DList source, PackedFramePoint3DList destination, ReferenceFrame desiredFrame)
+   {
+      destination.set(source);
+      destination.changeFrame(desiredFrame);
+      blackHole += destination.getX(0);
+   }
+
+   private static void report(String name, long startNanos)
+   {
+      double microsecondsPerCall = (double) (System.nanoTime() - startNanos) / ITERATIONS / 1000.0;
+      LogTools.info(String.format("%-32s %10.1f us per copy and frame change of %d points", name, microsecondsPerCall, NUMBER_OF_POINTS));
+   }
+}
@@ -0,0 +1,193 @@
+package us.ihmc.commons.robotics.lists;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.referenceFrame.FramePoint3D;
+import us.ihmc.euclid.referenceFrame.ReferenceFrame;
+import us.ihmc.euclid.referenceFrame.exceptions.ReferenceFrameMismatchException;
+import us.ihmc.euclid.referenceFrame.interfaces.FramePoint3DBasics;
+import us.ihmc.euclid.referenceFrame.tools.EuclidFrameRandomTools;
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+
+public class PackedFramePoint3DListTest
+{
+   private static final int ITERATIONS = 100;
+   private static final double EPSILON = 1.0e-12;
+
+   @Test
+   public void testAddGetSetAndRemove()
+   {
+      Random random = new Random(7312);
+      ReferenceFrame frame = EuclidFrameRandomTools.nextReferenceFrame(random);
+      PackedFramePoint3DList list = new PackedFramePoint3DList(frame, 2);
+      List<FramePoint3D> expected = new ArrayList<>();
+
+      assertTrue(list.isEmpty());
+      assertSame(frame, list.getReferenceFrame());
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         FramePoint3D point = EuclidFrameRandomTools.nextFramePoint3D(random, frame);
+         expected.add(point);
+
+         switch (i % 3)
+         {
+            case 0:
+               list.add(point);
+               break;
+            case 1:
+               list.add(point.getX(), point.getY(), point.getZ());
+               break;
+            default:
+               list.add().set(point);
+               break;
+         }
+      }
+
+      assertEquals(ITERATIONS, list.size());
+      assertTrue(list.capacity() >= ITERATIONS);
+      assertPointsEqual(expected, list);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         FramePoint3D point = EuclidFrameRandomTools.nextFramePoint3D(random, frame);
+         expected.set(i, point);
+
+         if (i % 2 == 0)
+            list.set(i, point);
+         else
+            list.get(i).setIncludingFrame(point);
+      }
+
+      assertPointsEqual(expected, list);
+
+      FramePoint3D point = new FramePoint3D();
+      list.get(5, point);
+      assertEquals(expected.get(5), point);
+
+      list.remove(5);
+      expected.remove(5);
+      list.remove(list.size() - 1);
+      expected.remove(expected.size() - 1);
+      assertPointsEqual(expected, list);
+
+      assertThrows(IndexOutOfBoundsException.class, () -> list.get(list.size()));
+      assertThrows(IndexOutOfBoundsException.class, () -> list.getX(-1));
+
+      ReferenceFrame otherFrame = EuclidFrameRandomTools.nextReferenceFrame(random);
+      assertThrows(ReferenceFrameMismatchException.class, () -> list.add(EuclidFrameRandomTools.nextFramePoint3D(random, otherFrame)));
+      assertThrows(ReferenceFrameMismatchException.class, () -> list.set(0, EuclidFrameRandomTools.nextFramePoint3D(random, otherFrame)));
+      FramePoint3D pointBeforeMismatch = new FramePoint3D();
+      list.get(0, pointBeforeMismatch);
+      assertThrows(ReferenceFrameMismatchException.class, () -> list.get(0).setReferenceFrame(otherFrame));
+      assertThrows(ReferenceFrameMismatchException.class, () -> list.get(0).changeFrame(otherFrame));
+      // A failed frame change leaves the point and the frame of the list unchanged.
+      assertEquals(pointBeforeMismatch.getX(), list.getX(0));
+      assertEquals(pointBeforeMismatch.getY(), list.getY(0));
+      assertEquals(pointBeforeMismatch.getZ(), list.getZ(0));
+      assertSame(frame, list.getReferenceFrame());
+      list.get(0).changeFrame(frame);
+      assertEquals(pointBeforeMismatch, list.get(0));
+
+      list.clear();
+      assertTrue(list.isEmpty());
+      assertSame(frame, list.getReferenceFrame());
+   }
+
+   @Test
+   public void testCopy()
+   {
+      Random random = new Random(9213);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         ReferenceFrame frame = EuclidFrameRandomTools.nextReferenceFrame(random);
+         List<FramePoint3D> expected = nextFramePoints(random, frame, random.nextInt(50));
+         PackedFramePoint3DList list = new PackedFramePoint3DList();
+         list.copyFromListAndTrimSize(nextFramePoints(random, ReferenceFrame.getWorldFrame(), random.nextInt(50)));
+         list.copyFromListAndTrimSize(expected);
+
+         if (expected.isEmpty())
+            assertSame(ReferenceFrame.getWorldFrame(), list.getReferenceFrame());
+         else
+            assertPointsEqual(expected, list);
+
+         PackedFramePoint3DList copy = new PackedFramePoint3DList(EuclidFrameRandomTools.nextReferenceFrame(random), 0);
+         copy.set(list);
+         assertEquals(list, copy);
+         assertEquals(list.hashCode(), copy.hashCode());
+
+         double[] coordinates = new double[3 * list.size() + 2];
+         list.getCoordinates(coordinates, 2);
+         PackedFramePoint3DList other = new PackedFramePoint3DList();
+         other.setIncludingFrame(list.getReferenceFrame(), coordinates, 2, list.size());
+         assertEquals(list, other);
+
+         if (!list.isEmpty())
+         {
+            other.set(0, other.getX(0) + 1.0, other.getY(0), other.getZ(0));
+            assertNotEquals(list, other);
+         }
+      }
+
+      List<FramePoint3D> mixedFrames = nextFramePoints(random, ReferenceFrame.getWorldFrame(), 10);
+      mixedFrames.add(EuclidFrameRandomTools.nextFramePoint3D(random, EuclidFrameRandomTools.nextReferenceFrame(random)));
+      assertThrows(ReferenceFrameMismatchException.class, () -> new PackedFramePoint3DList().copyFromListAndTrimSize(mixedFrames));
+   }
+
+   @Test
+   public void testChangeFrameAndApplyTransform()
+   {
+      Random random = new Random(2213);
+      ReferenceFrame[] frames = EuclidFrameRandomTools.nextReferenceFrameTree(random);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         ReferenceFrame initialFrame = frames[random.nextInt(frames.length)];
+         ReferenceFrame desiredFrame = frames[random.nextInt(frames.length)];
+         List<FramePoint3D> expected = nextFramePoints(random, initialFrame, 1 + random.nextInt(50));
+         PackedFramePoint3DList list = new PackedFramePoint3DList();
+         list.copyFromListAndTrimSize(expected);
+
+         list.changeFrame(desiredFrame);
+         expected.forEach(point -> point.changeFrame(desiredFrame));
+         assertSame(desiredFrame, list.getReferenceFrame());
+         assertPointsEqual(expected, list);
+
+         RigidBodyTransform transform = EuclidCoreRandomTools.nextRigidBodyTransform(random);
+         list.applyTransform(transform);
+         expected.forEach(point -> point.applyTransform(transform));
+         assertSame(desiredFrame, list.getReferenceFrame());
+         assertPointsEqual(expected, list);
+      }
+   }
+
+   private static List<FramePoint3D> nextFramePoints(Random random, ReferenceFrame frame, int numberOfPoints)
+   {
+      List<FramePoint3D> points = new ArrayList<>();
+      for (int i = 0; i < numberOfPoints; i++)
+         points.add(EuclidFrameRandomTools.nextFramePoint3D(random, frame));
+      return points;
+   }
+
+   private static void assertPointsEqual(List<FramePoint3D> expected, PackedFramePoint3DList actual)
+   {
+      assertEquals(expected.size(), actual.size());
+
+      for (int i = 0; i < expected.size(); i++)
+      {
+         FramePoint3DBasics view = actual.get(i);
+         assertTrue(expected.get(i).epsilonEquals(view, EPSILON), "expected: " + expected.get(i) + ", actual: " + view);
+         assertEquals(view.getX(), actual.getX(i));
+         assertEquals(view.getY(), actual.getY(i));
+         assertEquals(view.getZ(), actual.getZ(i));
+      }
+   }
+}
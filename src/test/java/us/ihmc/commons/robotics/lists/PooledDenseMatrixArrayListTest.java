@@ -0,0 +1,113 @@
+package us.ihmc.commons.robotics.lists;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+public class PooledDenseMatrixArrayListTest
+{
+   private static final int ITERATIONS = 100;
+
+   @Test
+   public void testHighWaterMark()
+   {
+      PooledDenseMatrixArrayList list = new PooledDenseMatrixArrayList(2, 4);
+      DMatrixRMaj matrix = list.add(2, 2);
+      assertEquals(4, list.getElementCapacity(0));
+      double[] initialData = matrix.data;
+
+      list.reshape(0, 1, 3);
+      assertSame(initialData, matrix.data);
+      assertEquals(1, matrix.getNumRows());
+      assertEquals(3, matrix.getNumCols());
+
+      // Grows by at least half of the current capacity.
+      list.reshape(0, 1, 5);
+      assertEquals(6, list.getElementCapacity(0));
+      list.reshape(0, 10, 10);
+      assertEquals(100, list.getElementCapacity(0));
+      double[] largestData = matrix.data;
+
+      // Shrinking and growing back to the high-water mark reuse the same array.
+      list.reshape(0, 3, 3);
+      list.reshape(0, 5, 20);
+      assertSame(largestData, matrix.data);
+
+      list.reserve(5, 50);
+      assertEquals(1, list.size());
+      assertEquals(100, list.getElementCapacity(0));
+      list.add(7, 7);
+      assertEquals(50, list.getElementCapacity(1));
+
+      // Reserving preserves the elements in use.
+      DMatrixRMaj expected = new DMatrixRMaj(list.get(1));
+      list.reserve(2, 60);
+      assertEquals(60, list.getElementCapacity(1));
+      assertTrue(MatrixFeatures_DDRM.isEquals(expected, list.get(1)));
+   }
+
+   @Test
+   public void testSetAndZero()
+   {
+      Random random = new Random(1723);
+      PooledDenseMatrixArrayList list = new PooledDenseMatrixArrayList();
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         DenseMatrixArrayList expected = new DenseMatrixArrayList();
+         int numberOfMatrices = random.nextInt(10);
+         for (int j = 0; j < numberOfMatrices; j++)
+            expected.add().set(RandomMatrices_DDRM.rectangle(random.nextInt(10), random.nextInt(10), random));
+
+         list.set(expected);
+         assertEquals(expected, list);
+         assertEquals(list, expected);
+
+         PooledDenseMatrixArrayList copy = new PooledDenseMatrixArrayList();
+         copy.set((DenseMatrixArrayList) list);
+         assertEquals(expected, copy);
+
+         int totalNumberOfElements = 0;
+         for (int j = 0; j < numberOfMatrices; j++)
+            totalNumberOfElements += expected.get(j).getNumElements();
+         assertEquals(totalNumberOfElements, list.getTotalNumberOfElements());
+
+         list.zero();
+         for (int j = 0; j < numberOfMatrices; j++)
+         {
+            assertEquals(expected.get(j).getNumRows(), list.get(j).getNumRows());
+            assertEquals(expected.get(j).getNumCols(), list.get(j).getNumCols());
+            assertTrue(MatrixFeatures_DDRM.isZeros(list.get(j), 0.0));
+         }
+      }
+   }
+
+   @Test
+   public void testPackAndUnpack()
+   {
+      Random random = new Random(4521);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         PooledDenseMatrixArrayList list = new PooledDenseMatrixArrayList();
+         int numberOfMatrices = random.nextInt(10);
+         for (int j = 0; j < numberOfMatrices; j++)
+            list.add().set(RandomMatrices_DDRM.rectangle(random.nextInt(10), random.nextInt(10), random));
+
+         int startIndex = random.nextInt(5);
+         double[] data = new double[startIndex + list.getTotalNumberOfElements()];
+         assertEquals(data.length, list.packData(data, startIndex));
+
+         PooledDenseMatrixArrayList other = new PooledDenseMatrixArrayList();
+         for (int j = 0; j < numberOfMatrices; j++)
+            other.add(list.get(j).getNumRows(), list.get(j).getNumCols());
+         assertEquals(data.length, other.unpackData(data, startIndex));
+         assertEquals(list, other);
+      }
+   }
+}
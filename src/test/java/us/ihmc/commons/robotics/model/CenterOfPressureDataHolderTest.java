@@ -0,0 +1,114 @@
+package us.ihmc.commons.robotics.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.referenceFrame.FramePoint2D;
+import us.ihmc.euclid.referenceFrame.ReferenceFrame;
+import us.ihmc.euclid.referenceFrame.tools.EuclidFrameRandomTools;
+import us.ihmc.mecano.multiBodySystem.RigidBody;
+import us.ihmc.mecano.multiBodySystem.interfaces.RigidBodyBasics;
+
+public class CenterOfPressureDataHolderTest
+{
+   private static final int ITERATIONS = 100;
+
+   @Test
+   public void testRegistrationAndLookups()
+   {
+      Random random = new Random(3317);
+      RigidBodyBasics[] bodies = nextBodies("foot", 4);
+      CenterOfPressureDataHolder holder = new CenterOfPressureDataHolder(bodies);
+
+      assertEquals(bodies.length, holder.getNumberOfBodiesWithCenterOfPressure());
+      assertThrows(RuntimeException.class, () -> holder.registerRigidBody(bodies[2]));
+      assertEquals(-1, holder.getBodyIndex(nextBodies("hand", 1)[0]));
+      assertNull(holder.getCenterOfPressure(nextBodies("hand", 1)[0]));
+
+      for (int i = 0; i < bodies.length; i++)
+      {
+         assertEquals(i, holder.getBodyIndex(bodies[i]));
+         assertSame(bodies[i], holder.getRigidBody(i));
+         assertSame(holder.getCenterOfPressure(i), holder.getCenterOfPressure(bodies[i]));
+         assertTrue(holder.getCenterOfPressure(i).containsNaN());
+
+         FramePoint2D centerOfPressure = EuclidFrameRandomTools.nextFramePoint2D(random, ReferenceFrame.getWorldFrame());
+         holder.setCenterOfPressure(centerOfPressure, bodies[i]);
+         FramePoint2D actual = new FramePoint2D();
+         holder.getCenterOfPressure(actual, i);
+         assertEquals(centerOfPressure, actual);
+
+         centerOfPressure = EuclidFrameRandomTools.nextFramePoint2D(random, ReferenceFrame.getWorldFrame());
+         holder.setCenterOfPressure(centerOfPressure, i);
+         holder.getCenterOfPressure(actual, bodies[i]);
+         assertEquals(centerOfPressure, actual);
+      }
+   }
+
+   @Test
+   public void testBodiesWithSameName()
+   {
+      // The hash code of the bodies only depends on their name, distinct bodies must still be told apart.
+      RigidBodyBasics foot = nextBodies("foot", 1)[0];
+      RigidBodyBasics otherFoot = nextBodies("foot", 1)[0];
+      assertEquals(foot.hashCode(), otherFoot.hashCode());
+
+      CenterOfPressureDataHolder holder = new CenterOfPressureDataHolder(foot, otherFoot);
+      assertEquals(2, holder.getNumberOfBodiesWithCenterOfPressure());
+      assertEquals(0, holder.getBodyIndex(foot));
+      assertEquals(1, holder.getBodyIndex(otherFoot));
+      assertNotSame(holder.getCenterOfPressure(foot), holder.getCenterOfPressure(otherFoot));
+      assertThrows(RuntimeException.class, () -> holder.registerRigidBody(otherFoot));
+
+      CenterOfPressureDataHolder single = new CenterOfPressureDataHolder(foot);
+      assertEquals(-1, single.getBodyIndex(otherFoot));
+      assertNull(single.getCenterOfPressure(otherFoot));
+   }
+
+   @Test
+   public void testSet()
+   {
+      Random random = new Random(8102);
+      RigidBodyBasics[] bodies = nextBodies("foot", 4);
+      CenterOfPressureDataHolder source = new CenterOfPressureDataHolder(bodies);
+      CenterOfPressureDataHolder sameLayout = new CenterOfPressureDataHolder(bodies);
+      CenterOfPressureDataHolder reversed = new CenterOfPressureDataHolder(bodies[3], bodies[2], bodies[1], bodies[0]);
+
+      assertTrue(source.hasSameLayout(sameLayout));
+      assertFalse(source.hasSameLayout(reversed));
+      assertFalse(source.hasSameLayout(new CenterOfPressureDataHolder(bodies[0], bodies[1])));
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         for (int bodyIndex = 0; bodyIndex < bodies.length; bodyIndex++)
+            source.setCenterOfPressure(EuclidFrameRandomTools.nextFramePoint2D(random, ReferenceFrame.getWorldFrame()), bodyIndex);
+
+         FramePoint2D centerOfPressure = sameLayout.getCenterOfPressure(0);
+         sameLayout.set(source);
+         assertSame(centerOfPressure, sameLayout.getCenterOfPressure(0));
+         assertEquals(source, sameLayout);
+
+         assertNotEquals(source, reversed);
+         reversed.set(source);
+         assertTrue(source.hasSameLayout(reversed));
+         assertEquals(source, reversed);
+         reversed = new CenterOfPressureDataHolder(bodies[3], bodies[2], bodies[1], bodies[0]);
+      }
+
+      CenterOfPressureDataHolder empty = new CenterOfPressureDataHolder();
+      sameLayout.set(empty);
+      assertEquals(0, sameLayout.getNumberOfBodiesWithCenterOfPressure());
+      assertEquals(-1, sameLayout.getBodyIndex(bodies[0]));
+   }
+
+   private static RigidBodyBasics[] nextBodies(String prefix, int numberOfBodies)
+   {
+      RigidBodyBasics[] bodies = new RigidBodyBasics[numberOfBodies];
+      for (int i = 0; i < numberOfBodies; i++)
+         bodies[i] = new RigidBody(prefix + i, ReferenceFrame.getWorldFrame());
+      return bodies;
+   }
+}
@@ -0,0 +1,100 @@
+package us.ihmc.commons.robotics.outputData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import us.ihmc.log.LogTools;
+import us.ihmc.mecano.multiBodySystem.interfaces.OneDoFJointReadOnly;
+import us.ihmc.mecano.tools.MultiBodySystemRandomTools;
+
+/**
+ * Compares the per-tick merge of desired outputs, {@code overwriteWith} and {@code completeWith},
+ * through hash lookups, through a resolved joint index table, by index for lists with the same joint
+ * ordering, and with {@link PackedJointDesiredOutputList}.
+ */
+public class JointDesiredOutputListBenchmark
+{
+   private static final int NUMBER_OF_JOINTS = 40;
+   private static final int WARMUP_ITERATIONS = 200000;
+   private static final int ITERATIONS = 200000;
+
+   public static void main(String[] args)
+   {
+      Random random = new Random(8714);
+      OneDoFJointReadOnly[] joints = MultiBodySystemRandomTools.nextOneDoFJointChain(random, NUMBER_OF_JOINTS).toArray(new OneDoFJointReadOnly[0]);
+      List<OneDoFJointReadOnly> shuffledJointList = new ArrayList<>();
+      Collections.addAll(shuffledJointList, joints);
+      Collections.shuffle(shuffledJointList, random);
+      OneDoFJointReadOnly[] shuffledJoints = shuffledJointList.toArray(new OneDoFJointReadOnly[0]);
+
+      JointDesiredOutputList source = new JointDesiredOutputList(joints);
+      PackedJointDesiredOutputList packedSource = new PackedJointDesiredOutputList(joints);
+      for (int i = 0; i < NUMBER_OF_JOINTS; i++)
+      {
+         source.setupForPositionControl(i, random.nextDouble(), random.nextDouble());
+         source.getJointDesiredOutput(i).setStiffness(random.nextDouble());
+         source.getJointDesiredOutput(i).setDamping(random.nextDouble());
+      }
+      packedSource.overwriteWith(source);
+
+      JointDesiredOutputList shuffled = new JointDesiredOutputList(shuffledJoints);
+      JointDesiredOutputList sameOrdering = new JointDesiredOutputList(joints);
+      PackedJointDesiredOutputList packed = new PackedJointDesiredOutputList(joints);
+      int[] indices = new int[NUMBER_OF_JOINTS];
+      shuffled.getJointIndices(source, indices);
+
+      for (int i = 0; i < WARMUP_ITERATIONS; i++)
+      {
+         tickHash(shuffled, source);
+         tickTable(shuffled, source, indices);
+         tickSameOrdering(sameOrdering, source);
+         tickSameOrdering(packed, packedSource);
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         tickHash(shuffled, source);
+      report("Hash lookups", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         tickTable(shuffled, source, indices);
+      report("Joint index table", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         tickSameOrdering(sameOrdering, source);
+      report("Same joint ordering", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         tickSameOrdering(packed, packedSource);
+      report("PackedJointDesiredOutputList", start);
+   }
+
+   private static void tickHash(JointDesiredOutputListBasics destination, JointDesiredOutputListReadOnly source)
+   {
+      destination.overwriteWith(source);
+      destination.completeWith(source);
+   }
+
+   private static void tickTable(JointDesiredOutputListBasics destination, JointDesiredOutputListReadOnly source, int[] indices)
+   {
+      destination.overwriteWith(source, indices);
+      destination.completeWith(source, indices);
+   }
+
+   private static void tickSameOrdering(JointDesiredOutputListBasics destination, JointDesiredOutputListReadOnly source)
+   {
+      destination.overwriteWith(source);
+      destination.completeWith(source);
+   }
+
+   private static void report(String name, long startNanos)
+   {
+      double nanosecondsPerCall = (double) (System.nanoTime() - startNanos) / ITERATIONS;
+      LogTools.info(String.format("%-32s %10.1f ns per tick for %d joints", name, nanosecondsPerCall, NUMBER_OF_JOINTS));
+   }
+}
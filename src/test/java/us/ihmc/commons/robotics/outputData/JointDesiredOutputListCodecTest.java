@@ -0,0 +1,116 @@
+package us.ihmc.commons.robotics.outputData;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.mecano.multiBodySystem.interfaces.OneDoFJointReadOnly;
+import us.ihmc.mecano.tools.MultiBodySystemRandomTools;
+
+public class JointDesiredOutputListCodecTest
+{
+   private static final int ITERATIONS = 100;
+   private static final int NUMBER_OF_JOINTS = 20;
+
+   @Test
+   public void testEncodeDecode()
+   {
+      Random random = new Random(5531);
+      OneDoFJointReadOnly[] joints = nextJoints(random);
+      JointDesiredOutputList source = new JointDesiredOutputList(joints);
+      JointDesiredOutputList destination = new JointDesiredOutputList(joints);
+      PackedJointDesiredOutputList packedDestination = new PackedJointDesiredOutputList(joints);
+      JointDesiredOutputListCodec codec = new JointDesiredOutputListCodec(source);
+
+      assertEquals(JointDesiredOutputListCodec.computeEncodedSize(NUMBER_OF_JOINTS), codec.getEncodedSize());
+
+      for (ByteOrder byteOrder : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN})
+      {
+         int offset = 7;
+         ByteBuffer buffer = ByteBuffer.allocateDirect(codec.getEncodedSize() + offset).order(byteOrder);
+
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+            {
+               if (random.nextInt(4) == 0)
+                  source.getJointDesiredOutput(jointIndex).clear();
+               else
+                  source.getJointDesiredOutput(jointIndex).set(nextJointDesiredOutput(random));
+            }
+
+            // The values written before are left in the buffer and have to be ignored.
+            buffer.position(offset);
+            codec.encode(source, buffer);
+            assertEquals(offset + codec.getEncodedSize(), buffer.position());
+
+            buffer.position(offset);
+            codec.decode(buffer, destination);
+            assertEquals(offset + codec.getEncodedSize(), buffer.position());
+            assertTrue(source.equals(destination));
+
+            buffer.position(offset);
+            codec.decode(buffer, packedDestination);
+            assertTrue(source.equals(packedDestination));
+         }
+      }
+   }
+
+   @Test
+   public void testLayoutMismatch()
+   {
+      Random random = new Random(9902);
+      OneDoFJointReadOnly[] joints = nextJoints(random);
+      OneDoFJointReadOnly[] otherJoints = MultiBodySystemRandomTools.nextOneDoFJointChain(random, "other", NUMBER_OF_JOINTS).toArray(new OneDoFJointReadOnly[0]);
+      JointDesiredOutputList list = new JointDesiredOutputList(joints);
+      JointDesiredOutputList otherList = new JointDesiredOutputList(otherJoints);
+      JointDesiredOutputListCodec codec = new JointDesiredOutputListCodec(list);
+      JointDesiredOutputListCodec otherCodec = new JointDesiredOutputListCodec(otherList);
+
+      ByteBuffer buffer = ByteBuffer.allocate(codec.getEncodedSize());
+      assertThrows(IllegalArgumentException.class, () -> codec.encode(otherList, buffer));
+      assertThrows(BufferOverflowException.class, () -> codec.encode(list, ByteBuffer.allocate(codec.getEncodedSize() - 1)));
+
+      codec.encode(list, buffer);
+      buffer.flip();
+      assertThrows(IllegalArgumentException.class, () -> otherCodec.decode(buffer, otherList));
+      assertThrows(IllegalArgumentException.class, () -> codec.decode(buffer, otherList));
+      ByteBuffer truncatedBuffer = buffer.duplicate();
+      truncatedBuffer.limit(codec.getEncodedSize() - 1);
+      assertThrows(BufferUnderflowException.class, () -> codec.decode(truncatedBuffer, list));
+      assertThrows(IllegalArgumentException.class, () -> codec.decode(buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN), list));
+
+      buffer.putInt(4, JointDesiredOutputListCodec.VERSION + 1);
+      assertThrows(IllegalArgumentException.class, () -> codec.decode(buffer, list));
+   }
+
+   static OneDoFJointReadOnly[] nextJoints(Random random)
+   {
+      return MultiBodySystemRandomTools.nextOneDoFJointChain(random, NUMBER_OF_JOINTS).toArray(new OneDoFJointReadOnly[0]);
+   }
+
+   static JointDesiredOutput nextJointDesiredOutput(Random random)
+   {
+      JointDesiredOutput next = new JointDesiredOutput();
+      if (random.nextBoolean())
+         next.setControlMode(EuclidCoreRandomTools.nextElementIn(random, JointDesiredControlMode.values));
+      if (random.nextBoolean())
+         next.setLoadMode(EuclidCoreRandomTools.nextElementIn(random, JointDesiredLoadMode.values));
+      next.setResetIntegrators(random.nextBoolean());
+
+      for (JointDesiredOutputField field : JointDesiredOutputField.doubleFields)
+      {
+         if (random.nextBoolean())
+            field.setDouble(next, EuclidCoreRandomTools.nextDouble(random, 10.0));
+      }
+
+      return next;
+   }
+}
@@ -0,0 +1,115 @@
+package us.ihmc.commons.robotics.outputData;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.mecano.multiBodySystem.interfaces.OneDoFJointReadOnly;
+import us.ihmc.mecano.tools.MultiBodySystemRandomTools;
+
+public class JointDesiredOutputListExchangerTest
+{
+   private static final int ITERATIONS = 100;
+   private static final int NUMBER_OF_JOINTS = 20;
+
+   @Test
+   public void testPublishAndPoll()
+   {
+      Random random = new Random(4120);
+      OneDoFJointReadOnly[] joints = JointDesiredOutputListCodecTest.nextJoints(random);
+      JointDesiredOutputListExchanger<PackedJointDesiredOutputList> exchanger = new JointDesiredOutputListExchanger<>(() -> new PackedJointDesiredOutputList(joints));
+      JointDesiredOutputList source = new JointDesiredOutputList(joints);
+      JointDesiredOutputList destination = new JointDesiredOutputList(joints);
+
+      assertFalse(exchanger.peekHasNewData());
+      assertFalse(exchanger.poll());
+      assertNotSame(exchanger.getWriteBuffer(), exchanger.read());
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         int numberOfPublishes = 1 + random.nextInt(3);
+
+         for (int j = 0; j < numberOfPublishes; j++)
+         {
+            for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+               source.getJointDesiredOutput(jointIndex).set(JointDesiredOutputListCodecTest.nextJointDesiredOutput(random));
+            exchanger.publish(source);
+            assertNotSame(exchanger.getWriteBuffer(), exchanger.read());
+         }
+
+         // Only the latest is read.
+         assertTrue(exchanger.peekHasNewData());
+         assertTrue(exchanger.poll(destination));
+         assertTrue(source.equals(exchanger.read()));
+         assertTrue(source.equals(destination));
+         assertNotSame(exchanger.getWriteBuffer(), exchanger.read());
+
+         PackedJointDesiredOutputList readBuffer = exchanger.read();
+         assertFalse(exchanger.poll());
+         assertSame(readBuffer, exchanger.read());
+      }
+
+      OneDoFJointReadOnly[] otherJoints = MultiBodySystemRandomTools.nextOneDoFJointChain(random, "other", NUMBER_OF_JOINTS).toArray(new OneDoFJointReadOnly[0]);
+      boolean[] useOtherJoints = {false};
+      assertThrows(IllegalArgumentException.class, () -> new JointDesiredOutputListExchanger<>(() ->
+      {
+         useOtherJoints[0] = !useOtherJoints[0];
+         return new JointDesiredOutputList(useOtherJoints[0] ? otherJoints : joints);
+      }));
+   }
+
+   @Test
+   public void testConcurrentPublishAndPoll() throws Exception
+   {
+      Random random = new Random(8127);
+      OneDoFJointReadOnly[] joints = JointDesiredOutputListCodecTest.nextJoints(random);
+      JointDesiredOutputListExchanger<JointDesiredOutputList> exchanger = new JointDesiredOutputListExchanger<>(() -> new JointDesiredOutputList(joints));
+      int numberOfPublishes = 100000;
+      AtomicBoolean done = new AtomicBoolean(false);
+
+      Thread writerThread = new Thread(() ->
+      {
+         for (int i = 1; i <= numberOfPublishes; i++)
+         {
+            JointDesiredOutputList writeBuffer = exchanger.getWriteBuffer();
+            for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+               writeBuffer.setDesiredJointTorque(jointIndex, i);
+            exchanger.publish();
+         }
+         done.set(true);
+      });
+      writerThread.start();
+
+      double previousTorque = 0.0;
+      int numberOfReads = 0;
+
+      while (true)
+      {
+         boolean isWriterDone = done.get();
+
+         if (!exchanger.poll())
+         {
+            if (isWriterDone)
+               break;
+            else
+               continue;
+         }
+
+         // Every joint of a snapshot has been written before the same publish.
+         JointDesiredOutputList readBuffer = exchanger.read();
+         double torque = readBuffer.getDesiredJointTorque(0);
+         for (int jointIndex = 1; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+            assertEquals(torque, readBuffer.getDesiredJointTorque(jointIndex));
+         assertTrue(torque > previousTorque);
+         previousTorque = torque;
+         numberOfReads++;
+      }
+
+      writerThread.join();
+      assertTrue(numberOfReads > 0);
+      assertEquals(numberOfPublishes, exchanger.read().getDesiredJointTorque(0));
+   }
+}
@@ -0,0 +1,169 @@
+package us.ihmc.commons.robotics.outputData;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.mecano.multiBodySystem.interfaces.OneDoFJointReadOnly;
+import us.ihmc.mecano.tools.MultiBodySystemRandomTools;
+
+public class JointDesiredOutputListTest
+{
+   private static final int ITERATIONS = 100;
+   private static final int NUMBER_OF_JOINTS = 20;
+
+   @Test
+   public void testJointIndices()
+   {
+      Random random = new Random(1290);
+      OneDoFJointReadOnly[] joints = nextJoints(random);
+      OneDoFJointReadOnly[] shuffledJoints = shuffle(random, joints);
+      OneDoFJointReadOnly[] otherJoints = MultiBodySystemRandomTools.nextOneDoFJointChain(random, "other", NUMBER_OF_JOINTS).toArray(new OneDoFJointReadOnly[0]);
+
+      JointDesiredOutputList list = new JointDesiredOutputList(joints);
+      JointDesiredOutputList shuffledList = new JointDesiredOutputList(shuffledJoints);
+      PackedJointDesiredOutputList packedList = new PackedJointDesiredOutputList(shuffledJoints);
+
+      for (int i = 0; i < NUMBER_OF_JOINTS; i++)
+      {
+         assertEquals(i, list.getJointIndex(joints[i]));
+         assertSame(joints[i], shuffledList.getOneDoFJoint(shuffledList.getJointIndex(joints[i])));
+         assertSame(joints[i], packedList.getOneDoFJoint(packedList.getJointIndex(joints[i])));
+         assertEquals(i, new PackedJointDesiredOutputList(joints).getJointIndex(joints[i]));
+         assertEquals(-1, list.getJointIndex(otherJoints[i]));
+         assertEquals(-1, packedList.getJointIndex(otherJoints[i]));
+      }
+
+      int[] indices = new int[NUMBER_OF_JOINTS];
+      shuffledList.getJointIndices(list, indices);
+      for (int i = 0; i < NUMBER_OF_JOINTS; i++)
+         assertSame(joints[i], shuffledList.getOneDoFJoint(indices[i]));
+
+      list.getJointIndices(otherJoints, indices);
+      for (int i = 0; i < NUMBER_OF_JOINTS; i++)
+         assertEquals(-1, indices[i]);
+
+      assertTrue(list.hasSameJointOrdering(new JointDesiredOutputList(joints)));
+      assertFalse(list.hasSameJointOrdering(new JointDesiredOutputList(otherJoints)));
+      assertTrue(list.hasSameJointOrdering(list));
+      assertFalse(list.hasSameJointOrdering(shuffledList));
+      assertTrue(shuffledList.hasSameJointOrdering(packedList));
+      assertThrows(IllegalArgumentException.class, () -> list.getJointIndices(joints, new int[NUMBER_OF_JOINTS - 1]));
+   }
+
+   @Test
+   public void testOverwriteAndCompleteWith()
+   {
+      Random random = new Random(6271);
+      OneDoFJointReadOnly[] joints = nextJoints(random);
+      OneDoFJointReadOnly[] shuffledJoints = shuffle(random, joints);
+
+      JointDesiredOutputList source = new JointDesiredOutputList(joints);
+      JointDesiredOutputList sameOrdering = new JointDesiredOutputList(joints);
+      JointDesiredOutputList shuffled = new JointDesiredOutputList(shuffledJoints);
+      JointDesiredOutputList shuffledWithTable = new JointDesiredOutputList(shuffledJoints);
+      PackedJointDesiredOutputList packed = new PackedJointDesiredOutputList(joints);
+      PackedJointDesiredOutputList packedSource = new PackedJointDesiredOutputList(joints);
+
+      int[] sourceToShuffledIndices = new int[NUMBER_OF_JOINTS];
+      shuffledWithTable.getJointIndices(source, sourceToShuffledIndices);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+         {
+            if (random.nextBoolean())
+               source.getJointDesiredOutput(jointIndex).set(nextJointDesiredOutput(random));
+            else
+               source.getJointDesiredOutput(jointIndex).clear();
+         }
+         packedSource.overwriteWith(source);
+         assertTrue(source.equals(packedSource));
+
+         sameOrdering.overwriteWith(source);
+         shuffled.overwriteWith(source);
+         shuffledWithTable.overwriteWith(source, sourceToShuffledIndices);
+         packed.overwriteWith(packedSource);
+         assertTrue(source.equals(sameOrdering));
+         assertTrue(source.equals(shuffled));
+         assertTrue(source.equals(shuffledWithTable));
+         assertTrue(source.equals(packed));
+
+         sameOrdering.clear();
+         shuffled.clear();
+         shuffledWithTable.clear();
+         packed.clear();
+         for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+         {
+            if (random.nextBoolean())
+               continue;
+
+            double torque = EuclidCoreRandomTools.nextDouble(random, 10.0);
+            JointDesiredControlMode controlMode = EuclidCoreRandomTools.nextElementIn(random, JointDesiredControlMode.values);
+            for (JointDesiredOutputListBasics destination : new JointDesiredOutputListBasics[] {sameOrdering, shuffled, shuffledWithTable, packed})
+            {
+               destination.setDesiredJointTorque(joints[jointIndex], torque);
+               destination.setJointControlMode(joints[jointIndex], controlMode);
+            }
+         }
+
+         JointDesiredOutputList expected = new JointDesiredOutputList(joints);
+         for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+         {
+            expected.getJointDesiredOutput(jointIndex).set(sameOrdering.getJointDesiredOutput(jointIndex));
+            expected.getJointDesiredOutput(jointIndex).completeWith(source.getJointDesiredOutput(jointIndex));
+         }
+
+         sameOrdering.completeWith(source);
+         shuffled.completeWith(source);
+         shuffledWithTable.completeWith(source, sourceToShuffledIndices);
+         packed.completeWith(packedSource);
+         assertTrue(expected.equals(sameOrdering));
+         assertTrue(expected.equals(shuffled));
+         assertTrue(expected.equals(shuffledWithTable));
+         assertTrue(expected.equals(packed));
+      }
+
+      sameOrdering.getJointDesiredOutput(0).setDesiredTorque(1.0);
+      sameOrdering.overwriteWith(sameOrdering);
+      assertEquals(1.0, sameOrdering.getDesiredJointTorque(0));
+
+      sourceToShuffledIndices[3] = -1;
+      assertThrows(RuntimeException.class, () -> shuffledWithTable.completeWith(source, sourceToShuffledIndices));
+   }
+
+   private static OneDoFJointReadOnly[] nextJoints(Random random)
+   {
+      return MultiBodySystemRandomTools.nextOneDoFJointChain(random, NUMBER_OF_JOINTS).toArray(new OneDoFJointReadOnly[0]);
+   }
+
+   private static OneDoFJointReadOnly[] shuffle(Random random, OneDoFJointReadOnly[] joints)
+   {
+      List<OneDoFJointReadOnly> shuffled = new ArrayList<>();
+      Collections.addAll(shuffled, joints);
+      Collections.shuffle(shuffled, random);
+      return shuffled.toArray(new OneDoFJointReadOnly[0]);
+   }
+
+   private static JointDesiredOutput nextJointDesiredOutput(Random random)
+   {
+      JointDesiredOutput next = new JointDesiredOutput();
+      next.setControlMode(EuclidCoreRandomTools.nextElementIn(random, JointDesiredControlMode.values));
+      next.setLoadMode(EuclidCoreRandomTools.nextElementIn(random, JointDesiredLoadMode.values));
+      next.setResetIntegrators(random.nextBoolean());
+
+      for (JointDesiredOutputField field : JointDesiredOutputField.doubleFields)
+      {
+         if (random.nextBoolean())
+            field.setDouble(next, EuclidCoreRandomTools.nextDouble(random, 10.0));
+      }
+
+      return next;
+   }
+}
@@ -207,6 +207,67 @@ public class JointDesiredOutputTest
       }
    }
 
+   @Test
+   public void testDirtyFields() throws Exception
+   {
+      Random random = new Random(72341);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         JointDesiredOutput output = new JointDesiredOutput();
+         assertEquals(0, output.getDirtyFieldsMask());
+         assertFalse(output.isDirty());
+
+         int expectedMask = 0;
+         for (JointDesiredOutputField field : JointDesiredOutputField.values)
+         {
+            if (random.nextBoolean())
+               continue;
+
+            if (field == JointDesiredOutputField.CONTROL_MODE)
+               output.setControlMode(EuclidCoreRandomTools.nextElementIn(random, JointDesiredControlMode.values));
+            else if (field == JointDesiredOutputField.LOAD_MODE)
+               output.setLoadMode(EuclidCoreRandomTools.nextElementIn(random, JointDesiredLoadMode.values));
+            else if (field == JointDesiredOutputField.RESET_INTEGRATORS)
+               output.setResetIntegrators(true);
+            else
+               field.setDouble(output, EuclidCoreRandomTools.nextDouble(random, 10.0));
+            expectedMask |= field.mask;
+         }
+
+         assertEquals(expectedMask, output.getDirtyFieldsMask());
+         assertEquals(expectedMask, JointDesiredOutputField.computeSetFieldsMask(output));
+
+         JointDesiredOutput copy = nextJointDesiredOutput(random);
+         copy.set(output);
+         assertEquals(output, copy);
+         assertEquals(expectedMask, copy.getDirtyFieldsMask());
+
+         JointDesiredOutput completed = new JointDesiredOutput();
+         completed.setDesiredTorque(1.0);
+         completed.completeWith(output);
+         assertEquals(expectedMask | JointDesiredOutputField.DESIRED_TORQUE.mask, completed.getDirtyFieldsMask());
+         assertEquals(1.0, completed.getDesiredTorque());
+
+         int fieldsToClear = random.nextInt(JointDesiredOutputField.ALL_FIELDS_MASK + 1);
+         output.clearFields(fieldsToClear);
+         assertEquals(expectedMask & ~fieldsToClear, output.getDirtyFieldsMask());
+         assertEquals(expectedMask & ~fieldsToClear, JointDesiredOutputField.computeSetFieldsMask(output));
+
+         output.clear();
+         assertEquals(0, output.getDirtyFieldsMask());
+         assertEquals(new JointDesiredOutput(), output);
+         for (String doubleFieldName : doubleFieldNames)
+            assertEquals(Double.NaN, (double) JointDesiredOutput.class.getMethod("get" + doubleFieldName).invoke(output));
+      }
+
+      // Writing the cleared value still marks the field as written.
+      JointDesiredOutput output = new JointDesiredOutput();
+      output.setDesiredPosition(Double.NaN);
+      assertEquals(JointDesiredOutputField.DESIRED_POSITION.mask, output.getDirtyFieldsMask());
+      assertEquals(new JointDesiredOutput(), output);
+   }
+
    @Test
    public void testClampedDesiredPosition()
    {
@@ -0,0 +1,58 @@
+package us.ihmc.commons.robotics.outputData;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.commons.allocations.AllocationBudget;
+import us.ihmc.mecano.multiBodySystem.interfaces.OneDoFJointReadOnly;
+
+@AllocationBudget
+public class OutputDataAllocationBudgetTest
+{
+   private final Random random = new Random(3904);
+   private final OneDoFJointReadOnly[] joints = JointDesiredOutputListCodecTest.nextJoints(random);
+   private final JointDesiredOutputList source = new JointDesiredOutputList(joints);
+   private final JointDesiredOutputList destination = new JointDesiredOutputList(joints);
+   private final PackedJointDesiredOutputList packedDestination = new PackedJointDesiredOutputList(joints);
+   private final JointDesiredOutputListCodec codec = new JointDesiredOutputListCodec(source);
+   private final ByteBuffer buffer = ByteBuffer.allocate(codec.getEncodedSize());
+   private final JointDesiredOutputListExchanger<PackedJointDesiredOutputList> exchanger = new JointDesiredOutputListExchanger<>(() -> new PackedJointDesiredOutputList(joints));
+
+   public OutputDataAllocationBudgetTest()
+   {
+      for (int i = 0; i < source.getNumberOfJointsWithDesiredOutput(); i++)
+         source.getJointDesiredOutput(i).set(JointDesiredOutputListCodecTest.nextJointDesiredOutput(random));
+   }
+
+   @Test
+   public void testOverwriteAndComplete()
+   {
+      destination.clear();
+      destination.completeWith(source);
+      destination.overwriteWith(source);
+      packedDestination.overwriteWith(destination);
+      assertTrue(source.equals(packedDestination));
+   }
+
+   @Test
+   public void testCodec()
+   {
+      buffer.clear();
+      codec.encode(source, buffer);
+      buffer.flip();
+      codec.decode(buffer, destination);
+      assertTrue(source.equals(destination));
+   }
+
+   @Test
+   public void testExchanger()
+   {
+      exchanger.publish(source);
+      assertTrue(exchanger.poll(destination));
+      assertFalse(exchanger.poll());
+   }
+}
@@ -0,0 +1,243 @@
+package us.ihmc.commons.robotics.outputData;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.mecano.multiBodySystem.interfaces.OneDoFJointReadOnly;
+import us.ihmc.mecano.tools.MultiBodySystemRandomTools;
+
+public class PackedJointDesiredOutputListTest
+{
+   private static final int ITERATIONS = 100;
+   private static final int NUMBER_OF_JOINTS = 20;
+
+   @Test
+   public void testViewsMatchJointDesiredOutput()
+   {
+      Random random = new Random(9712);
+      OneDoFJointReadOnly[] joints = nextJoints(random);
+      PackedJointDesiredOutputList packedList = new PackedJointDesiredOutputList(joints);
+      JointDesiredOutputList list = new JointDesiredOutputList(joints);
+
+      for (int i = 0; i < NUMBER_OF_JOINTS; i++)
+      {
+         assertEquals(i, packedList.getJointDesiredOutput(i).getIndex());
+         assertSame(packedList.getJointDesiredOutput(i), packedList.getJointDesiredOutput(joints[i]));
+         assertTrue(packedList.hasDataForJoint(joints[i]));
+         assertEquals(list.getJointDesiredOutput(i), packedList.getJointDesiredOutput(i));
+      }
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         int jointIndex = random.nextInt(NUMBER_OF_JOINTS);
+         JointDesiredOutput expected = nextJointDesiredOutput(random);
+         list.getJointDesiredOutput(jointIndex).set(expected);
+         packedList.getJointDesiredOutput(jointIndex).set(expected);
+
+         assertEquals(expected, packedList.getJointDesiredOutput(jointIndex));
+         assertEquals(expected.hashCode(), packedList.getJointDesiredOutput(jointIndex).hashCode());
+         assertTrue(list.equals(packedList));
+         assertTrue(packedList.equals(list));
+
+         for (JointDesiredOutputField field : JointDesiredOutputField.doubleFields)
+            assertEquals(field.getDouble(expected), field.getDouble(packedList.getJointDesiredOutput(jointIndex)));
+
+         if (random.nextBoolean())
+         {
+            list.getJointDesiredOutput(jointIndex).clear();
+            packedList.getJointDesiredOutput(jointIndex).clear();
+            assertEquals(new JointDesiredOutput(), packedList.getJointDesiredOutput(jointIndex));
+         }
+      }
+
+      packedList.getJointDesiredOutput(0).setResetIntegrators(true);
+      assertTrue(packedList.peekResetJointIntegrators(0));
+      assertTrue(packedList.pollResetJointIntegrators(0));
+      assertFalse(packedList.peekResetJointIntegrators(0));
+
+      packedList.getJointDesiredOutput(0).setControlMode(null);
+      packedList.getJointDesiredOutput(0).setLoadMode(JointDesiredLoadMode.LOADED);
+      assertFalse(packedList.hasControlModeForJoint(0));
+      assertEquals(JointDesiredLoadMode.LOADED, packedList.getJointDesiredOutput(0).getLoadMode());
+
+      packedList.clear();
+      for (int i = 0; i < NUMBER_OF_JOINTS; i++)
+         assertEquals(new JointDesiredOutput(), packedList.getJointDesiredOutput(i));
+
+      // A field written with its cleared value is dirty but does not affect equals nor hashCode.
+      packedList.getJointDesiredOutput(0).setStiffness(Double.NaN);
+      assertEquals(new JointDesiredOutput(), packedList.getJointDesiredOutput(0));
+      assertEquals(new JointDesiredOutput().hashCode(), packedList.getJointDesiredOutput(0).hashCode());
+   }
+
+   @Test
+   public void testBulkAccessors()
+   {
+      Random random = new Random(4571);
+      OneDoFJointReadOnly[] joints = nextJoints(random);
+      PackedJointDesiredOutputList source = new PackedJointDesiredOutputList(joints);
+      PackedJointDesiredOutputList destination = new PackedJointDesiredOutputList(joints);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+            source.getJointDesiredOutput(jointIndex).set(nextJointDesiredOutput(random));
+
+         int offset = random.nextInt(5);
+         double[] values = new double[NUMBER_OF_JOINTS + offset];
+         for (JointDesiredOutputField field : JointDesiredOutputField.doubleFields)
+         {
+            source.getDoubleField(field, values, offset);
+            for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+               assertEquals(field.getDouble(source.getJointDesiredOutput(jointIndex)), values[offset + jointIndex]);
+            destination.setDoubleField(field, values, offset);
+         }
+
+         byte[] modes = new byte[NUMBER_OF_JOINTS + offset];
+         source.getControlModes(modes, offset);
+         destination.setControlModes(modes, offset);
+         source.getLoadModes(modes, offset);
+         destination.setLoadModes(modes, offset);
+         boolean[] resets = new boolean[NUMBER_OF_JOINTS + offset];
+         source.getResetIntegrators(resets, offset);
+         destination.setResetIntegrators(resets, offset);
+
+         assertTrue(source.equals(destination));
+
+         destination.clear();
+         assertFalse(source.equals(destination));
+         destination.set(source);
+         assertTrue(source.equals(destination));
+      }
+
+      OneDoFJointReadOnly[] otherJoints = MultiBodySystemRandomTools.nextOneDoFJointChain(random, "other", NUMBER_OF_JOINTS).toArray(new OneDoFJointReadOnly[0]);
+      assertThrows(IllegalArgumentException.class, () -> source.getDoubleField(JointDesiredOutputField.CONTROL_MODE, new double[NUMBER_OF_JOINTS], 0));
+      assertThrows(IllegalArgumentException.class, () -> source.set(new PackedJointDesiredOutputList(otherJoints)));
+   }
+
+   @Test
+   public void testOverwriteAndCompleteWith()
+   {
+      Random random = new Random(3328);
+      OneDoFJointReadOnly[] joints = nextJoints(random);
+      PackedJointDesiredOutputList packedList = new PackedJointDesiredOutputList(joints);
+      JointDesiredOutputList list = new JointDesiredOutputList(joints);
+      JointDesiredOutputList expected = new JointDesiredOutputList(joints);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+            list.getJointDesiredOutput(jointIndex).set(nextJointDesiredOutput(random));
+
+         packedList.overwriteWith(list);
+         assertTrue(list.equals(packedList));
+
+         packedList.clear();
+         expected.clear();
+         for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex += 2)
+         {
+            double torque = EuclidCoreRandomTools.nextDouble(random, 10.0);
+            packedList.setDesiredJointTorque(jointIndex, torque);
+            expected.setDesiredJointTorque(jointIndex, torque);
+         }
+         packedList.completeWith(list);
+         expected.completeWith(list);
+         assertTrue(expected.equals(packedList));
+      }
+   }
+
+   @Test
+   public void testDirtyFields()
+   {
+      Random random = new Random(2210);
+      OneDoFJointReadOnly[] joints = nextJoints(random);
+      PackedJointDesiredOutputList packedList = new PackedJointDesiredOutputList(joints);
+      PackedJointDesiredOutputList other = new PackedJointDesiredOutputList(joints);
+      JointDesiredOutputList list = new JointDesiredOutputList(joints);
+      int[] indices = new int[NUMBER_OF_JOINTS];
+      int[] masks = new int[NUMBER_OF_JOINTS];
+
+      assertEquals(0, packedList.getDirtyFieldsMask());
+      assertEquals(0, packedList.getDirtyJointIndices(indices));
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         packedList.clear();
+         list.clear();
+
+         int expectedListMask = 0;
+         int expectedNumberOfDirtyJoints = 0;
+         for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+         {
+            if (random.nextBoolean())
+               continue;
+
+            JointDesiredOutputField field = EuclidCoreRandomTools.nextElementIn(random, JointDesiredOutputField.doubleFields);
+            double value = EuclidCoreRandomTools.nextDouble(random, 10.0);
+            field.setDouble(packedList.getJointDesiredOutput(jointIndex), value);
+            field.setDouble(list.getJointDesiredOutput(jointIndex), value);
+            assertEquals(field.mask, packedList.getJointDesiredOutput(jointIndex).getDirtyFieldsMask());
+            expectedListMask |= field.mask;
+            indices[expectedNumberOfDirtyJoints++] = jointIndex;
+         }
+
+         int[] dirtyJointIndices = new int[NUMBER_OF_JOINTS];
+         assertEquals(expectedNumberOfDirtyJoints, packedList.getDirtyJointIndices(dirtyJointIndices));
+         assertEquals(expectedNumberOfDirtyJoints, list.getDirtyJointIndices(masks));
+         for (int j = 0; j < expectedNumberOfDirtyJoints; j++)
+         {
+            assertEquals(indices[j], dirtyJointIndices[j]);
+            assertEquals(indices[j], masks[j]);
+         }
+         assertEquals(expectedListMask, packedList.getDirtyFieldsMask());
+         assertEquals(expectedListMask, list.getDirtyFieldsMask());
+         assertTrue(list.equals(packedList));
+
+         other.getJointDesiredOutput(random.nextInt(NUMBER_OF_JOINTS)).setControlMode(JointDesiredControlMode.EFFORT);
+         other.set(packedList);
+         assertTrue(list.equals(other));
+         other.getDirtyFieldsMasks(masks, 0);
+         for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+            assertEquals(packedList.getJointDesiredOutput(jointIndex).getDirtyFieldsMask(), masks[jointIndex]);
+
+         other.clear();
+         other.setupForForceControl(0, 1.0);
+         other.completeWith(packedList);
+         list.getJointDesiredOutput(0).setControlMode(JointDesiredControlMode.EFFORT);
+         list.getJointDesiredOutput(0).setDesiredTorque(1.0);
+         assertTrue(list.equals(other));
+         assertTrue(other.isJointDirty(0));
+      }
+
+      packedList.clear();
+      packedList.setDoubleField(JointDesiredOutputField.STIFFNESS, new double[NUMBER_OF_JOINTS], 0);
+      assertEquals(JointDesiredOutputField.STIFFNESS.mask, packedList.getDirtyFieldsMask());
+      assertEquals(NUMBER_OF_JOINTS, packedList.getDirtyJointIndices(indices));
+      packedList.clear();
+      assertEquals(0, packedList.getDirtyJointIndices(indices));
+      for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+         assertEquals(new JointDesiredOutput(), packedList.getJointDesiredOutput(jointIndex));
+   }
+
+   private static OneDoFJointReadOnly[] nextJoints(Random random)
+   {
+      return MultiBodySystemRandomTools.nextOneDoFJointChain(random, NUMBER_OF_JOINTS).toArray(new OneDoFJointReadOnly[0]);
+   }
+
+   private static JointDesiredOutput nextJointDesiredOutput(Random random)
+   {
+      JointDesiredOutput next = new JointDesiredOutput();
+      next.setControlMode(EuclidCoreRandomTools.nextElementIn(random, JointDesiredControlMode.values));
+      next.setLoadMode(EuclidCoreRandomTools.nextElementIn(random, JointDesiredLoadMode.values));
+      next.setResetIntegrators(random.nextBoolean());
+
+      for (JointDesiredOutputField field : JointDesiredOutputField.doubleFields)
+         field.setDouble(next, EuclidCoreRandomTools.nextDouble(random, 10.0));
+
+      return next;
+   }
+}
@@ -0,0 +1,122 @@
+package us.ihmc.commons.robotics.outputData;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import us.ihmc.mecano.multiBodySystem.interfaces.OneDoFJointReadOnly;
+import us.ihmc.mecano.tools.MultiBodySystemRandomTools;
+
+public class SharedMemoryJointDesiredOutputTransportTest
+{
+   private static final int ITERATIONS = 100;
+   private static final int NUMBER_OF_JOINTS = 20;
+
+   @TempDir
+   Path temporaryDirectory;
+
+   @Test
+   public void testPublishAndRead() throws IOException
+   {
+      Random random = new Random(6231);
+      OneDoFJointReadOnly[] joints = JointDesiredOutputListCodecTest.nextJoints(random);
+      JointDesiredOutputList source = new JointDesiredOutputList(joints);
+      PackedJointDesiredOutputList destination = new PackedJointDesiredOutputList(joints);
+      Path file = temporaryDirectory.resolve("jointDesiredOutputs");
+
+      SharedMemoryJointDesiredOutputTransport writer = new SharedMemoryJointDesiredOutputTransport(file, source);
+      SharedMemoryJointDesiredOutputTransport reader = new SharedMemoryJointDesiredOutputTransport(file, destination);
+      assertEquals(SharedMemoryJointDesiredOutputTransport.computeFileSize(NUMBER_OF_JOINTS), file.toFile().length());
+      assertFalse(reader.readLatest(destination));
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+            source.getJointDesiredOutput(jointIndex).set(JointDesiredOutputListCodecTest.nextJointDesiredOutput(random));
+
+         writer.publish(source);
+         if (random.nextBoolean())
+         { // Only the latest is read.
+            source.getJointDesiredOutput(0).setDesiredTorque(random.nextDouble());
+            writer.publish(source);
+         }
+
+         assertTrue(reader.readLatest(destination));
+         assertTrue(source.equals(destination));
+         assertEquals(writer.getLastPublishedSequence(), reader.getLastReadSequence());
+         assertFalse(reader.readLatest(destination));
+      }
+
+      // A transport opened on an existing file resumes from its content.
+      SharedMemoryJointDesiredOutputTransport lateReader = new SharedMemoryJointDesiredOutputTransport(file, destination);
+      assertEquals(writer.getLastPublishedSequence(), lateReader.getLastPublishedSequence());
+      destination.clear();
+      assertTrue(lateReader.readLatest(destination));
+      assertTrue(source.equals(destination));
+
+      JointDesiredOutputList otherLayout = new JointDesiredOutputList(MultiBodySystemRandomTools.nextOneDoFJointChain(random, NUMBER_OF_JOINTS + 1)
+                                                                                             .toArray(new OneDoFJointReadOnly[0]));
+      assertThrows(IOException.class, () -> new SharedMemoryJointDesiredOutputTransport(file, otherLayout));
+   }
+
+   @Test
+   public void testConcurrentPublishAndRead() throws Exception
+   {
+      Random random = new Random(1189);
+      OneDoFJointReadOnly[] joints = JointDesiredOutputListCodecTest.nextJoints(random);
+      JointDesiredOutputList source = new JointDesiredOutputList(joints);
+      JointDesiredOutputList destination = new JointDesiredOutputList(joints);
+      Path file = temporaryDirectory.resolve("jointDesiredOutputs");
+
+      SharedMemoryJointDesiredOutputTransport writer = new SharedMemoryJointDesiredOutputTransport(file, source);
+      SharedMemoryJointDesiredOutputTransport reader = new SharedMemoryJointDesiredOutputTransport(file, destination);
+      int numberOfPublishes = 100000;
+      AtomicBoolean done = new AtomicBoolean(false);
+
+      Thread writerThread = new Thread(() ->
+      {
+         for (int i = 1; i <= numberOfPublishes; i++)
+         {
+            for (int jointIndex = 0; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+               source.setDesiredJointTorque(jointIndex, i);
+            writer.publish(source);
+         }
+         done.set(true);
+      });
+      writerThread.start();
+
+      double previousTorque = 0.0;
+      int numberOfReads = 0;
+
+      while (true)
+      {
+         boolean isWriterDone = done.get();
+
+         if (!reader.readLatest(destination))
+         {
+            if (isWriterDone)
+               break;
+            else
+               continue;
+         }
+
+         // Every joint of a snapshot has been written in the same publish.
+         double torque = destination.getDesiredJointTorque(0);
+         for (int jointIndex = 1; jointIndex < NUMBER_OF_JOINTS; jointIndex++)
+            assertEquals(torque, destination.getDesiredJointTorque(jointIndex));
+         assertTrue(torque > previousTorque);
+         previousTorque = torque;
+         numberOfReads++;
+      }
+
+      writerThread.join();
+      assertTrue(numberOfReads > 0);
+      assertEquals(numberOfPublishes, destination.getDesiredJointTorque(0));
+   }
+}
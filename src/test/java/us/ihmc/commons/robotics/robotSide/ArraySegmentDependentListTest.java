@@ -0,0 +1,138 @@
+package us.ihmc.commons.robotics.robotSide;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ArraySegmentDependentListTest
+{
+   private static final int ITERATIONS = 1000;
+
+   @Test
+   public void testMatchesQuadrantDependentList()
+   {
+      Random random = new Random(7631);
+      ArrayQuadrantDependentList<String> arrayList = new ArrayQuadrantDependentList<>();
+      QuadrantDependentList<String> enumMapList = new QuadrantDependentList<>();
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         RobotQuadrant quadrant = RobotQuadrant.generateRandomRobotQuadrant(random);
+
+         if (random.nextInt(3) == 0)
+            assertEquals(enumMapList.remove(quadrant), arrayList.remove(quadrant));
+         else
+            assertEquals(enumMapList.put(quadrant, quadrant.name() + i), arrayList.set(quadrant, quadrant.name() + i));
+
+         assertEquals(enumMapList.size(), arrayList.size());
+         assertEquals(enumMapList.isEmpty(), arrayList.isEmpty());
+         assertArrayEquals(enumMapList.quadrants(), arrayList.quadrants());
+
+         List<String> values = new ArrayList<>();
+         for (String value : arrayList)
+            values.add(value);
+         assertEquals(new ArrayList<>(enumMapList.values()), values);
+         values.clear();
+         arrayList.forEach(values::add);
+         assertEquals(new ArrayList<>(enumMapList.values()), values);
+
+         for (RobotQuadrant robotQuadrant : RobotQuadrant.values)
+         {
+            assertEquals(enumMapList.get(robotQuadrant), arrayList.get(robotQuadrant));
+            assertEquals(enumMapList.containsKey(robotQuadrant), arrayList.containsKey(robotQuadrant));
+         }
+      }
+
+      ArrayQuadrantDependentList<String> copy = new ArrayQuadrantDependentList<>();
+      copy.set(arrayList);
+      assertArrayEquals(arrayList.quadrants(), copy.quadrants());
+
+      arrayList.clear();
+      assertEquals(0, arrayList.size());
+      assertEquals(0, arrayList.quadrants().length);
+      assertFalse(arrayList.iterator().hasNext());
+   }
+
+   @Test
+   public void testSideDependentList()
+   {
+      ArraySideDependentList<String> list = new ArraySideDependentList<>("left", "right");
+      assertEquals("left", list.get(RobotSide.LEFT));
+      assertEquals("right", list.get(RobotSide.RIGHT));
+      assertArrayEquals(RobotSide.values, list.sides());
+
+      list.set(RobotSide.LEFT, null);
+      assertArrayEquals(new RobotSide[] {RobotSide.RIGHT}, list.sides());
+
+      Iterator<String> iterator = list.iterator();
+      assertEquals("right", iterator.next());
+      assertFalse(iterator.hasNext());
+      assertThrows(NoSuchElementException.class, iterator::next);
+      assertThrows(UnsupportedOperationException.class, iterator::remove);
+
+      list = new ArraySideDependentList<>(robotSide -> robotSide.getCamelCaseNameForStartOfExpression());
+      assertEquals("left", list.get(RobotSide.LEFT));
+      assertEquals("right", list.get(RobotSide.RIGHT));
+
+      ArrayQuadrantDependentList<RobotQuadrant> quadrants = ArrayQuadrantDependentList.build(robotQuadrant -> robotQuadrant);
+      for (RobotQuadrant robotQuadrant : RobotQuadrant.values)
+         assertEquals(robotQuadrant, quadrants.get(robotQuadrant));
+   }
+
+   @Test
+   public void testPrimitiveLists()
+   {
+      Random random = new Random(3390);
+      QuadrantDependentDouble doubles = new QuadrantDependentDouble();
+      QuadrantDependentInt ints = new QuadrantDependentInt(1, 2, 3, 4);
+      SideDependentBoolean booleans = new SideDependentBoolean(true, false);
+
+      assertEquals(1, ints.get(RobotQuadrant.FRONT_LEFT));
+      assertEquals(2, ints.get(RobotQuadrant.FRONT_RIGHT));
+      assertEquals(3, ints.get(RobotQuadrant.HIND_LEFT));
+      assertEquals(4, ints.get(RobotQuadrant.HIND_RIGHT));
+      assertTrue(booleans.get(RobotSide.LEFT));
+      assertFalse(booleans.get(RobotSide.RIGHT));
+
+      QuadrantDependentList<Double> expected = new QuadrantDependentList<>(0.0, 0.0, 0.0, 0.0);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         RobotQuadrant quadrant = RobotQuadrant.generateRandomRobotQuadrant(random);
+         double value = random.nextDouble();
+
+         if (random.nextBoolean())
+         {
+            doubles.set(quadrant, value);
+            expected.set(quadrant, value);
+         }
+         else
+         {
+            doubles.add(quadrant, value);
+            expected.set(quadrant, expected.get(quadrant) + value);
+         }
+
+         for (RobotQuadrant robotQuadrant : RobotQuadrant.values)
+            assertEquals(expected.get(robotQuadrant), doubles.get(robotQuadrant));
+      }
+
+      QuadrantDependentDouble copy = new QuadrantDependentDouble();
+      copy.set(doubles);
+      for (RobotQuadrant robotQuadrant : RobotQuadrant.values)
+         assertEquals(doubles.get(robotQuadrant), copy.get(robotQuadrant));
+
+      copy.setAll(Double.NaN);
+      for (RobotQuadrant robotQuadrant : RobotQuadrant.values)
+         assertTrue(Double.isNaN(copy.get(robotQuadrant)));
+
+      SideDependentDouble sideDoubles = new SideDependentDouble(1.0, 2.0);
+      sideDoubles.add(RobotSide.RIGHT, 1.0);
+      assertEquals(3.0, sideDoubles.get(RobotSide.RIGHT));
+   }
+}
@@ -0,0 +1,92 @@
+package us.ihmc.commons.robotics.robotSide;
+
+import java.util.Random;
+
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.tuple3D.Point3D;
+import us.ihmc.log.LogTools;
+
+/**
+ * Compares a typical per-tick quadruped loop, going through the quadrants to update the foot loads
+ * from the foot positions and contact states, using the {@link java.util.EnumMap} backed
+ * {@link QuadrantDependentList} and using {@link ArrayQuadrantDependentList} with the primitive
+ * {@link QuadrantDependentDouble} and {@link QuadrantDependentBoolean}.
+ */
+public class SegmentDependentListBenchmark
+{
+   private static final int WARMUP_ITERATIONS = 2000000;
+   private static final int ITERATIONS = 10000000;
+
+   private static double blackHole = 0.0;
+
+   public static void main(String[] args)
+   {
+      Random random = new Random(5123);
+
+      QuadrantDependentList<Point3D> footPositions = new QuadrantDependentList<>(() -> EuclidCoreRandomTools.nextPoint3D(random));
+      QuadrantDependentList<Double> footLoads = new QuadrantDependentList<>(0.0, 0.0, 0.0, 0.0);
+      QuadrantDependentList<Boolean> footInContact = new QuadrantDependentList<>(true, false, true, true);
+
+      ArrayQuadrantDependentList<Point3D> arrayFootPositions = new ArrayQuadrantDependentList<>();
+      QuadrantDependentDouble primitiveFootLoads = new QuadrantDependentDouble();
+      QuadrantDependentBoolean primitiveFootInContact = new QuadrantDependentBoolean(true, false, true, true);
+      for (RobotQuadrant robotQuadrant : RobotQuadrant.values)
+         arrayFootPositions.set(robotQuadrant, footPositions.get(robotQuadrant));
+
+      for (int i = 0; i < WARMUP_ITERATIONS; i++)
+      {
+         tickEnumMap(footPositions, footLoads, footInContact);
+         tickArray(arrayFootPositions, primitiveFootLoads, primitiveFootInContact);
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         tickEnumMap(footPositions, footLoads, footInContact);
+      report("QuadrantDependentList", start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         tickArray(arrayFootPositions, primitiveFootLoads, primitiveFootInContact);
+      report("ArrayQuadrantDependentList", start);
+
+      LogTools.info("Ignore: " + blackHole);
+   }
+
+   private static void tickEnumMap(QuadrantDependentList<Point3D> footPositions, QuadrantDependentList<Double> footLoads,
+                                   QuadrantDependentList<Boolean> footInContact)
+   {
+      double totalLoad = 0.0;
+
+      for (RobotQuadrant robotQuadrant : footPositions.quadrants())
+      {
+         double load = footInContact.get(robotQuadrant) ? 1.0 + footPositions.get(robotQuadrant).getZ() : 0.0;
+         footLoads.set(robotQuadrant, 0.9 * footLoads.get(robotQuadrant) + 0.1 * load);
+         totalLoad += footLoads.get(robotQuadrant);
+      }
+
+      blackHole += totalLoad;
+   }
+
+   private static void tickArray(ArrayQuadrantDependentList<Point3D> footPositions, QuadrantDependentDouble footLoads,
+                                 QuadrantDependentBoolean footInContact)
+   {
+      double totalLoad = 0.0;
+      RobotQuadrant[] quadrants = footPositions.quadrants();
+
+      for (int i = 0; i < quadrants.length; i++)
+      {
+         RobotQuadrant robotQuadrant = quadrants[i];
+         double load = footInContact.get(robotQuadrant) ? 1.0 + footPositions.get(robotQuadrant).getZ() : 0.0;
+         footLoads.set(robotQuadrant, 0.9 * footLoads.get(robotQuadrant) + 0.1 * load);
+         totalLoad += footLoads.get(robotQuadrant);
+      }
+
+      blackHole += totalLoad;
+   }
+
+   private static void report(String name, long startNanos)
+   {
+      double nanosecondsPerCall = (double) (System.nanoTime() - startNanos) / ITERATIONS;
+      LogTools.info(String.format("%-32s %10.1f ns per tick", name, nanosecondsPerCall));
+   }
+}
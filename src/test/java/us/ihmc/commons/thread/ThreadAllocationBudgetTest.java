@@ -0,0 +1,36 @@
+package us.ihmc.commons.thread;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.commons.allocations.AllocationBudget;
+
+@AllocationBudget
+public class ThreadAllocationBudgetTest
+{
+   private final Notification notification = new Notification();
+   private final TypedNotification<Object> typedNotification = new TypedNotification<>();
+   private final Object value = new Object();
+
+   @Test
+   public void testNotification()
+   {
+      notification.set();
+      assertTrue(notification.peek());
+      assertTrue(notification.poll());
+      assertTrue(notification.read());
+      assertFalse(notification.poll());
+      notification.clear();
+   }
+
+   @Test
+   public void testTypedNotification()
+   {
+      typedNotification.set(value);
+      assertTrue(typedNotification.peekHasValue());
+      assertTrue(typedNotification.poll());
+      assertSame(value, typedNotification.read());
+      assertFalse(typedNotification.poll());
+   }
+}
@@ -0,0 +1,125 @@
+package us.ihmc.commons.thread;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ThreadAllocationMeterTest
+{
+   private static final int ARRAY_LENGTH = 1000;
+   private static final long ARRAY_BYTES = 8 * ARRAY_LENGTH;
+
+   /** Keeps the allocated arrays reachable such that the allocations are not optimized away. */
+   private long[] sink;
+
+   @BeforeEach
+   public void assumeSupported()
+   {
+      Assumptions.assumeTrue(ThreadAllocationMeter.isSupported());
+   }
+
+   @Test
+   public void testMeasureAllocatedBytes()
+   {
+      Runnable allocate = () -> sink = new long[ARRAY_LENGTH];
+      Runnable doNothing = () -> sink = null;
+
+      for (int i = 0; i < 10; i++)
+      {
+         long allocatedBytes = ThreadAllocationMeter.measureAllocatedBytes(allocate);
+         assertTrue(allocatedBytes >= ARRAY_BYTES && allocatedBytes < ARRAY_BYTES + 100, Long.toString(allocatedBytes));
+         assertEquals(0, ThreadAllocationMeter.measureAllocatedBytes(doNothing));
+      }
+
+      long start = ThreadAllocationMeter.getCurrentThreadAllocatedBytes();
+      sink = new long[ARRAY_LENGTH];
+      assertTrue(ThreadAllocationMeter.getCurrentThreadAllocatedBytes() - start >= ARRAY_BYTES);
+   }
+
+   @Test
+   public void testStatistics()
+   {
+      ThreadAllocationMeter meter = new ThreadAllocationMeter();
+      assertEquals(ThreadAllocationMeter.UNSUPPORTED, meter.stop());
+      assertEquals(0.0, meter.getAverageAllocatedBytes());
+
+      for (int i = 0; i < 5; i++)
+      {
+         meter.start();
+         assertEquals(0, meter.stop());
+      }
+
+      meter.start();
+      sink = new long[ARRAY_LENGTH];
+      long allocatedBytes = meter.stop();
+      assertTrue(allocatedBytes >= ARRAY_BYTES);
+      assertEquals(allocatedBytes, meter.getLastAllocatedBytes());
+      assertEquals(allocatedBytes, meter.getMaximumAllocatedBytes());
+
+      assertEquals(0, meter.measure(() -> sink = null));
+      assertEquals(0, meter.getLastAllocatedBytes());
+      assertEquals(allocatedBytes, meter.getMaximumAllocatedBytes());
+      assertEquals(allocatedBytes, meter.getTotalAllocatedBytes());
+      assertEquals(7, meter.getNumberOfMeasurements());
+      assertEquals(allocatedBytes / 7.0, meter.getAverageAllocatedBytes(), 1.0e-9);
+
+      meter.start();
+      meter.reset();
+      assertEquals(ThreadAllocationMeter.UNSUPPORTED, meter.stop());
+      assertEquals(0, meter.getNumberOfMeasurements());
+      assertEquals(0, meter.getTotalAllocatedBytes());
+      assertEquals(0, meter.getMaximumAllocatedBytes());
+   }
+
+   @Test
+   public void testMeasurementPeriod()
+   {
+      ThreadAllocationMeter meter = new ThreadAllocationMeter(3);
+
+      for (int i = 0; i < 9; i++)
+      {
+         meter.start();
+         sink = new long[ARRAY_LENGTH];
+         long allocatedBytes = meter.stop();
+
+         if (i % 3 == 0)
+            assertTrue(allocatedBytes >= ARRAY_BYTES, Long.toString(allocatedBytes));
+         else
+            assertEquals(ThreadAllocationMeter.NOT_MEASURED, allocatedBytes);
+      }
+
+      assertEquals(3, meter.getNumberOfMeasurements());
+      assertTrue(meter.getMaximumAllocatedBytes() >= ARRAY_BYTES);
+
+      meter.start();
+      meter.reset();
+      assertEquals(ThreadAllocationMeter.UNSUPPORTED, meter.stop());
+      assertTrue(meter.measure(() -> sink = new long[ARRAY_LENGTH]) >= ARRAY_BYTES);
+
+      assertThrows(IllegalArgumentException.class, () -> new ThreadAllocationMeter(0));
+   }
+
+   @Test
+   public void testMeasurementAllocationFree()
+   {
+      // The JVM reads the counter of the current thread without allocating from Java 14.
+      String version = System.getProperty("java.specification.version");
+      if (!version.startsWith("1.") && Integer.parseInt(version) >= 14)
+         assertTrue(ThreadAllocationMeter.isMeasurementAllocationFree());
+   }
+
+   @Test
+   public void testOtherThread() throws InterruptedException
+   {
+      ThreadAllocationMeter meter = new ThreadAllocationMeter();
+      long[] allocatedBytes = new long[1];
+      Thread thread = new Thread(() -> allocatedBytes[0] = meter.measure(() -> sink = new long[ARRAY_LENGTH]));
+      thread.start();
+      thread.join();
+
+      assertTrue(allocatedBytes[0] >= ARRAY_BYTES);
+      assertEquals(allocatedBytes[0], meter.getLastAllocatedBytes());
+   }
+}
@@ -8,7 +8,22 @@ import us.ihmc.commons.nio.BasicPathVisitor;
 import us.ihmc.commons.nio.FileTools;
 import us.ihmc.commons.nio.PathTools;
 import us.ihmc.commons.nio.WriteOption;
+import us.ihmc.commons.thread.ThreadTools;
 import us.ihmc.log.LogTools;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
 
 import java.awt.*;
 import java.io.File;
@@ -16,6 +31,7 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -24,7 +40,12 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
  * <p>Easily run mutation tests and display the results in your web browser. This class is designed to wrap an otherwise command-line only tool.</p>
@@ -37,12 +58,30 @@ import java.util.concurrent.TimeUnit;
  * }
  * </pre>
  *
+ * <p>Large targets, e.g. whole packages, can be split in shards mutation tested at the same time in separate JVMs,
+ * and incremental analysis can be enabled to only analyze what changed since the previous run:</p>
+ *
+ * <pre>
+ * {@code
+ * MutationTestFacilitator mutationTestFacilitator = new MutationTestFacilitator();
+ * mutationTestFacilitator.addPackagePathsToMutate("us.ihmc.commons.*");
+ * mutationTestFacilitator.addTestsToRun("us.ihmc.commons.*");
+ * mutationTestFacilitator.setNumberOfShards(4);
+ * mutationTestFacilitator.setNumberOfThreads(2);
+ * mutationTestFacilitator.setHistoryDirectory(Paths.get("pit-history"));
+ * mutationTestFacilitator.doMutationTest();
+ * }
+ * </pre>
+ *
  * <p>Uses the Pitest library from <a href="http://pitest.org/">http://pitest.org/</a>.</p>
  */
 public class MutationTestFacilitator
 {
    private static final int NUMBER_OF_HOURS_BEFORE_EXPIRATION = 3;
    private static final String REPORT_DIRECTORY_NAME = "pit-reports";
+   private static final String SHARD_DIRECTORY_PREFIX = "shard";
+   private static final String SHARD_LOG_FILE_NAME = "pit.log";
+   private static final String EXCLUDED_CLASSES = "*Test*";
 
    private Path pitReportsPath;
    private Set<Class<?>> testClassesToRun = new HashSet<>();
@@ -52,6 +91,9 @@ public class MutationTestFacilitator
    private Set<String> testNamesToRun = new TreeSet<>();
    private Set<String> methodsToMutate = new TreeSet<>();
    private List<Path> sourceDirectories = new ArrayList<>();
+   private int numberOfThreads = 1;
+   private int numberOfShards = 1;
+   private Path historyDirectory;
 
    /**
     * <p>A mutator as defined in Pitest.</p>
@@ -184,6 +226,46 @@ public class MutationTestFacilitator
       pitReportsPath = reportDirectory;
    }
 
+   /**
+    * Number of threads Pitest uses to run the tests against the mutations. When sharding, this is the number of threads
+    * per shard.
+    *
+    * @param numberOfThreads
+    */
+   public void setNumberOfThreads(int numberOfThreads)
+   {
+      if (numberOfThreads < 1)
+         throw new IllegalArgumentException("The number of threads must be positive: " + numberOfThreads);
+      this.numberOfThreads = numberOfThreads;
+   }
+
+   /**
+    * <p>Splits the classes to mutate in this many shards, each mutation tested at the same time in a separate JVM.
+    * The reports of the shards are merged into a summary {@code index.html} and a {@code mutations.xml}.</p>
+    *
+    * <p>The package globs are expanded to the classes found in the directories of the class path, such that mutating
+    * a whole package can be split.</p>
+    *
+    * @param numberOfShards the number of shards, 1 to run Pitest in this JVM.
+    */
+   public void setNumberOfShards(int numberOfShards)
+   {
+      if (numberOfShards < 1)
+         throw new IllegalArgumentException("The number of shards must be positive: " + numberOfShards);
+      this.numberOfShards = numberOfShards;
+   }
+
+   /**
+    * Enables Pitest incremental analysis: the results are saved in history files in this directory and the next runs
+    * only analyze the mutations affected by the changes to the code or tests.
+    *
+    * @param historyDirectory the directory containing the history files, {@code null} to disable.
+    */
+   public void setHistoryDirectory(Path historyDirectory)
+   {
+      this.historyDirectory = historyDirectory;
+   }
+
    /**
     * <p>Perform mutation testing with current settings. Does not open a browser.</p>
     *
@@ -231,34 +313,95 @@ public class MutationTestFacilitator
          }
       });
 
-      if (testClassesToRun.isEmpty())
+      if (testClassesToRun.isEmpty() && testNamesToRun.isEmpty())
          throw new RuntimeException("No test classes to run!");
       if (classPathsToMutate.isEmpty() && classesToMutate.isEmpty())
          throw new RuntimeException("No class paths to mutate!");
 
-      String targetClasses = "";
-      for (String classPath : classPathsToMutate)
+      List<String> targetClasses = new ArrayList<>(classPathsToMutate);
+      for (Class<?> classToMutate : classesToMutate)
       {
-         targetClasses += classPath + ",";
+         targetClasses.add(classToMutate.getName());
       }
-      for (Class<?> classToMutate : classesToMutate)
+
+      if (numberOfShards > 1)
       {
-         targetClasses += classToMutate.getName() + ",";
+         doShardedMutationTest(targetClasses);
       }
-      if (!targetClasses.isEmpty())
-         targetClasses = targetClasses.substring(0, targetClasses.lastIndexOf(','));
+      else
+      {
+         List<String> arguments = createArguments(targetClasses, pitReportsPath, getHistoryFile("history"), false);
+         MutationCoverageReport.main(arguments.toArray(new String[0]));
+      }
+   }
 
-      String targetTests = "";
-      for (Class<?> testClass : testClassesToRun)
+   /**
+    * Splits the classes to mutate in shards, mutation tests each shard in a separate JVM, all at the same time,
+    * then merges the reports of the shards in a new timestamped directory of the reports directory.
+    */
+   private void doShardedMutationTest(List<String> targetClasses)
+   {
+      List<List<String>> shards = partitionTargetClasses(expandTargetClasses(targetClasses, getClassPathDirectories()), numberOfShards);
+      Path runPath = pitReportsPath.resolve(new SimpleDateFormat("yyyyMMddHHmm").format(new Date()));
+      List<Path> shardPaths = new ArrayList<>();
+
+      LogTools.info("Mutation testing " + shards.size() + " shards in " + runPath);
+      ExecutorService executor = Executors.newFixedThreadPool(shards.size(), ThreadTools.createNamedThreadFactory(getClass().getSimpleName()));
+      List<Future<Integer>> results = new ArrayList<>();
+
+      for (int i = 0; i < shards.size(); i++)
       {
-         targetTests += testClass.getName() + ",";
+         Path shardPath = runPath.resolve(SHARD_DIRECTORY_PREFIX + i);
+         List<String> arguments = createArguments(shards.get(i), shardPath, getHistoryFile("history-" + SHARD_DIRECTORY_PREFIX + i), true);
+         shardPaths.add(shardPath);
+         results.add(executor.submit(() -> runForked(arguments, shardPath)));
       }
-      for (String testName : testNamesToRun)
+
+      try
       {
-         targetTests += testName + ",";
+         for (int i = 0; i < results.size(); i++)
+         {
+            int exitCode = results.get(i).get();
+            if (exitCode != 0)
+               LogTools.error("Shard " + i + " failed with exit code " + exitCode + ", see " + shardPaths.get(i).resolve(SHARD_LOG_FILE_NAME));
+         }
       }
-      if (!targetTests.isEmpty())
-         targetTests = targetTests.substring(0, targetTests.lastIndexOf(','));
+      catch (InterruptedException | ExecutionException e)
+      {
+         throw new RuntimeException(e);
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+
+      try
+      {
+         mergeReports(runPath, shardPaths);
+      }
+      catch (IOException e)
+      {
+         throw new RuntimeException(e);
+      }
+   }
+
+   /**
+    * Creates the Pitest command line arguments.
+    *
+    * @param targetClasses the globs of the classes to mutate.
+    * @param reportPath the directory containing the timestamped reports, or the directory of the reports of a shard.
+    * @param historyFile the history file of the incremental analysis, or {@code null} if disabled.
+    * @param shard whether the arguments are for a shard, whose reports are merged.
+    * @return the arguments.
+    */
+   private List<String> createArguments(List<String> targetClasses, Path reportPath, Path historyFile, boolean shard)
+   {
+      List<String> targetTests = new ArrayList<>();
+      for (Class<?> testClass : testClassesToRun)
+      {
+         targetTests.add(testClass.getName());
+      }
+      targetTests.addAll(testNamesToRun);
 
       Set<String> methodsToExclude = new TreeSet<>();
       for (String methodGlobToMutate : methodsToMutate)
@@ -275,57 +418,54 @@ public class MutationTestFacilitator
             }
          }
       }
-      String excludedMethods = "";
-      for (String methodToExclude : methodsToExclude)
-      {
-         excludedMethods += methodToExclude + ",";
-      }
-      if (!excludedMethods.isEmpty())
-         excludedMethods = excludedMethods.substring(0, excludedMethods.lastIndexOf(','));
 
-      String mutatorsList = "";
+      List<String> mutatorNames = new ArrayList<>();
       if (mutators.isEmpty())
       {
-         mutatorsList = "ALL";
+         mutatorNames.add("ALL");
       }
-      else
+      for (Mutator mutator : mutators)
       {
-         for (Mutator mutator : mutators)
-         {
-            mutatorsList += mutator.name() + ",";
-         }
-         mutatorsList = mutatorsList.substring(0, mutatorsList.lastIndexOf(','));
+         mutatorNames.add(mutator.name());
       }
 
-      String sourceDirs = "";
+      List<String> sourceDirs = new ArrayList<>();
       for (Path sourceDirectory : sourceDirectories)
       {
-         sourceDirs += sourceDirectory.toAbsolutePath().toString() + ",";
+         sourceDirs.add(sourceDirectory.toAbsolutePath().toString());
       }
       if (sourceDirs.isEmpty())
       {
          Path bestEffortSrcDirectory = PathTools.findDirectoryInline("src");
          if (bestEffortSrcDirectory == null)
             throw new RuntimeException("Could not find src directory near " + Paths.get(".").toAbsolutePath().normalize());
-         sourceDirs += bestEffortSrcDirectory.toString() + ",";
+         sourceDirs.add(bestEffortSrcDirectory.toString());
       }
-      if (!sourceDirs.isEmpty())
-         sourceDirs = sourceDirs.substring(0, sourceDirs.lastIndexOf(','));
 
       ArrayList<Pair<String, String>> argPairs = new ArrayList<>();
       argPairs.add(Pair.of("--testPlugin", "junit5"));
-      argPairs.add(Pair.of("--reportDir", pitReportsPath.toString()));
-      argPairs.add(Pair.of("--excludedClasses", "*Test*"));
+      argPairs.add(Pair.of("--reportDir", reportPath.toString()));
+      argPairs.add(Pair.of("--excludedClasses", EXCLUDED_CLASSES));
       if (!targetClasses.isEmpty())
-         argPairs.add(Pair.of("--targetClasses", targetClasses));
+         argPairs.add(Pair.of("--targetClasses", String.join(",", targetClasses)));
       if (!targetTests.isEmpty())
-         argPairs.add(Pair.of("--targetTests", targetTests));
-      if (!excludedMethods.isEmpty())
-         argPairs.add(Pair.of("--excludedMethods", excludedMethods));
-      if (!sourceDirs.isEmpty())
-         argPairs.add(Pair.of("--sourceDirs", sourceDirs));
-      if (!mutatorsList.isEmpty())
-         argPairs.add(Pair.of("--mutators", mutatorsList));
+         argPairs.add(Pair.of("--targetTests", String.join(",", targetTests)));
+      if (!methodsToExclude.isEmpty())
+         argPairs.add(Pair.of("--excludedMethods", String.join(",", methodsToExclude)));
+      argPairs.add(Pair.of("--sourceDirs", String.join(",", sourceDirs)));
+      argPairs.add(Pair.of("--mutators", String.join(",", mutatorNames)));
+      argPairs.add(Pair.of("--threads", Integer.toString(numberOfThreads)));
+      if (historyFile != null)
+      {
+         argPairs.add(Pair.of("--historyInputLocation", historyFile.toString()));
+         argPairs.add(Pair.of("--historyOutputLocation", historyFile.toString()));
+      }
+      if (shard)
+      {
+         argPairs.add(Pair.of("--timestampedReports", "false"));
+         argPairs.add(Pair.of("--outputFormats", "HTML,XML"));
+         argPairs.add(Pair.of("--failWhenNoMutations", "false")); // e.g. a shard of interfaces
+      }
 
       LogTools.info("Launching MutationCoverageReport with arguments: ");
       ArrayList<String> argList = new ArrayList<>();
@@ -335,8 +475,223 @@ public class MutationTestFacilitator
          argList.add(argPair.getLeft());
          argList.add(argPair.getRight());
       }
+      return argList;
+   }
+
+   private Path getHistoryFile(String name)
+   {
+      if (historyDirectory == null)
+         return null;
+
+      FileTools.ensureDirectoryExists(historyDirectory, DefaultExceptionHandler.PRINT_STACKTRACE);
+      return historyDirectory.toAbsolutePath().resolve(name + ".bin");
+   }
+
+   /**
+    * Runs Pitest in a new JVM with the class path of this one.
+    *
+    * @return the exit code of the JVM.
+    */
+   private static int runForked(List<String> arguments, Path reportPath) throws IOException, InterruptedException
+   {
+      Files.createDirectories(reportPath);
+
+      List<String> command = new ArrayList<>();
+      command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+      command.add("-cp");
+      command.add(System.getProperty("java.class.path"));
+      command.add(MutationCoverageReport.class.getName());
+      command.addAll(arguments);
+
+      Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(reportPath.resolve(SHARD_LOG_FILE_NAME).toFile()).start();
+
+      try
+      {
+         return process.waitFor();
+      }
+      finally
+      {
+         process.destroy();
+      }
+   }
 
-      MutationCoverageReport.main(argList.toArray(new String[0]));
+   /**
+    * @return the directories of the class path, where the classes to mutate are looked for.
+    */
+   private static List<Path> getClassPathDirectories()
+   {
+      List<Path> directories = new ArrayList<>();
+      for (String element : System.getProperty("java.class.path").split(File.pathSeparator))
+      {
+         Path path = Paths.get(element);
+         if (Files.isDirectory(path))
+            directories.add(path);
+      }
+      return directories;
+   }
+
+   /**
+    * Replaces the globs of the classes to mutate by the names of the matching classes found in the given directories
+    * such that they can be split in shards. The globs matching nothing, e.g. classes in jars, are kept as they are.
+    *
+    * @param targetClasses the globs of the classes to mutate.
+    * @param classPathDirectories the directories containing the compiled classes.
+    * @return the class names and the remaining globs, sorted.
+    */
+   static List<String> expandTargetClasses(List<String> targetClasses, List<Path> classPathDirectories)
+   {
+      Set<String> classNames = new TreeSet<>();
+      for (Path directory : classPathDirectories)
+      {
+         try (Stream<Path> files = Files.walk(directory))
+         {
+            files.filter(file -> file.toString().endsWith(".class")).forEach(file ->
+            {
+               String relativePath = directory.relativize(file).toString();
+               classNames.add(relativePath.substring(0, relativePath.length() - ".class".length()).replace(File.separatorChar, '.'));
+            });
+         }
+         catch (IOException e)
+         {
+            LogTools.error("Could not list the classes of " + directory + ": " + e.getMessage());
+         }
+      }
+
+      Glob excludedClasses = new Glob(EXCLUDED_CLASSES);
+      Set<String> expandedTargetClasses = new TreeSet<>();
+      for (String targetClass : targetClasses)
+      {
+         Glob glob = new Glob(targetClass);
+         boolean found = false;
+
+         for (String className : classNames)
+         {
+            if (glob.matches(className) && !excludedClasses.matches(className))
+            {
+               expandedTargetClasses.add(className);
+               found = true;
+            }
+         }
+
+         if (!found)
+            expandedTargetClasses.add(targetClass);
+      }
+      return new ArrayList<>(expandedTargetClasses);
+   }
+
+   /**
+    * Splits the classes to mutate in shards of about the same number of classes. Nested classes are kept in the shard
+    * of their top level class.
+    *
+    * @param targetClasses the class names or globs of the classes to mutate.
+    * @param numberOfShards the maximum number of shards.
+    * @return the non-empty shards.
+    */
+   static List<List<String>> partitionTargetClasses(List<String> targetClasses, int numberOfShards)
+   {
+      Map<String, List<String>> topLevelClasses = new TreeMap<>();
+      for (String targetClass : targetClasses)
+      {
+         int nestedClassIndex = targetClass.indexOf('$');
+         String topLevelClass = nestedClassIndex < 0 ? targetClass : targetClass.substring(0, nestedClassIndex);
+         topLevelClasses.computeIfAbsent(topLevelClass, key -> new ArrayList<>()).add(targetClass);
+      }
+
+      List<List<String>> groups = new ArrayList<>(topLevelClasses.values());
+      groups.sort((groupA, groupB) -> Integer.compare(groupB.size(), groupA.size())); // stable, largest first
+
+      List<List<String>> shards = new ArrayList<>();
+      for (int i = 0; i < Math.min(numberOfShards, groups.size()); i++)
+      {
+         shards.add(new ArrayList<>());
+      }
+      for (List<String> group : groups)
+      {
+         List<String> smallestShard = shards.get(0);
+         for (List<String> shard : shards)
+         {
+            if (shard.size() < smallestShard.size())
+               smallestShard = shard;
+         }
+         smallestShard.addAll(group);
+      }
+      for (List<String> shard : shards)
+      {
+         Collections.sort(shard);
+      }
+      return shards;
+   }
+
+   /**
+    * Merges the XML reports of the shards in a {@code mutations.xml} file and writes an {@code index.html} summarizing
+    * the shards and linking to their reports.
+    *
+    * @param runPath the directory where the merged reports are written.
+    * @param shardPaths the report directories of the shards.
+    * @throws IOException if a report cannot be read or written.
+    */
+   static void mergeReports(Path runPath, List<Path> shardPaths) throws IOException
+   {
+      try
+      {
+         DocumentBuilder documentBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+         Document mergedDocument = documentBuilder.newDocument();
+         Element mergedMutations = mergedDocument.createElement("mutations");
+         mergedDocument.appendChild(mergedMutations);
+
+         StringBuilder rows = new StringBuilder();
+         int totalNumberOfMutations = 0;
+         int totalNumberOfDetectedMutations = 0;
+
+         for (Path shardPath : shardPaths)
+         {
+            Path mutationsFile = shardPath.resolve("mutations.xml");
+            int numberOfMutations = 0;
+            int numberOfDetectedMutations = 0;
+
+            if (Files.exists(mutationsFile))
+            {
+               NodeList mutations = documentBuilder.parse(mutationsFile.toFile()).getElementsByTagName("mutation");
+               numberOfMutations = mutations.getLength();
+
+               for (int i = 0; i < mutations.getLength(); i++)
+               {
+                  Element mutation = (Element) mutations.item(i);
+                  if (Boolean.parseBoolean(mutation.getAttribute("detected")))
+                     numberOfDetectedMutations++;
+                  mergedMutations.appendChild(mergedDocument.importNode(mutation, true));
+               }
+            }
+
+            String shardName = shardPath.getFileName().toString();
+            String link = Files.exists(shardPath.resolve("index.html")) ? "<a href=\"" + shardName + "/index.html\">" + shardName + "</a>" : shardName + " (no report)";
+            rows.append(createSummaryRow(link, numberOfMutations, numberOfDetectedMutations));
+            totalNumberOfMutations += numberOfMutations;
+            totalNumberOfDetectedMutations += numberOfDetectedMutations;
+         }
+
+         Files.createDirectories(runPath);
+         Transformer transformer = TransformerFactory.newInstance().newTransformer();
+         transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+         transformer.transform(new DOMSource(mergedDocument), new StreamResult(runPath.resolve("mutations.xml").toFile()));
+
+         String index = "<html>\n<head><title>Mutation test report</title></head>\n<body>\n<h1>Mutation test report</h1>\n"
+               + "<table border=\"1\">\n<tr><th>Shard</th><th>Mutations</th><th>Detected</th><th>Mutation score</th></tr>\n" + rows
+               + createSummaryRow("<b>Total</b>", totalNumberOfMutations, totalNumberOfDetectedMutations) + "</table>\n</body>\n</html>\n";
+         Files.write(runPath.resolve("index.html"), index.getBytes(StandardCharsets.UTF_8));
+
+         LogTools.info("Detected " + totalNumberOfDetectedMutations + " of " + totalNumberOfMutations + " mutations, merged report: " + runPath.resolve("index.html"));
+      }
+      catch (ParserConfigurationException | SAXException | TransformerException e)
+      {
+         throw new IOException(e);
+      }
+   }
+
+   private static String createSummaryRow(String name, int numberOfMutations, int numberOfDetectedMutations)
+   {
+      String score = numberOfMutations == 0 ? "-" : (100 * numberOfDetectedMutations / numberOfMutations) + "%";
+      return "<tr><td>" + name + "</td><td>" + numberOfMutations + "</td><td>" + numberOfDetectedMutations + "</td><td>" + score + "</td></tr>\n";
    }
 
    /**
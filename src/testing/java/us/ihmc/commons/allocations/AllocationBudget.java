@@ -0,0 +1,92 @@
+package us.ihmc.commons.allocations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+/**
+ * Runs the annotated test method, or all the test methods of the annotated class, under an
+ * {@link AllocationProfiler} and fails if the test allocates more than its budget per invocation.
+ * <p>
+ * The test method is first invoked {@link #warmupIterations()} times without recording, to let
+ * classes load and lazy fields initialize, then {@link #iterations()} times while recording. The test
+ * method is invoked repeatedly without running the {@code BeforeEach} methods in between, the hot
+ * path under test should be set up in fields or in {@code BeforeEach} methods. On violation the test
+ * fails with a report of the allocation sites, see {@link AllocationHistogram}.
+ * </p>
+ * <p>
+ * Only the allocations inside the classes matching {@link #include()} are counted, by default the
+ * classes in the package of the test class, i.e. the package under test since the tests mirror the
+ * main packages. Like the other allocation tests, the annotated tests are tagged {@code allocation},
+ * run on the same thread, and need the allocation instrumenter agent.
+ * </p>
+ *
+ * <pre>
+ * &#64;AllocationBudget(include = "us.ihmc.commons.lists")
+ * public class ListsAllocationBudgetTest
+ * {
+ *    private final RecyclingArrayList&lt;MutableInt&gt; list = new RecyclingArrayList&lt;&gt;(10, () -&gt; new MutableInt());
+ *
+ *    &#64;Test
+ *    public void testAddAndClear()
+ *    {
+ *       list.add().setValue(1);
+ *       list.clear();
+ *    }
+ * }
+ * </pre>
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Tag("allocation")
+@Execution(ExecutionMode.SAME_THREAD)
+@ExtendWith(AllocationBudgetExtension.class)
+public @interface AllocationBudget
+{
+   /** Value of {@link #maxAllocations()} and {@link #maxBytes()} meaning that there is no limit. */
+   long UNLIMITED = -1;
+
+   /**
+    * @return the maximum number of objects allocated per invocation, {@link #UNLIMITED} for no limit.
+    */
+   long maxAllocations() default 0;
+
+   /**
+    * @return the maximum number of bytes allocated per invocation, {@link #UNLIMITED} for no limit.
+    */
+   long maxBytes() default UNLIMITED;
+
+   /**
+    * @return the number of invocations before recording.
+    */
+   int warmupIterations() default 1;
+
+   /**
+    * @return the number of recorded invocations.
+    */
+   int iterations() default 10;
+
+   /**
+    * @return prefixes of the names of the classes inside which the allocations are counted, e.g. class
+    *         or package names, by default the package of the test class.
+    */
+   String[] include() default {};
+
+   /**
+    * @return prefixes of the names of the classes inside which the allocations are not counted.
+    */
+   String[] exclude() default {};
+
+   /**
+    * @return the maximum number of allocation sites in the failure report.
+    */
+   int numberOfReportedSites() default 10;
+}
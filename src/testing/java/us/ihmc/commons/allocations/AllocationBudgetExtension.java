@@ -0,0 +1,128 @@
+package us.ihmc.commons.allocations;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * JUnit 5 extension enforcing the {@link AllocationBudget} of the test methods, registered by the
+ * annotation.
+ */
+public class AllocationBudgetExtension implements InvocationInterceptor
+{
+   /** Maximum number of distinct allocation sites tracked while recording a test. */
+   private static final int MAXIMUM_NUMBER_OF_SITES = 1000;
+   /** Number of stack trace elements identifying an allocation site in the report. */
+   private static final int STACK_DEPTH = 8;
+
+   @Override
+   public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext)
+         throws Throwable
+   {
+      AllocationBudget budget = findBudget(extensionContext);
+
+      if (budget == null)
+      {
+         invocation.proceed();
+         return;
+      }
+
+      if (budget.iterations() < 1 || budget.warmupIterations() < 0)
+         throw new IllegalArgumentException("Invalid number of iterations: " + budget.iterations() + ", warmup: " + budget.warmupIterations());
+
+      AllocationProfiler allocationProfiler = new AllocationProfiler();
+      AllocationHistogram allocationHistogram = new AllocationHistogram(MAXIMUM_NUMBER_OF_SITES, STACK_DEPTH);
+      allocationProfiler.setAllocationHistogram(allocationHistogram);
+
+      if (budget.include().length == 0)
+      {
+         allocationProfiler.includeAllocationsInsideClass(extensionContext.getRequiredTestClass().getPackage().getName() + ".");
+      }
+      else
+      {
+         for (String className : budget.include())
+            allocationProfiler.includeAllocationsInsideClass(className);
+      }
+
+      for (String className : budget.exclude())
+         allocationProfiler.excludeAllocationsInsideClass(className);
+
+      // Prepared up front such that invoking the test method does not allocate.
+      Method method = invocationContext.getExecutable();
+      method.setAccessible(true);
+      Object target = invocationContext.getTarget().orElse(null);
+      Object[] arguments = invocationContext.getArguments().toArray();
+
+      for (int i = 0; i < budget.warmupIterations(); i++)
+         invokeTestMethod(method, target, arguments);
+
+      allocationProfiler.startRecordingAllocations();
+
+      try
+      {
+         // The last invocation goes through JUnit, which requires the test method to be invoked exactly once.
+         for (int i = 0; i < budget.iterations() - 1; i++)
+            invokeTestMethod(method, target, arguments);
+         invocation.proceed();
+      }
+      finally
+      {
+         allocationProfiler.stopRecordingAllocations();
+      }
+
+      checkBudget(budget, allocationHistogram.snapshot());
+   }
+
+   private static AllocationBudget findBudget(ExtensionContext extensionContext)
+   {
+      Optional<AllocationBudget> budget = AnnotationSupport.findAnnotation(extensionContext.getTestMethod(), AllocationBudget.class);
+
+      if (!budget.isPresent())
+         budget = AnnotationSupport.findAnnotation(extensionContext.getTestClass(), AllocationBudget.class);
+
+      return budget.orElse(null);
+   }
+
+   private static void invokeTestMethod(Method method, Object target, Object[] arguments) throws Throwable
+   {
+      try
+      {
+         method.invoke(target, arguments);
+      }
+      catch (InvocationTargetException e)
+      {
+         throw e.getCause();
+      }
+   }
+
+   private static void checkBudget(AllocationBudget budget, AllocationHistogram.Snapshot snapshot)
+   {
+      long numberOfAllocations = snapshot.getTotalNumberOfAllocations();
+      long numberOfBytes = snapshot.getTotalNumberOfBytes();
+      boolean tooManyAllocations = budget.maxAllocations() != AllocationBudget.UNLIMITED && numberOfAllocations > budget.maxAllocations() * budget.iterations();
+      boolean tooManyBytes = budget.maxBytes() != AllocationBudget.UNLIMITED && numberOfBytes > budget.maxBytes() * budget.iterations();
+
+      if (tooManyAllocations || tooManyBytes)
+      {
+         String message = String.format("Allocation budget exceeded: %.1f objects and %.1f bytes per invocation over %d invocations, budget: %s objects and %s bytes.%n%s",
+                                        (double) numberOfAllocations / budget.iterations(),
+                                        (double) numberOfBytes / budget.iterations(),
+                                        budget.iterations(),
+                                        toString(budget.maxAllocations()),
+                                        toString(budget.maxBytes()),
+                                        snapshot.toRankedReport(budget.numberOfReportedSites()));
+         Assertions.fail(message);
+      }
+   }
+
+   private static String toString(long limit)
+   {
+      return limit == AllocationBudget.UNLIMITED ? "unlimited" : Long.toString(limit);
+   }
+}
@@ -0,0 +1,129 @@
+package us.ihmc.commons.allocations;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable set of include or exclude rules of the {@link AllocationProfiler}, compiled into
+ * matchers such that testing an allocation does not allocate nor format the stack trace:
+ * <ul>
+ * <li>class name prefixes are tested with a {@link ClassNamePrefixTrie},
+ * <li>qualified method names are looked up by class name then by method name,
+ * <li>keywords are searched with a {@link KeywordAutomaton}.
+ * </ul>
+ * All the tests return as soon as a rule matches.
+ */
+class AllocationFilter
+{
+   private final ClassNamePrefixTrie allocatedClasses;
+   private final ClassNamePrefixTrie insideClasses;
+   private final Map<String, Set<String>> insideMethods = new HashMap<>();
+   private final KeywordAutomaton keywords;
+
+   /**
+    * Compiles the given rules.
+    *
+    * @param allocatedClassNames  prefixes of the names of the allocated classes.
+    * @param insideClassNames     prefixes of the names of the classes in the stack trace.
+    * @param qualifiedMethodNames qualified names, e.g. {@code us.ihmc.Foo.bar}, of the methods in the
+    *                             stack trace.
+    * @param keywords             keywords searched in the text of the stack trace elements.
+    */
+   AllocationFilter(Collection<String> allocatedClassNames, Collection<String> insideClassNames, Collection<String> qualifiedMethodNames,
+                    Collection<String> keywords)
+   {
+      allocatedClasses = new ClassNamePrefixTrie(allocatedClassNames);
+      insideClasses = new ClassNamePrefixTrie(insideClassNames);
+      this.keywords = new KeywordAutomaton(keywords);
+
+      for (String qualifiedMethodName : qualifiedMethodNames)
+      {
+         // Method names do not contain any '.', the class name is everything before the last one.
+         int separatorIndex = qualifiedMethodName.lastIndexOf('.');
+         if (separatorIndex >= 0)
+         {
+            String className = qualifiedMethodName.substring(0, separatorIndex);
+            insideMethods.computeIfAbsent(className, name -> new HashSet<>()).add(qualifiedMethodName.substring(separatorIndex + 1));
+         }
+      }
+   }
+
+   /**
+    * @param allocatedClassName the name of the class of the allocated object.
+    * @return whether the allocated class matches one of the rules.
+    */
+   boolean matchesAllocatedClass(String allocatedClassName)
+   {
+      return allocatedClasses.matches(allocatedClassName);
+   }
+
+   /**
+    * @return whether this filter has rules applying to the stack trace.
+    */
+   boolean hasStackTraceRules()
+   {
+      return !insideClasses.isEmpty() || !insideMethods.isEmpty() || !keywords.isEmpty();
+   }
+
+   /**
+    * Tests the class rules against classes of a stack.
+    * <p>
+    * The classes given by {@link SecurityManager#getClassContext()} are only a subset of the classes
+    * of the stack trace, the frames of the reflection and method handle implementations, such as
+    * {@code Method.invoke}, are not reported. A match therefore implies a match of
+    * {@link #matchesAnyElement(StackTraceElement[], int)}, but not the other way around: a match is
+    * final, whether this is the include or the exclude filter, while a mismatch is inconclusive and
+    * the stack trace has to be tested.
+    * </p>
+    *
+    * @param classes the classes of the stack.
+    * @param start   the index of the first class to test.
+    * @return whether one of the classes matches one of the class rules.
+    */
+   boolean matchesAnyClass(Class<?>[] classes, int start)
+   {
+      if (insideClasses.isEmpty())
+         return false;
+
+      for (int i = start; i < classes.length; i++)
+      {
+         if (insideClasses.matches(classes[i].getName()))
+            return true;
+      }
+
+      return false;
+   }
+
+   /**
+    * Tests all the stack trace rules against a stack trace.
+    *
+    * @param stackTrace the stack trace.
+    * @param start      the index of the first element to test.
+    * @return whether one of the elements matches one of the rules.
+    */
+   boolean matchesAnyElement(StackTraceElement[] stackTrace, int start)
+   {
+      if (!hasStackTraceRules())
+         return false;
+
+      for (int i = start; i < stackTrace.length; i++)
+      {
+         StackTraceElement element = stackTrace[i];
+
+         if (insideClasses.matches(element.getClassName()))
+            return true;
+
+         Set<String> methodNames = insideMethods.get(element.getClassName());
+         if (methodNames != null && methodNames.contains(element.getMethodName()))
+            return true;
+
+         if (keywords.matches(element))
+            return true;
+      }
+
+      return false;
+   }
+}
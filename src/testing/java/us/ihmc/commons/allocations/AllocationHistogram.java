@@ -0,0 +1,398 @@
+package us.ihmc.commons.allocations;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the allocations recorded by an {@link AllocationProfiler} into a histogram of the number
+ * of allocations and bytes per allocation site and allocated type, without retaining the allocated
+ * objects. Meant for long runs where recording every {@link AllocationRecord} would run out of
+ * memory, see {@link AllocationProfiler#setAllocationHistogram(AllocationHistogram)}.
+ * <p>
+ * An allocation site is made of the first stack trace elements starting at the allocation, up to the
+ * stack depth of the histogram. The number of sites is bounded, once the histogram is full the
+ * allocations at new sites are only counted as dropped.
+ * </p>
+ * <p>
+ * The histogram can be safely updated by multiple threads while being snapshotted, see
+ * {@link #snapshot()} and {@link #snapshotAndReset()}.
+ * </p>
+ */
+public class AllocationHistogram
+{
+   private final int maximumNumberOfSites;
+   private final int stackDepth;
+   private final Map<AllocationSite, Counters> sites = new ConcurrentHashMap<>();
+   private final Counters droppedCounters = new Counters();
+
+   /**
+    * Creates a new empty histogram.
+    *
+    * @param maximumNumberOfSites the maximum number of distinct allocation site and type pairs.
+    * @param stackDepth           the maximum number of stack trace elements identifying a site,
+    *                             greater than 1 to emit meaningful collapsed stacks.
+    */
+   public AllocationHistogram(int maximumNumberOfSites, int stackDepth)
+   {
+      if (maximumNumberOfSites < 1)
+         throw new IllegalArgumentException("The maximum number of sites must be positive: " + maximumNumberOfSites);
+      if (stackDepth < 1)
+         throw new IllegalArgumentException("The stack depth must be positive: " + stackDepth);
+
+      this.maximumNumberOfSites = maximumNumberOfSites;
+      this.stackDepth = stackDepth;
+   }
+
+   /**
+    * Counts an allocation.
+    *
+    * @param type           the class of the allocated object.
+    * @param size           the size in bytes of the allocated object.
+    * @param stackTrace     the stack trace of the allocation. Not modified.
+    * @param allocationSite the index in {@code stackTrace} of the allocation site.
+    */
+   void record(Class<?> type, long size, StackTraceElement[] stackTrace, int allocationSite)
+   {
+      int end = Math.min(stackTrace.length, allocationSite + stackDepth);
+      AllocationSite site = new AllocationSite(type, Arrays.copyOfRange(stackTrace, allocationSite, end));
+      Counters counters = sites.get(site);
+
+      if (counters == null)
+      {
+         if (sites.size() >= maximumNumberOfSites)
+         {
+            droppedCounters.add(size);
+            return;
+         }
+
+         Counters newCounters = new Counters();
+         counters = sites.putIfAbsent(site, newCounters);
+         if (counters == null)
+            counters = newCounters;
+      }
+
+      counters.add(size);
+   }
+
+   /**
+    * Gets the current counts without modifying them.
+    *
+    * @return the snapshot, with the sites sorted by decreasing number of bytes.
+    */
+   public Snapshot snapshot()
+   {
+      return snapshot(false);
+   }
+
+   /**
+    * Gets the current counts and resets them, such that the next snapshot only counts the allocations
+    * made from now on. The sites are kept.
+    *
+    * @return the snapshot, with the sites sorted by decreasing number of bytes.
+    */
+   public Snapshot snapshotAndReset()
+   {
+      return snapshot(true);
+   }
+
+   private Snapshot snapshot(boolean reset)
+   {
+      List<Entry> entries = new ArrayList<>();
+
+      for (Map.Entry<AllocationSite, Counters> site : sites.entrySet())
+      {
+         Entry entry = site.getValue().toEntry(site.getKey(), reset);
+         if (entry.getNumberOfAllocations() > 0)
+            entries.add(entry);
+      }
+
+      entries.sort((entryA, entryB) ->
+      {
+         int comparison = Long.compare(entryB.getNumberOfBytes(), entryA.getNumberOfBytes());
+         return comparison != 0 ? comparison : Long.compare(entryB.getNumberOfAllocations(), entryA.getNumberOfAllocations());
+      });
+
+      Entry dropped = droppedCounters.toEntry(null, reset);
+      return new Snapshot(entries, dropped.getNumberOfAllocations(), dropped.getNumberOfBytes());
+   }
+
+   /**
+    * Removes all the sites and resets all the counts.
+    */
+   public void clear()
+   {
+      sites.clear();
+      droppedCounters.toEntry(null, true);
+   }
+
+   /**
+    * @return the number of distinct allocation site and type pairs.
+    */
+   public int getNumberOfSites()
+   {
+      return sites.size();
+   }
+
+   public int getMaximumNumberOfSites()
+   {
+      return maximumNumberOfSites;
+   }
+
+   public int getStackDepth()
+   {
+      return stackDepth;
+   }
+
+   private static class AllocationSite
+   {
+      private final Class<?> type;
+      private final StackTraceElement[] stackTrace;
+      private final int hashCode;
+
+      private AllocationSite(Class<?> type, StackTraceElement[] stackTrace)
+      {
+         this.type = type;
+         this.stackTrace = stackTrace;
+         hashCode = 31 * type.hashCode() + Arrays.hashCode(stackTrace);
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return hashCode;
+      }
+
+      @Override
+      public boolean equals(Object object)
+      {
+         if (object == this)
+            return true;
+         if (!(object instanceof AllocationSite))
+            return false;
+
+         AllocationSite other = (AllocationSite) object;
+         return hashCode == other.hashCode && type == other.type && Arrays.equals(stackTrace, other.stackTrace);
+      }
+   }
+
+   private static class Counters
+   {
+      private final LongAdder numberOfAllocations = new LongAdder();
+      private final LongAdder numberOfBytes = new LongAdder();
+
+      private void add(long size)
+      {
+         numberOfAllocations.increment();
+         numberOfBytes.add(size);
+      }
+
+      private Entry toEntry(AllocationSite site, boolean reset)
+      {
+         Class<?> type = site == null ? null : site.type;
+         StackTraceElement[] stackTrace = site == null ? new StackTraceElement[0] : site.stackTrace;
+
+         if (reset)
+            return new Entry(type, stackTrace, numberOfAllocations.sumThenReset(), numberOfBytes.sumThenReset());
+         else
+            return new Entry(type, stackTrace, numberOfAllocations.sum(), numberOfBytes.sum());
+      }
+   }
+
+   /**
+    * Number of allocations and bytes of one allocation site and type.
+    */
+   public static class Entry
+   {
+      private final Class<?> type;
+      private final StackTraceElement[] stackTrace;
+      private final long numberOfAllocations;
+      private final long numberOfBytes;
+
+      private Entry(Class<?> type, StackTraceElement[] stackTrace, long numberOfAllocations, long numberOfBytes)
+      {
+         this.type = type;
+         this.stackTrace = stackTrace;
+         this.numberOfAllocations = numberOfAllocations;
+         this.numberOfBytes = numberOfBytes;
+      }
+
+      /**
+       * @return the class of the allocated objects.
+       */
+      public Class<?> getType()
+      {
+         return type;
+      }
+
+      /**
+       * @return the stack trace identifying the site, starting at the allocation.
+       */
+      public StackTraceElement[] getStackTrace()
+      {
+         return stackTrace.clone();
+      }
+
+      /**
+       * @return the element of the allocation, or {@code null} if unknown.
+       */
+      public StackTraceElement getAllocationSite()
+      {
+         return stackTrace.length == 0 ? null : stackTrace[0];
+      }
+
+      public long getNumberOfAllocations()
+      {
+         return numberOfAllocations;
+      }
+
+      public long getNumberOfBytes()
+      {
+         return numberOfBytes;
+      }
+
+      @Override
+      public String toString()
+      {
+         return type.getTypeName() + " at " + getAllocationSite() + ": " + numberOfAllocations + " allocations, " + numberOfBytes + " bytes";
+      }
+   }
+
+   /**
+    * Counts of an {@link AllocationHistogram} at the time it was snapshotted.
+    */
+   public static class Snapshot
+   {
+      private final List<Entry> entries;
+      private final long numberOfDroppedAllocations;
+      private final long numberOfDroppedBytes;
+
+      private Snapshot(List<Entry> entries, long numberOfDroppedAllocations, long numberOfDroppedBytes)
+      {
+         this.entries = Collections.unmodifiableList(entries);
+         this.numberOfDroppedAllocations = numberOfDroppedAllocations;
+         this.numberOfDroppedBytes = numberOfDroppedBytes;
+      }
+
+      /**
+       * @return the entries sorted by decreasing number of bytes.
+       */
+      public List<Entry> getEntries()
+      {
+         return entries;
+      }
+
+      /**
+       * @return the number of allocations that were not counted because the histogram was full.
+       */
+      public long getNumberOfDroppedAllocations()
+      {
+         return numberOfDroppedAllocations;
+      }
+
+      /**
+       * @return the number of bytes that were not counted because the histogram was full.
+       */
+      public long getNumberOfDroppedBytes()
+      {
+         return numberOfDroppedBytes;
+      }
+
+      /**
+       * @return the total number of allocations, including the dropped ones.
+       */
+      public long getTotalNumberOfAllocations()
+      {
+         long total = numberOfDroppedAllocations;
+         for (int i = 0; i < entries.size(); i++)
+            total += entries.get(i).getNumberOfAllocations();
+         return total;
+      }
+
+      /**
+       * @return the total number of bytes, including the dropped ones.
+       */
+      public long getTotalNumberOfBytes()
+      {
+         long total = numberOfDroppedBytes;
+         for (int i = 0; i < entries.size(); i++)
+            total += entries.get(i).getNumberOfBytes();
+         return total;
+      }
+
+      /**
+       * Creates a human readable report of the sites allocating the most bytes.
+       *
+       * @param maximumNumberOfEntries the maximum number of sites to report.
+       * @return the multiline report.
+       */
+      public String toRankedReport(int maximumNumberOfEntries)
+      {
+         StringBuilder report = new StringBuilder();
+         report.append(String.format("%d allocations, %d bytes, %d sites", getTotalNumberOfAllocations(), getTotalNumberOfBytes(), entries.size()));
+         if (numberOfDroppedAllocations > 0)
+            report.append(String.format(", %d allocations and %d bytes at dropped sites", numberOfDroppedAllocations, numberOfDroppedBytes));
+         report.append("\n");
+
+         for (int i = 0; i < Math.min(maximumNumberOfEntries, entries.size()); i++)
+         {
+            Entry entry = entries.get(i);
+            report.append(String.format("%4d. %12d bytes %10d allocations  %s\n", i + 1, entry.getNumberOfBytes(), entry.getNumberOfAllocations(), entry.getType().getTypeName()));
+
+            for (StackTraceElement element : entry.stackTrace)
+               report.append("\tat ").append(element).append("\n");
+         }
+
+         return report.toString();
+      }
+
+      /**
+       * Writes the sites in the collapsed stack format used by flame graph tools: one line per site
+       * with the methods from the outermost to the allocation, then the allocated type, separated by
+       * {@code ;}, followed by a space and the weight of the site.
+       *
+       * @param writer        where the lines are written.
+       * @param weightByBytes whether the weight is the number of bytes or the number of allocations.
+       * @throws IOException if writing fails.
+       */
+      public void writeCollapsedStacks(Writer writer, boolean weightByBytes) throws IOException
+      {
+         for (Entry entry : entries)
+         {
+            StringBuilder line = new StringBuilder();
+
+            for (int i = entry.stackTrace.length - 1; i >= 0; i--)
+               line.append(entry.stackTrace[i].getClassName()).append('.').append(entry.stackTrace[i].getMethodName()).append(';');
+
+            line.append(entry.getType().getTypeName()).append(' ');
+            line.append(weightByBytes ? entry.getNumberOfBytes() : entry.getNumberOfAllocations()).append('\n');
+            writer.write(line.toString());
+         }
+      }
+
+      /**
+       * Writes the sites in the collapsed stack format to a file, see
+       * {@link #writeCollapsedStacks(Writer, boolean)}.
+       *
+       * @param file          the file to write, replaced if it exists.
+       * @param weightByBytes whether the weight is the number of bytes or the number of allocations.
+       * @throws IOException if writing fails.
+       */
+      public void writeCollapsedStacks(Path file, boolean weightByBytes) throws IOException
+      {
+         try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+         {
+            writeCollapsedStacks(writer, weightByBytes);
+         }
+      }
+   }
+}
@@ -1,6 +1,7 @@
 package us.ihmc.commons.allocations;
 
 import com.google.monitoring.runtime.instrumentation.AllocationRecorder;
+import com.google.monitoring.runtime.instrumentation.Sampler;
 import us.ihmc.commons.RunnableThatThrows;
 import us.ihmc.commons.exception.DefaultExceptionHandler;
 import us.ihmc.commons.exception.ExceptionHandler;
@@ -8,23 +9,68 @@ import us.ihmc.commons.exception.ExceptionHandler;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
 
 /**
  * A tool for finding and testing for allocations. Features include and exclude filters for scoping in on
  * certain classes and methods, but excluding known or "okay" allocations, or finding literally all allocations made
  * in the JVM between {@link AllocationProfiler#startRecordingAllocations()} and {@link AllocationProfiler#stopRecordingAllocations()}.
+ *
+ * <p>The filters are compiled into matchers when the recording starts, or when they are modified while recording.
+ * Each allocation is first tested against the allocated class, then against the classes of the stack, and the stack
+ * trace is only captured when these are not enough to decide. An {@link AllocationRecord} is only created for the
+ * allocations that are kept.</p>
+ *
+ * <p>To leave the profiler on during long runs, the allocations can be sampled per thread, see
+ * {@link #setSamplingInterval(int)} and {@link #setSamplingIntervalInBytes(long)}, restricted to some threads, see
+ * {@link #setThreadFilter(Predicate)}, and aggregated in an {@link AllocationHistogram} or streamed to a file by an
+ * {@link AllocationSampleWriter} instead of being queued. The sampling happens before the filters, such that the
+ * allocations that are not sampled cost very little.</p>
+ *
+ * <p>The profiler needs the allocation instrumenter agent, which slows down the whole JVM. To only measure how many
+ * bytes are allocated, without the agent, see {@link us.ihmc.commons.thread.ThreadAllocationMeter}.</p>
  */
 public class AllocationProfiler
 {
    /** State boolean for recording. True between {@link AllocationProfiler#startRecordingAllocations()}
     * and {@link AllocationProfiler#stopRecordingAllocations()} */
-   private boolean recording = false;
+   private volatile boolean recording = false;
+
+   /** The sampler given to the {@link AllocationRecorder}, kept such that it can be removed. */
+   private final Sampler sampler = this::sampleAllocation;
+
+   /** Gets the classes of the stack without capturing the stack trace, {@code null} if not supported by the JVM. */
+   private final StackClassContext stackClassContext = StackClassContext.create();
+
+   /** The include filters compiled when recording. */
+   private volatile AllocationFilter includeFilter;
+
+   /** The exclude filters compiled when recording. */
+   private volatile AllocationFilter excludeFilter;
 
    /** The allocation queue that fills up as allocations are recorded. */
    private final Queue<AllocationRecord> allocations = new ConcurrentLinkedQueue<>();
 
+   /** When not {@code null}, the allocations are counted in this histogram instead of being queued. */
+   private volatile AllocationHistogram allocationHistogram;
+
+   /** When not {@code null}, the allocations are written by this writer instead of being queued. */
+   private volatile AllocationSampleWriter allocationSampleWriter;
+
+   /** Only the allocations of the threads passing this filter are recorded, all threads if {@code null}. */
+   private volatile Predicate<Thread> threadFilter;
+
+   /** Average number of allocations of a thread between two recorded allocations, 1 to record all of them. */
+   private volatile int samplingInterval;
+
+   /** Average number of bytes allocated by a thread between two recorded allocations, 0 to not sample by size. */
+   private volatile long samplingIntervalInBytes;
+
+   /** The state of the sampling of each thread. */
+   private final ThreadLocal<SamplingCounter> samplingCounter = ThreadLocal.withInitial(() -> new SamplingCounter());
+
    /** Special flag to include everything. */
-   private boolean includeAllAllocations;
+   private volatile boolean includeAllAllocations;
 
    /** Exclude allocations that happen inside these methods. */
    private final Set<String> excludeAllocationsInsideTheseMethods = new HashSet<>();
@@ -72,8 +118,9 @@ public class AllocationProfiler
    {
       checkInstrumentation();
 
+      compileFilters();
       recording = true;
-      AllocationRecorder.addSampler(this::sampleAllocation);
+      AllocationRecorder.addSampler(sampler);
    }
 
    /**
@@ -82,7 +129,7 @@ public class AllocationProfiler
    public void stopRecordingAllocations()
    {
       recording = false;
-      AllocationRecorder.removeSampler(this::sampleAllocation); // remove sampler to speed up execution of unmonitored code
+      AllocationRecorder.removeSampler(sampler); // remove sampler to speed up execution of unmonitored code
    }
 
    /**
@@ -103,8 +150,12 @@ public class AllocationProfiler
     */
    public static List<AllocationRecord> removeDuplicateRecords(List<AllocationRecord> allocations)
    {
-      Map<String, AllocationRecord> map = new HashMap<>();
-      allocations.forEach(t -> map.put(t.toString(), t));
+      // Same key as the text of the record, without formatting it.
+      Map<List<Object>, AllocationRecord> map = new HashMap<>();
+      allocations.forEach(t -> map.put(Arrays.asList(t.getDescription(),
+                                                     t.getAllocatedObject().getClass().getName(),
+                                                     t.getSize(),
+                                                     Arrays.asList(t.getStackTrace())), t));
       return new ArrayList<>(map.values());
    }
 
@@ -205,92 +256,177 @@ public class AllocationProfiler
     */
    private void sampleAllocation(int count, String description, Object newObject, long size)
    {
-      if (recording)
+      if (!recording)
+         return;
+
+      Predicate<Thread> threadFilter = this.threadFilter;
+      if (threadFilter != null && !threadFilter.test(Thread.currentThread()))
+         return;
+
+      int samplingInterval = this.samplingInterval;
+      long samplingIntervalInBytes = this.samplingIntervalInBytes;
+      if ((samplingInterval > 1 || samplingIntervalInBytes > 0) && !samplingCounter.get().sample(samplingInterval, samplingIntervalInBytes, size))
+         return;
+
+      AllocationFilter includeFilter = this.includeFilter;
+      AllocationFilter excludeFilter = this.excludeFilter;
+      String allocatedClassName = newObject.getClass().getName();
+
+      if (excludeFilter.matchesAllocatedClass(allocatedClassName)) // excludes override inclusions
+         return;
+
+      boolean isIncluded = includeAllAllocations || includeFilter.matchesAllocatedClass(allocatedClassName);
+
+      if (!isIncluded && !includeFilter.hasStackTraceRules())
+         return;
+
+      // Prefilter on the classes of the stack, which is much cheaper than capturing the stack trace. These are a subset
+      // of the classes of the stack trace, reflection frames are missing, such that a match is final but a mismatch is not.
+      Class<?>[] classes = stackClassContext == null ? null : stackClassContext.getClasses();
+      if (classes != null)
       {
-         AllocationRecord record = new AllocationRecord(description, newObject, size);
+         int allocationSite = AllocationRecord.findAllocationSite(classes);
 
-         if (isIncluded(record) && !isExcluded(record)) // excludes override inclusions
-         {
-            allocations.add(record);
-         }
+         if (excludeFilter.matchesAnyClass(classes, allocationSite))
+            return;
+
+         if (!isIncluded && includeFilter.matchesAnyClass(classes, allocationSite))
+            isIncluded = true;
       }
+
+      StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+      int allocationSite = AllocationRecord.findAllocationSite(stackTrace);
+
+      if (!isIncluded && !includeFilter.matchesAnyElement(stackTrace, allocationSite))
+         return;
+
+      if (excludeFilter.matchesAnyElement(stackTrace, allocationSite))
+         return;
+
+      AllocationHistogram allocationHistogram = this.allocationHistogram;
+      AllocationSampleWriter allocationSampleWriter = this.allocationSampleWriter;
+      if (allocationHistogram != null)
+         allocationHistogram.record(newObject.getClass(), size, stackTrace, allocationSite);
+      if (allocationSampleWriter != null)
+         allocationSampleWriter.write(newObject.getClass(), size, stackTrace, allocationSite);
+      if (allocationHistogram == null && allocationSampleWriter == null)
+         allocations.add(new AllocationRecord(description, newObject, size, Arrays.copyOfRange(stackTrace, allocationSite, stackTrace.length)));
    }
 
    /**
-    * The method for determining inclusions.
+    * Compiles the include and exclude filters into the matchers used while recording.
     */
-   private boolean isIncluded(AllocationRecord record)
+   private void compileFilters()
    {
-      boolean isIncluded = false; // initialize, only have a single return in the method
+      includeFilter = new AllocationFilter(includeAllocationsOfTheseClasses,
+                                           includeAllocationsInsideTheseClasses,
+                                           includeAllocationsInsideTheseMethods,
+                                           includeAllocationsWhoseTracesContainTheseKeywords);
+      excludeFilter = new AllocationFilter(excludeAllocationsOfTheseClasses,
+                                           excludeAllocationsInsideTheseClasses,
+                                           excludeAllocationsInsideTheseMethods,
+                                           excludeAllocationsWhoseTracesContainTheseKeywords);
+   }
 
-      if (includeAllAllocations) // check special include all boolean
-      {
-         isIncluded = true;
-      }
-      // do an fast search to see if this allocation was of an included class, match using `startsWith` to include nested classes
-      else if (includeAllocationsOfTheseClasses.stream().anyMatch(className -> record.getAllocatedObject().getClass().getName().startsWith(className)))
-      {
-         isIncluded = true;
-      }
-      else
-      {
-         for (StackTraceElement traceElement : record.getStackTrace()) // check entire stack trace
-         {
-            // if this line of the trace contains an included qualified method
-            if (includeAllocationsInsideTheseMethods.contains(traceElement.getClassName() + "." + traceElement.getMethodName()))
-            {
-               isIncluded = true;
-            }
-            // if this line of the trace contains an include keyword, return true
-            else if (includeAllocationsWhoseTracesContainTheseKeywords.stream().anyMatch(keyword -> traceElement.toString().contains(keyword)))
-            {
-               isIncluded = true;
-            }
-            // if this line of the trace contains an included class or it's nested class
-            else if (includeAllocationsInsideTheseClasses.stream().anyMatch(className -> traceElement.getClassName().startsWith(className)))
-            {
-               isIncluded = true;
-            }
-         }
-      }
+   /**
+    * Recompiles the filters when they are modified while recording.
+    */
+   private void filtersChanged()
+   {
+      if (recording)
+         compileFilters();
+   }
 
-      return isIncluded;
+   /**
+    * Set the histogram in which the allocations are aggregated, or {@code null} to go back to queuing
+    * an {@link AllocationRecord} per allocation.
+    *
+    * <p>In this mode, the allocations passing the filters are only counted per allocation site and type, no
+    * reference to the allocated objects is kept and {@link #pollAllocations()} returns nothing. Meant for long
+    * runs, the histogram can be snapshotted while recording.</p>
+    *
+    * @param allocationHistogram
+    */
+   public void setAllocationHistogram(AllocationHistogram allocationHistogram)
+   {
+      this.allocationHistogram = allocationHistogram;
    }
 
    /**
-    * The method for determining exclusions.
+    * Get the histogram in which the allocations are aggregated.
+    *
+    * @return the histogram, or {@code null} if the allocations are queued.
     */
-   private boolean isExcluded(AllocationRecord record)
+   public AllocationHistogram getAllocationHistogram()
    {
-      boolean isExcluded = false; // nothing is blacklisted by default
+      return allocationHistogram;
+   }
 
-      if (excludeAllocationsOfTheseClasses.stream().anyMatch(className -> record.getAllocatedObject().getClass().getName().startsWith(className)))
-      {
-         isExcluded = true;
-      }
-      else
-      {
-         for (StackTraceElement traceElement : record.getStackTrace())
-         {
-            // if this line of the trace contains an excluded qualified method
-            if (excludeAllocationsInsideTheseMethods.contains(traceElement.getClassName() + "." + traceElement.getMethodName()))
-            {
-               isExcluded = true;
-            }
-            // if this line of the trace contains an exclude keyword, return true
-            else if (excludeAllocationsWhoseTracesContainTheseKeywords.stream().anyMatch(keyword -> traceElement.toString().contains(keyword)))
-            {
-               isExcluded = true;
-            }
-            // if this line of the trace contains an excluded class or it's nested class
-            else if (excludeAllocationsInsideTheseClasses.stream().anyMatch(className -> traceElement.getClassName().startsWith(className)))
-            {
-               isExcluded = true;
-            }
-         }
-      }
+   /**
+    * Set the writer streaming the allocations to a file, or {@code null} to stop streaming.
+    *
+    * <p>Like with an {@link AllocationHistogram}, no reference to the allocated objects is kept and
+    * {@link #pollAllocations()} returns nothing. Both can be used at the same time. The writer is not closed by
+    * the profiler.</p>
+    *
+    * @param allocationSampleWriter
+    */
+   public void setAllocationSampleWriter(AllocationSampleWriter allocationSampleWriter)
+   {
+      this.allocationSampleWriter = allocationSampleWriter;
+   }
 
-      return isExcluded;
+   /**
+    * Get the writer streaming the allocations to a file.
+    *
+    * @return the writer, or {@code null} if not streaming.
+    */
+   public AllocationSampleWriter getAllocationSampleWriter()
+   {
+      return allocationSampleWriter;
+   }
+
+   /**
+    * Set the threads whose allocations are recorded, e.g. {@code thread -> thread.getName().equals("Controller")}.
+    * The filter is tested on every allocation and must not allocate.
+    *
+    * @param threadFilter the filter, or {@code null} to record the allocations of all threads.
+    */
+   public void setThreadFilter(Predicate<Thread> threadFilter)
+   {
+      this.threadFilter = threadFilter;
+   }
+
+   /**
+    * Record about one in {@code samplingInterval} allocations of each thread, before applying the filters. The
+    * number of allocations between two recorded ones is randomized around the interval to not always record the
+    * same allocation of a loop.
+    *
+    * @param samplingInterval the average number of allocations between two recorded allocations, 1 to record all of
+    *           them.
+    */
+   public void setSamplingInterval(int samplingInterval)
+   {
+      if (samplingInterval < 1)
+         throw new IllegalArgumentException("The sampling interval must be positive: " + samplingInterval);
+
+      this.samplingInterval = samplingInterval;
+   }
+
+   /**
+    * Record about one allocation every {@code samplingIntervalInBytes} bytes allocated by each thread, before
+    * applying the filters. The larger allocations are more likely to be recorded. When combined with
+    * {@link #setSamplingInterval(int)}, an allocation is recorded when either interval is reached.
+    *
+    * @param samplingIntervalInBytes the average number of bytes between two recorded allocations, 0 to not sample
+    *           by size.
+    */
+   public void setSamplingIntervalInBytes(long samplingIntervalInBytes)
+   {
+      if (samplingIntervalInBytes < 0)
+         throw new IllegalArgumentException("The sampling interval cannot be negative: " + samplingIntervalInBytes);
+
+      this.samplingIntervalInBytes = samplingIntervalInBytes;
    }
 
    /**
@@ -314,6 +450,8 @@ public class AllocationProfiler
    {
       setIncludeAllAllocations(false); // otherwise this method would do nothing
       includeAllocationsInsideTheseClasses.add(className);
+
+      filtersChanged();
    }
 
    /**
@@ -326,6 +464,8 @@ public class AllocationProfiler
    public void excludeAllocationsInsideClass(String className)
    {
       excludeAllocationsInsideTheseClasses.add(className);
+
+      filtersChanged();
    }
 
    /**
@@ -337,6 +477,8 @@ public class AllocationProfiler
    {
       setIncludeAllAllocations(false); // otherwise this method would do nothing
       includeAllocationsOfTheseClasses.add(className);
+
+      filtersChanged();
    }
 
    /**
@@ -347,6 +489,8 @@ public class AllocationProfiler
    public void excludeAllocationsOfClass(String className)
    {
       excludeAllocationsOfTheseClasses.add(className);
+
+      filtersChanged();
    }
 
    /**
@@ -358,6 +502,8 @@ public class AllocationProfiler
    {
       setIncludeAllAllocations(false); // otherwise this method would do nothing
       includeAllocationsInsideTheseMethods.add(qualifiedMethodName);
+
+      filtersChanged();
    }
 
    /**
@@ -368,6 +514,8 @@ public class AllocationProfiler
    public void excludeAllocationsInsideMethod(String qualifiedMethodName)
    {
       excludeAllocationsInsideTheseMethods.add(qualifiedMethodName);
+
+      filtersChanged();
    }
 
    /**
@@ -380,6 +528,8 @@ public class AllocationProfiler
    {
       setIncludeAllAllocations(false); // otherwise this method would do nothing
       includeAllocationsWhoseTracesContainTheseKeywords.add(keyword);
+
+      filtersChanged();
    }
 
    /**
@@ -391,6 +541,8 @@ public class AllocationProfiler
    public void excludeAllocationsContainingKeyword(String keyword)
    {
       excludeAllocationsWhoseTracesContainTheseKeywords.add(keyword);
+
+      filtersChanged();
    }
 
    /**
@@ -405,6 +557,8 @@ public class AllocationProfiler
          excludeAllocationsWhoseTracesContainTheseKeywords.remove("<init>");
       else
          excludeAllocationsWhoseTracesContainTheseKeywords.add("<init>");
+
+      filtersChanged();
    }
 
    /**
@@ -419,6 +573,8 @@ public class AllocationProfiler
          excludeAllocationsWhoseTracesContainTheseKeywords.remove("<clinit>");
       else
          excludeAllocationsWhoseTracesContainTheseKeywords.add("<clinit>");
+
+      filtersChanged();
    }
 
    /**
@@ -433,6 +589,8 @@ public class AllocationProfiler
          excludeAllocationsInsideTheseClasses.remove(ClassLoader.class.getName());
       else
          excludeAllocationsInsideTheseClasses.add(ClassLoader.class.getName());
+
+      filtersChanged();
    }
 
    /**
@@ -446,6 +604,7 @@ public class AllocationProfiler
       if (recordSelf)
       {
          excludeAllocationsInsideTheseClasses.remove(AllocationRecorder.class.getName());
+         excludeAllocationsInsideTheseClasses.remove(AllocationSampleWriter.class.getName());
          excludeAllocationsInsideTheseMethods.remove("us.ihmc.commons.allocations.AllocationProfiler.startRecordingAllocations");
          excludeAllocationsInsideTheseMethods.remove("java.util.concurrent.FutureTask.awaitDone");
          excludeAllocationsWhoseTracesContainTheseKeywords.remove("org.gradle.internal");
@@ -453,10 +612,13 @@ public class AllocationProfiler
       else
       {
          excludeAllocationsInsideTheseClasses.add(AllocationRecorder.class.getName());
+         excludeAllocationsInsideTheseClasses.add(AllocationSampleWriter.class.getName());
          excludeAllocationsInsideTheseMethods.add("us.ihmc.commons.allocations.AllocationProfiler.startRecordingAllocations");
          excludeAllocationsInsideTheseMethods.add("java.util.concurrent.FutureTask.awaitDone");
          excludeAllocationsWhoseTracesContainTheseKeywords.add("org.gradle.internal");
       }
+
+      filtersChanged();
    }
 
    /**
@@ -474,6 +636,11 @@ public class AllocationProfiler
          stopRecordingAllocations();
 
       includeAllAllocations = true;
+      allocationHistogram = null;
+      allocationSampleWriter = null;
+      threadFilter = null;
+      samplingInterval = 1;
+      samplingIntervalInBytes = 0;
 
       excludeAllocationsInsideTheseMethods.clear();
       includeAllocationsInsideTheseMethods.clear();
@@ -491,4 +658,56 @@ public class AllocationProfiler
 
       allocations.clear();
    }
+
+   /**
+    * Counts down the allocations and bytes of a thread until the next recorded allocation.
+    */
+   private static class SamplingCounter
+   {
+      private long allocationsUntilSample = -1;
+      private long bytesUntilSample = -1;
+      private long seed = (System.nanoTime() ^ Thread.currentThread().getId()) | 1;
+
+      private boolean sample(int samplingInterval, long samplingIntervalInBytes, long size)
+      {
+         boolean sample = false;
+
+         if (samplingInterval > 1)
+         {
+            if (allocationsUntilSample < 0 || allocationsUntilSample > 2L * samplingInterval)
+               allocationsUntilSample = nextInterval(samplingInterval);
+
+            if (--allocationsUntilSample <= 0)
+            {
+               allocationsUntilSample = nextInterval(samplingInterval);
+               sample = true;
+            }
+         }
+
+         if (samplingIntervalInBytes > 0)
+         {
+            if (bytesUntilSample < 0 || bytesUntilSample > 2L * samplingIntervalInBytes)
+               bytesUntilSample = nextInterval(samplingIntervalInBytes);
+
+            bytesUntilSample -= Math.max(size, 0);
+
+            if (bytesUntilSample <= 0)
+            {
+               bytesUntilSample = nextInterval(samplingIntervalInBytes);
+               sample = true;
+            }
+         }
+
+         return sample;
+      }
+
+      /** Uniformly distributed in [1, 2 * interval - 1], xorshift such that sampling does not allocate. */
+      private long nextInterval(long interval)
+      {
+         seed ^= seed << 13;
+         seed ^= seed >>> 7;
+         seed ^= seed << 17;
+         return 1 + Math.floorMod(seed, 2 * interval - 1);
+      }
+   }
 }
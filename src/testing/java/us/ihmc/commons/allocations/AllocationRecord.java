@@ -3,7 +3,6 @@ package us.ihmc.commons.allocations;
 import com.google.monitoring.runtime.instrumentation.AllocationRecorder;
 
 import java.util.Arrays;
-import java.util.List;
 
 /**
  * A result given by the {@link com.google.monitoring.runtime.instrumentation.Sampler} interface.
@@ -30,12 +29,24 @@ public class AllocationRecord
     * @param size The size of the object being allocated.
     */
    public AllocationRecord(String description, Object allocatedObject, long size)
+   {
+      this(description, allocatedObject, size, getCleanedStackTace());
+   }
+
+   /**
+    * Create a new record from a stack trace already cleaned of the instrumentation frames.
+    *
+    * @param description The <code>String</code> descriptor of the class/primitive type being allocated.
+    * @param allocatedObject The new <code>Object</code> whose allocation we're recording.
+    * @param size The size of the object being allocated.
+    * @param stackTrace The stack trace starting at the allocation site.
+    */
+   AllocationRecord(String description, Object allocatedObject, long size, StackTraceElement[] stackTrace)
    {
       this.description = description;
       this.allocatedObject = allocatedObject;
       this.size = size;
-
-      stackTrace = getCleanedStackTace();
+      this.stackTrace = stackTrace;
    }
 
    /**
@@ -45,19 +56,49 @@ public class AllocationRecord
     *
     * @return relevant stack trace
     */
-   private StackTraceElement[] getCleanedStackTace()
+   private static StackTraceElement[] getCleanedStackTace()
    {
-      List<StackTraceElement> stackTrace = Arrays.asList(Thread.currentThread().getStackTrace());
-      int skip = 0;
-      while (!stackTrace.get(skip).toString().contains(AllocationRecorder.class.getName()))
-      {
-         skip++;
-      }
-      while (stackTrace.get(skip).toString().contains(AllocationRecorder.class.getName()))
-      {
-         skip++;
-      }
-      return stackTrace.subList(skip, stackTrace.size()).toArray(new StackTraceElement[0]); // cut to the part we want
+      StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+      return Arrays.copyOfRange(stackTrace, findAllocationSite(stackTrace), stackTrace.length); // cut to the part we want
+   }
+
+   /**
+    * Finds the element of the allocation site in a stack trace taken from a
+    * {@link com.google.monitoring.runtime.instrumentation.Sampler}, i.e. the first element after the
+    * {@link AllocationRecorder} elements.
+    *
+    * @param stackTrace the stack trace taken while sampling an allocation.
+    * @return the index of the allocation site.
+    */
+   static int findAllocationSite(StackTraceElement[] stackTrace)
+   {
+      int index = 0;
+      while (index < stackTrace.length && !isRecorder(stackTrace[index].getClassName()))
+         index++;
+      while (index < stackTrace.length && isRecorder(stackTrace[index].getClassName()))
+         index++;
+      return index;
+   }
+
+   /**
+    * Same as {@link #findAllocationSite(StackTraceElement[])} for the classes of a stack.
+    *
+    * @param classes the classes of the stack taken while sampling an allocation.
+    * @return the index of the allocation site.
+    */
+   static int findAllocationSite(Class<?>[] classes)
+   {
+      int index = 0;
+      while (index < classes.length && !isRecorder(classes[index].getName()))
+         index++;
+      while (index < classes.length && isRecorder(classes[index].getName()))
+         index++;
+      return index;
+   }
+
+   private static boolean isRecorder(String className)
+   {
+      return className.startsWith(AllocationRecorder.class.getName());
    }
 
    /**
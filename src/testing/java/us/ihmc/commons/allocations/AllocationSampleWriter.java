@@ -0,0 +1,215 @@
+package us.ihmc.commons.allocations;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import us.ihmc.commons.thread.ThreadTools;
+import us.ihmc.log.LogTools;
+
+/**
+ * Streams the allocations recorded by an {@link AllocationProfiler} to a file, see
+ * {@link AllocationProfiler#setAllocationSampleWriter(AllocationSampleWriter)}. Meant to be combined
+ * with sampling such that it can be left on for long runs, e.g. on the robot.
+ * <p>
+ * The allocating thread only queues a compact summary of the allocation, without keeping the
+ * allocated object, and a background thread writes it to the file. When the queue is full the
+ * summaries are dropped and counted, the allocating thread is never blocked by the file.
+ * </p>
+ * <p>
+ * The file is a text file with a line per allocation, made of the following tab separated fields:
+ * the time in milliseconds since the epoch, the name of the allocating thread, the allocated type, the
+ * size in bytes, and the stack trace starting at the allocation with the elements separated by
+ * {@code ;}. The lines starting with {@code #} are comments.
+ * </p>
+ */
+public class AllocationSampleWriter implements Closeable
+{
+   private static final long POLL_TIMEOUT_MS = 100;
+
+   private final Writer writer;
+   private final int stackDepth;
+   private final BlockingQueue<Sample> queue;
+   private final Thread writerThread;
+   private final AtomicLong numberOfDroppedSamples = new AtomicLong();
+   private volatile long numberOfWrittenSamples;
+   private volatile boolean running = true;
+   private volatile IOException exception;
+
+   /**
+    * Creates the file and starts the thread writing to it.
+    *
+    * @param file          the file to write, replaced if it exists.
+    * @param queueCapacity the maximum number of allocations waiting to be written.
+    * @param stackDepth    the maximum number of stack trace elements written per allocation.
+    * @throws IOException if the file cannot be created.
+    */
+   public AllocationSampleWriter(Path file, int queueCapacity, int stackDepth) throws IOException
+   {
+      if (queueCapacity < 1)
+         throw new IllegalArgumentException("The queue capacity must be positive: " + queueCapacity);
+      if (stackDepth < 1)
+         throw new IllegalArgumentException("The stack depth must be positive: " + stackDepth);
+
+      this.stackDepth = stackDepth;
+      queue = new ArrayBlockingQueue<>(queueCapacity);
+      writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+      writer.write("# time [ms]\tthread\ttype\tsize [bytes]\tstack trace\n");
+
+      writerThread = ThreadTools.startAsDaemon(this::writeSamples, getClass().getSimpleName());
+   }
+
+   /**
+    * Queues an allocation to be written.
+    *
+    * @param type           the class of the allocated object.
+    * @param size           the size in bytes of the allocated object.
+    * @param stackTrace     the stack trace of the allocation. Not modified.
+    * @param allocationSite the index in {@code stackTrace} of the allocation site.
+    */
+   void write(Class<?> type, long size, StackTraceElement[] stackTrace, int allocationSite)
+   {
+      if (!running || !queue.offer(new Sample(System.currentTimeMillis(), Thread.currentThread().getName(), type, size, stackTrace, allocationSite)))
+         numberOfDroppedSamples.incrementAndGet();
+   }
+
+   private void writeSamples()
+   {
+      StringBuilder line = new StringBuilder();
+
+      try
+      {
+         while (running || !queue.isEmpty())
+         {
+            Sample sample = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+            if (sample == null)
+            {
+               writer.flush();
+               continue;
+            }
+
+            line.setLength(0);
+            sample.append(line, stackDepth);
+            writer.write(line.toString());
+            numberOfWrittenSamples++;
+         }
+      }
+      catch (IOException e)
+      {
+         exception = e;
+         LogTools.error("Stopped writing the allocations: " + e.getMessage());
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+      }
+      finally
+      {
+         running = false;
+         queue.clear();
+
+         try
+         {
+            writer.close();
+         }
+         catch (IOException e)
+         {
+            if (exception == null)
+               exception = e;
+         }
+      }
+   }
+
+   /**
+    * Stops accepting allocations, writes the queued ones and closes the file.
+    *
+    * @throws IOException if writing or closing the file failed.
+    */
+   @Override
+   public void close() throws IOException
+   {
+      running = false;
+
+      try
+      {
+         writerThread.join();
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         throw new IOException("Interrupted while closing", e);
+      }
+
+      if (exception != null)
+         throw exception;
+   }
+
+   /**
+    * @return whether allocations are still accepted, i.e. the writer was not closed and no error
+    *         occurred.
+    */
+   public boolean isRunning()
+   {
+      return running;
+   }
+
+   /**
+    * @return the number of allocations written to the file so far.
+    */
+   public long getNumberOfWrittenSamples()
+   {
+      return numberOfWrittenSamples;
+   }
+
+   /**
+    * @return the number of allocations that were not written because the queue was full or the writer
+    *         was stopped.
+    */
+   public long getNumberOfDroppedSamples()
+   {
+      return numberOfDroppedSamples.get();
+   }
+
+   private static class Sample
+   {
+      private final long time;
+      private final String threadName;
+      private final Class<?> type;
+      private final long size;
+      private final StackTraceElement[] stackTrace;
+      private final int allocationSite;
+
+      private Sample(long time, String threadName, Class<?> type, long size, StackTraceElement[] stackTrace, int allocationSite)
+      {
+         this.time = time;
+         this.threadName = threadName;
+         this.type = type;
+         this.size = size;
+         this.stackTrace = stackTrace;
+         this.allocationSite = allocationSite;
+      }
+
+      private void append(StringBuilder line, int stackDepth)
+      {
+         line.append(time).append('\t').append(threadName).append('\t').append(type.getTypeName()).append('\t').append(size).append('\t');
+
+         int end = Math.min(stackTrace.length, allocationSite + stackDepth);
+         for (int i = allocationSite; i < end; i++)
+         {
+            if (i > allocationSite)
+               line.append(';');
+            line.append(stackTrace[i]);
+         }
+
+         line.append('\n');
+      }
+   }
+}
@@ -0,0 +1,106 @@
+package us.ihmc.commons.allocations;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable trie of class name prefixes, used to test whether a class name starts with any of the
+ * prefixes in a single pass over the name.
+ */
+class ClassNamePrefixTrie
+{
+   private final Node root;
+
+   /**
+    * Creates a trie matching the names starting with any of {@code prefixes}.
+    *
+    * @param prefixes the class name prefixes, e.g. fully qualified class or package names.
+    */
+   ClassNamePrefixTrie(Collection<String> prefixes)
+   {
+      BuildNode buildRoot = new BuildNode();
+
+      for (String prefix : prefixes)
+      {
+         BuildNode node = buildRoot;
+         for (int i = 0; i < prefix.length(); i++)
+            node = node.children.computeIfAbsent(prefix.charAt(i), c -> new BuildNode());
+         node.terminal = true;
+      }
+
+      root = prefixes.isEmpty() ? null : buildRoot.compile();
+   }
+
+   /**
+    * @return whether this trie has no prefix and never matches.
+    */
+   boolean isEmpty()
+   {
+      return root == null;
+   }
+
+   /**
+    * Tests whether {@code className} starts with any of the prefixes of this trie.
+    *
+    * @param className the name to test.
+    * @return whether a prefix matches.
+    */
+   boolean matches(String className)
+   {
+      Node node = root;
+
+      if (node == null)
+         return false;
+
+      for (int i = 0; !node.terminal; i++)
+      {
+         if (i == className.length())
+            return false;
+
+         int index = Arrays.binarySearch(node.labels, className.charAt(i));
+         if (index < 0)
+            return false;
+         node = node.children[index];
+      }
+
+      return true;
+   }
+
+   private static class Node
+   {
+      private final boolean terminal;
+      private final char[] labels;
+      private final Node[] children;
+
+      private Node(boolean terminal, char[] labels, Node[] children)
+      {
+         this.terminal = terminal;
+         this.labels = labels;
+         this.children = children;
+      }
+   }
+
+   private static class BuildNode
+   {
+      private boolean terminal = false;
+      private final Map<Character, BuildNode> children = new TreeMap<>();
+
+      private Node compile()
+      {
+         char[] labels = new char[children.size()];
+         Node[] compiledChildren = new Node[children.size()];
+         int i = 0;
+
+         for (Map.Entry<Character, BuildNode> entry : children.entrySet())
+         {
+            labels[i] = entry.getKey();
+            compiledChildren[i] = entry.getValue().compile();
+            i++;
+         }
+
+         return new Node(terminal, labels, compiledChildren);
+      }
+   }
+}
@@ -0,0 +1,238 @@
+package us.ihmc.commons.allocations;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Immutable Aho-Corasick automaton used to test whether the text of a stack trace element contains
+ * any of a set of keywords, in a single pass over the text and without building it.
+ * <p>
+ * The text of a stack trace element is fed as formatted by {@link StackTraceElement#toString()} in
+ * Java 8, e.g. {@code us.ihmc.Foo.bar(Foo.java:12)}, the module and class loader prefixes added by
+ * later versions are not included.
+ * </p>
+ */
+class KeywordAutomaton
+{
+   private static final int MATCHED = -1;
+
+   private final boolean empty;
+   /** Whether one of the keywords is the empty string, which is contained in any text. */
+   private final boolean matchesAnything;
+   private final int numberOfColumns;
+   /** Column of the ASCII characters, 0 for the characters that are not in any keyword. */
+   private final int[] asciiColumns = new int[128];
+   private final char[] nonAsciiCharacters;
+   private final int[] nonAsciiColumns;
+   /** Transitions of the automaton, indexed by {@code state * numberOfColumns + column}. */
+   private final int[] transitions;
+   /** Whether reaching a state means that a keyword has been found. */
+   private final boolean[] output;
+
+   /**
+    * Creates the automaton matching any of {@code keywords}.
+    *
+    * @param keywords the keywords to look for.
+    */
+   KeywordAutomaton(Collection<String> keywords)
+   {
+      empty = keywords.isEmpty();
+      matchesAnything = keywords.contains("");
+
+      TreeSet<Character> alphabet = new TreeSet<>();
+      for (String keyword : keywords)
+      {
+         for (int i = 0; i < keyword.length(); i++)
+            alphabet.add(keyword.charAt(i));
+      }
+
+      numberOfColumns = alphabet.size() + 1;
+      List<Character> nonAscii = new ArrayList<>();
+      int column = 1;
+      for (char c : alphabet)
+      {
+         if (c < asciiColumns.length)
+            asciiColumns[c] = column;
+         else
+            nonAscii.add(c);
+         column++;
+      }
+      nonAsciiCharacters = new char[nonAscii.size()];
+      nonAsciiColumns = new int[nonAscii.size()];
+      for (int i = 0; i < nonAscii.size(); i++)
+      {
+         nonAsciiCharacters[i] = nonAscii.get(i);
+         nonAsciiColumns[i] = column - nonAscii.size() + i;
+      }
+
+      // Trie of the keywords.
+      List<Map<Integer, Integer>> gotos = new ArrayList<>();
+      List<Boolean> terminals = new ArrayList<>();
+      gotos.add(new HashMap<>());
+      terminals.add(false);
+
+      for (String keyword : keywords)
+      {
+         int state = 0;
+
+         for (int i = 0; i < keyword.length(); i++)
+         {
+            Integer next = gotos.get(state).get(getColumn(keyword.charAt(i)));
+            if (next == null)
+            {
+               next = gotos.size();
+               gotos.get(state).put(getColumn(keyword.charAt(i)), next);
+               gotos.add(new HashMap<>());
+               terminals.add(false);
+            }
+            state = next;
+         }
+
+         terminals.set(state, true);
+      }
+
+      // Breadth-first computation of the failure links, folded into a complete transition table.
+      int numberOfStates = gotos.size();
+      transitions = new int[numberOfStates * numberOfColumns];
+      output = new boolean[numberOfStates];
+      int[] failures = new int[numberOfStates];
+      ArrayDeque<Integer> queue = new ArrayDeque<>();
+
+      for (int c = 0; c < numberOfColumns; c++)
+      {
+         Integer next = gotos.get(0).get(c);
+         if (next != null)
+         {
+            transitions[c] = next;
+            queue.add(next);
+         }
+      }
+
+      while (!queue.isEmpty())
+      {
+         int state = queue.poll();
+         output[state] = terminals.get(state) || output[failures[state]];
+
+         for (int c = 0; c < numberOfColumns; c++)
+         {
+            Integer next = gotos.get(state).get(c);
+            int failureTransition = transitions[failures[state] * numberOfColumns + c];
+
+            if (next != null)
+            {
+               failures[next] = failureTransition;
+               transitions[state * numberOfColumns + c] = next;
+               queue.add(next);
+            }
+            else
+            {
+               transitions[state * numberOfColumns + c] = failureTransition;
+            }
+         }
+      }
+   }
+
+   private int getColumn(char c)
+   {
+      if (c < asciiColumns.length)
+         return asciiColumns[c];
+
+      int index = Arrays.binarySearch(nonAsciiCharacters, c);
+      return index < 0 ? 0 : nonAsciiColumns[index];
+   }
+
+   /**
+    * @return whether this automaton has no keyword and never matches.
+    */
+   boolean isEmpty()
+   {
+      return empty;
+   }
+
+   /**
+    * Tests whether the text of {@code element} contains any of the keywords.
+    *
+    * @param element the stack trace element to test.
+    * @return whether a keyword was found.
+    */
+   boolean matches(StackTraceElement element)
+   {
+      if (empty)
+         return false;
+      if (matchesAnything)
+         return true;
+
+      int state = feed(0, element.getClassName());
+      state = feed(state, '.');
+      state = feed(state, element.getMethodName());
+
+      if (element.isNativeMethod())
+      {
+         state = feed(state, "(Native Method)");
+      }
+      else if (element.getFileName() == null)
+      {
+         state = feed(state, "(Unknown Source)");
+      }
+      else
+      {
+         state = feed(state, '(');
+         state = feed(state, element.getFileName());
+         if (element.getLineNumber() >= 0)
+         {
+            state = feed(state, ':');
+            state = feed(state, element.getLineNumber());
+         }
+         state = feed(state, ')');
+      }
+
+      return state == MATCHED;
+   }
+
+   /**
+    * Tests whether {@code text} contains any of the keywords.
+    *
+    * @param text the text to test.
+    * @return whether a keyword was found.
+    */
+   boolean matches(String text)
+   {
+      if (empty)
+         return false;
+      return matchesAnything || feed(0, text) == MATCHED;
+   }
+
+   private int feed(int state, String text)
+   {
+      for (int i = 0; i < text.length() && state != MATCHED; i++)
+         state = feed(state, text.charAt(i));
+      return state;
+   }
+
+   private int feed(int state, int number)
+   {
+      int divisor = 1;
+      while (number / divisor >= 10)
+         divisor *= 10;
+
+      for (; divisor > 0 && state != MATCHED; divisor /= 10)
+         state = feed(state, (char) ('0' + (number / divisor) % 10));
+
+      return state;
+   }
+
+   private int feed(int state, char c)
+   {
+      if (state == MATCHED)
+         return MATCHED;
+
+      int next = transitions[state * numberOfColumns + getColumn(c)];
+      return output[next] ? MATCHED : next;
+   }
+}
@@ -0,0 +1,44 @@
+package us.ihmc.commons.allocations;
+
+/**
+ * Gets the classes of the methods in the current stack, which is much cheaper than capturing the
+ * stack trace as no {@link StackTraceElement} is created. Used by the {@link AllocationProfiler} to
+ * discard most allocations before capturing their stack trace.
+ * <p>
+ * Relies on {@link SecurityManager#getClassContext()}, the security manager is never installed.
+ * The frames of the reflection and method handle implementations, e.g. {@code Method.invoke}, are
+ * not reported while they are in the stack trace, the classes returned are therefore only a subset
+ * of the classes of the stack trace.
+ * </p>
+ */
+class StackClassContext extends SecurityManager
+{
+   private StackClassContext()
+   {
+   }
+
+   /**
+    * @return a new instance, or {@code null} if this JVM does not support it.
+    */
+   static StackClassContext create()
+   {
+      try
+      {
+         StackClassContext stackClassContext = new StackClassContext();
+         stackClassContext.getClasses();
+         return stackClassContext;
+      }
+      catch (Throwable e)
+      {
+         return null;
+      }
+   }
+
+   /**
+    * @return the classes of the methods in the current stack, starting with this class.
+    */
+   Class<?>[] getClasses()
+   {
+      return getClassContext();
+   }
+}